@@ -2,19 +2,26 @@ package com.nashss.se.booktrackerservice.activity;
 
 import com.nashss.se.booktrackerservice.activity.requests.AddBookToBooklistRequest;
 import com.nashss.se.booktrackerservice.activity.results.AddBookToBooklistResult;
+import com.nashss.se.booktrackerservice.converters.BooklistEntryConverter;
 import com.nashss.se.booktrackerservice.converters.ModelConverterCarbon;
+import com.nashss.se.booktrackerservice.converters.PaginationTokenConverter;
+import com.nashss.se.booktrackerservice.converters.VolumeConverter;
 import com.nashss.se.booktrackerservice.dynamodb.BookDao;
 import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
+import com.nashss.se.booktrackerservice.dynamodb.BooklistEntryDao;
+import com.nashss.se.booktrackerservice.dynamodb.ReadingStateDao;
 import com.nashss.se.booktrackerservice.dynamodb.models.Book;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
-import com.nashss.se.booktrackerservice.exceptions.DuplicateBookException;
+import com.nashss.se.booktrackerservice.dynamodb.models.BooklistEntry;
+import com.nashss.se.booktrackerservice.exceptions.BookNotFoundException;
+import com.nashss.se.booktrackerservice.exceptions.CatalogBookExistsException;
 import com.nashss.se.booktrackerservice.exceptions.GoogleBookAPISearchException;
+import com.nashss.se.booktrackerservice.googlebookapi.GoogleBooksQueryCache;
 import com.nashss.se.booktrackerservice.googlebookapi.Request;
-import com.nashss.se.booktrackerservice.googlebookapi.helper.VolumeInfoHelper;
 import com.nashss.se.booktrackerservice.models.BookModel;
+import com.nashss.se.booktrackerservice.utils.PaginationUtils;
 
-import com.google.api.client.json.JsonFactory;
-import com.google.api.client.json.gson.GsonFactory;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
 import com.google.api.services.books.v1.model.Volume;
 
 import org.apache.logging.log4j.LogManager;
@@ -29,29 +36,45 @@ import javax.inject.Inject;
  * This API allows the customer to add a book to their existing booklist.
  */
 public class AddBookToBooklistActivity {
+    // Only the first match is ever added, so Google Books is asked for no more
+    private static final long MAX_GOOGLE_RESULTS = 1;
+
     private final Logger log = LogManager.getLogger();
     private final BookDao bookDao;
     private final BooklistDao booklistDao;
-    private Request googleBookApi;
-    private VolumeInfoHelper helper;
+    private final BooklistEntryDao booklistEntryDao;
+    private final ReadingStateDao readingStateDao;
+    private final GoogleBooksQueryCache googleBooksQueryCache;
+    private final Request googleBookApi;
 
     /**
      * Instantiates a new AddSongToPlaylistActivity object.
      *
      * @param booklistDao BooklistDao to access the book_list table.
      * @param bookDao BookDao to access the book table.
+     * @param booklistEntryDao BooklistEntryDao to access the booklist entries table.
+     * @param readingStateDao ReadingStateDao to access the reading state table.
+     * @param googleBooksQueryCache GoogleBooksQueryCache to reuse recent Google Book API results.
+     * @param googleBookApi Request to query the Google Book API.
      */
     @Inject
-    public AddBookToBooklistActivity(BooklistDao booklistDao, BookDao bookDao) {
+    public AddBookToBooklistActivity(BooklistDao booklistDao, BookDao bookDao, BooklistEntryDao booklistEntryDao,
+                                     ReadingStateDao readingStateDao, GoogleBooksQueryCache googleBooksQueryCache,
+                                     Request googleBookApi) {
         this.bookDao = bookDao;
         this.booklistDao = booklistDao;
+        this.booklistEntryDao = booklistEntryDao;
+        this.readingStateDao = readingStateDao;
+        this.googleBooksQueryCache = googleBooksQueryCache;
+        this.googleBookApi = googleBookApi;
     }
 
     /**
      * This method handles the incoming request by adding a book
-     * to a book list and persisting the updated book list.
+     * to a book list as a single new BooklistEntry and updating the book list's count, in one transaction.
      * <p>
-     * It then returns the updated list of books from the book list.
+     * It then returns the first page of the book list's updated books, with a nextToken for GetBooklistBooks
+     * to fetch the rest.
      * <p>
      * If the booklist does not exist, this should throw a BooklistNotFoundException.
      * <p>
@@ -59,7 +82,7 @@ public class AddBookToBooklistActivity {
      *
      * @param addBookToBooklistRequest request object containing the book list ID and an asin to retrieve
      *                                 book data
-     * @return addBookToPlaylistResult result object containing the book list's updated list of
+     * @return addBookToPlaylistResult result object containing the first page of the book list's updated
      *                                 API defined {@link BookModel}s
      */
     public AddBookToBooklistResult handleRequest(final AddBookToBooklistRequest addBookToBooklistRequest) {
@@ -75,46 +98,74 @@ public class AddBookToBooklistActivity {
         // If not ('bookToAdd' = null), query the google book api for a book
         // If user searches by title instead of asin, take first result's ibsn/asin and check if exists in bookDao
         // If not, take the first result from the query and make new book object
+        // Search terms Google Books recently found nothing for are not searched for again
 
-        // 1. queryBooks() method takes the search term (or asin) and returns a list of volumes (books) in JSON format
-        // 2. extractAttributes() method selects a volume at a given index and extracts attributes needed
-        //    for Book object (just first result for now). Returns JSON response of Book object to be created
-        // 3. deserializeVolumeToBook() method takes JSON response returned from extractAttributes() and returns actual
-        //    Book object with those attributes. Accepts any book JSON response
+        // 1. queryBooks() method takes the search term (or asin) and returns a list of volumes (books)
+        // 2. VolumeConverter maps the volumes straight to Book objects (just first result for now)
 
-        Book bookToAdd = bookDao.getBook(addBookToBooklistRequest.getAsin());
+        // Each asin is loaded at most once, and a book new to the catalog is saved in the same
+        // transaction that adds it to the booklist.
+        String searchTerm = addBookToBooklistRequest.getAsin();
+        Book newCatalogBook = null;
+        Book bookToAdd = bookDao.getBook(searchTerm);
         if (bookToAdd == null) {
+            if (bookDao.isUnresolvable(searchTerm)) {
+                throw new BookNotFoundException("No book found for " + searchTerm);
+            }
+            List<Book> found;
             try {
-                JsonFactory jsonFactory = GsonFactory.getDefaultInstance();
-                googleBookApi = new Request();
-                helper = new VolumeInfoHelper();
-                List<Volume> volumes = googleBookApi.queryBooks(jsonFactory, addBookToBooklistRequest.getAsin());
-                if (bookDao.getBook(helper.getIsbn(volumes.get(0).getVolumeInfo())) != null) {
-                    bookToAdd = bookDao.getBook(helper.getIsbn(volumes.get(0).getVolumeInfo()));
-                } else {
-                    bookToAdd = googleBookApi.deserializeVolumeToBook(googleBookApi.extractAttributes(volumes, 0));
-                    bookDao.saveBook(bookToAdd);
-                }
+                List<Volume> volumes = googleBooksQueryCache.queryBooks(searchTerm, MAX_GOOGLE_RESULTS,
+                        googleBookApi::queryBooks);
+                found = new VolumeConverter().toBooks(volumes);
             } catch (Exception e) {
                 throw new GoogleBookAPISearchException("Error with request to Google Book API", e);
             }
+            if (found.isEmpty()) {
+                bookDao.markUnresolvable(searchTerm);
+                throw new BookNotFoundException("No book found for " + searchTerm);
+            }
+            // the filter may miss a book another container just saved; the conditional catalog Put catches that
+            String foundAsin = found.get(0).getAsin();
+            bookToAdd = foundAsin.equals(searchTerm) ? null : bookDao.findCatalogBook(foundAsin);
+            if (bookToAdd == null) {
+                newCatalogBook = found.get(0);
+                bookToAdd = newCatalogBook;
+            }
         }
 
-        List<Book> books = booklist.getBooks();
-        if (books.contains(bookToAdd)) {
-            throw new DuplicateBookException(String.format("%s is already in your booklist!", bookToAdd.getTitle()));
-        } else {
-            bookToAdd.setPercentComplete(0);
-            books.add(bookToAdd);
+        BooklistEntryConverter entryConverter = new BooklistEntryConverter();
+        try {
+            booklistDao.addBookToBooklist(newEntry(entryConverter, booklist.getId(), bookToAdd), newCatalogBook);
+        } catch (CatalogBookExistsException e) {
+            bookToAdd = bookDao.reloadBook(newCatalogBook.getAsin());
+            if (bookToAdd == null) {
+                throw new BookNotFoundException("No book found for " + newCatalogBook.getAsin(), e);
+            }
+            newCatalogBook = null;
+            booklistDao.addBookToBooklist(newEntry(entryConverter, booklist.getId(), bookToAdd), null);
+        }
+        if (newCatalogBook != null) {
+            bookDao.indexBook(newCatalogBook);
         }
 
-        booklist.setBooks(books);
-        booklist.setBookCount(books.size());
-        booklistDao.saveBooklist(booklist);
-
+        PaginationTokenConverter tokenConverter = new PaginationTokenConverter();
+        QueryResultPage<BooklistEntry> entries = booklistEntryDao.getEntries(booklist.getId(), true,
+                PaginationUtils.DEFAULT_LIMIT, null);
+        List<Book> books = entryConverter.toBookList(entries.getResults(), readingStateDao.getReadingStates(
+                booklist.getCustomerId(), entryConverter.toAsinList(entries.getResults())));
         List<BookModel> bookModels = new ModelConverterCarbon().toBookModelList(books);
         return AddBookToBooklistResult.builder()
                 .withBooklist(bookModels)
+                .withNextToken(tokenConverter.encode(entries.getLastEvaluatedKey()))
                 .build();
     }
+
+    /**
+     * Helper method building the entry for a book newly added to a booklist, with no progress yet.
+     */
+    private static BooklistEntry newEntry(BooklistEntryConverter entryConverter, String booklistId, Book book) {
+        BooklistEntry entry = entryConverter.toBooklistEntry(booklistId, book, System.currentTimeMillis());
+        entry.setPercentComplete(0);
+        return entry;
+    }
 }
@@ -0,0 +1,88 @@
+package com.nashss.se.booktrackerservice.activity;
+
+import com.nashss.se.booktrackerservice.activity.requests.AddCommentRequest;
+import com.nashss.se.booktrackerservice.activity.results.AddCommentResult;
+import com.nashss.se.booktrackerservice.converters.ModelConverterCarbon;
+import com.nashss.se.booktrackerservice.dynamodb.CommentDao;
+import com.nashss.se.booktrackerservice.dynamodb.ReadingStateDao;
+import com.nashss.se.booktrackerservice.dynamodb.models.Comment;
+import com.nashss.se.booktrackerservice.dynamodb.models.ReadingState;
+import com.nashss.se.booktrackerservice.exceptions.InvalidAttributeValueException;
+import com.nashss.se.booktrackerservice.models.CommentModel;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.inject.Inject;
+
+/**
+ * Implementation of the AddCommentActivity for LonelyRead's AddComment API.
+ *
+ * This API allows the customer to comment on a book at the point they have read up to.
+ */
+public class AddCommentActivity {
+    public static final int MAX_COMMENT_LENGTH = 1000;
+
+    private final Logger log = LogManager.getLogger();
+    private final CommentDao commentDao;
+    private final ReadingStateDao readingStateDao;
+
+    /**
+     * Instantiates a new AddCommentActivity object.
+     *
+     * @param commentDao CommentDao to access the comments table.
+     * @param readingStateDao ReadingStateDao to access the reading state table.
+     */
+    @Inject
+    public AddCommentActivity(CommentDao commentDao, ReadingStateDao readingStateDao) {
+        this.commentDao = commentDao;
+        this.readingStateDao = readingStateDao;
+    }
+
+    /**
+     * This method handles the incoming request by saving a new comment on the book, tagged with how far into
+     * the book the customer is so it is only shown to readers who have read at least that far.
+     * <p>
+     * The progress is the greater of the one given in the request and the customer's stored reading state, so a
+     * client cannot tag a comment earlier in the book than the customer has read. A comment left with no known
+     * progress is tagged 100 percent, so it is only shown to readers who have finished the book.
+     * <p>
+     * It then returns the saved comment.
+     * <p>
+     * If the comment text is blank or too long, or the progress is not between 0 and 100, this should throw an
+     * InvalidAttributeValueException.
+     *
+     * @param addCommentRequest request object containing the asin, customer ID, comment text and optional progress
+     * @return addCommentResult result object containing the API defined {@link CommentModel}
+     */
+    public AddCommentResult handleRequest(final AddCommentRequest addCommentRequest) {
+        log.info("Received AddCommentRequest {}", addCommentRequest);
+        String commentText = addCommentRequest.getCommentText();
+        if (commentText == null || commentText.isBlank() || commentText.length() > MAX_COMMENT_LENGTH) {
+            throw new InvalidAttributeValueException(
+                    String.format("Comment text must be between 1 and %d characters", MAX_COMMENT_LENGTH));
+        }
+
+        Integer percentComplete = addCommentRequest.getPercentComplete();
+        if (percentComplete != null && (percentComplete < 0 || percentComplete > 100)) {
+            throw new InvalidAttributeValueException(
+                    String.format("Percent complete must be between 0 and 100, but was %d", percentComplete));
+        }
+        //a comment is never tagged earlier in the book than the customer is known to have read
+        ReadingState readingState = readingStateDao.getReadingState(addCommentRequest.getCustomerId(),
+                addCommentRequest.getAsin());
+        Integer storedPercentComplete = readingState == null ? null : readingState.getPercentComplete();
+        if (percentComplete == null) {
+            percentComplete = storedPercentComplete == null ? 100 : storedPercentComplete;
+        } else if (storedPercentComplete != null) {
+            percentComplete = Math.max(percentComplete, storedPercentComplete);
+        }
+
+        Comment comment = commentDao.saveCommentForBook(addCommentRequest.getAsin(),
+                addCommentRequest.getCustomerId(), percentComplete, commentText.trim());
+
+        return AddCommentResult.builder()
+                .withComment(new ModelConverterCarbon().toCommentModel(comment))
+                .build();
+    }
+}
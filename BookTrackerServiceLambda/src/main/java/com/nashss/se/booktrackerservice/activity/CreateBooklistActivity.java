@@ -74,6 +74,7 @@ public class CreateBooklistActivity {
         booklist.setName(createBooklistRequest.getName());
         booklist.setCustomerId(createBooklistRequest.getCustomerId());
         booklist.setBookCount(0);
+        booklist.setCreatedAt(System.currentTimeMillis());
         booklist.setTags(booklistTags);
         booklist.setBooks(new ArrayList<>());
 
@@ -0,0 +1,144 @@
+package com.nashss.se.booktrackerservice.activity;
+
+import com.nashss.se.booktrackerservice.activity.requests.ExportLibraryRequest;
+import com.nashss.se.booktrackerservice.activity.results.ExportLibraryResult;
+import com.nashss.se.booktrackerservice.converters.BooklistEntryConverter;
+import com.nashss.se.booktrackerservice.converters.ModelConverterCarbon;
+import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
+import com.nashss.se.booktrackerservice.dynamodb.BooklistEntryDao;
+import com.nashss.se.booktrackerservice.dynamodb.ReadingStateDao;
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.dynamodb.models.BooklistEntry;
+import com.nashss.se.booktrackerservice.export.ExportSink;
+import com.nashss.se.booktrackerservice.export.ExportStream;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import javax.inject.Inject;
+
+/**
+ * Implementation of the ExportLibraryActivity for LonelyRead's ExportLibrary API.
+ *
+ * This API allows the customer to export every book on every one of their booklists as NDJSON.
+ */
+public class ExportLibraryActivity {
+    /** The number of booklists, and of entries per booklist, read from DynamoDB at a time. */
+    public static final int PAGE_SIZE = 100;
+
+    private final Logger log = LogManager.getLogger();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    private final BooklistDao booklistDao;
+    private final BooklistEntryDao booklistEntryDao;
+    private final ReadingStateDao readingStateDao;
+    private final ExportSink exportSink;
+
+    /**
+     * Instantiates a new ExportLibraryActivity object.
+     *
+     * @param booklistDao BooklistDao to access the booklists table.
+     * @param booklistEntryDao BooklistEntryDao to access the booklist entries table.
+     * @param readingStateDao ReadingStateDao to access the reading state table.
+     * @param exportSink ExportSink the export is written to.
+     */
+    @Inject
+    public ExportLibraryActivity(BooklistDao booklistDao, BooklistEntryDao booklistEntryDao,
+                                 ReadingStateDao readingStateDao, ExportSink exportSink) {
+        this.booklistDao = booklistDao;
+        this.booklistEntryDao = booklistEntryDao;
+        this.readingStateDao = readingStateDao;
+        this.exportSink = exportSink;
+    }
+
+    /**
+     * This method handles the incoming request by streaming every book on the customer's booklists to the
+     * export sink, one JSON object per line.
+     * <p>
+     * Booklists and their entries are read a page at a time and each page is written out before the next is
+     * read, so memory use does not grow with the size of the library.
+     * <p>
+     * A customer with no booklists gets an empty export; no lookup of the customer is made.
+     *
+     * @param exportLibraryRequest request object containing the customer ID
+     * @return exportLibraryResult result object containing the location of the export and what it contains
+     */
+    public ExportLibraryResult handleRequest(final ExportLibraryRequest exportLibraryRequest) {
+        log.info("Received ExportLibraryRequest {}", exportLibraryRequest);
+        String customerId = exportLibraryRequest.getCustomerId();
+        String name = String.format("exports/%s/library-%d.ndjson", customerId, System.currentTimeMillis());
+
+        int booklistCount = 0;
+        long bookCount = 0;
+        String location;
+        try (ExportStream stream = exportSink.open(name);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(stream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            Map<String, AttributeValue> booklistKey = null;
+            do {
+                QueryResultPage<Booklist> booklists = booklistDao.getBooklistsForUser(customerId, PAGE_SIZE,
+                        booklistKey);
+                for (Booklist booklist : booklists.getResults()) {
+                    bookCount += writeBooklist(generator, booklist);
+                    booklistCount++;
+                }
+                booklistKey = booklists.getLastEvaluatedKey();
+            } while (booklistKey != null);
+
+            generator.flush();
+            location = stream.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not export library for " + customerId, e);
+        }
+
+        log.info("Exported {} books from {} booklists to {}", bookCount, booklistCount, location);
+        return ExportLibraryResult.builder()
+                .withLocation(location)
+                .withBooklistCount(booklistCount)
+                .withBookCount(bookCount)
+                .build();
+    }
+
+    /**
+     * Writes one line per book on the booklist, a page of entries at a time.
+     */
+    private long writeBooklist(JsonGenerator generator, Booklist booklist) throws IOException {
+        BooklistEntryConverter entryConverter = new BooklistEntryConverter();
+        ModelConverterCarbon modelConverter = new ModelConverterCarbon();
+        long written = 0;
+
+        Map<String, AttributeValue> entryKey = null;
+        do {
+            QueryResultPage<BooklistEntry> page = booklistEntryDao.getEntries(booklist.getId(), true, PAGE_SIZE,
+                    entryKey);
+            List<BooklistEntry> entries = page.getResults();
+            List<Book> books = entryConverter.toBookList(entries, readingStateDao.getReadingStates(
+                    booklist.getCustomerId(), entryConverter.toAsinList(entries)));
+            for (Book book : books) {
+                generator.writeStartObject();
+                generator.writeStringField("booklistId", booklist.getId());
+                generator.writeStringField("booklistName", booklist.getName());
+                generator.writeFieldName("book");
+                objectMapper.writeValue(generator, modelConverter.toBookModel(book));
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                written++;
+            }
+            entryKey = page.getLastEvaluatedKey();
+        } while (entryKey != null);
+
+        return written;
+    }
+}
@@ -2,16 +2,23 @@ package com.nashss.se.booktrackerservice.activity;
 
 import com.nashss.se.booktrackerservice.activity.requests.GetBookFromBooklistRequest;
 import com.nashss.se.booktrackerservice.activity.results.GetBookFromBooklistResult;
+import com.nashss.se.booktrackerservice.converters.BooklistEntryConverter;
+import com.nashss.se.booktrackerservice.converters.ModelConverterCarbon;
+import com.nashss.se.booktrackerservice.dynamodb.BookStatsDao;
 import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
+import com.nashss.se.booktrackerservice.dynamodb.BooklistEntryDao;
+import com.nashss.se.booktrackerservice.dynamodb.ReadingStateDao;
 import com.nashss.se.booktrackerservice.dynamodb.models.Book;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.dynamodb.models.BooklistEntry;
+import com.nashss.se.booktrackerservice.dynamodb.models.ReadingState;
 import com.nashss.se.booktrackerservice.exceptions.BookNotFoundException;
 import com.nashss.se.booktrackerservice.models.BookModel;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.List;
+import java.util.Collections;
 
 import javax.inject.Inject;
 
@@ -19,21 +26,33 @@ public class GetBookFromBooklistActivity {
 
     private final Logger log = LogManager.getLogger();
     private final BooklistDao booklistDao;
+    private final BooklistEntryDao booklistEntryDao;
+    private final ReadingStateDao readingStateDao;
+    private final BookStatsDao bookStatsDao;
 
     /**
      * Instantiates a new GetBookFromBooklistActivity object.
      *
      * @param booklistDao BooklistDao to access the booklist table.
+     * @param booklistEntryDao BooklistEntryDao to access the booklist entries table.
+     * @param readingStateDao ReadingStateDao to access the reading state table.
+     * @param bookStatsDao BookStatsDao to access the book stats table.
      */
     @Inject
-    public GetBookFromBooklistActivity(BooklistDao booklistDao) {
+    public GetBookFromBooklistActivity(BooklistDao booklistDao, BooklistEntryDao booklistEntryDao,
+                                       ReadingStateDao readingStateDao, BookStatsDao bookStatsDao) {
         this.booklistDao = booklistDao;
+        this.booklistEntryDao = booklistEntryDao;
+        this.readingStateDao = readingStateDao;
+        this.bookStatsDao = bookStatsDao;
     }
 
     /**
-     * This method handles the incoming request by retrieving the user's booklists from the database.
+     * This method handles the incoming request by retrieving the book's entry on the booklist from the database
+     * with a single key lookup.
      * <p>
-     * It then returns the corresponding book from the booklist using the asin.
+     * It then returns the corresponding book from the booklist, along with the book's comment count, average
+     * rating and number of active readers, read from its aggregate counters in one batch get.
      * <p>
      * If the booklist does not exist, should throw BooklistNotFoundException.
      * If the book does not exist, should throw BookNotFoundException.
@@ -44,23 +63,21 @@ public class GetBookFromBooklistActivity {
     public GetBookFromBooklistResult handleRequest(GetBookFromBooklistRequest getBookFromBooklistRequest) {
         log.info("Recieved GetBookFromBooklistRequest {}", getBookFromBooklistRequest);
         String booklistId = getBookFromBooklistRequest.getBooklistId();
-        Booklist reqBooklist = booklistDao.getBooklist(booklistId);
-        List<Book> userBooksList = reqBooklist.getBooks();
-
         String bookAsin = getBookFromBooklistRequest.getBookAsin();
-        Book expBook = null;
-        for (Book book : userBooksList) {
-            if (book.getAsin().equals(bookAsin)) {
-                expBook = book;
-            }
-        }
+        // Throws BooklistNotFoundException; the owner's reading state is overlaid onto the entry below.
+        Booklist booklist = booklistDao.getBooklist(booklistId);
+        BooklistEntry entry = booklistEntryDao.getEntry(booklistId, bookAsin);
 
-        if (expBook == null) {
+        if (entry == null) {
             throw new BookNotFoundException("Requested book is not currently in user's booklist list of books.");
         }
+        ReadingState readingState = readingStateDao.getReadingStates(booklist.getCustomerId(),
+                Collections.singletonList(bookAsin)).get(bookAsin);
+        Book expBook = new BooklistEntryConverter().toBook(entry, readingState);
 
         return GetBookFromBooklistResult.builder()
                 .withBook(expBook)
+                .withStats(new ModelConverterCarbon().toBookStatsModel(bookStatsDao.getBookStats(bookAsin)))
                 .build();
     }
 }
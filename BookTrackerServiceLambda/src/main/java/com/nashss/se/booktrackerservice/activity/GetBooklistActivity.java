@@ -2,14 +2,20 @@ package com.nashss.se.booktrackerservice.activity;
 
 import com.nashss.se.booktrackerservice.activity.requests.GetBooklistRequest;
 import com.nashss.se.booktrackerservice.activity.results.GetBooklistResult;
+import com.nashss.se.booktrackerservice.converters.BooklistEntryConverter;
 import com.nashss.se.booktrackerservice.converters.ModelConverterCarbon;
 import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
+import com.nashss.se.booktrackerservice.dynamodb.BooklistEntryDao;
+import com.nashss.se.booktrackerservice.dynamodb.ReadingStateDao;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.dynamodb.models.BooklistEntry;
 import com.nashss.se.booktrackerservice.models.BooklistModel;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.List;
+
 import javax.inject.Inject;
 
 /**
@@ -20,21 +26,28 @@ import javax.inject.Inject;
 public class GetBooklistActivity {
     private final Logger log = LogManager.getLogger();
     private final BooklistDao booklistDao;
+    private final BooklistEntryDao booklistEntryDao;
+    private final ReadingStateDao readingStateDao;
 
     /**
      * Instantiates a new GetBooklistActivity object.
      *
      * @param booklistDao BooklistDao to access the booklist table.
+     * @param booklistEntryDao BooklistEntryDao to access the booklist entries table.
+     * @param readingStateDao ReadingStateDao to access the reading state table.
      */
     @Inject
-    public GetBooklistActivity(BooklistDao booklistDao) {
+    public GetBooklistActivity(BooklistDao booklistDao, BooklistEntryDao booklistEntryDao,
+                               ReadingStateDao readingStateDao) {
         this.booklistDao = booklistDao;
+        this.booklistEntryDao = booklistEntryDao;
+        this.readingStateDao = readingStateDao;
     }
 
     /**
      * This method handles the incoming request by retrieving the booklist from the database.
      * <p>
-     * It then returns the booklist.
+     * It then returns the booklist, with its books loaded from the BooklistEntries table.
      * <p>
      * If the booklist does not exist, this should throw a BooklistNotFoundException.
      *
@@ -45,6 +58,10 @@ public class GetBooklistActivity {
         log.info("Received GetBooklistRequest {}", getBooklistRequest);
         String requestedId = getBooklistRequest.getId();
         Booklist booklist = booklistDao.getBooklist(requestedId);
+        BooklistEntryConverter entryConverter = new BooklistEntryConverter();
+        List<BooklistEntry> entries = booklistEntryDao.getAllEntries(requestedId);
+        booklist.setBooks(entryConverter.toBookList(entries,
+                readingStateDao.getReadingStates(booklist.getCustomerId(), entryConverter.toAsinList(entries))));
         BooklistModel booklistModel = new ModelConverterCarbon().toBooklistModel(booklist);
 
         return GetBooklistResult.builder()
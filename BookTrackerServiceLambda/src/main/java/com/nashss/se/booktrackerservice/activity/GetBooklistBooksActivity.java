@@ -2,12 +2,21 @@ package com.nashss.se.booktrackerservice.activity;
 
 import com.nashss.se.booktrackerservice.activity.requests.GetBooklistBooksRequest;
 import com.nashss.se.booktrackerservice.activity.results.GetBooklistBooksResult;
+import com.nashss.se.booktrackerservice.converters.BooklistEntryConverter;
 import com.nashss.se.booktrackerservice.converters.ModelConverterCarbon;
+import com.nashss.se.booktrackerservice.converters.PaginationTokenConverter;
 import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
+import com.nashss.se.booktrackerservice.dynamodb.BooklistEntryDao;
+import com.nashss.se.booktrackerservice.dynamodb.ReadingStateDao;
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.dynamodb.models.BooklistEntry;
 import com.nashss.se.booktrackerservice.exceptions.InvalidAttributeValueException;
 import com.nashss.se.booktrackerservice.models.BookModel;
 import com.nashss.se.booktrackerservice.models.BookOrder;
+import com.nashss.se.booktrackerservice.utils.PaginationUtils;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -27,21 +36,29 @@ public class GetBooklistBooksActivity {
     
     private final Logger log = LogManager.getLogger();
     private final BooklistDao booklistDao;
+    private final BooklistEntryDao booklistEntryDao;
+    private final ReadingStateDao readingStateDao;
 
     /**
      * Instantiates a new GetBooklistBooksActivity object.
      *
      * @param booklistDao BooklistDao to access the booklist table.
+     * @param booklistEntryDao BooklistEntryDao to access the booklist entries table.
+     * @param readingStateDao ReadingStateDao to access the reading state table.
      */
     @Inject
-    public GetBooklistBooksActivity(BooklistDao booklistDao) {
+    public GetBooklistBooksActivity(BooklistDao booklistDao, BooklistEntryDao booklistEntryDao,
+                                    ReadingStateDao readingStateDao) {
         this.booklistDao = booklistDao;
+        this.booklistEntryDao = booklistEntryDao;
+        this.readingStateDao = readingStateDao;
     }
 
     /**
      * This method handles the incoming request by retrieving the booklist from the database.
      * <p>
-     * It then returns the booklist's book list.
+     * It then returns one page of the booklist's books, queried from the BooklistEntries table in the order they
+     * were added (or the reverse). SHUFFLED shuffles the books within the page.
      * <p>
      * If the booklist does not exist, this should throw a BooklistNotFoundException.
      *
@@ -53,17 +70,25 @@ public class GetBooklistBooksActivity {
 
         String bookOrder = computeBookOrder(getBooklistBooksRequest.getOrder());
 
+        int limit = PaginationUtils.computeLimit(getBooklistBooksRequest.getLimit());
+        PaginationTokenConverter tokenConverter = new PaginationTokenConverter();
+
         Booklist booklist = booklistDao.getBooklist(getBooklistBooksRequest.getId());
-        List<BookModel> bookModels = new ModelConverterCarbon().toBookModelList(booklist.getBooks());
+        QueryResultPage<BooklistEntry> entries = booklistEntryDao.getEntries(booklist.getId(),
+                !bookOrder.equals(BookOrder.REVERSED), limit,
+                tokenConverter.decode(getBooklistBooksRequest.getNextToken()));
+        BooklistEntryConverter entryConverter = new BooklistEntryConverter();
+        List<Book> books = entryConverter.toBookList(entries.getResults(), readingStateDao.getReadingStates(
+                booklist.getCustomerId(), entryConverter.toAsinList(entries.getResults())));
+        List<BookModel> bookModels = new ModelConverterCarbon().toBookModelList(books);
 
-        if (bookOrder.equals(BookOrder.REVERSED)) {
-            Collections.reverse(bookModels);
-        } else if (bookOrder.equals(BookOrder.SHUFFLED)) {
+        if (bookOrder.equals(BookOrder.SHUFFLED)) {
             Collections.shuffle(bookModels);
         }
 
         return GetBooklistBooksResult.builder()
                 .withBooks(bookModels)
+                .withNextToken(tokenConverter.encode(entries.getLastEvaluatedKey()))
                 .build();
     }
 
@@ -0,0 +1,73 @@
+package com.nashss.se.booktrackerservice.activity;
+
+import com.nashss.se.booktrackerservice.activity.requests.GetBooksRequest;
+import com.nashss.se.booktrackerservice.activity.results.GetBooksResult;
+import com.nashss.se.booktrackerservice.converters.ModelConverterCarbon;
+import com.nashss.se.booktrackerservice.dynamodb.BookDao;
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+import com.nashss.se.booktrackerservice.exceptions.InvalidAttributeValueException;
+import com.nashss.se.booktrackerservice.models.BookModel;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+/**
+ * Implementation of the GetBooksActivity for the BookTrackerService's GetBooks API.
+ * <p>
+ * This API allows the customer to retrieve several books by asin in one call.
+ */
+public class GetBooksActivity {
+    public static final int MAX_ASINS = 200;
+
+    private final Logger log = LogManager.getLogger();
+    private final BookDao bookDao;
+
+    /**
+     * Instantiates a new GetBooksActivity object.
+     *
+     * @param bookDao BookDao to access the book table.
+     */
+    @Inject
+    public GetBooksActivity(BookDao bookDao) {
+        this.bookDao = bookDao;
+    }
+
+    /**
+     * This method handles the incoming request by batch loading the requested books from the database.
+     * <p>
+     * It then returns the books that exist, in the order they were requested. Unknown asins are left out.
+     * <p>
+     * If more than MAX_ASINS distinct asins are requested, this should throw an InvalidAttributeValueException.
+     *
+     * @param getBooksRequest request object containing the asins
+     * @return getBooksResult result object containing the API defined {@link BookModel}s
+     */
+    public GetBooksResult handleRequest(final GetBooksRequest getBooksRequest) {
+        log.info("Received GetBooksRequest {}", getBooksRequest);
+        Set<String> asins = new LinkedHashSet<>();
+        if (getBooksRequest.getAsins() != null) {
+            for (String asin : getBooksRequest.getAsins()) {
+                if (asin != null && !asin.isBlank()) {
+                    asins.add(asin.trim());
+                }
+            }
+        }
+        if (asins.size() > MAX_ASINS) {
+            throw new InvalidAttributeValueException(
+                    String.format("At most %d asins can be requested at once", MAX_ASINS));
+        }
+
+        List<Book> books = bookDao.getBooks(new ArrayList<>(asins));
+
+        return GetBooksResult.builder()
+                .withBooks(new ModelConverterCarbon().toBookModelList(books))
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.nashss.se.booktrackerservice.activity;
+
+import com.nashss.se.booktrackerservice.activity.requests.GetCommentsRequest;
+import com.nashss.se.booktrackerservice.activity.results.GetCommentsResult;
+import com.nashss.se.booktrackerservice.converters.ModelConverterCarbon;
+import com.nashss.se.booktrackerservice.converters.PaginationTokenConverter;
+import com.nashss.se.booktrackerservice.dynamodb.CommentDao;
+import com.nashss.se.booktrackerservice.dynamodb.ReadingStateDao;
+import com.nashss.se.booktrackerservice.dynamodb.models.Comment;
+import com.nashss.se.booktrackerservice.dynamodb.models.ReadingState;
+import com.nashss.se.booktrackerservice.models.CommentModel;
+import com.nashss.se.booktrackerservice.utils.PaginationUtils;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.inject.Inject;
+
+/**
+ * Implementation of the GetCommentsActivity for LonelyRead's GetComments API.
+ *
+ * This API allows the customer to read the comments on a book without spoilers.
+ */
+public class GetCommentsActivity {
+    private final Logger log = LogManager.getLogger();
+    private final CommentDao commentDao;
+    private final ReadingStateDao readingStateDao;
+
+    /**
+     * Instantiates a new GetCommentsActivity object.
+     *
+     * @param commentDao CommentDao to access the comments table.
+     * @param readingStateDao ReadingStateDao to access the reading state table.
+     */
+    @Inject
+    public GetCommentsActivity(CommentDao commentDao, ReadingStateDao readingStateDao) {
+        this.commentDao = commentDao;
+        this.readingStateDao = readingStateDao;
+    }
+
+    /**
+     * This method handles the incoming request by retrieving a page of the comments on the book that were left
+     * no further into the book than the customer has read, according to their reading state.
+     * <p>
+     * It then returns the comments, the progress they were limited to, and a nextToken to request the following
+     * page (null when there are no more comments).
+     * <p>
+     * If the limit or nextToken is invalid, this should throw an InvalidAttributeValueException.
+     *
+     * @param getCommentsRequest request object containing the asin, customer ID, and optional limit and nextToken
+     * @return getCommentsResult result object containing the API defined {@link CommentModel}s
+     */
+    public GetCommentsResult handleRequest(final GetCommentsRequest getCommentsRequest) {
+        log.info("Received GetCommentsRequest {}", getCommentsRequest);
+        int limit = PaginationUtils.computeLimit(getCommentsRequest.getLimit());
+        PaginationTokenConverter tokenConverter = new PaginationTokenConverter();
+
+        ReadingState readingState = readingStateDao.getReadingState(getCommentsRequest.getCustomerId(),
+                getCommentsRequest.getAsin());
+        int percentComplete = readingState == null || readingState.getPercentComplete() == null ?
+                0 : readingState.getPercentComplete();
+
+        QueryResultPage<Comment> comments = commentDao.getCommentsForBook(getCommentsRequest.getAsin(),
+                percentComplete, limit, tokenConverter.decode(getCommentsRequest.getNextToken()));
+
+        return GetCommentsResult.builder()
+                .withComments(new ModelConverterCarbon().toCommentModelList(comments.getResults()))
+                .withPercentComplete(percentComplete)
+                .withNextToken(tokenConverter.encode(comments.getLastEvaluatedKey()))
+                .build();
+    }
+}
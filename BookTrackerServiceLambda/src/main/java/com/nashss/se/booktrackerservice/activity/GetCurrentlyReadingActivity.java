@@ -2,18 +2,30 @@ package com.nashss.se.booktrackerservice.activity;
 
 import com.nashss.se.booktrackerservice.activity.requests.GetCurrentlyReadingRequest;
 import com.nashss.se.booktrackerservice.activity.results.GetCurrentlyReadingResult;
+import com.nashss.se.booktrackerservice.converters.BooklistEntryConverter;
 import com.nashss.se.booktrackerservice.converters.ModelConverterCarbon;
+import com.nashss.se.booktrackerservice.converters.PaginationTokenConverter;
 import com.nashss.se.booktrackerservice.dynamodb.BookDao;
 import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
+import com.nashss.se.booktrackerservice.dynamodb.BooklistEntryDao;
+import com.nashss.se.booktrackerservice.dynamodb.ReadingStateDao;
 import com.nashss.se.booktrackerservice.dynamodb.models.Book;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.dynamodb.models.BooklistEntry;
+import com.nashss.se.booktrackerservice.dynamodb.models.ReadingState;
 import com.nashss.se.booktrackerservice.models.BooklistModel;
+import com.nashss.se.booktrackerservice.utils.PaginationUtils;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.inject.Inject;
 
@@ -21,52 +33,104 @@ public class GetCurrentlyReadingActivity {
     private final Logger log = LogManager.getLogger();
     private final BookDao bookDao;
     private final BooklistDao booklistDao;
+    private final BooklistEntryDao booklistEntryDao;
+    private final ReadingStateDao readingStateDao;
 
     /**
      * Instantiates a new GetCurrentlyReadingActivity object.
      *
      * @param bookDao BookDao to access the book table.
      * @param booklistDao BooklistDao to access the booklist table.
+     * @param booklistEntryDao BooklistEntryDao to access the booklist entries table.
+     * @param readingStateDao ReadingStateDao to access the reading state table.
      */
     @Inject
-    public GetCurrentlyReadingActivity(BookDao bookDao, BooklistDao booklistDao) {
+    public GetCurrentlyReadingActivity(BookDao bookDao, BooklistDao booklistDao, BooklistEntryDao booklistEntryDao,
+                                       ReadingStateDao readingStateDao) {
         this.bookDao = bookDao;
         this.booklistDao = booklistDao;
+        this.booklistEntryDao = booklistEntryDao;
+        this.readingStateDao = readingStateDao;
     }
 
     /**
      * This method handles the incoming request by retrieving the books from the database.
      * <p>
-     * It then returns the booklist.
+     * Without a booklist id, one page of the requesting user's books is returned: the books they are currently
+     * reading come from a query of the sparse CustomerIdLastReadAtIndex, most recently read first.
+     * <p>
+     * With a booklist id, one page of the booklist's entries is read in the order they were added, and only the
+     * books among them matching the requested reading status are returned. The page can hold fewer books than the
+     * limit while more remain.
      * <p>
      * If the booklist does not exist, this should throw a BooklistNotFoundException.
+     * <p>
+     * If the booklist is not the requesting user's, this should throw a SecurityException.
      *
      * @param getCurrentlyReadingRequest request object containing the boolean for reading and optional playlist id
      * @return getCurrentlyReadingResult result object containing the API defined {@link BooklistModel}
      */
     public GetCurrentlyReadingResult handleRequest(final GetCurrentlyReadingRequest getCurrentlyReadingRequest) {
         log.info("Received GetCurrentlyReadingRequest {}", getCurrentlyReadingRequest);
-        BooklistModel booklistModel;
+        BooklistEntryConverter entryConverter = new BooklistEntryConverter();
         boolean requestedBoolean = getCurrentlyReadingRequest.isCurrentlyReading();
-        Booklist currentlyReading = bookDao.getCurrentlyReading(requestedBoolean);
-        //narrows search results to a specific playlist. If no playlist given, returns all results.
+        String customerId = getCurrentlyReadingRequest.getCustomerId();
+        int limit = PaginationUtils.computeLimit(getCurrentlyReadingRequest.getLimit());
+        PaginationTokenConverter tokenConverter = new PaginationTokenConverter();
+        Map<String, AttributeValue> exclusiveStartKey =
+                tokenConverter.decode(getCurrentlyReadingRequest.getNextToken());
+        //narrows search results to a specific playlist. If no playlist given, returns the user's results.
         if (getCurrentlyReadingRequest.getId() != null) {
             Booklist requestedList = booklistDao.getBooklist(getCurrentlyReadingRequest.getId());
-            List<Book> requestListBooks = requestedList.getBooks();
+            if (!requestedList.getCustomerId().equals(customerId)) {
+                throw new SecurityException("You must own a booklist to see the books being read in it.");
+            }
+            QueryResultPage<BooklistEntry> entries = booklistEntryDao.getEntries(requestedList.getId(), true, limit,
+                    exclusiveStartKey);
             List<Book> booksBeingRead = new ArrayList<>();
-            for (Book book : requestListBooks) {
-                if (currentlyReading.getBooks().contains(book)) {
+            for (Book book : entryConverter.toBookList(entries.getResults(), readingStateDao.getReadingStates(
+                    customerId, entryConverter.toAsinList(entries.getResults())))) {
+                if (requestedBoolean == Boolean.TRUE.equals(book.isCurrentlyReading())) {
                     booksBeingRead.add(book);
                 }
             }
             requestedList.setBooks(booksBeingRead);
-            booklistModel = new ModelConverterCarbon().toBooklistModel(requestedList);
-        } else {
-            booklistModel = new ModelConverterCarbon().toBooklistModel(currentlyReading);
+
+            return GetCurrentlyReadingResult.builder()
+                    .withBooklist(new ModelConverterCarbon().toBooklistModel(requestedList))
+                    .withNextToken(tokenConverter.encode(entries.getLastEvaluatedKey()))
+                    .build();
+        }
+
+        QueryResultPage<ReadingState> readingStates = requestedBoolean ?
+                readingStateDao.getCurrentlyReading(customerId, limit, exclusiveStartKey) :
+                readingStateDao.getNotCurrentlyReading(customerId, limit, exclusiveStartKey);
+
+        List<String> asins = new ArrayList<>();
+        for (ReadingState readingState : readingStates.getResults()) {
+            asins.add(readingState.getAsin());
+        }
+        Map<String, Book> booksByAsin = new HashMap<>();
+        for (Book book : bookDao.getBooks(asins)) {
+            booksByAsin.put(book.getAsin(), book);
         }
+        List<Book> books = new ArrayList<>();
+        for (ReadingState readingState : readingStates.getResults()) {
+            Book book = booksByAsin.get(readingState.getAsin());
+            if (book != null) {
+                books.add(entryConverter.withReadingState(book, readingState));
+            }
+        }
+
+        Booklist currentlyReading = new Booklist();
+        currentlyReading.setName("Currently Reading");
+        currentlyReading.setCustomerId(customerId);
+        currentlyReading.setBooks(books);
+        currentlyReading.setBookCount(books.size());
 
         return GetCurrentlyReadingResult.builder()
-                .withBooklist(booklistModel)
+                .withBooklist(new ModelConverterCarbon().toBooklistModel(currentlyReading))
+                .withNextToken(tokenConverter.encode(readingStates.getLastEvaluatedKey()))
                 .build();
     }
 }
@@ -3,9 +3,13 @@ package com.nashss.se.booktrackerservice.activity;
 import com.nashss.se.booktrackerservice.activity.requests.GetUserBooklistsRequest;
 import com.nashss.se.booktrackerservice.activity.results.GetUserBooklistsResult;
 import com.nashss.se.booktrackerservice.converters.ModelConverterCarbon;
+import com.nashss.se.booktrackerservice.converters.PaginationTokenConverter;
 import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
-import com.nashss.se.booktrackerservice.models.BooklistModel;
+import com.nashss.se.booktrackerservice.models.BooklistSummaryModel;
+import com.nashss.se.booktrackerservice.utils.PaginationUtils;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -30,23 +34,32 @@ public class GetUserBooklistsActivity {
     }
 
     /**
-     * This method handles the incoming request by retrieving the user's booklists from the database.
+     * This method handles the incoming request by retrieving a page of the user's booklists from the database.
      * <p>
-     * It then returns a list of booklists.
+     * It then returns a list of booklists, along with a nextToken to request the following page
+     * (null when there are no more booklists).
      * <p>
      * If the user does not exist, this should throw a UserNotFoundException.
+     * <p>
+     * If the limit or nextToken is invalid, this should throw an InvalidAttributeValueException.
      *
-     * @param getUserBooklistsRequest request object containing the customer ID
-     * @return getUserBooklistsResult result object containing the API defined {@link BooklistModel}
+     * @param getUserBooklistsRequest request object containing the customer ID, and optional limit and nextToken
+     * @return getUserBooklistsResult result object containing the API defined {@link BooklistSummaryModel}
      */
     public GetUserBooklistsResult handleRequest(final GetUserBooklistsRequest getUserBooklistsRequest) {
         log.info("Recieved GetUserBooklistsRequest {}", getUserBooklistsRequest);
         String requestedCustomerId = getUserBooklistsRequest.getCustomerId();
-        List<Booklist> userBooklists = booklistDao.getAllBooklistsForUser(requestedCustomerId);
-        List<BooklistModel> userBooklistsModels = new ModelConverterCarbon().toBookListModelList(userBooklists);
+        int limit = PaginationUtils.computeLimit(getUserBooklistsRequest.getLimit());
+        PaginationTokenConverter tokenConverter = new PaginationTokenConverter();
+
+        QueryResultPage<Booklist> userBooklists = booklistDao.getBooklistsForUser(requestedCustomerId, limit,
+                tokenConverter.decode(getUserBooklistsRequest.getNextToken()));
+        List<BooklistSummaryModel> userBooklistsModels =
+                new ModelConverterCarbon().toBooklistSummaryModelList(userBooklists.getResults());
 
         return GetUserBooklistsResult.builder()
                 .withBooklists(userBooklistsModels)
+                .withNextToken(tokenConverter.encode(userBooklists.getLastEvaluatedKey()))
                 .build();
     }
 }
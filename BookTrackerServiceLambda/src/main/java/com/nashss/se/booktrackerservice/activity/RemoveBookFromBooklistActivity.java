@@ -2,12 +2,19 @@ package com.nashss.se.booktrackerservice.activity;
 
 import com.nashss.se.booktrackerservice.activity.requests.RemoveBookFromBooklistRequest;
 import com.nashss.se.booktrackerservice.activity.results.RemoveBookFromBooklistResult;
+import com.nashss.se.booktrackerservice.converters.BooklistEntryConverter;
 import com.nashss.se.booktrackerservice.converters.ModelConverterCarbon;
-import com.nashss.se.booktrackerservice.dynamodb.BookDao;
+import com.nashss.se.booktrackerservice.converters.PaginationTokenConverter;
 import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
+import com.nashss.se.booktrackerservice.dynamodb.BooklistEntryDao;
+import com.nashss.se.booktrackerservice.dynamodb.ReadingStateDao;
 import com.nashss.se.booktrackerservice.dynamodb.models.Book;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.dynamodb.models.BooklistEntry;
 import com.nashss.se.booktrackerservice.models.BookModel;
+import com.nashss.se.booktrackerservice.utils.PaginationUtils;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -23,26 +30,31 @@ import javax.inject.Inject;
  */
 public class RemoveBookFromBooklistActivity {
     private final Logger log = LogManager.getLogger();
-    private final BookDao bookDao;
     private final BooklistDao booklistDao;
+    private final BooklistEntryDao booklistEntryDao;
+    private final ReadingStateDao readingStateDao;
 
     /**
      * Instantiates a new RemoveBookFromBooklistActivity object.
      *
      * @param booklistDao BooklistDao to access the booklists table.
-     * @param bookDao BookDao to access the book table.
+     * @param booklistEntryDao BooklistEntryDao to access the booklist entries table.
+     * @param readingStateDao ReadingStateDao to access the reading state table.
      */
     @Inject
-    public RemoveBookFromBooklistActivity(BooklistDao booklistDao, BookDao bookDao) {
+    public RemoveBookFromBooklistActivity(BooklistDao booklistDao, BooklistEntryDao booklistEntryDao,
+                                          ReadingStateDao readingStateDao) {
         this.booklistDao = booklistDao;
-        this.bookDao = bookDao;
+        this.booklistEntryDao = booklistEntryDao;
+        this.readingStateDao = readingStateDao;
     }
 
     /**
-     * This method handles the incoming request by removing a book
-     * from a book list and persisting the updated book list.
+     * This method handles the incoming request by deleting the book's BooklistEntry
+     * and updating the book list's count, in one transaction.
      * <p>
-     * It then returns the updated list of books from the book list.
+     * It then returns the first page of the book list's updated books, with a nextToken for GetBooklistBooks
+     * to fetch the rest.
      * <p>
      * If the booklist does not exist, this should throw a BooklistNotFoundException.
      * <p>
@@ -50,7 +62,7 @@ public class RemoveBookFromBooklistActivity {
      *
      * @param removeBFromBooklistRequest request object containing the book list ID and an asin to retrieve
      *                                 book data
-     * @return removeBookFromPlaylistResult result object containing the book list's updated list of
+     * @return removeBookFromPlaylistResult result object containing the first page of the book list's updated
      *                                 API defined {@link BookModel}s
      */
     public RemoveBookFromBooklistResult handleRequest(final RemoveBookFromBooklistRequest removeBFromBooklistRequest) {
@@ -62,19 +74,19 @@ public class RemoveBookFromBooklistActivity {
             throw new SecurityException("You must own a booklist to remove books from it!");
         }
 
-        Book bookToRemove = bookDao.getBook(removeBFromBooklistRequest.getAsin());
-
-        List<Book> books = booklist.getBooks();
-        books.remove(bookToRemove);
-
-        booklist.setBooks(books);
-        booklist.setBookCount(booklist.getBooks().size());
-        booklist = booklistDao.saveBooklist(booklist);
+        booklistDao.removeBookFromBooklist(booklist.getId(), removeBFromBooklistRequest.getAsin());
 
-        List<BookModel> bookModels = new ModelConverterCarbon().toBookModelList(booklist.getBooks());
+        BooklistEntryConverter entryConverter = new BooklistEntryConverter();
+        PaginationTokenConverter tokenConverter = new PaginationTokenConverter();
+        QueryResultPage<BooklistEntry> entries = booklistEntryDao.getEntries(booklist.getId(), true,
+                PaginationUtils.DEFAULT_LIMIT, null);
+        List<Book> books = entryConverter.toBookList(entries.getResults(), readingStateDao.getReadingStates(
+                booklist.getCustomerId(), entryConverter.toAsinList(entries.getResults())));
+        List<BookModel> bookModels = new ModelConverterCarbon().toBookModelList(books);
 
         return RemoveBookFromBooklistResult.builder()
                 .withBooklist(bookModels)
+                .withNextToken(tokenConverter.encode(entries.getLastEvaluatedKey()))
                 .build();
     }
 }
@@ -4,6 +4,7 @@ import com.nashss.se.booktrackerservice.activity.requests.RemoveBooklistRequest;
 import com.nashss.se.booktrackerservice.activity.results.RemoveBooklistResult;
 import com.nashss.se.booktrackerservice.converters.ModelConverterCarbon;
 import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
+import com.nashss.se.booktrackerservice.dynamodb.BooklistEntryDao;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
 import com.nashss.se.booktrackerservice.models.BooklistModel;
 
@@ -20,19 +21,22 @@ import javax.inject.Inject;
 public class RemoveBooklistActivity {
     private final Logger log = LogManager.getLogger();
     private final BooklistDao booklistDao;
+    private final BooklistEntryDao booklistEntryDao;
 
     /**
      * Instantiates a new RemoveBooklistActivity object.
      *
      * @param booklistDao BooklistDao to access the booklist table.
+     * @param booklistEntryDao BooklistEntryDao to access the booklist entries table.
      */
     @Inject
-    public RemoveBooklistActivity(BooklistDao booklistDao) {
+    public RemoveBooklistActivity(BooklistDao booklistDao, BooklistEntryDao booklistEntryDao) {
         this.booklistDao = booklistDao;
+        this.booklistEntryDao = booklistEntryDao;
     }
 
     /**
-     * This method handles the incoming request by removing the booklist from the database.
+     * This method handles the incoming request by removing the booklist and its entries from the database.
      * <p>
      * If the booklist does not exist, this should throw a BooklistNotFoundException.
      *
@@ -43,6 +47,7 @@ public class RemoveBooklistActivity {
         log.info("Received RemoveBooklistRequest {}", removeBooklistRequest);
         String requestedId = removeBooklistRequest.getId();
         Booklist booklist = booklistDao.removeBooklist(requestedId);
+        booklistEntryDao.removeAllEntries(requestedId);
         BooklistModel booklistModel = null;
 
         if (booklist == null) {
@@ -3,10 +3,14 @@ package com.nashss.se.booktrackerservice.activity;
 import com.nashss.se.booktrackerservice.activity.requests.SearchBooklistsRequest;
 import com.nashss.se.booktrackerservice.activity.results.SearchBooklistsResult;
 import com.nashss.se.booktrackerservice.converters.ModelConverterCarbon;
+import com.nashss.se.booktrackerservice.converters.PaginationTokenConverter;
 import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
 
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
-import com.nashss.se.booktrackerservice.models.BooklistModel;
+import com.nashss.se.booktrackerservice.models.BooklistSummaryModel;
+import com.nashss.se.booktrackerservice.utils.PaginationUtils;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -40,7 +44,10 @@ public class SearchBooklistsActivity {
     /**
      * This method handles the incoming request by searching for booklist from the database.
      * <p>
-     * It then returns the matching booklists, or an empty result list if none are found.
+     * It then returns a page of matching booklists, or an empty result list if none are found, along with
+     * a nextToken to request the following page (null when there are no more results).
+     * <p>
+     * If the limit or nextToken is invalid, this should throw an InvalidAttributeValueException.
      *
      * @param searchBooklistsRequest request object containing the search criteria
      * @return searchBooklistsResult result object containing the booklists that match the
@@ -52,11 +59,17 @@ public class SearchBooklistsActivity {
         String criteria = ifNull(searchBooklistsRequest.getCriteria(), "");
         String[] criteriaArray = criteria.isBlank() ? new String[0] : criteria.split("\\s");
 
-        List<Booklist> results = booklistDao.searchBooklists(criteriaArray);
-        List<BooklistModel> booklistModels = new ModelConverterCarbon().toBookListModelList(results);
+        int limit = PaginationUtils.computeLimit(searchBooklistsRequest.getLimit());
+        PaginationTokenConverter tokenConverter = new PaginationTokenConverter();
+
+        ScanResultPage<Booklist> results = booklistDao.searchBooklists(criteriaArray, limit,
+                tokenConverter.decode(searchBooklistsRequest.getNextToken()));
+        List<BooklistSummaryModel> booklistModels =
+                new ModelConverterCarbon().toBooklistSummaryModelList(results.getResults());
 
         return SearchBooklistsResult.builder()
                 .withBooklists(booklistModels)
+                .withNextToken(tokenConverter.encode(results.getLastEvaluatedKey()))
                 .build();
     }
 }
@@ -3,15 +3,15 @@ package com.nashss.se.booktrackerservice.activity;
 import com.nashss.se.booktrackerservice.activity.requests.SearchBooksRequest;
 import com.nashss.se.booktrackerservice.activity.results.SearchBooksResult;
 import com.nashss.se.booktrackerservice.converters.ModelConverterCarbon;
+import com.nashss.se.booktrackerservice.converters.VolumeConverter;
 import com.nashss.se.booktrackerservice.dynamodb.BookDao;
 import com.nashss.se.booktrackerservice.dynamodb.models.Book;
 import com.nashss.se.booktrackerservice.exceptions.GoogleBookAPISearchException;
+import com.nashss.se.booktrackerservice.exceptions.GoogleBooksUnavailableException;
+import com.nashss.se.booktrackerservice.googlebookapi.GoogleBooksQueryCache;
 import com.nashss.se.booktrackerservice.googlebookapi.Request;
-import com.nashss.se.booktrackerservice.googlebookapi.helper.VolumeInfoHelper;
 import com.nashss.se.booktrackerservice.models.BookModel;
 
-import com.google.api.client.json.JsonFactory;
-import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.books.v1.model.Volume;
 
 import org.apache.logging.log4j.LogManager;
@@ -31,25 +31,33 @@ import static com.nashss.se.booktrackerservice.utils.NullUtils.ifNull;
  */
 public class SearchBooksActivity {
 
+    private static final long MAX_GOOGLE_RESULTS = 5;
+
     private final Logger log = LogManager.getLogger();
     private final BookDao bookDao;
-    private Request googleBookApi;
-    private VolumeInfoHelper helper;
+    private final GoogleBooksQueryCache googleBooksQueryCache;
+    private final Request googleBookApi;
 
     /**
      * Instantiates a new SearchBooksActivity object.
      *
      * @param bookDao BookDao to access the book table.
+     * @param googleBooksQueryCache GoogleBooksQueryCache to reuse recent Google Book API results.
+     * @param googleBookApi Request to query the Google Book API.
      */
     @Inject
-    public SearchBooksActivity(BookDao bookDao) {
+    public SearchBooksActivity(BookDao bookDao, GoogleBooksQueryCache googleBooksQueryCache, Request googleBookApi) {
         this.bookDao = bookDao;
+        this.googleBooksQueryCache = googleBooksQueryCache;
+        this.googleBookApi = googleBookApi;
     }
 
     /**
      * This method handles the incoming request by searching for books from the database.
      * <p>
-     * It then returns the matching books, or an empty result list if none are found.
+     * It then returns the matching books, or an empty result list if none are found. Google Books is only searched
+     * when the catalog has no match, and is skipped while its circuit breaker is open or when the request's deadline
+     * leaves too little time for it.
      *
      * @param searchBooksRequest request object containing the search criteria
      * @return searchBooksResult result object containing the books that match the
@@ -66,20 +74,20 @@ public class SearchBooksActivity {
         if (results == null || results.isEmpty()) {
             results = new ArrayList<>();
             try {
-                JsonFactory jsonFactory = GsonFactory.getDefaultInstance();
-                googleBookApi = new Request();
-                helper = new VolumeInfoHelper();
-                List<Volume> volumes = googleBookApi.queryBooks(jsonFactory, searchBooksRequest.getCriteria());
-                for (int i = 0; i < 5; i++) {
-                    results.add(googleBookApi.deserializeVolumeToBook(googleBookApi.extractAttributes(volumes, i)));
-                }
+                List<Volume> volumes = googleBooksQueryCache.queryBooks(searchBooksRequest.getCriteria(),
+                    MAX_GOOGLE_RESULTS, googleBookApi::queryBooks);
+                results = new VolumeConverter().toBooks(volumes);
+            } catch (GoogleBooksUnavailableException e) {
+                // Google Books is failing, overloaded or out of time, so answer with the (empty) local results
+                log.warn("Skipping Google Book API search for '{}': {}", criteria, e.getMessage());
             } catch (Exception e) {
                 throw new GoogleBookAPISearchException("Error with request to Google Book API");
             }
         }
 
+        ModelConverterCarbon modelConverter = new ModelConverterCarbon();
         for (Book book : results) {
-            bookModels.add(new ModelConverterCarbon().toBookModel(book));
+            bookModels.add(modelConverter.toBookModel(book));
         }
 
         return SearchBooksResult.builder()
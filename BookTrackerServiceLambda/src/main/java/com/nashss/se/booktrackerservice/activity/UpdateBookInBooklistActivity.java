@@ -5,17 +5,16 @@ import com.nashss.se.booktrackerservice.activity.results.UpdateBookInBooklistRes
 
 import com.nashss.se.booktrackerservice.converters.ModelConverterCarbon;
 import com.nashss.se.booktrackerservice.dynamodb.BookDao;
-import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
 import com.nashss.se.booktrackerservice.dynamodb.CommentDao;
+import com.nashss.se.booktrackerservice.dynamodb.ReadingStateDao;
 import com.nashss.se.booktrackerservice.dynamodb.models.Book;
-import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.dynamodb.models.ReadingState;
+import com.nashss.se.booktrackerservice.exceptions.BookNotFoundException;
 import com.nashss.se.booktrackerservice.metrics.MetricsPublisher;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.util.ArrayList;
-import java.util.List;
 import javax.inject.Inject;
 
 public class UpdateBookInBooklistActivity {
@@ -25,35 +24,38 @@ public class UpdateBookInBooklistActivity {
      * This API allows the customer to update their saved book's information. Like rating and percent complete.
      */
     private final Logger log = LogManager.getLogger();
-    private final BooklistDao booklistDao;
     private final BookDao bookDao;
+    private final ReadingStateDao readingStateDao;
     private final MetricsPublisher metricsPublisher;
     private final CommentDao commentDao;
 
     /**
      * Instantiates a new UpdateBooklist object.
      *
-     * @param booklistDao BooklistDao to access the booklist table.
      * @param bookDao BookDao to access the book table.
-     * @param commentDao Commentdao class to access comment table
+     * @param readingStateDao ReadingStateDao to access the reading state table.
      * @param metricsPublisher MetricsPublisher to publish metrics.
+     * @param commentDao Commentdao class to access comment table
      */
     @Inject
-    public UpdateBookInBooklistActivity(BooklistDao booklistDao, BookDao bookDao, MetricsPublisher metricsPublisher,
-                                        CommentDao commentDao) {
-        this.booklistDao = booklistDao;
+    public UpdateBookInBooklistActivity(BookDao bookDao, ReadingStateDao readingStateDao,
+                                        MetricsPublisher metricsPublisher, CommentDao commentDao) {
         this.bookDao = bookDao;
+        this.readingStateDao = readingStateDao;
         this.metricsPublisher = metricsPublisher;
         this.commentDao = commentDao;
     }
 
     /**
-     * This method handles the incoming request by retrieving the book, updating it,
-     * and persisting it across booklists.
+     * This method handles the incoming request by writing the user's progress on the book to their
+     * ReadingState with a single update. The shared book and the booklists holding it are not rewritten.
      * <p>
-     * It then returns the updated book.
+     * Changes to the user's rating and whether they are reading the book are added to the book's
+     * aggregate counters in the same transaction.
      * <p>
-     * If the booklist does not exist, this should throw a BookNotFoundException.
+     * It then returns the book with the user's reading state as stored after the update.
+     * <p>
+     * If the book does not exist, this should throw a BookNotFoundException.
      * <p>
      * If the provided booklist name or customer ID has invalid characters, throws an
      * InvalidAttributeValueException
@@ -67,42 +69,28 @@ public class UpdateBookInBooklistActivity {
      */
     public UpdateBookInBooklistResult handleRequest(final UpdateBookInBooklistRequest updateBookInBooklistRequest) {
         log.info("Received UpdateBookInBooklistRequest {}", updateBookInBooklistRequest);
-        Book originalBook = bookDao.getBook(updateBookInBooklistRequest.getAsin());
         Book book = bookDao.getBook(updateBookInBooklistRequest.getAsin());
-        //tries to update currently reading, leaves alone if null
-        try {
-            book.setCurrentlyReading(updateBookInBooklistRequest.isCurrentlyReading());
-        } catch (NullPointerException e) {
-            System.out.println(e);
-        }
-        //tries to update percent complete, leaves alone if null
-        try {
-            book.setPercentComplete(updateBookInBooklistRequest.getPercentComplete());
-        } catch (NullPointerException e) {
-            System.out.println(e);
-        }
-        //tries to update rating, leaves alone if null
-        try {
-            book.setRating(updateBookInBooklistRequest.getRating());
-        } catch (NullPointerException e) {
-            System.out.println(e);
+        if (book == null) {
+            throw new BookNotFoundException("Could not find book with asin " + updateBookInBooklistRequest.getAsin());
         }
 
-        List<Booklist> results = booklistDao.getAllBooklistsForUser(updateBookInBooklistRequest.getCustomerId());
-        for (Booklist booklist : results) {
-            List<Book> currentBooklist = booklist.getBooks();
-            if (currentBooklist.contains(originalBook)) {
-                List<Book> newlist = new ArrayList<>(currentBooklist);
-                newlist.remove(originalBook);
-                newlist.add(book);
-                booklist.setBooks(newlist);
-                booklistDao.saveBooklist(booklist);
-            }
-        }
+        ReadingState readingState = new ReadingState();
+        readingState.setCustomerId(updateBookInBooklistRequest.getCustomerId());
+        readingState.setAsin(book.getAsin());
+        readingState.setCurrentlyReading(updateBookInBooklistRequest.isCurrentlyReading());
+        readingState.setPercentComplete(updateBookInBooklistRequest.getPercentComplete());
+        //leaves the stored rating alone if none was given
+        readingState.setRating(updateBookInBooklistRequest.getRating());
+        readingState.setUpdatedAt(System.currentTimeMillis());
+        ReadingState storedState = readingStateDao.updateReadingState(readingState);
+
+        // the shared book's rating is not this user's, so the response takes all progress from their stored state
+        book.setCurrentlyReading(storedState.isCurrentlyReading());
+        book.setPercentComplete(storedState.getPercentComplete());
+        book.setRating(storedState.getRating());
 
         return UpdateBookInBooklistResult.builder()
                 .withBook(new ModelConverterCarbon().toBookModel(book))
                 .build();
     }
-
 }
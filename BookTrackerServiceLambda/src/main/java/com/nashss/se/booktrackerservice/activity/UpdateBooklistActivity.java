@@ -77,8 +77,7 @@ public class UpdateBooklistActivity {
             throw new SecurityException("You must own a booklist to update it");
         }
 
-        booklist.setName(updateBooklistRequest.getName());
-        booklist = booklistDao.saveBooklist(booklist);
+        booklist = booklistDao.updateBooklistName(booklist.getId(), updateBooklistRequest.getName());
 
         publishExceptionMetrics(false, false);
         return UpdateBooklistResult.builder()
@@ -0,0 +1,82 @@
+package com.nashss.se.booktrackerservice.activity.requests;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+
+@JsonDeserialize(builder = AddCommentRequest.Builder.class)
+public class AddCommentRequest {
+    private final String asin;
+    private final String customerId;
+    private final String commentText;
+    private final Integer percentComplete;
+
+    private AddCommentRequest(String asin, String customerId, String commentText, Integer percentComplete) {
+        this.asin = asin;
+        this.customerId = customerId;
+        this.commentText = commentText;
+        this.percentComplete = percentComplete;
+    }
+
+    public String getAsin() {
+        return asin;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public String getCommentText() {
+        return commentText;
+    }
+
+    public Integer getPercentComplete() {
+        return percentComplete;
+    }
+
+    @Override
+    public String toString() {
+        return "AddCommentRequest{" +
+                "asin='" + asin + '\'' +
+                ", customerId='" + customerId + '\'' +
+                ", commentText='" + commentText + '\'' +
+                ", percentComplete=" + percentComplete +
+                '}';
+    }
+
+    //CHECKSTYLE:OFF:Builder
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @JsonPOJOBuilder
+    public static class Builder {
+        private String asin;
+        private String customerId;
+        private String commentText;
+        private Integer percentComplete;
+
+        public Builder withAsin(String asin) {
+            this.asin = asin;
+            return this;
+        }
+
+        public Builder withCustomerId(String customerId) {
+            this.customerId = customerId;
+            return this;
+        }
+
+        public Builder withCommentText(String commentText) {
+            this.commentText = commentText;
+            return this;
+        }
+
+        public Builder withPercentComplete(Integer percentComplete) {
+            this.percentComplete = percentComplete;
+            return this;
+        }
+
+        public AddCommentRequest build() {
+            return new AddCommentRequest(asin, customerId, commentText, percentComplete);
+        }
+    }
+}
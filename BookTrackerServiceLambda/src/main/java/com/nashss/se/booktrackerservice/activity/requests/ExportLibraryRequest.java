@@ -0,0 +1,39 @@
+package com.nashss.se.booktrackerservice.activity.requests;
+
+public class ExportLibraryRequest {
+
+    private final String customerId;
+
+    private ExportLibraryRequest(String customerId) {
+        this.customerId = customerId;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    @Override
+    public String toString() {
+        return "ExportLibraryRequest{" +
+                "customerId='" + customerId + '\'' +
+                '}';
+    }
+
+    //CHECKSTYLE:OFF:Builder
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private String customerId;
+
+        public Builder withCustomerId(String customerId) {
+            this.customerId = customerId;
+            return this;
+        }
+
+        public ExportLibraryRequest build() {
+            return new ExportLibraryRequest(customerId);
+        }
+    }
+}
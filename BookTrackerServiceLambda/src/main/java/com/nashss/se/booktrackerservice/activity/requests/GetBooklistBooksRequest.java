@@ -4,10 +4,14 @@ public class GetBooklistBooksRequest {
 
     private final String id;
     private final String order;
+    private final Integer limit;
+    private final String nextToken;
 
-    private GetBooklistBooksRequest(String id, String order) {
+    private GetBooklistBooksRequest(String id, String order, Integer limit, String nextToken) {
         this.id = id;
         this.order = order;
+        this.limit = limit;
+        this.nextToken = nextToken;
     }
 
     public String getId() {
@@ -18,11 +22,21 @@ public class GetBooklistBooksRequest {
         return order;
     }
 
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
     @Override
     public String toString() {
         return "GetBooklistBooksRequest{" +
                 "id='" + id + '\'' +
                 ", order='" + order + '\'' +
+                ", limit=" + limit +
+                ", nextToken='" + nextToken + '\'' +
                 '}';
     }
 
@@ -34,6 +48,8 @@ public class GetBooklistBooksRequest {
     public static class Builder {
         private String id;
         private String order;
+        private Integer limit;
+        private String nextToken;
 
         public Builder withId(String id) {
             this.id = id;
@@ -45,8 +61,18 @@ public class GetBooklistBooksRequest {
             return this;
         }
 
+        public Builder withLimit(Integer limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        public Builder withNextToken(String nextToken) {
+            this.nextToken = nextToken;
+            return this;
+        }
+
         public GetBooklistBooksRequest build() {
-            return new GetBooklistBooksRequest(id, order);
+            return new GetBooklistBooksRequest(id, order, limit, nextToken);
         }
     }
 }
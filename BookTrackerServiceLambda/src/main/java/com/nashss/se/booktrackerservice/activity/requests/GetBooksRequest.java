@@ -0,0 +1,42 @@
+package com.nashss.se.booktrackerservice.activity.requests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GetBooksRequest {
+
+    private final List<String> asins;
+
+    private GetBooksRequest(List<String> asins) {
+        this.asins = asins;
+    }
+
+    public List<String> getAsins() {
+        return asins == null ? null : new ArrayList<>(asins);
+    }
+
+    @Override
+    public String toString() {
+        return "GetBooksRequest{" +
+                "asins=" + asins +
+                '}';
+    }
+
+    //CHECKSTYLE:OFF:Builder
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private List<String> asins;
+
+        public Builder withAsins(List<String> asins) {
+            this.asins = asins == null ? null : new ArrayList<>(asins);
+            return this;
+        }
+
+        public GetBooksRequest build() {
+            return new GetBooksRequest(asins);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.nashss.se.booktrackerservice.activity.requests;
+
+public class GetCommentsRequest {
+
+    private final String asin;
+    private final String customerId;
+    private final Integer limit;
+    private final String nextToken;
+
+    private GetCommentsRequest(String asin, String customerId, Integer limit, String nextToken) {
+        this.asin = asin;
+        this.customerId = customerId;
+        this.limit = limit;
+        this.nextToken = nextToken;
+    }
+
+    public String getAsin() {
+        return asin;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    @Override
+    public String toString() {
+        return "GetCommentsRequest{" +
+                "asin='" + asin + '\'' +
+                ", customerId='" + customerId + '\'' +
+                ", limit=" + limit +
+                ", nextToken='" + nextToken + '\'' +
+                '}';
+    }
+
+    //CHECKSTYLE:OFF:Builder
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private String asin;
+        private String customerId;
+        private Integer limit;
+        private String nextToken;
+
+        public Builder withAsin(String asin) {
+            this.asin = asin;
+            return this;
+        }
+
+        public Builder withCustomerId(String customerId) {
+            this.customerId = customerId;
+            return this;
+        }
+
+        public Builder withLimit(Integer limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        public Builder withNextToken(String nextToken) {
+            this.nextToken = nextToken;
+            return this;
+        }
+
+        public GetCommentsRequest build() {
+            return new GetCommentsRequest(asin, customerId, limit, nextToken);
+        }
+    }
+}
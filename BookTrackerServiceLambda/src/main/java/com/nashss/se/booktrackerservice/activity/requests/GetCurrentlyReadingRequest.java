@@ -3,10 +3,17 @@ package com.nashss.se.booktrackerservice.activity.requests;
 public class GetCurrentlyReadingRequest {
     private final boolean currentlyReading;
     private final String id;
+    private final String customerId;
+    private final Integer limit;
+    private final String nextToken;
 
-    private GetCurrentlyReadingRequest(boolean currentlyReading, String id) {
+    private GetCurrentlyReadingRequest(boolean currentlyReading, String id, String customerId, Integer limit,
+                                       String nextToken) {
         this.currentlyReading = currentlyReading;
         this.id = id;
+        this.customerId = customerId;
+        this.limit = limit;
+        this.nextToken = nextToken;
     }
     public boolean isCurrentlyReading() {
         return currentlyReading;
@@ -15,11 +22,26 @@ public class GetCurrentlyReadingRequest {
         return id;
     }
 
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
     @Override
     public String toString() {
         return "GetCurrentlyReadingRequest{" +
                 "currentlyReading='" + currentlyReading + '\'' +
-                "id='" + id + '\'' +
+                ", id='" + id + '\'' +
+                ", customerId='" + customerId + '\'' +
+                ", limit=" + limit +
+                ", nextToken='" + nextToken + '\'' +
                 '}';
     }
 
@@ -31,6 +53,9 @@ public class GetCurrentlyReadingRequest {
     public static class Builder {
         private boolean currentlyReading;
         private String id;
+        private String customerId;
+        private Integer limit;
+        private String nextToken;
 
         public GetCurrentlyReadingRequest.Builder withCurrentlyReading(boolean currentlyReading) {
             this.currentlyReading = currentlyReading;
@@ -42,8 +67,23 @@ public class GetCurrentlyReadingRequest {
             return this;
         }
 
+        public GetCurrentlyReadingRequest.Builder withCustomerId(String customerId) {
+            this.customerId = customerId;
+            return this;
+        }
+
+        public GetCurrentlyReadingRequest.Builder withLimit(Integer limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        public GetCurrentlyReadingRequest.Builder withNextToken(String nextToken) {
+            this.nextToken = nextToken;
+            return this;
+        }
+
         public GetCurrentlyReadingRequest build() {
-            return new GetCurrentlyReadingRequest(currentlyReading, id);
+            return new GetCurrentlyReadingRequest(currentlyReading, id, customerId, limit, nextToken);
         }
     }
 }
@@ -3,19 +3,33 @@ package com.nashss.se.booktrackerservice.activity.requests;
 public class GetUserBooklistsRequest {
 
     private final String customerId;
+    private final Integer limit;
+    private final String nextToken;
 
-    private GetUserBooklistsRequest(String customerId) {
+    private GetUserBooklistsRequest(String customerId, Integer limit, String nextToken) {
         this.customerId = customerId;
+        this.limit = limit;
+        this.nextToken = nextToken;
     }
 
     public String getCustomerId() {
         return customerId;
     }
 
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
     @Override
     public String toString() {
         return "GetUserBooklistsRequest{" +
                 "customerId='" + customerId + '\'' +
+                ", limit=" + limit +
+                ", nextToken='" + nextToken + '\'' +
                 '}';
     }
 
@@ -26,14 +40,26 @@ public class GetUserBooklistsRequest {
 
     public static class Builder {
         private String customerId;
+        private Integer limit;
+        private String nextToken;
 
         public Builder withCustomerId(String customerId) {
             this.customerId = customerId;
             return this;
         }
 
+        public Builder withLimit(Integer limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        public Builder withNextToken(String nextToken) {
+            this.nextToken = nextToken;
+            return this;
+        }
+
         public GetUserBooklistsRequest build() {
-            return new GetUserBooklistsRequest(customerId);
+            return new GetUserBooklistsRequest(customerId, limit, nextToken);
         }
     }
 }
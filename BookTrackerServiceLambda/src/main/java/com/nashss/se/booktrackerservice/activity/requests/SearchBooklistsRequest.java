@@ -3,19 +3,33 @@ package com.nashss.se.booktrackerservice.activity.requests;
 public class SearchBooklistsRequest {
 
     private final String criteria;
+    private final Integer limit;
+    private final String nextToken;
 
-    private SearchBooklistsRequest(String criteria) {
+    private SearchBooklistsRequest(String criteria, Integer limit, String nextToken) {
         this.criteria = criteria;
+        this.limit = limit;
+        this.nextToken = nextToken;
     }
 
     public String getCriteria() {
         return criteria;
     }
 
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
     @Override
     public String toString() {
         return "SearchBooklistsRequest{" +
                 "criteria='" + criteria + '\'' +
+                ", limit=" + limit +
+                ", nextToken='" + nextToken + '\'' +
                 '}';
     }
 
@@ -26,14 +40,26 @@ public class SearchBooklistsRequest {
 
     public static class Builder {
         private String criteria;
+        private Integer limit;
+        private String nextToken;
 
         public Builder withCriteria(String criteria) {
             this.criteria = criteria;
             return this;
         }
 
+        public Builder withLimit(Integer limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        public Builder withNextToken(String nextToken) {
+            this.nextToken = nextToken;
+            return this;
+        }
+
         public SearchBooklistsRequest build() {
-            return new SearchBooklistsRequest(criteria);
+            return new SearchBooklistsRequest(criteria, limit, nextToken);
         }
     }
 }
@@ -7,19 +7,26 @@ import java.util.List;
 
 public class AddBookToBooklistResult {
     private final List<BookModel> booklist;
+    private final String nextToken;
 
-    private AddBookToBooklistResult(List<BookModel> bookList) {
+    private AddBookToBooklistResult(List<BookModel> bookList, String nextToken) {
         this.booklist = bookList;
+        this.nextToken = nextToken;
     }
 
     public List<BookModel> getBookList() {
         return new ArrayList<>(booklist);
     }
 
+    public String getNextToken() {
+        return nextToken;
+    }
+
     @Override
     public String toString() {
         return "AddBookToBooklistResult{" +
                 "bookList=" + booklist +
+                ", nextToken='" + nextToken + '\'' +
                 '}';
     }
 
@@ -30,14 +37,20 @@ public class AddBookToBooklistResult {
 
     public static class Builder {
         private List<BookModel> booklist;
+        private String nextToken;
 
         public Builder withBooklist(List<BookModel> booklist) {
             this.booklist = new ArrayList<>(booklist);
             return this;
         }
 
+        public Builder withNextToken(String nextToken) {
+            this.nextToken = nextToken;
+            return this;
+        }
+
         public AddBookToBooklistResult build() {
-            return new AddBookToBooklistResult(booklist);
+            return new AddBookToBooklistResult(booklist, nextToken);
         }
     }
 }
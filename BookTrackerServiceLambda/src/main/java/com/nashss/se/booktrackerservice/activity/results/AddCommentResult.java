@@ -0,0 +1,41 @@
+package com.nashss.se.booktrackerservice.activity.results;
+
+import com.nashss.se.booktrackerservice.models.CommentModel;
+
+public class AddCommentResult {
+
+    private final CommentModel comment;
+
+    private AddCommentResult(CommentModel comment) {
+        this.comment = comment;
+    }
+
+    public CommentModel getComment() {
+        return comment;
+    }
+
+    @Override
+    public String toString() {
+        return "AddCommentResult{" +
+                "comment=" + comment +
+                '}';
+    }
+
+    //CHECKSTYLE:OFF:Builder
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private CommentModel comment;
+
+        public Builder withComment(CommentModel comment) {
+            this.comment = comment;
+            return this;
+        }
+
+        public AddCommentResult build() {
+            return new AddCommentResult(comment);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.nashss.se.booktrackerservice.activity.results;
+
+public class ExportLibraryResult {
+
+    private final String location;
+    private final int booklistCount;
+    private final long bookCount;
+
+    private ExportLibraryResult(String location, int booklistCount, long bookCount) {
+        this.location = location;
+        this.booklistCount = booklistCount;
+        this.bookCount = bookCount;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public int getBooklistCount() {
+        return booklistCount;
+    }
+
+    public long getBookCount() {
+        return bookCount;
+    }
+
+    @Override
+    public String toString() {
+        return "ExportLibraryResult{" +
+                "location='" + location + '\'' +
+                ", booklistCount=" + booklistCount +
+                ", bookCount=" + bookCount +
+                '}';
+    }
+
+    //CHECKSTYLE:OFF:Builder
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private String location;
+        private int booklistCount;
+        private long bookCount;
+
+        public Builder withLocation(String location) {
+            this.location = location;
+            return this;
+        }
+
+        public Builder withBooklistCount(int booklistCount) {
+            this.booklistCount = booklistCount;
+            return this;
+        }
+
+        public Builder withBookCount(long bookCount) {
+            this.bookCount = bookCount;
+            return this;
+        }
+
+        public ExportLibraryResult build() {
+            return new ExportLibraryResult(location, booklistCount, bookCount);
+        }
+    }
+}
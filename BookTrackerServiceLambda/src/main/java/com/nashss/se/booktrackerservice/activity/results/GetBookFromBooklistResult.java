@@ -1,19 +1,26 @@
 package com.nashss.se.booktrackerservice.activity.results;
 
 import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+import com.nashss.se.booktrackerservice.models.BookStatsModel;
 
 public class GetBookFromBooklistResult {
 
     private final Book book;
+    private final BookStatsModel stats;
 
-    private GetBookFromBooklistResult(Book book) {
+    private GetBookFromBooklistResult(Book book, BookStatsModel stats) {
         this.book = book;
+        this.stats = stats;
     }
 
     public Book getBook() {
         return book;
     }
 
+    public BookStatsModel getStats() {
+        return stats;
+    }
+
     //CHECKSTYLE:OFF:Builder
     public static Builder builder() {
         return new Builder();
@@ -21,12 +28,18 @@ public class GetBookFromBooklistResult {
 
     public static class Builder {
         private Book book;
+        private BookStatsModel stats;
 
         public Builder withBook(Book book) {
             this.book = book;
             return this;
         }
 
-        public GetBookFromBooklistResult build() { return new GetBookFromBooklistResult(book); }
+        public Builder withStats(BookStatsModel stats) {
+            this.stats = stats;
+            return this;
+        }
+
+        public GetBookFromBooklistResult build() { return new GetBookFromBooklistResult(book, stats); }
     }
 }
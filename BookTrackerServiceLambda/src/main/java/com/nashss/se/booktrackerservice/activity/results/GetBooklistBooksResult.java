@@ -8,19 +8,26 @@ import java.util.List;
 public class GetBooklistBooksResult {
 
     private final List<BookModel> books;
+    private final String nextToken;
 
-    private GetBooklistBooksResult(List<BookModel> books) {
+    private GetBooklistBooksResult(List<BookModel> books, String nextToken) {
         this.books = books;
+        this.nextToken = nextToken;
     }
 
     public List<BookModel> getBooks() {
         return new ArrayList<>(books);
     }
 
+    public String getNextToken() {
+        return nextToken;
+    }
+
     @Override
     public String toString() {
         return "GetBooklistBooksResult{" +
                 "books=" + books +
+                ", nextToken='" + nextToken + '\'' +
                 '}';
     }
 
@@ -31,14 +38,20 @@ public class GetBooklistBooksResult {
 
     public static class Builder {
         private List<BookModel> books;
+        private String nextToken;
 
         public Builder withBooks(List<BookModel> books) {
             this.books = new ArrayList<>(books);
             return this;
         }
 
+        public Builder withNextToken(String nextToken) {
+            this.nextToken = nextToken;
+            return this;
+        }
+
         public GetBooklistBooksResult build() {
-            return new GetBooklistBooksResult(books);
+            return new GetBooklistBooksResult(books, nextToken);
         }
     }
 }
@@ -0,0 +1,44 @@
+package com.nashss.se.booktrackerservice.activity.results;
+
+import com.nashss.se.booktrackerservice.models.BookModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GetBooksResult {
+
+    private final List<BookModel> books;
+
+    private GetBooksResult(List<BookModel> books) {
+        this.books = books;
+    }
+
+    public List<BookModel> getBooks() {
+        return new ArrayList<>(books);
+    }
+
+    @Override
+    public String toString() {
+        return "GetBooksResult{" +
+                "books=" + books +
+                '}';
+    }
+
+    //CHECKSTYLE:OFF:Builder
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private List<BookModel> books;
+
+        public Builder withBooks(List<BookModel> books) {
+            this.books = new ArrayList<>(books);
+            return this;
+        }
+
+        public GetBooksResult build() {
+            return new GetBooksResult(books);
+        }
+    }
+}
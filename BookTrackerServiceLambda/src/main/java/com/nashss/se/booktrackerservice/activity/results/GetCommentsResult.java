@@ -0,0 +1,69 @@
+package com.nashss.se.booktrackerservice.activity.results;
+
+import com.nashss.se.booktrackerservice.models.CommentModel;
+
+import java.util.List;
+
+public class GetCommentsResult {
+
+    private final List<CommentModel> comments;
+    private final int percentComplete;
+    private final String nextToken;
+
+    private GetCommentsResult(List<CommentModel> comments, int percentComplete, String nextToken) {
+        this.comments = comments;
+        this.percentComplete = percentComplete;
+        this.nextToken = nextToken;
+    }
+
+    public List<CommentModel> getComments() {
+        return comments;
+    }
+
+    public int getPercentComplete() {
+        return percentComplete;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    @Override
+    public String toString() {
+        return "GetCommentsResult{" +
+                "comments=" + comments +
+                ", percentComplete=" + percentComplete +
+                ", nextToken='" + nextToken + '\'' +
+                '}';
+    }
+
+    //CHECKSTYLE:OFF:Builder
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private List<CommentModel> comments;
+        private int percentComplete;
+        private String nextToken;
+
+        public Builder withComments(List<CommentModel> comments) {
+            this.comments = comments;
+            return this;
+        }
+
+        public Builder withPercentComplete(int percentComplete) {
+            this.percentComplete = percentComplete;
+            return this;
+        }
+
+        public Builder withNextToken(String nextToken) {
+            this.nextToken = nextToken;
+            return this;
+        }
+
+        public GetCommentsResult build() {
+            return new GetCommentsResult(comments, percentComplete, nextToken);
+        }
+    }
+}
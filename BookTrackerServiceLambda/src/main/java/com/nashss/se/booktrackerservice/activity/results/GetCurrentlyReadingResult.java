@@ -4,19 +4,26 @@ import com.nashss.se.booktrackerservice.models.BooklistModel;
 
 public class GetCurrentlyReadingResult {
     private final BooklistModel booklist;
+    private final String nextToken;
 
-    private GetCurrentlyReadingResult(BooklistModel booklist) {
+    private GetCurrentlyReadingResult(BooklistModel booklist, String nextToken) {
         this.booklist = booklist;
+        this.nextToken = nextToken;
     }
 
     public BooklistModel getBooklist() {
         return booklist;
     }
 
+    public String getNextToken() {
+        return nextToken;
+    }
+
     @Override
     public String toString() {
         return "GetCurrentlyReadingResult{" +
                 "booklist=" + booklist +
+                ", nextToken='" + nextToken + '\'' +
                 '}';
     }
 
@@ -27,14 +34,20 @@ public class GetCurrentlyReadingResult {
 
     public static class Builder {
         private BooklistModel booklist;
+        private String nextToken;
 
         public GetCurrentlyReadingResult.Builder withBooklist(BooklistModel booklist) {
             this.booklist = booklist;
             return this;
         }
 
+        public GetCurrentlyReadingResult.Builder withNextToken(String nextToken) {
+            this.nextToken = nextToken;
+            return this;
+        }
+
         public GetCurrentlyReadingResult build() {
-            return new GetCurrentlyReadingResult(booklist);
+            return new GetCurrentlyReadingResult(booklist, nextToken);
         }
     }
 }
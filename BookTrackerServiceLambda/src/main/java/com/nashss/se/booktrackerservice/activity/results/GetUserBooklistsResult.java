@@ -1,25 +1,32 @@
 package com.nashss.se.booktrackerservice.activity.results;
 
-import com.nashss.se.booktrackerservice.models.BooklistModel;
+import com.nashss.se.booktrackerservice.models.BooklistSummaryModel;
 
 import java.util.List;
 
 public class GetUserBooklistsResult {
 
-    private final List<BooklistModel> booklists;
+    private final List<BooklistSummaryModel> booklists;
+    private final String nextToken;
 
-    private GetUserBooklistsResult(List<BooklistModel> booklists) {
+    private GetUserBooklistsResult(List<BooklistSummaryModel> booklists, String nextToken) {
         this.booklists = booklists;
+        this.nextToken = nextToken;
     }
 
-    public List<BooklistModel> getBooklists() {
+    public List<BooklistSummaryModel> getBooklists() {
         return booklists;
     }
 
+    public String getNextToken() {
+        return nextToken;
+    }
+
     @Override
     public String toString() {
         return "GetUserBooklistsResult{" +
                 "booklists=" + booklists +
+                ", nextToken='" + nextToken + '\'' +
                 '}';
     }
 
@@ -29,14 +36,20 @@ public class GetUserBooklistsResult {
     }
 
     public static class Builder {
-        private List<BooklistModel> booklists;
+        private List<BooklistSummaryModel> booklists;
+        private String nextToken;
 
-        public Builder withBooklists(List<BooklistModel> booklists) {
+        public Builder withBooklists(List<BooklistSummaryModel> booklists) {
             this.booklists = booklists;
             return this;
         }
 
-        public GetUserBooklistsResult build() { return new GetUserBooklistsResult(booklists); }
+        public Builder withNextToken(String nextToken) {
+            this.nextToken = nextToken;
+            return this;
+        }
+
+        public GetUserBooklistsResult build() { return new GetUserBooklistsResult(booklists, nextToken); }
     }
 
 }
@@ -7,19 +7,26 @@ import java.util.List;
 
 public class RemoveBookFromBooklistResult {
     private final List<BookModel> booklist;
+    private final String nextToken;
 
-    private RemoveBookFromBooklistResult(List<BookModel> booklist) {
+    private RemoveBookFromBooklistResult(List<BookModel> booklist, String nextToken) {
         this.booklist = booklist;
+        this.nextToken = nextToken;
     }
 
     public List<BookModel> getBooklist() {
         return new ArrayList<>(booklist);
     }
 
+    public String getNextToken() {
+        return nextToken;
+    }
+
     @Override
     public String toString() {
         return "RemoveBookFromBooklistResult{" +
                 "booklist=" + booklist +
+                ", nextToken='" + nextToken + '\'' +
                 '}';
     }
 
@@ -27,11 +34,16 @@ public class RemoveBookFromBooklistResult {
     public static Builder builder() { return new Builder(); }
     public static class Builder {
         private List<BookModel> booklist;
+        private String nextToken;
 
         public Builder withBooklist(List<BookModel> booklist) {
             this.booklist = new ArrayList<>(booklist);
             return this;
         }
-        public RemoveBookFromBooklistResult build() { return new RemoveBookFromBooklistResult(booklist); }
+        public Builder withNextToken(String nextToken) {
+            this.nextToken = nextToken;
+            return this;
+        }
+        public RemoveBookFromBooklistResult build() { return new RemoveBookFromBooklistResult(booklist, nextToken); }
     }
 }
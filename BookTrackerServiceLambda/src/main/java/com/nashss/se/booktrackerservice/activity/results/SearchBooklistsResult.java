@@ -1,26 +1,33 @@
 package com.nashss.se.booktrackerservice.activity.results;
 
-import com.nashss.se.booktrackerservice.models.BooklistModel;
+import com.nashss.se.booktrackerservice.models.BooklistSummaryModel;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class SearchBooklistsResult {
 
-    private final List<BooklistModel> booklists;
+    private final List<BooklistSummaryModel> booklists;
+    private final String nextToken;
 
-    private SearchBooklistsResult(List<BooklistModel> booklists) {
+    private SearchBooklistsResult(List<BooklistSummaryModel> booklists, String nextToken) {
         this.booklists = booklists;
+        this.nextToken = nextToken;
     }
 
-    public List<BooklistModel> getBooklists() {
+    public List<BooklistSummaryModel> getBooklists() {
         return booklists;
     }
 
+    public String getNextToken() {
+        return nextToken;
+    }
+
     @Override
     public String toString() {
         return "SearchBooklistsResult{" +
                 "booklists=" + booklists +
+                ", nextToken='" + nextToken + '\'' +
                 '}';
     }
 
@@ -30,15 +37,21 @@ public class SearchBooklistsResult {
     }
 
     public static class Builder {
-        private List<BooklistModel> booklists;
+        private List<BooklistSummaryModel> booklists;
+        private String nextToken;
 
-        public Builder withBooklists(List<BooklistModel> booklists) {
+        public Builder withBooklists(List<BooklistSummaryModel> booklists) {
             this.booklists = new ArrayList<>(booklists);
             return this;
         }
 
+        public Builder withNextToken(String nextToken) {
+            this.nextToken = nextToken;
+            return this;
+        }
+
         public SearchBooklistsResult build() {
-            return new SearchBooklistsResult(booklists);
+            return new SearchBooklistsResult(booklists, nextToken);
         }
     }
 }
@@ -3,25 +3,41 @@ import com.nashss.se.booktrackerservice.dynamodb.models.Book;
 import com.nashss.se.booktrackerservice.exceptions.BookSerializationException;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTypeConverter;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 
-public class BookConverter implements DynamoDBTypeConverter<String, List<Book>> {
+/**
+ * Stores a list of books as a Binary attribute encoded by {@link BookListCodec}.
+ * <p>
+ * Lists stored before the binary encoding are JSON String attributes. They are still read, and are
+ * rewritten in the binary encoding the next time their item is saved.
+ */
+public class BookConverter implements DynamoDBTypeConverter<AttributeValue, List<Book>> {
     ObjectMapper mapper = new ObjectMapper();
+    BookListCodec codec = new BookListCodec();
+
     @Override
-    public String convert(List<Book> object) {
-        try {
-            return mapper.writeValueAsString(object);
-        } catch (JsonProcessingException e) {
-            throw new BookSerializationException("Book failed to deserialize", e);
-        }
+    public AttributeValue convert(List<Book> object) {
+        return new AttributeValue().withB(ByteBuffer.wrap(codec.encode(object)));
     }
 
     @Override
-    public List<Book> unconvert(String object) {
+    public List<Book> unconvert(AttributeValue object) {
+        if (object.getB() != null) {
+            ByteBuffer buffer = object.getB().duplicate();
+            byte[] encoded = new byte[buffer.remaining()];
+            buffer.get(encoded);
+            return codec.decode(encoded);
+        }
+        return unconvertJson(object.getS());
+    }
+
+    private List<Book> unconvertJson(String object) {
         TypeReference<List<Book>> ref = new TypeReference<List<Book>>() {
         };
         try {
@@ -0,0 +1,102 @@
+package com.nashss.se.booktrackerservice.converters;
+
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+import com.nashss.se.booktrackerservice.exceptions.BookSerializationException;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Encodes lists of books into a compact, versioned binary form.
+ * <p>
+ * The first byte of every encoding names its format, so formats can be added without breaking stored data:
+ * {@link #FORMAT_CBOR} is the books as CBOR, and {@link #FORMAT_CBOR_DEFLATE} is the same CBOR deflated,
+ * used once a list is large enough for repeated field names to compress well.
+ */
+public class BookListCodec {
+    public static final byte FORMAT_CBOR = 1;
+    public static final byte FORMAT_CBOR_DEFLATE = 2;
+    public static final int DEFLATE_THRESHOLD_BYTES = 256;
+
+    private static final TypeReference<List<Book>> BOOK_LIST = new TypeReference<List<Book>>() { };
+
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+
+    /**
+     * Encodes the books, deflating them when that makes the encoding smaller.
+     *
+     * @param books the books to encode
+     * @return the format byte followed by the encoded books
+     */
+    public byte[] encode(List<Book> books) {
+        try {
+            byte[] cbor = cborMapper.writeValueAsBytes(books);
+            if (cbor.length >= DEFLATE_THRESHOLD_BYTES) {
+                byte[] deflated = deflate(cbor);
+                if (deflated.length < cbor.length) {
+                    return withFormat(FORMAT_CBOR_DEFLATE, deflated);
+                }
+            }
+            return withFormat(FORMAT_CBOR, cbor);
+        } catch (IOException e) {
+            throw new BookSerializationException("Books failed to encode", e);
+        }
+    }
+
+    /**
+     * Decodes books encoded by {@link #encode(List)} in any of the supported formats.
+     *
+     * @param encoded the format byte followed by the encoded books
+     * @return the decoded books
+     */
+    public List<Book> decode(byte[] encoded) {
+        if (encoded.length == 0) {
+            throw new BookSerializationException("Books failed to decode: empty value", null);
+        }
+        byte[] body = Arrays.copyOfRange(encoded, 1, encoded.length);
+        try {
+            switch (encoded[0]) {
+                case FORMAT_CBOR:
+                    return cborMapper.readValue(body, BOOK_LIST);
+                case FORMAT_CBOR_DEFLATE:
+                    try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(body))) {
+                        return cborMapper.readValue(in, BOOK_LIST);
+                    }
+                default:
+                    throw new BookSerializationException("Books failed to decode: unknown format " + encoded[0],
+                            null);
+            }
+        } catch (IOException e) {
+            throw new BookSerializationException("Books failed to decode", e);
+        }
+    }
+
+    private byte[] deflate(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out, deflater)) {
+            deflaterOut.write(bytes);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] withFormat(byte format, byte[] body) {
+        byte[] encoded = new byte[body.length + 1];
+        encoded[0] = format;
+        System.arraycopy(body, 0, encoded, 1, body.length);
+        return encoded;
+    }
+}
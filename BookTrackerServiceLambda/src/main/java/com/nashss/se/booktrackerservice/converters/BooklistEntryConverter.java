@@ -0,0 +1,137 @@
+package com.nashss.se.booktrackerservice.converters;
+
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+import com.nashss.se.booktrackerservice.dynamodb.models.BooklistEntry;
+import com.nashss.se.booktrackerservice.dynamodb.models.ReadingState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts between {@link Book}s and the {@link BooklistEntry} items that place them on a booklist.
+ */
+public class BooklistEntryConverter {
+    /**
+     * Converts a provided {@link Book} into the {@link BooklistEntry} placing it on the given booklist.
+     *
+     * @param booklistId the id of the booklist the book is on
+     * @param book the book to convert
+     * @param addedAt the time the book was added to the booklist, in epoch milliseconds
+     * @return the converted entry
+     */
+    public BooklistEntry toBooklistEntry(String booklistId, Book book, Long addedAt) {
+        BooklistEntry entry = new BooklistEntry();
+        entry.setBooklistId(booklistId);
+        entry.setAsin(book.getAsin());
+        entry.setAddedAt(addedAt);
+        entry.setTitle(book.getTitle());
+        entry.setAuthor(book.getAuthor());
+        entry.setGenre(book.getGenre());
+        entry.setThumbnail(book.getThumbnail());
+        entry.setRating(book.getRating());
+        entry.setCurrentlyReading(book.isCurrentlyReading());
+        entry.setPercentComplete(book.getPercentComplete());
+        entry.setPageCount(book.getPageCount());
+        return entry;
+    }
+
+    /**
+     * Converts a provided {@link BooklistEntry} into the {@link Book} it holds.
+     *
+     * @param entry the entry to convert
+     * @return the converted book
+     */
+    public Book toBook(BooklistEntry entry) {
+        Book book = new Book();
+        book.setAsin(entry.getAsin());
+        book.setTitle(entry.getTitle());
+        book.setAuthor(entry.getAuthor());
+        book.setGenre(entry.getGenre());
+        book.setThumbnail(entry.getThumbnail());
+        book.setRating(entry.getRating());
+        book.setCurrentlyReading(entry.isCurrentlyReading());
+        book.setPercentComplete(entry.getPercentComplete());
+        book.setPageCount(entry.getPageCount());
+        return book;
+    }
+
+    /**
+     * Converts a provided {@link BooklistEntry} into the {@link Book} it holds, with the reader's progress taken from
+     * their {@link ReadingState} where they have one.
+     *
+     * @param entry the entry to convert
+     * @param readingState the booklist owner's reading state for the book, or null if they have none
+     * @return the converted book
+     */
+    public Book toBook(BooklistEntry entry, ReadingState readingState) {
+        return withReadingState(toBook(entry), readingState);
+    }
+
+    /**
+     * Overlays the reader's progress from their {@link ReadingState} onto the given {@link Book}. Attributes the
+     * state does not hold keep the book's values.
+     *
+     * @param book the book to update
+     * @param readingState the reader's state for the book, or null if they have none
+     * @return the given book
+     */
+    public Book withReadingState(Book book, ReadingState readingState) {
+        if (readingState == null) {
+            return book;
+        }
+        if (readingState.isCurrentlyReading() != null) {
+            book.setCurrentlyReading(readingState.isCurrentlyReading());
+        }
+        if (readingState.getPercentComplete() != null) {
+            book.setPercentComplete(readingState.getPercentComplete());
+        }
+        if (readingState.getRating() != null) {
+            book.setRating(readingState.getRating());
+        }
+        return book;
+    }
+
+    /**
+     * Converts a list of BooklistEntries to a list of Books.
+     *
+     * @param entries the entries to convert
+     * @return the converted list of Books, in the same order
+     */
+    public List<Book> toBookList(List<BooklistEntry> entries) {
+        List<Book> books = new ArrayList<>();
+        for (BooklistEntry entry : entries) {
+            books.add(toBook(entry));
+        }
+        return books;
+    }
+
+    /**
+     * Converts a list of BooklistEntries to a list of Books, overlaying the reader's progress.
+     *
+     * @param entries the entries to convert
+     * @param readingStates the booklist owner's reading states, by asin
+     * @return the converted list of Books, in the same order
+     */
+    public List<Book> toBookList(List<BooklistEntry> entries, Map<String, ReadingState> readingStates) {
+        List<Book> books = new ArrayList<>();
+        for (BooklistEntry entry : entries) {
+            books.add(toBook(entry, readingStates.get(entry.getAsin())));
+        }
+        return books;
+    }
+
+    /**
+     * Lists the asins of the given entries.
+     *
+     * @param entries the entries
+     * @return the asins, in the same order
+     */
+    public List<String> toAsinList(List<BooklistEntry> entries) {
+        List<String> asins = new ArrayList<>();
+        for (BooklistEntry entry : entries) {
+            asins.add(entry.getAsin());
+        }
+        return asins;
+    }
+}
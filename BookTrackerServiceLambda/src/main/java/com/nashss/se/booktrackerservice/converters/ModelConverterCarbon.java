@@ -1,9 +1,14 @@
 package com.nashss.se.booktrackerservice.converters;
 
 import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+import com.nashss.se.booktrackerservice.dynamodb.models.BookStats;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.dynamodb.models.Comment;
 import com.nashss.se.booktrackerservice.models.BookModel;
+import com.nashss.se.booktrackerservice.models.BookStatsModel;
 import com.nashss.se.booktrackerservice.models.BooklistModel;
+import com.nashss.se.booktrackerservice.models.BooklistSummaryModel;
+import com.nashss.se.booktrackerservice.models.CommentModel;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -75,18 +80,90 @@ public class ModelConverterCarbon {
     }
 
     /**
-     * Converts a list of Booklists to a list of BooklistModels.
+     * Converts a provided {@link Booklist} into a {@link BooklistSummaryModel} representation, without its books.
      *
-     * @param bookLists The Booklists to convert to BooklistModels
-     * @return The converted list of BooklistModels
+     * @param bookList the book list to convert
+     * @return the converted book list summary
+     */
+    public BooklistSummaryModel toBooklistSummaryModel(Booklist bookList) {
+        List<String> tags = null;
+        if (bookList.getTags() != null) {
+            tags = new ArrayList<>(bookList.getTags());
+        }
+
+        return BooklistSummaryModel.builder()
+                .withId(bookList.getId())
+                .withName(bookList.getName())
+                .withCustomerId(bookList.getCustomerId())
+                .withBookCount(bookList.getBookCount() == null ? 0 : bookList.getBookCount())
+                .withTags(tags)
+                .build();
+    }
+
+    /**
+     * Converts a list of Booklists to a list of BooklistSummaryModels.
+     *
+     * @param bookLists The Booklists to convert to BooklistSummaryModels
+     * @return The converted list of BooklistSummaryModels
      */
-    public List<BooklistModel> toBookListModelList(List<Booklist> bookLists) {
-        List<BooklistModel> bookListModels = new ArrayList<>();
+    public List<BooklistSummaryModel> toBooklistSummaryModelList(List<Booklist> bookLists) {
+        List<BooklistSummaryModel> summaryModels = new ArrayList<>();
 
         for (Booklist bookList : bookLists) {
-            bookListModels.add(toBooklistModel(bookList));
+            summaryModels.add(toBooklistSummaryModel(bookList));
+        }
+
+        return summaryModels;
+    }
+
+    /**
+     * Converts a provided {@link Comment} into a {@link CommentModel} representation.
+     *
+     * @param comment the comment to convert
+     * @return the converted comment
+     */
+    public CommentModel toCommentModel(Comment comment) {
+        return CommentModel.builder()
+                .withCommentId(comment.getCommentId())
+                .withAsin(comment.getAsin())
+                .withCustomerId(comment.getCustomerId())
+                .withPercentComplete(comment.getPercentComplete())
+                .withCommentText(comment.getCommentText())
+                .withCreatedAt(comment.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * Converts a list of Comments to a list of CommentModels.
+     *
+     * @param comments The Comments to convert to CommentModels
+     * @return The converted list of CommentModels
+     */
+    public List<CommentModel> toCommentModelList(List<Comment> comments) {
+        List<CommentModel> commentModels = new ArrayList<>();
+
+        for (Comment comment : comments) {
+            commentModels.add(toCommentModel(comment));
         }
 
-        return bookListModels;
+        return commentModels;
+    }
+
+    /**
+     * Converts a book's summed {@link BookStats} into a {@link BookStatsModel} representation.
+     *
+     * @param bookStats the book's totals
+     * @return the converted stats, with an average rating only when the book has been rated
+     */
+    public BookStatsModel toBookStatsModel(BookStats bookStats) {
+        Double averageRating = bookStats.getRatingCount() > 0 ?
+                (double) bookStats.getRatingSum() / bookStats.getRatingCount() : null;
+        return BookStatsModel.builder()
+                .withAsin(bookStats.getAsin())
+                .withCommentCount(bookStats.getCommentCount())
+                .withRatingCount(bookStats.getRatingCount())
+                .withAverageRating(averageRating)
+                .withActiveReaders(bookStats.getActiveReaders())
+                .build();
     }
 }
@@ -0,0 +1,106 @@
+package com.nashss.se.booktrackerservice.converters;
+
+import com.nashss.se.booktrackerservice.exceptions.InvalidAttributeValueException;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Converts between DynamoDB pagination keys and the opaque nextToken strings handed to API callers.
+ * <p>
+ * Only string and number key attributes are supported, which covers every table and index key in this service.
+ */
+public class PaginationTokenConverter {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Map<String, String>>> TOKEN_TYPE =
+            new TypeReference<Map<String, Map<String, String>>>() { };
+
+    /**
+     * Encodes a DynamoDB LastEvaluatedKey as an opaque, URL-safe token.
+     *
+     * @param lastEvaluatedKey the key returned with a page of results
+     * @return the encoded token, or null if there are no more pages
+     */
+    public String encode(Map<String, AttributeValue> lastEvaluatedKey) {
+        if (lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()) {
+            return null;
+        }
+
+        Map<String, Map<String, String>> token = new HashMap<>();
+        for (Map.Entry<String, AttributeValue> entry : lastEvaluatedKey.entrySet()) {
+            AttributeValue value = entry.getValue();
+            if (value.getS() != null) {
+                token.put(entry.getKey(), Map.of("S", value.getS()));
+            } else if (value.getN() != null) {
+                token.put(entry.getKey(), Map.of("N", value.getN()));
+            } else {
+                throw new IllegalArgumentException("Unsupported key attribute type for " + entry.getKey());
+            }
+        }
+
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(MAPPER.writeValueAsBytes(token));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to encode pagination token", e);
+        }
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode(Map)} back into a DynamoDB ExclusiveStartKey.
+     *
+     * A token that does not decode to key attributes each holding exactly one non-null string or number is
+     * rejected with an {@link InvalidAttributeValueException}.
+     *
+     * @param nextToken the token supplied by the caller
+     * @return the ExclusiveStartKey, or null if no token was supplied
+     */
+    public Map<String, AttributeValue> decode(String nextToken) {
+        if (nextToken == null || nextToken.isBlank()) {
+            return null;
+        }
+
+        Map<String, Map<String, String>> token;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(nextToken.getBytes(StandardCharsets.UTF_8));
+            token = MAPPER.readValue(json, TOKEN_TYPE);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new InvalidAttributeValueException("Invalid nextToken: " + nextToken, e);
+        }
+
+        if (token == null || token.isEmpty()) {
+            throw new InvalidAttributeValueException("Invalid nextToken: " + nextToken);
+        }
+        Map<String, AttributeValue> exclusiveStartKey = new HashMap<>();
+        for (Map.Entry<String, Map<String, String>> entry : token.entrySet()) {
+            exclusiveStartKey.put(entry.getKey(), toAttributeValue(entry.getValue(), nextToken));
+        }
+        return exclusiveStartKey;
+    }
+
+    /**
+     * Helper method converting one typed key value, which must hold exactly one non-null S or N.
+     */
+    private static AttributeValue toAttributeValue(Map<String, String> typedValue, String nextToken) {
+        if (typedValue == null || typedValue.size() != 1) {
+            throw new InvalidAttributeValueException("Invalid nextToken: " + nextToken);
+        }
+        String s = typedValue.get("S");
+        if (s != null) {
+            return new AttributeValue().withS(s);
+        }
+        String n = typedValue.get("N");
+        if (n != null) {
+            return new AttributeValue().withN(n);
+        }
+        throw new InvalidAttributeValueException("Invalid nextToken: " + nextToken);
+    }
+}
@@ -0,0 +1,75 @@
+package com.nashss.se.booktrackerservice.converters;
+
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+
+import com.google.api.services.books.v1.model.Volume;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts Google Books {@link Volume}s straight into catalog {@link Book}s, reading each volume attribute once.
+ * <p>
+ * A missing attribute maps to an empty string, or to a page count of 0, as it always has: the asin is the volume's
+ * first industry identifier, the title has any subtitle appended, and the author and genre are the first listed.
+ */
+public class VolumeConverter {
+    /**
+     * Converts a page of volumes into books, in the same order. Volumes without a volumeInfo are left out.
+     *
+     * @param volumes the volumes returned by a Google Books query, or null if nothing matched
+     * @return the converted books, empty if there were no volumes
+     */
+    public List<Book> toBooks(List<Volume> volumes) {
+        if (volumes == null) {
+            return new ArrayList<>();
+        }
+        List<Book> books = new ArrayList<>(volumes.size());
+        for (Volume volume : volumes) {
+            if (volume != null && volume.getVolumeInfo() != null) {
+                books.add(toBook(volume.getVolumeInfo()));
+            }
+        }
+        return books;
+    }
+
+    /**
+     * Converts a volume's volumeInfo into a book.
+     *
+     * @param volumeInfo the volumeInfo to convert
+     * @return the converted book
+     */
+    public Book toBook(Volume.VolumeInfo volumeInfo) {
+        Book book = new Book();
+        book.setAsin(firstIdentifier(volumeInfo.getIndustryIdentifiers()));
+
+        String title = volumeInfo.getTitle();
+        String subtitle = volumeInfo.getSubtitle();
+        book.setTitle(subtitle == null ? title : title + ", " + subtitle);
+
+        book.setAuthor(first(volumeInfo.getAuthors()));
+        book.setGenre(first(volumeInfo.getCategories()));
+
+        Volume.VolumeInfo.ImageLinks imageLinks = volumeInfo.getImageLinks();
+        String thumbnail = imageLinks == null ? null : imageLinks.getThumbnail();
+        book.setThumbnail(thumbnail == null ? "" : thumbnail);
+
+        Integer pageCount = volumeInfo.getPageCount();
+        book.setPageCount(pageCount == null ? 0 : pageCount);
+        return book;
+    }
+
+    private static String firstIdentifier(List<Volume.VolumeInfo.IndustryIdentifiers> identifiers) {
+        if (identifiers == null || identifiers.isEmpty()) {
+            return "";
+        }
+        return identifiers.get(0).getIdentifier();
+    }
+
+    private static String first(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return "";
+        }
+        return values.get(0);
+    }
+}
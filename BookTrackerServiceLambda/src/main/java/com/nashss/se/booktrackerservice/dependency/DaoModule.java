@@ -1,8 +1,11 @@
 package com.nashss.se.booktrackerservice.dependency;
 
+import com.nashss.se.booktrackerservice.dynamodb.CatalogAsinFilter;
 import com.nashss.se.booktrackerservice.dynamodb.DynamoDbClientProvider;
+import com.nashss.se.booktrackerservice.dynamodb.ParallelScanner;
 
 import com.amazonaws.regions.Regions;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import dagger.Module;
 import dagger.Provides;
@@ -14,14 +17,46 @@ import javax.inject.Singleton;
  */
 @Module
 public class DaoModule {
+    private static final int CATALOG_SCAN_SEGMENTS = 4;
+    private static final double CATALOG_SCAN_READ_CAPACITY_UNITS_PER_SECOND = 25;
+
+    /**
+     * Provides an AmazonDynamoDB client singleton instance, for the targeted writes the mapper cannot express.
+     *
+     * @return AmazonDynamoDB object
+     */
+    @Singleton
+    @Provides
+    public AmazonDynamoDB provideAmazonDynamoDB() {
+        return DynamoDbClientProvider.getDynamoDBClient(Regions.US_EAST_2);
+    }
+
     /**
      * Provides a DynamoDBMapper singleton instance.
      *
+     * @param amazonDynamoDB the client the mapper sends its requests through
      * @return DynamoDBMapper object
      */
     @Singleton
     @Provides
-    public DynamoDBMapper provideDynamoDBMapper() {
-        return new DynamoDBMapper(DynamoDbClientProvider.getDynamoDBClient(Regions.US_EAST_2));
+    public DynamoDBMapper provideDynamoDBMapper(AmazonDynamoDB amazonDynamoDB) {
+        return new DynamoDBMapper(amazonDynamoDB);
+    }
+
+    /**
+     * Provides the catalog asin filter singleton. The filter is only built when the CATALOG_ASIN_FILTER environment
+     * variable is "true", since every container that builds it scans the Books table.
+     *
+     * @param dynamoDBMapper the mapper the Books table is scanned with
+     * @return CatalogAsinFilter object
+     */
+    @Singleton
+    @Provides
+    public CatalogAsinFilter provideCatalogAsinFilter(DynamoDBMapper dynamoDBMapper) {
+        if (!Boolean.parseBoolean(System.getenv("CATALOG_ASIN_FILTER"))) {
+            return new CatalogAsinFilter(null);
+        }
+        return new CatalogAsinFilter(new ParallelScanner(dynamoDBMapper, CATALOG_SCAN_SEGMENTS, CATALOG_SCAN_SEGMENTS,
+                CATALOG_SCAN_READ_CAPACITY_UNITS_PER_SECOND));
     }
 }
@@ -0,0 +1,39 @@
+package com.nashss.se.booktrackerservice.dependency;
+
+import com.nashss.se.booktrackerservice.export.ExportSink;
+import com.nashss.se.booktrackerservice.export.FileExportSink;
+import com.nashss.se.booktrackerservice.export.S3ExportSink;
+
+import com.amazonaws.regions.Regions;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+
+import dagger.Module;
+import dagger.Provides;
+
+import java.nio.file.Paths;
+import javax.inject.Singleton;
+
+/**
+ * Dagger Module providing the sink library exports are written to.
+ */
+@Module
+public class ExportModule {
+
+    /**
+     * Provides the export sink. Exports go to the bucket named by the EXPORT_BUCKET environment variable when it
+     * is set, and to the local temporary directory otherwise.
+     *
+     * @return instance of ExportSink
+     */
+    @Provides
+    @Singleton
+    static ExportSink provideExportSink() {
+        String bucket = System.getenv("EXPORT_BUCKET");
+        if (bucket == null || bucket.isEmpty()) {
+            return new FileExportSink(Paths.get(System.getProperty("java.io.tmpdir")));
+        }
+        return new S3ExportSink(AmazonS3ClientBuilder.standard()
+                .withRegion(Regions.US_EAST_2)
+                .build(), bucket);
+    }
+}
@@ -0,0 +1,27 @@
+package com.nashss.se.booktrackerservice.dependency;
+
+import com.nashss.se.booktrackerservice.googlebookapi.GoogleBooksClientFactory;
+
+import com.google.api.services.books.v1.Books;
+import dagger.Module;
+import dagger.Provides;
+
+import javax.inject.Singleton;
+
+/**
+ * Dagger Module providing the Google Books client.
+ */
+@Module
+public class GoogleBooksModule {
+
+    /**
+     * Provides the Google Books client, shared for the life of the container so its connections are reused.
+     *
+     * @return instance of Books
+     */
+    @Provides
+    @Singleton
+    static Books provideBooks() {
+        return GoogleBooksClientFactory.newClient();
+    }
+}
@@ -12,7 +12,7 @@ import javax.inject.Singleton;
  * Dagger component for providing dependency injection in the Book Tracker Service.
  */
 @Singleton
-@Component(modules = {DaoModule.class, MetricsModule.class})
+@Component(modules = {DaoModule.class, MetricsModule.class, ExportModule.class, GoogleBooksModule.class})
 public interface ServiceComponent {
 
     /**
@@ -92,4 +92,28 @@ public interface ServiceComponent {
      * @return GetBookFromBooklistActivity
      */
     GetBookFromBooklistActivity provideGetBookFromBooklistActivity();
+
+    /**
+     * Provides the relevant activity.
+     * @return GetBooksActivity
+     */
+    GetBooksActivity provideGetBooksActivity();
+
+    /**
+     * Provides the relevant activity.
+     * @return ExportLibraryActivity
+     */
+    ExportLibraryActivity provideExportLibraryActivity();
+
+    /**
+     * Provides the relevant activity.
+     * @return AddCommentActivity
+     */
+    AddCommentActivity provideAddCommentActivity();
+
+    /**
+     * Provides the relevant activity.
+     * @return GetCommentsActivity
+     */
+    GetCommentsActivity provideGetCommentsActivity();
 }
@@ -0,0 +1,141 @@
+package com.nashss.se.booktrackerservice.dynamodb;
+
+import com.nashss.se.booktrackerservice.exceptions.BatchWriteException;
+import com.nashss.se.booktrackerservice.utils.RetryUtils;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputExceededException;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.RequestLimitExceededException;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import com.google.common.util.concurrent.RateLimiter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Puts items in BatchWriteItem requests of up to {@link #MAX_BATCH_SIZE}, for bulk loads too large for one save
+ * at a time.
+ * <p>
+ * Unprocessed items and throttled requests are retried with jittered exponential backoff, and every request waits
+ * for the write capacity DynamoDB reports it consumed, so concurrent writers share one capacity budget and slow
+ * down together instead of being throttled.
+ */
+public class BatchWriter {
+    public static final int MAX_BATCH_SIZE = 25;
+    public static final double DEFAULT_WRITE_CAPACITY_UNITS_PER_SECOND = 500;
+    public static final int DEFAULT_MAX_ATTEMPTS = 10;
+    public static final long DEFAULT_BASE_DELAY_MILLIS = 50;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 5_000;
+
+    private final AmazonDynamoDB amazonDynamoDB;
+    private final RateLimiter rateLimiter;
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    /**
+     * Instantiates a BatchWriter with the default retry settings.
+     *
+     * @param amazonDynamoDB the {@link AmazonDynamoDB} client used to write
+     * @param writeCapacityUnitsPerSecond the write capacity all writes may consume per second
+     */
+    public BatchWriter(AmazonDynamoDB amazonDynamoDB, double writeCapacityUnitsPerSecond) {
+        this(amazonDynamoDB, writeCapacityUnitsPerSecond, DEFAULT_MAX_ATTEMPTS, DEFAULT_BASE_DELAY_MILLIS,
+                DEFAULT_MAX_DELAY_MILLIS);
+    }
+
+    /**
+     * Instantiates a BatchWriter.
+     *
+     * @param amazonDynamoDB the {@link AmazonDynamoDB} client used to write
+     * @param writeCapacityUnitsPerSecond the write capacity all writes may consume per second
+     * @param maxAttempts the most requests to make for one batch
+     * @param baseDelayMillis the longest wait before the first retry
+     * @param maxDelayMillis the longest wait before any retry
+     */
+    public BatchWriter(AmazonDynamoDB amazonDynamoDB, double writeCapacityUnitsPerSecond, int maxAttempts,
+                       long baseDelayMillis, long maxDelayMillis) {
+        this.amazonDynamoDB = amazonDynamoDB;
+        this.rateLimiter = RateLimiter.create(writeCapacityUnitsPerSecond);
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    /**
+     * Puts the given items into the given table, retrying until every item has been written.
+     * <p>
+     * Safe to call from several threads at once.
+     *
+     * @param tableName the table to write to
+     * @param items at most {@link #MAX_BATCH_SIZE} items to put
+     * @return the number of retries it took to write every item
+     */
+    public int write(String tableName, List<Map<String, AttributeValue>> items) {
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch write holds at most " + MAX_BATCH_SIZE + " items");
+        }
+        List<WriteRequest> writes = new ArrayList<>();
+        for (Map<String, AttributeValue> item : items) {
+            writes.add(new WriteRequest().withPutRequest(new PutRequest().withItem(item)));
+        }
+
+        Map<String, List<WriteRequest>> pending = Map.of(tableName, writes);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                BatchWriteItemResult result = amazonDynamoDB.batchWriteItem(new BatchWriteItemRequest()
+                        .withRequestItems(pending)
+                        .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL));
+                throttle(result.getConsumedCapacity());
+                pending = result.getUnprocessedItems();
+                if (pending == null || pending.isEmpty()) {
+                    return attempt - 1;
+                }
+            } catch (ProvisionedThroughputExceededException | RequestLimitExceededException e) {
+                if (attempt >= maxAttempts) {
+                    throw new BatchWriteException("Writes to " + tableName + " are still being throttled", e);
+                }
+            }
+            if (attempt >= maxAttempts) {
+                throw new BatchWriteException("Items for " + tableName + " were still unprocessed after " +
+                        maxAttempts + " attempts", null);
+            }
+            backoff(attempt);
+        }
+    }
+
+    /**
+     * Helper method blocking until the shared budget covers the capacity a request consumed.
+     */
+    private void throttle(List<ConsumedCapacity> consumedCapacity) {
+        if (consumedCapacity == null) {
+            return;
+        }
+        double units = 0;
+        for (ConsumedCapacity capacity : consumedCapacity) {
+            if (capacity.getCapacityUnits() != null) {
+                units += capacity.getCapacityUnits();
+            }
+        }
+        int permits = (int) Math.ceil(units);
+        if (permits > 0) {
+            rateLimiter.acquire(permits);
+        }
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(RetryUtils.backoffMillis(attempt, baseDelayMillis, maxDelayMillis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BatchWriteException("Interrupted while retrying a batch write", e);
+        }
+    }
+}
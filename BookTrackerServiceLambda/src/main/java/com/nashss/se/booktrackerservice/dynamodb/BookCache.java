@@ -0,0 +1,195 @@
+package com.nashss.se.booktrackerservice.dynamodb;
+
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+import com.nashss.se.booktrackerservice.metrics.MetricsConstants;
+import com.nashss.se.booktrackerservice.metrics.MetricsPublisher;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Keeps recently read catalog books in memory for the life of a warm Lambda container.
+ * <p>
+ * The cache is bounded in size and entries expire a fixed time after they are loaded, so a book changed by another
+ * container is seen again within {@link #TTL_MINUTES}. Books are copied in and out, since callers overlay per-user
+ * state onto the books they are given. Hit, miss and eviction counts are published at most once a minute.
+ * <p>
+ * Lookups that found nothing are remembered for {@link #MISSING_TTL_SECONDS}, so a repeated request for an unknown
+ * asin does not go back to DynamoDB or Google Books. The short TTL bounds how long a book added by another container
+ * can be reported missing.
+ */
+@Singleton
+public class BookCache {
+    public static final long MAX_BOOKS = 10_000;
+    public static final long TTL_MINUTES = 10;
+    public static final long MISSING_TTL_SECONDS = 60;
+    static final long METRICS_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Cache<String, Book> books;
+    private final Cache<String, Boolean> missingBooks;
+    private final Cache<String, Boolean> unresolvableTerms;
+    private final MetricsPublisher metricsPublisher;
+    private final Ticker ticker;
+    private final AtomicLong nextPublishNanos;
+    private final AtomicReference<CacheStats> publishedStats = new AtomicReference<>(new CacheStats(0, 0, 0, 0, 0, 0));
+
+    /**
+     * Instantiates a BookCache that publishes its hit and miss counts.
+     *
+     * @param metricsPublisher the {@link MetricsPublisher} the cache's counts are published to
+     */
+    @Inject
+    public BookCache(MetricsPublisher metricsPublisher) {
+        this(metricsPublisher, Ticker.systemTicker());
+    }
+
+    /**
+     * Instantiates a BookCache that does not publish metrics, for tools that run outside of Lambda.
+     */
+    public BookCache() {
+        this(null, Ticker.systemTicker());
+    }
+
+    /**
+     * Instantiates a BookCache that reads time from the given ticker.
+     *
+     * @param metricsPublisher the {@link MetricsPublisher} the cache's counts are published to, or null for none
+     * @param ticker the source of time for expiry and for spacing out metrics
+     */
+    BookCache(MetricsPublisher metricsPublisher, Ticker ticker) {
+        this.metricsPublisher = metricsPublisher;
+        this.ticker = ticker;
+        this.nextPublishNanos = new AtomicLong(ticker.read() + METRICS_INTERVAL_NANOS);
+        this.books = CacheBuilder.newBuilder()
+                .maximumSize(MAX_BOOKS)
+                .expireAfterWrite(TTL_MINUTES, TimeUnit.MINUTES)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        this.missingBooks = negativeCache(ticker);
+        this.unresolvableTerms = negativeCache(ticker);
+    }
+
+    /**
+     * Returns a copy of the cached book with the given asin.
+     *
+     * @param asin the asin of the book
+     * @return a copy of the cached book, or null if it is not cached
+     */
+    public Book get(String asin) {
+        Book book = books.getIfPresent(asin);
+        publishMetricsIfDue();
+        return book == null ? null : copy(book);
+    }
+
+    /**
+     * Caches a copy of the given book.
+     *
+     * @param book the book to cache
+     */
+    public void put(Book book) {
+        books.put(book.getAsin(), copy(book));
+        missingBooks.invalidate(book.getAsin());
+    }
+
+    /**
+     * Drops the book with the given asin from the cache, along with any record of it being missing.
+     *
+     * @param asin the asin of the book
+     */
+    public void invalidate(String asin) {
+        books.invalidate(asin);
+        missingBooks.invalidate(asin);
+    }
+
+    /**
+     * Returns whether the book with the given asin was recently looked up and not found.
+     *
+     * @param asin the asin of the book
+     * @return true if the book is known to be missing
+     */
+    public boolean isMissing(String asin) {
+        return missingBooks.getIfPresent(asin) != null;
+    }
+
+    /**
+     * Records that the book with the given asin was looked up and not found.
+     *
+     * @param asin the asin of the book
+     */
+    public void putMissing(String asin) {
+        missingBooks.put(asin, Boolean.TRUE);
+    }
+
+    /**
+     * Returns whether the given search term was recently found to match no book at all.
+     *
+     * @param searchTerm the asin, isbn or title searched for
+     * @return true if the search term is known to match nothing
+     */
+    public boolean isUnresolvable(String searchTerm) {
+        return unresolvableTerms.getIfPresent(searchTerm) != null;
+    }
+
+    /**
+     * Records that the given search term matched no book in the catalog or in Google Books.
+     *
+     * @param searchTerm the asin, isbn or title searched for
+     */
+    public void putUnresolvable(String searchTerm) {
+        unresolvableTerms.put(searchTerm, Boolean.TRUE);
+    }
+
+    /**
+     * Returns the cache's hit, miss and eviction counts since it was created.
+     *
+     * @return the cache's stats
+     */
+    public CacheStats stats() {
+        return books.stats();
+    }
+
+    private void publishMetricsIfDue() {
+        long next = nextPublishNanos.get();
+        long now = ticker.read();
+        if (metricsPublisher == null || now < next ||
+                !nextPublishNanos.compareAndSet(next, now + METRICS_INTERVAL_NANOS)) {
+            return;
+        }
+        CacheStats current = books.stats();
+        CacheStats delta = current.minus(publishedStats.getAndSet(current));
+        metricsPublisher.addCount(MetricsConstants.BOOKCACHE_HIT_COUNT, delta.hitCount());
+        metricsPublisher.addCount(MetricsConstants.BOOKCACHE_MISS_COUNT, delta.missCount());
+        metricsPublisher.addCount(MetricsConstants.BOOKCACHE_EVICTION_COUNT, delta.evictionCount());
+    }
+
+    private static Cache<String, Boolean> negativeCache(Ticker ticker) {
+        return CacheBuilder.newBuilder()
+                .maximumSize(MAX_BOOKS)
+                .expireAfterWrite(MISSING_TTL_SECONDS, TimeUnit.SECONDS)
+                .ticker(ticker)
+                .build();
+    }
+
+    private static Book copy(Book book) {
+        Book copy = new Book();
+        copy.setAsin(book.getAsin());
+        copy.setTitle(book.getTitle());
+        copy.setAuthor(book.getAuthor());
+        copy.setGenre(book.getGenre());
+        copy.setThumbnail(book.getThumbnail());
+        copy.setRating(book.getRating());
+        copy.setCurrentlyReading(book.isCurrentlyReading());
+        copy.setPercentComplete(book.getPercentComplete());
+        copy.setPageCount(book.getPageCount());
+        return copy;
+    }
+}
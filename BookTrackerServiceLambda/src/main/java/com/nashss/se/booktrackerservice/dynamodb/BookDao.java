@@ -1,16 +1,35 @@
 package com.nashss.se.booktrackerservice.dynamodb;
 
 import com.nashss.se.booktrackerservice.dynamodb.models.Book;
-import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.dynamodb.models.BookSearchToken;
+import com.nashss.se.booktrackerservice.utils.Deadline;
+import com.nashss.se.booktrackerservice.utils.SearchTokenUtils;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
-import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
-import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -21,110 +40,328 @@ import javax.inject.Singleton;
 
 @Singleton
 public class BookDao {
+    static final int MAX_BATCH_LOAD_KEYS = 100;
+    static final int MAX_SEARCH_POSTINGS = 500;
+    private static final int BATCH_LOAD_THREADS = 4;
+    private static final DynamoDBMapperConfig BATCH_LOAD_CONFIG = DynamoDBMapperConfig.builder()
+            .withBatchLoadRetryStrategy(new DynamoDBMapperConfig.DefaultBatchLoadRetryStrategy())
+            .build();
+    private static final ExecutorService BATCH_LOAD_EXECUTOR = Executors.newFixedThreadPool(BATCH_LOAD_THREADS,
+            new ThreadFactoryBuilder().setNameFormat("book-batch-load-%d").setDaemon(true).build());
 
+    private final Logger log = LogManager.getLogger();
     private final DynamoDBMapper dynamoDBMapper;
+    private final BookCache bookCache;
+    private final CatalogAsinFilter catalogAsinFilter;
 
     /**
      * Instantiates an BookDao object.
      *
      * @param dynamoDbMapper the {@link DynamoDBMapper} used to interact with the book_table table
+     * @param bookCache the {@link BookCache} books read by asin are kept in while the container is warm
+     * @param catalogAsinFilter the {@link CatalogAsinFilter} that rules out asins not in the catalog
      */
 
     @Inject
-    public BookDao(DynamoDBMapper dynamoDbMapper) {
+    public BookDao(DynamoDBMapper dynamoDbMapper, BookCache bookCache, CatalogAsinFilter catalogAsinFilter) {
         this.dynamoDBMapper = dynamoDbMapper;
+        this.bookCache = bookCache;
+        this.catalogAsinFilter = catalogAsinFilter;
     }
 
     /**
-     * Perform a search (via a "scan") of the book table for book with currentlyReading set to true.
+     * Instantiates an BookDao object with its own cache and no asin filter, for tools that run outside of Lambda.
      *
-     * CurrentlyReading attribute is searched.
+     * @param dynamoDbMapper the {@link DynamoDBMapper} used to interact with the book_table table
+     */
+    public BookDao(DynamoDBMapper dynamoDbMapper) {
+        this(dynamoDbMapper, new BookCache(), new CatalogAsinFilter(null));
+    }
+
+    /**
+     * Returns the {@link Book} corresponding to the specified asin, from the cache when this container has
+     * read it recently.
+     * <p>
+     * Asins recently found missing are answered without a call to DynamoDB.
      *
-     * @param isCurrentlyReading boolean for isCurrentlyReading
-     * @return a List of Booklist objects that match the search criteria
+     * @param asin the Book asin
+     * @return the stored Book, or null if none was found.
      */
-    public Booklist getCurrentlyReading(boolean isCurrentlyReading) {
-        Map<String, AttributeValue> valueMap = new HashMap<>();
-        valueMap.put(":currentlyReading", new AttributeValue().withBOOL(isCurrentlyReading));
-        DynamoDBScanExpression dynamoDBScanExpression = new DynamoDBScanExpression()
-                .withFilterExpression("currentlyReading = :currentlyReading")
-                .withExpressionAttributeValues(valueMap);
-        ScanResultPage<Book> bookResultPage = dynamoDBMapper.scanPage(Book.class, dynamoDBScanExpression);
-        List<Book> results = bookResultPage.getResults();
+    public Book getBook(String asin) {
+        Book book = bookCache.get(asin);
+        if (book != null) {
+            return book;
+        }
+        if (bookCache.isMissing(asin)) {
+            return null;
+        }
+        book = this.dynamoDBMapper.load(Book.class, asin);
+        if (book == null) {
+            bookCache.putMissing(asin);
+        } else {
+            bookCache.put(book);
+        }
+        return book;
+    }
 
-        Booklist returnList = new Booklist();
-        returnList.setBooks(results);
-        returnList.setBookCount(results.size());
-        returnList.setName("Currently Reading");
-        return returnList;
+    /**
+     * Returns the {@link Book} corresponding to the specified asin like {@link #getBook}, except that asins the
+     * catalog filter rules out are answered null without a call to DynamoDB.
+     * <p>
+     * The filter misses books other containers saved since it was last built, so this can return null for a
+     * book that is stored. Only use it where that costs nothing but a retry, such as ahead of a write that is
+     * conditioned on the book not being stored.
+     *
+     * @param asin the Book asin
+     * @return the stored Book, or null if none was found or the filter ruled it out.
+     */
+    public Book findCatalogBook(String asin) {
+        if (bookCache.get(asin) == null && !catalogAsinFilter.mightContain(asin)) {
+            return null;
+        }
+        return getBook(asin);
     }
+
     /**
-     * Returns the {@link Book} corresponding to the specified asin.
+     * Returns the {@link Book} corresponding to the specified asin, read from DynamoDB even if this container
+     * has it cached or recently found it missing. For when another writer is known to have just saved it.
      *
      * @param asin the Book asin
      * @return the stored Book, or null if none was found.
      */
-    public Book getBook(String asin) {
-        return this.dynamoDBMapper.load(Book.class, asin);
+    public Book reloadBook(String asin) {
+        bookCache.invalidate(asin);
+        return getBook(asin);
     }
 
     /**
-     * Saves a book to the Book DynamoDB table.
+     * Returns whether the given search term recently matched no book in the catalog or in Google Books.
+     *
+     * @param searchTerm the asin, isbn or title searched for
+     * @return true if searching for the term again would find nothing
+     */
+    public boolean isUnresolvable(String searchTerm) {
+        return bookCache.isUnresolvable(searchTerm);
+    }
+
+    /**
+     * Records that the given search term matched no book in the catalog or in Google Books, so it is not
+     * searched for again for a short while.
+     *
+     * @param searchTerm the asin, isbn or title searched for
+     */
+    public void markUnresolvable(String searchTerm) {
+        bookCache.putUnresolvable(searchTerm);
+    }
+
+    /**
+     * Saves a book to the Book DynamoDB table and keeps its entries in the BookSearchTokens index up to date.
      * @param book the Book object to be saved
      */
     public void saveBook(Book book) {
+        Book previous = this.dynamoDBMapper.load(Book.class, book.getAsin());
         this.dynamoDBMapper.save(book);
+        bookCache.invalidate(book.getAsin());
+        catalogAsinFilter.add(book.getAsin());
+
+        // Every term is rewritten so a partially failed earlier write heals on the next save.
+        Set<String> terms = indexTerms(book);
+        Set<String> staleTerms = previous == null ? new HashSet<>() : indexTerms(previous);
+        staleTerms.removeAll(terms);
+        writeTokens(terms, staleTerms, book.getAsin());
+    }
+
+    /**
+     * Writes every index term of the given book to the BookSearchTokens table. Used to backfill books saved
+     * before the index existed, and to index books saved in a transaction; writes are idempotent.
+     * @param book the Book to index
+     */
+    public void indexBook(Book book) {
+        bookCache.invalidate(book.getAsin());
+        catalogAsinFilter.add(book.getAsin());
+        writeTokens(indexTerms(book), Collections.emptySet(), book.getAsin());
     }
 
     /**
-     * Perform a search (via a "scan") of the book table for books matching the given criteria.
+     * Searches the book catalog through the BookSearchTokens inverted index.
      *
-     * Both "bookName" and "tags" attributes are searched.
-     * The criteria are an array of Strings. Each element of the array is search individually.
-     * ALL elements of the criteria array must appear in the bookName or the asin (or both).
-     * Searches are CASE SENSITIVE.
+     * Title, author and asin are tokenized (case and accent insensitive), and each token is indexed along with
+     * its prefixes, so partially typed words match. ALL criteria must match a token of the same book.
+     * The posting list of each criteria token is queried and intersected, and only the matching books are
+     * loaded, so the catalog is never scanned.
+     * <p>
+     * At most MAX_SEARCH_POSTINGS postings are read for a token. A token with more postings than that is too
+     * common to narrow the search, so it is left out of the intersection and only checked against the loaded
+     * books. When every token is that common, the search is truncated: only the books of the first
+     * MAX_SEARCH_POSTINGS postings of the longest token are considered, and a warning is logged. Either way no
+     * more than MAX_SEARCH_POSTINGS books are loaded.
      *
      * @param criteria an array of String containing search criteria.
-     * @return a List of Book objects that match the search criteria.
+     * @return a List of at most MAX_SEARCH_POSTINGS Book objects that match the search criteria, ordered by title.
      */
     public List<Book> searchBooks(String[] criteria) {
-        DynamoDBScanExpression dynamoDBScanExpression = new DynamoDBScanExpression();
-
-        if (criteria.length > 0) {
-            Map<String, AttributeValue> valueMap = new HashMap<>();
-            String valueMapNamePrefix = ":c";
-
-            StringBuilder titleFilterExpression = new StringBuilder();
-            StringBuilder asinFilterExpression = new StringBuilder();
-
-            for (int i = 0; i < criteria.length; i++) {
-                valueMap.put(valueMapNamePrefix + i,
-                        new AttributeValue().withS(criteria[i]));
-                titleFilterExpression.append(
-                        filterExpressionPart("title", valueMapNamePrefix, i));
-                asinFilterExpression.append(
-                        filterExpressionPart("asin", valueMapNamePrefix, i));
+        Set<String> queryTokens = SearchTokenUtils.tokenize(criteria);
+        if (queryTokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> tokensBySelectivity = new ArrayList<>(queryTokens);
+        tokensBySelectivity.sort(Comparator.comparingInt(String::length).reversed());
+
+        Set<String> matchingAsins = null;
+        Set<String> firstTruncatedPostings = null;
+        for (String token : tokensBySelectivity) {
+            Set<String> postings = getPostings(token);
+            if (postings.size() > MAX_SEARCH_POSTINGS) {
+                if (firstTruncatedPostings == null) {
+                    firstTruncatedPostings = postings;
+                }
+                continue;
             }
+            if (matchingAsins == null) {
+                matchingAsins = postings;
+            } else {
+                matchingAsins.retainAll(postings);
+            }
+            if (matchingAsins.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+        if (matchingAsins == null) {
+            log.warn("Truncated book search for {}: every token has more than {} postings", queryTokens,
+                    MAX_SEARCH_POSTINGS);
+            matchingAsins = new HashSet<>(
+                    new ArrayList<>(firstTruncatedPostings).subList(0, MAX_SEARCH_POSTINGS));
+        }
+
+        List<Book> results = new ArrayList<>();
+        for (Book book : getBooks(matchingAsins)) {
+            // Postings are written after the book, so re-check in case a save was only partially applied.
+            if (indexTerms(book).containsAll(queryTokens)) {
+                results.add(book);
+            }
+        }
+        results.sort(Comparator.comparing(Book::getTitle, Comparator.nullsLast(Comparator.naturalOrder())));
+        return results;
+    }
+
+    private Set<String> indexTerms(Book book) {
+        return SearchTokenUtils.indexTerms(book.getTitle(), book.getAuthor(), book.getAsin());
+    }
+
+    private void writeTokens(Set<String> termsToSave, Set<String> termsToDelete, String asin) {
+        if (termsToSave.isEmpty() && termsToDelete.isEmpty()) {
+            return;
+        }
+        List<BookSearchToken> toSave = new ArrayList<>();
+        for (String term : termsToSave) {
+            toSave.add(new BookSearchToken(term, asin));
+        }
+        List<BookSearchToken> toDelete = new ArrayList<>();
+        for (String term : termsToDelete) {
+            toDelete.add(new BookSearchToken(term, asin));
+        }
+        List<DynamoDBMapper.FailedBatch> failedBatches = this.dynamoDBMapper.batchWrite(toSave, toDelete);
+        if (failedBatches != null && !failedBatches.isEmpty()) {
+            log.warn("Failed to write {} search token batches for book {}", failedBatches.size(), asin);
+        }
+    }
+
+    /**
+     * Helper method reading the asins posted under a token, in query order, stopping once there are more than
+     * MAX_SEARCH_POSTINGS of them.
+     */
+    private Set<String> getPostings(String token) {
+        Map<String, AttributeValue> valueMap = new HashMap<>();
+        valueMap.put(":token", new AttributeValue().withS(token));
+        DynamoDBQueryExpression<BookSearchToken> queryExpression = new DynamoDBQueryExpression<BookSearchToken>()
+                .withKeyConditionExpression("#token = :token")
+                .withExpressionAttributeNames(Collections.singletonMap("#token", "token"))
+                .withExpressionAttributeValues(valueMap);
 
-            dynamoDBScanExpression.setExpressionAttributeValues(valueMap);
-            dynamoDBScanExpression.setFilterExpression(
-                    "(" + titleFilterExpression + ") or (" + asinFilterExpression + ")");
+        Set<String> asins = new LinkedHashSet<>();
+        QueryResultPage<BookSearchToken> page;
+        do {
+            // read one posting past the cap, so a token with too many postings is recognized without reading them all
+            queryExpression.setLimit(MAX_SEARCH_POSTINGS + 1 - asins.size());
+            page = this.dynamoDBMapper.queryPage(BookSearchToken.class, queryExpression);
+            for (BookSearchToken posting : page.getResults()) {
+                asins.add(posting.getAsin());
+            }
+            queryExpression.setExclusiveStartKey(page.getLastEvaluatedKey());
+        } while (page.getLastEvaluatedKey() != null && asins.size() <= MAX_SEARCH_POSTINGS);
+        return asins;
+    }
+
+    /**
+     * Returns the stored books with the given asins, in the order the asins were given. Duplicate asins are loaded
+     * once, and asins with no stored book are left out.
+     * <p>
+     * The asins are loaded with batch gets of up to 100 keys, which are sent in parallel when there is more than
+     * one. Keys DynamoDB leaves unprocessed are retried with backoff.
+     *
+     * @param asins the asins of the books to load
+     * @return the stored Books
+     */
+    public List<Book> getBooks(Collection<String> asins) {
+        List<String> uniqueAsins = new ArrayList<>(new LinkedHashSet<>(asins));
+        if (uniqueAsins.isEmpty()) {
+            return Collections.emptyList();
         }
 
-        return this.dynamoDBMapper.scan(Book.class, dynamoDBScanExpression);
+        List<List<String>> chunks = Lists.partition(uniqueAsins, MAX_BATCH_LOAD_KEYS);
+        Map<String, Book> booksByAsin = new HashMap<>();
+        if (chunks.size() == 1) {
+            addByAsin(loadChunk(chunks.get(0)), booksByAsin);
+        } else {
+            // the loads run on pool threads, which only see the request's deadline if it is handed to them
+            Deadline deadline = Deadline.current();
+            List<Future<List<Book>>> loads = new ArrayList<>();
+            for (List<String> chunk : chunks) {
+                loads.add(BATCH_LOAD_EXECUTOR.submit(() -> deadline.call(() -> loadChunk(chunk))));
+            }
+            for (Future<List<Book>> load : loads) {
+                addByAsin(Futures.getUnchecked(load), booksByAsin);
+            }
+        }
+
+        List<Book> books = new ArrayList<>();
+        for (String asin : uniqueAsins) {
+            Book book = booksByAsin.get(asin);
+            if (book != null) {
+                books.add(book);
+            }
+        }
+        return books;
+    }
+
+    /**
+     * Helper method loading one chunk of at most 100 asins with a single batch get.
+     */
+    private List<Book> loadChunk(List<String> asins) {
+        List<Book> keys = new ArrayList<>();
+        for (String asin : asins) {
+            Book key = new Book();
+            key.setAsin(asin);
+            keys.add(key);
+        }
+
+        List<Book> books = new ArrayList<>();
+        Map<String, List<Object>> loaded = this.dynamoDBMapper.batchLoad(keys, BATCH_LOAD_CONFIG);
+        for (List<Object> items : loaded.values()) {
+            for (Object item : items) {
+                books.add((Book) item);
+            }
+        }
+        return books;
     }
 
     /**
-     * Helper method for searchBooks method.
+     * Helper method indexing loaded books by asin.
      */
-    private StringBuilder filterExpressionPart(String target, String valueMapNamePrefix, int position) {
-        String possiblyAnd = position == 0 ? "" : "and ";
-        return new StringBuilder()
-                .append(possiblyAnd)
-                .append("contains(")
-                .append(target)
-                .append(", ")
-                .append(valueMapNamePrefix).append(position)
-                .append(") ");
+    private void addByAsin(List<Book> books, Map<String, Book> booksByAsin) {
+        for (Book book : books) {
+            booksByAsin.put(book.getAsin(), book);
+        }
     }
 }
@@ -0,0 +1,110 @@
+package com.nashss.se.booktrackerservice.dynamodb;
+
+import com.nashss.se.booktrackerservice.dynamodb.models.BookStats;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.Update;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Accesses each book's aggregate counters using {@link BookStats} to represent the model in DynamoDB.
+ * <p>
+ * Every change is an atomic ADD to one randomly chosen shard of the book, and a book's totals are read back with a
+ * single batch get of all of its shards.
+ */
+@Singleton
+public class BookStatsDao {
+    /** The number of items each book's counters are spread over. */
+    public static final int SHARD_COUNT = 8;
+
+    private final DynamoDBMapper dynamoDBMapper;
+
+    /**
+     * Instantiates a BookStatsDao object.
+     *
+     * @param dynamoDBMapper the {@link DynamoDBMapper} used to read the book stats table
+     */
+    @Inject
+    public BookStatsDao(DynamoDBMapper dynamoDBMapper) {
+        this.dynamoDBMapper = dynamoDBMapper;
+    }
+
+    /**
+     * Returns the totals of a book's counters, summed over all of its shards.
+     *
+     * @param asin the asin of the book
+     * @return the book's totals, which are all zero for a book with no activity
+     */
+    public BookStats getBookStats(String asin) {
+        List<BookStats> keys = new ArrayList<>();
+        for (int shard = 0; shard < SHARD_COUNT; shard++) {
+            BookStats key = new BookStats();
+            key.setId(shardId(asin, shard));
+            keys.add(key);
+        }
+
+        BookStats totals = new BookStats();
+        totals.setAsin(asin);
+        for (List<Object> items : this.dynamoDBMapper.batchLoad(keys).values()) {
+            for (Object item : items) {
+                BookStats shard = (BookStats) item;
+                totals.setCommentCount(totals.getCommentCount() + shard.getCommentCount());
+                totals.setRatingSum(totals.getRatingSum() + shard.getRatingSum());
+                totals.setRatingCount(totals.getRatingCount() + shard.getRatingCount());
+                totals.setActiveReaders(totals.getActiveReaders() + shard.getActiveReaders());
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Builds the ADD update of one randomly chosen shard of a book, for the transaction that makes the change it
+     * counts.
+     *
+     * @param asin the asin of the book
+     * @param commentCount the amount to add to the number of comments
+     * @param ratingSum the amount to add to the sum of the book's ratings
+     * @param ratingCount the amount to add to the number of ratings
+     * @param activeReaders the amount to add to the number of users currently reading the book
+     * @return the update, or null when every amount is zero
+     */
+    Update statsUpdate(String asin, long commentCount, long ratingSum, long ratingCount, long activeReaders) {
+        Map<String, AttributeValue> valueMap = new HashMap<>();
+        List<String> additions = new ArrayList<>();
+        addCounter(additions, valueMap, "commentCount", commentCount);
+        addCounter(additions, valueMap, "ratingSum", ratingSum);
+        addCounter(additions, valueMap, "ratingCount", ratingCount);
+        addCounter(additions, valueMap, "activeReaders", activeReaders);
+        if (additions.isEmpty()) {
+            return null;
+        }
+        valueMap.put(":asin", new AttributeValue().withS(asin));
+
+        int shard = ThreadLocalRandom.current().nextInt(SHARD_COUNT);
+        return new Update()
+                .withTableName(BookStats.TABLE_NAME)
+                .withKey(Map.of("id", new AttributeValue().withS(shardId(asin, shard))))
+                .withUpdateExpression("SET asin = :asin ADD " + String.join(", ", additions))
+                .withExpressionAttributeValues(valueMap);
+    }
+
+    private static void addCounter(List<String> additions, Map<String, AttributeValue> valueMap, String name,
+                                   long amount) {
+        if (amount != 0) {
+            additions.add(name + " :" + name);
+            valueMap.put(":" + name, new AttributeValue().withN(String.valueOf(amount)));
+        }
+    }
+
+    private static String shardId(String asin, int shard) {
+        return asin + "#" + shard;
+    }
+}
@@ -1,13 +1,36 @@
 package com.nashss.se.booktrackerservice.dynamodb;
 
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.dynamodb.models.BooklistEntry;
+import com.nashss.se.booktrackerservice.exceptions.BookNotFoundException;
 import com.nashss.se.booktrackerservice.exceptions.BooklistNotFoundException;
+import com.nashss.se.booktrackerservice.exceptions.CatalogBookExistsException;
+import com.nashss.se.booktrackerservice.exceptions.ConflictingUpdateException;
+import com.nashss.se.booktrackerservice.exceptions.DuplicateBookException;
 import com.nashss.se.booktrackerservice.exceptions.UserNotFoundException;
+import com.nashss.se.booktrackerservice.utils.Deadline;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.CancellationReason;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.Delete;
+import com.amazonaws.services.dynamodbv2.model.Put;
+import com.amazonaws.services.dynamodbv2.model.ReturnValue;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItem;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactionCanceledException;
+import com.amazonaws.services.dynamodbv2.model.Update;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemResult;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,29 +43,198 @@ import javax.inject.Singleton;
  */
 @Singleton
 public class BooklistDao {
+    /**
+     * The attributes list views show. Summary reads project only these, leaving the legacy bookList
+     * attribute on the server instead of shipping and deserializing it for every booklist.
+     */
+    public static final String SUMMARY_PROJECTION = "id, booklistName, customerId, bookCount, tags";
+
+    /**
+     * The most scan pages a single search reads before returning what it has found so far.
+     */
+    static final int MAX_SCAN_PAGES = 10;
+
+    private static final String CONDITIONAL_CHECK_FAILED = "ConditionalCheckFailed";
+
     private final DynamoDBMapper dynamoDBMapper;
+    private final AmazonDynamoDB amazonDynamoDB;
 
     /**
      * Instantiates a BooklistDao object.
      *
      * @param dynamoDBMapper the {@link DynamoDBMapper} used to interact with the booklists table
+     * @param amazonDynamoDB the {@link AmazonDynamoDB} client used for targeted updates of single attributes
      */
     @Inject
-    public BooklistDao(DynamoDBMapper dynamoDBMapper) {
+    public BooklistDao(DynamoDBMapper dynamoDBMapper, AmazonDynamoDB amazonDynamoDB) {
         this.dynamoDBMapper = dynamoDBMapper;
+        this.amazonDynamoDB = amazonDynamoDB;
     }
 
     /**
      * Saves (creates or updates) the given booklist.
      *
+     * Booklists saved without a creation time are stamped with the current time, so that they
+     * appear in the CustomerIdCreatedAtIndex.
+     *
+     * The save only succeeds if the stored booklist is still at the version that was read. A lost race
+     * is not retried: callers that change an existing booklist use the targeted updates below instead.
+     *
      * @param booklist The booklist to save
      * @return The Booklist object that was saved
      */
     public Booklist saveBooklist(Booklist booklist) {
-        this.dynamoDBMapper.save(booklist);
+        if (booklist.getCreatedAt() == null) {
+            booklist.setCreatedAt(System.currentTimeMillis());
+        }
+        try {
+            this.dynamoDBMapper.save(booklist);
+        } catch (ConditionalCheckFailedException e) {
+            throw new ConflictingUpdateException("Booklist " + booklist.getId() + " was modified concurrently", e);
+        }
         return booklist;
     }
 
+    /**
+     * Renames the booklist with the given id, leaving every other attribute as stored.
+     *
+     * Only the new name is sent, so a concurrent change to the book count or tags is never overwritten.
+     * The version is bumped so that full-item saves made from an earlier read are still rejected.
+     *
+     * @param id the Booklist ID
+     * @param name the new name of the booklist
+     * @return the Booklist as stored after the rename
+     */
+    public Booklist updateBooklistName(String id, String name) {
+        Map<String, AttributeValue> valueMap = new HashMap<>();
+        valueMap.put(":name", new AttributeValue().withS(name));
+        valueMap.put(":one", new AttributeValue().withN("1"));
+
+        UpdateItemRequest request = updateRequest(id)
+                .withUpdateExpression("SET booklistName = :name ADD version :one")
+                .withExpressionAttributeValues(valueMap)
+                .withReturnValues(ReturnValue.ALL_NEW);
+
+        return this.dynamoDBMapper.marshallIntoObject(Booklist.class, update(request).getAttributes());
+    }
+
+    /**
+     * Adds a book to a booklist in a single transaction: the entry is put, the booklist's book count is
+     * incremented, and, when given, the book is inserted into the catalog. Either all of these writes happen
+     * or none do.
+     * <p>
+     * The catalog book is only written if no book with its asin is stored yet, so a copy another writer saved
+     * first is never overwritten. If there is one, nothing is written and a CatalogBookExistsException is thrown;
+     * the caller should load the stored book and add that instead.
+     *
+     * @param entry the entry to add to the booklist
+     * @param catalogBook the book to save to the Books table, or null if it is already in the catalog
+     */
+    public void addBookToBooklist(BooklistEntry entry, Book catalogBook) {
+        Map<String, AttributeValue> valueMap = new HashMap<>();
+        valueMap.put(":one", new AttributeValue().withN("1"));
+        UpdateItemRequest countUpdate = updateRequest(entry.getBooklistId());
+
+        List<TransactWriteItem> writes = new ArrayList<>();
+        writes.add(new TransactWriteItem().withPut(new Put()
+                .withTableName(BooklistEntry.TABLE_NAME)
+                .withItem(this.dynamoDBMapper.getTableModel(BooklistEntry.class).convert(entry))
+                .withConditionExpression("attribute_not_exists(asin)")));
+        writes.add(new TransactWriteItem().withUpdate(new Update()
+                .withTableName(countUpdate.getTableName())
+                .withKey(countUpdate.getKey())
+                .withUpdateExpression("ADD bookCount :one, version :one")
+                .withConditionExpression(countUpdate.getConditionExpression())
+                .withExpressionAttributeValues(valueMap)));
+        if (catalogBook != null) {
+            writes.add(new TransactWriteItem().withPut(new Put()
+                    .withTableName(Book.TABLE_NAME)
+                    .withItem(this.dynamoDBMapper.getTableModel(Book.class).convert(catalogBook))
+                    .withConditionExpression("attribute_not_exists(asin)")));
+        }
+
+        try {
+            this.amazonDynamoDB.transactWriteItems(new TransactWriteItemsRequest().withTransactItems(writes));
+        } catch (TransactionCanceledException e) {
+            List<CancellationReason> reasons = e.getCancellationReasons();
+            if (reasons != null && reasons.size() > 1) {
+                if (CONDITIONAL_CHECK_FAILED.equals(reasons.get(0).getCode())) {
+                    throw new DuplicateBookException(
+                            String.format("%s is already in your booklist!", entry.getTitle()), e);
+                }
+                if (CONDITIONAL_CHECK_FAILED.equals(reasons.get(1).getCode())) {
+                    throw new BooklistNotFoundException("Could not find booklist with id " +
+                            entry.getBooklistId(), e);
+                }
+                if (reasons.size() > 2 && CONDITIONAL_CHECK_FAILED.equals(reasons.get(2).getCode())) {
+                    throw new CatalogBookExistsException(catalogBook.getAsin() + " is already in the catalog", e);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Removes a book from a booklist in a single transaction: the entry is deleted and the booklist's book
+     * count is decremented. Either both writes happen or neither does, so the count cannot drift from the
+     * entries.
+     *
+     * @param booklistId the Booklist ID
+     * @param asin the asin of the book to remove
+     */
+    public void removeBookFromBooklist(String booklistId, String asin) {
+        Map<String, AttributeValue> valueMap = new HashMap<>();
+        valueMap.put(":minusOne", new AttributeValue().withN("-1"));
+        valueMap.put(":one", new AttributeValue().withN("1"));
+        UpdateItemRequest countUpdate = updateRequest(booklistId);
+
+        Map<String, AttributeValue> entryKey = new HashMap<>();
+        entryKey.put("booklistId", new AttributeValue().withS(booklistId));
+        entryKey.put("asin", new AttributeValue().withS(asin));
+
+        try {
+            this.amazonDynamoDB.transactWriteItems(new TransactWriteItemsRequest().withTransactItems(
+                    new TransactWriteItem().withDelete(new Delete()
+                            .withTableName(BooklistEntry.TABLE_NAME)
+                            .withKey(entryKey)
+                            .withConditionExpression("attribute_exists(asin)")),
+                    new TransactWriteItem().withUpdate(new Update()
+                            .withTableName(countUpdate.getTableName())
+                            .withKey(countUpdate.getKey())
+                            .withUpdateExpression("ADD bookCount :minusOne, version :one")
+                            .withConditionExpression(countUpdate.getConditionExpression())
+                            .withExpressionAttributeValues(valueMap))));
+        } catch (TransactionCanceledException e) {
+            List<CancellationReason> reasons = e.getCancellationReasons();
+            if (reasons != null && reasons.size() > 1) {
+                if (CONDITIONAL_CHECK_FAILED.equals(reasons.get(0).getCode())) {
+                    throw new BookNotFoundException(
+                            "Requested book is not currently in user's booklist list of books.", e);
+                }
+                if (CONDITIONAL_CHECK_FAILED.equals(reasons.get(1).getCode())) {
+                    throw new BooklistNotFoundException("Could not find booklist with id " + booklistId, e);
+                }
+            }
+            throw e;
+        }
+    }
+
+    private UpdateItemRequest updateRequest(String id) {
+        return new UpdateItemRequest()
+                .withTableName(Booklist.TABLE_NAME)
+                .withKey(Map.of("id", new AttributeValue().withS(id)))
+                .withConditionExpression("attribute_exists(id)");
+    }
+
+    private UpdateItemResult update(UpdateItemRequest request) {
+        try {
+            return this.amazonDynamoDB.updateItem(request);
+        } catch (ConditionalCheckFailedException e) {
+            throw new BooklistNotFoundException("Could not update booklist with id " +
+                    request.getKey().get("id").getS(), e);
+        }
+    }
+
     /**
      * Returns the {@link Booklist} corresponding to the specified id.
      *
@@ -60,18 +252,33 @@ public class BooklistDao {
     }
 
     /**
-     * Perform a search (via a "scan") of the booklist table for booklists matching the given criteria.
+     * Perform a search (via a "scan") of the booklist table for one page of booklists matching the given criteria.
      *
-     * Both "booklistName" and "tags" attributes are searched.
+     * Both "booklistName" and "tags" attributes are searched. Only the {@link #SUMMARY_PROJECTION}
+     * attributes of each matching booklist are read.
      * The criteria are an array of Strings. Each element of the array is search individually.
      * ALL elements of the criteria array must appear in the booklistName or the tags (or both).
      * Searches are CASE SENSITIVE.
      *
+     * Because the criteria are applied as a filter, a single scan page can contain fewer matches than
+     * requested. Pages are read until the limit is reached, the table is exhausted, MAX_SCAN_PAGES pages
+     * have been read or the request's {@link Deadline} has passed, so a rare match cannot scan the whole
+     * table in one call. The returned page holds at most limit booklists and carries the key to resume
+     * from: the key of the last booklist kept when a page was cut short, otherwise the LastEvaluatedKey of
+     * the last page read, or null if there are no more results. A page can therefore be empty and still
+     * carry a key.
+     *
      * @param criteria an array of String containing search criteria.
-     * @return a List of Booklist objects that match the search criteria.
+     * @param limit the maximum number of booklists to return, and to evaluate per scan page.
+     * @param exclusiveStartKey the key to resume the scan from, or null to start at the beginning.
+     * @return a page of Booklist objects that match the search criteria.
      */
-    public List<Booklist> searchBooklists(String[] criteria) {
-        DynamoDBScanExpression dynamoDBScanExpression = new DynamoDBScanExpression();
+    public ScanResultPage<Booklist> searchBooklists(String[] criteria, int limit,
+                                                    Map<String, AttributeValue> exclusiveStartKey) {
+        DynamoDBScanExpression dynamoDBScanExpression = new DynamoDBScanExpression()
+                .withProjectionExpression(SUMMARY_PROJECTION)
+                .withLimit(limit)
+                .withExclusiveStartKey(exclusiveStartKey);
 
         if (criteria.length > 0) {
             Map<String, AttributeValue> valueMap = new HashMap<>();
@@ -94,7 +301,39 @@ public class BooklistDao {
                     "(" + nameFilterExpression + ") or (" + tagsFilterExpression + ")");
         }
 
-        return this.dynamoDBMapper.scan(Booklist.class, dynamoDBScanExpression);
+        Deadline deadline = Deadline.current();
+        List<Booklist> results = new ArrayList<>();
+        Map<String, AttributeValue> lastEvaluatedKey;
+        int pagesRead = 0;
+        do {
+            ScanResultPage<Booklist> scanPage = this.dynamoDBMapper.scanPage(Booklist.class, dynamoDBScanExpression);
+            pagesRead++;
+            lastEvaluatedKey = scanPage.getLastEvaluatedKey();
+            for (Booklist booklist : scanPage.getResults()) {
+                if (results.size() == limit) {
+                    // the rest of this page is read again from the last booklist kept
+                    lastEvaluatedKey = keyOf(results.get(results.size() - 1));
+                    break;
+                }
+                results.add(booklist);
+            }
+            dynamoDBScanExpression.setExclusiveStartKey(lastEvaluatedKey);
+        } while (results.size() < limit && lastEvaluatedKey != null && pagesRead < MAX_SCAN_PAGES &&
+                !deadline.isExpired());
+
+        ScanResultPage<Booklist> resultPage = new ScanResultPage<>();
+        resultPage.setResults(results);
+        resultPage.setLastEvaluatedKey(lastEvaluatedKey);
+        return resultPage;
+    }
+
+    /**
+     * Helper method building the table key of a booklist, to resume a scan after it.
+     */
+    private static Map<String, AttributeValue> keyOf(Booklist booklist) {
+        Map<String, AttributeValue> key = new HashMap<>();
+        key.put("id", new AttributeValue().withS(booklist.getId()));
+        return key;
     }
 
     /**
@@ -129,24 +368,39 @@ public class BooklistDao {
     }
 
     /**
-     * Perform a search (via a "scan") of the booklist table for booklists matching the userId.
+     * Perform a query of the CustomerIdCreatedAtIndex for one page of booklists belonging to the userId.
+     *
+     * Only the {@link #SUMMARY_PROJECTION} attributes of each booklist are read.
      *
-     * Only the customer id is searched.
      * @param userId a string of the customerid.
-     * @return a List of Booklist objects that match the search criteria.
+     * @param limit the maximum number of booklists to return.
+     * @param exclusiveStartKey the key to resume the query from, or null to start at the beginning.
+     * @return a page of Booklist objects that belong to the user, with the LastEvaluatedKey of the page.
      */
-    public List<Booklist> getAllBooklistsForUser(String userId) {
-        DynamoDBScanExpression dynamoDBScanExpression = new DynamoDBScanExpression();
+    public QueryResultPage<Booklist> getBooklistsForUser(String userId, int limit,
+                                                         Map<String, AttributeValue> exclusiveStartKey) {
         if (userId == null) {
             throw new UserNotFoundException("Could not find user with id " + userId);
         }
 
+        return this.dynamoDBMapper.queryPage(Booklist.class,
+                customerBooklistsQuery(userId)
+                        .withProjectionExpression(SUMMARY_PROJECTION)
+                        .withLimit(limit)
+                        .withExclusiveStartKey(exclusiveStartKey));
+    }
+
+    /**
+     * Helper method building the CustomerIdCreatedAtIndex query for a user's booklists.
+     */
+    private DynamoDBQueryExpression<Booklist> customerBooklistsQuery(String userId) {
         Map<String, AttributeValue> valueMap = new HashMap<>();
         valueMap.put(":userId", new AttributeValue().withS(userId));
 
-        dynamoDBScanExpression.setExpressionAttributeValues(valueMap);
-        dynamoDBScanExpression.setFilterExpression("customerId = :userId");
-
-        return this.dynamoDBMapper.scan(Booklist.class, dynamoDBScanExpression);
+        return new DynamoDBQueryExpression<Booklist>()
+                .withIndexName(Booklist.CUSTOMER_ID_CREATED_AT_INDEX)
+                .withConsistentRead(false)
+                .withKeyConditionExpression("customerId = :userId")
+                .withExpressionAttributeValues(valueMap);
     }
 }
@@ -0,0 +1,131 @@
+package com.nashss.se.booktrackerservice.dynamodb;
+
+import com.nashss.se.booktrackerservice.dynamodb.models.BooklistEntry;
+import com.nashss.se.booktrackerservice.exceptions.DuplicateBookException;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBSaveExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ExpectedAttributeValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Accesses the books on a booklist using {@link BooklistEntry} to represent the model in DynamoDB.
+ */
+@Singleton
+public class BooklistEntryDao {
+    private final DynamoDBMapper dynamoDBMapper;
+
+    /**
+     * Instantiates a BooklistEntryDao object.
+     *
+     * @param dynamoDBMapper the {@link DynamoDBMapper} used to interact with the booklist entries table
+     */
+    @Inject
+    public BooklistEntryDao(DynamoDBMapper dynamoDBMapper) {
+        this.dynamoDBMapper = dynamoDBMapper;
+    }
+
+    /**
+     * Adds the given entry, failing if the book is already on the booklist.
+     *
+     * @param entry The entry to add
+     * @return The BooklistEntry that was added
+     */
+    public BooklistEntry addEntry(BooklistEntry entry) {
+        DynamoDBSaveExpression onlyIfAbsent = new DynamoDBSaveExpression()
+                .withExpectedEntry("asin", new ExpectedAttributeValue(false));
+        try {
+            this.dynamoDBMapper.save(entry, onlyIfAbsent);
+        } catch (ConditionalCheckFailedException e) {
+            throw new DuplicateBookException(
+                    String.format("%s is already in your booklist!", entry.getTitle()), e);
+        }
+        return entry;
+    }
+
+    /**
+     * Saves (creates or updates) the given entry.
+     *
+     * @param entry The entry to save
+     * @return The BooklistEntry that was saved
+     */
+    public BooklistEntry saveEntry(BooklistEntry entry) {
+        this.dynamoDBMapper.save(entry);
+        return entry;
+    }
+
+    /**
+     * Returns the {@link BooklistEntry} for the given book on the given booklist.
+     *
+     * @param booklistId the Booklist ID
+     * @param asin the Book asin
+     * @return the stored BooklistEntry, or null if the book is not on the booklist.
+     */
+    public BooklistEntry getEntry(String booklistId, String asin) {
+        return this.dynamoDBMapper.load(BooklistEntry.class, booklistId, asin);
+    }
+
+    /**
+     * Removes every entry of the given booklist.
+     *
+     * @param booklistId the Booklist ID
+     */
+    public void removeAllEntries(String booklistId) {
+        List<BooklistEntry> entries = new ArrayList<>(getAllEntries(booklistId));
+        if (!entries.isEmpty()) {
+            this.dynamoDBMapper.batchDelete(entries);
+        }
+    }
+
+    /**
+     * Perform a query of the BooklistIdAddedAtIndex for one page of the books on a booklist.
+     *
+     * @param booklistId the Booklist ID
+     * @param oldestFirst true to return books in the order they were added, false for the reverse order
+     * @param limit the maximum number of entries to return
+     * @param exclusiveStartKey the key to resume the query from, or null to start at the beginning
+     * @return a page of BooklistEntry objects, with the LastEvaluatedKey of the page.
+     */
+    public QueryResultPage<BooklistEntry> getEntries(String booklistId, boolean oldestFirst, int limit,
+                                                     Map<String, AttributeValue> exclusiveStartKey) {
+        return this.dynamoDBMapper.queryPage(BooklistEntry.class, booklistEntriesQuery(booklistId)
+                .withScanIndexForward(oldestFirst)
+                .withLimit(limit)
+                .withExclusiveStartKey(exclusiveStartKey));
+    }
+
+    /**
+     * Perform a query of the BooklistIdAddedAtIndex for all of the books on a booklist, in the order they
+     * were added. The returned list is paginated and lazily loads further pages from DynamoDB as it is iterated.
+     *
+     * @param booklistId the Booklist ID
+     * @return a List of BooklistEntry objects on the booklist.
+     */
+    public List<BooklistEntry> getAllEntries(String booklistId) {
+        return this.dynamoDBMapper.query(BooklistEntry.class, booklistEntriesQuery(booklistId));
+    }
+
+    /**
+     * Helper method building the BooklistIdAddedAtIndex query for a booklist's entries.
+     */
+    private DynamoDBQueryExpression<BooklistEntry> booklistEntriesQuery(String booklistId) {
+        Map<String, AttributeValue> valueMap = new HashMap<>();
+        valueMap.put(":booklistId", new AttributeValue().withS(booklistId));
+
+        return new DynamoDBQueryExpression<BooklistEntry>()
+                .withIndexName(BooklistEntry.BOOKLIST_ID_ADDED_AT_INDEX)
+                .withKeyConditionExpression("booklistId = :booklistId")
+                .withExpressionAttributeValues(valueMap);
+    }
+}
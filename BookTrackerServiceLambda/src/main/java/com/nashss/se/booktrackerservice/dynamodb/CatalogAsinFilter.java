@@ -0,0 +1,148 @@
+package com.nashss.se.booktrackerservice.dynamodb;
+
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.google.common.base.Ticker;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An optional Bloom filter of the asins in the Books table, so {@link BookDao} can tell that an asin is probably
+ * not in the catalog without a call to DynamoDB.
+ * <p>
+ * The filter is built from a parallel scan of the asins only, and rebuilt in the background every
+ * {@link #REBUILD_INTERVAL_MINUTES}. Until the first build finishes every asin might be present. Books saved through
+ * this container are added straight away; books saved by other containers are missed until the next rebuild, so
+ * for up to {@link #REBUILD_INTERVAL_MINUTES} the filter can rule out an asin that is stored. It must only be
+ * consulted where such a false negative is harmless.
+ */
+public class CatalogAsinFilter {
+    public static final int MIN_EXPECTED_ASINS = 100_000;
+    public static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+    public static final long REBUILD_INTERVAL_MINUTES = 30;
+    static final long REBUILD_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(REBUILD_INTERVAL_MINUTES);
+    static final long RETRY_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Logger log = LogManager.getLogger();
+    private final ParallelScanner parallelScanner;
+    private final Ticker ticker;
+    private final ExecutorService rebuildExecutor;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Set<String> addedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile BloomFilter<CharSequence> filter;
+    private volatile long nextRebuildNanos;
+
+    /**
+     * Instantiates a CatalogAsinFilter.
+     *
+     * @param parallelScanner the {@link ParallelScanner} used to scan the Books table, or null to disable the filter
+     */
+    public CatalogAsinFilter(ParallelScanner parallelScanner) {
+        this(parallelScanner, Ticker.systemTicker(), parallelScanner == null ? null :
+                Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                        .setNameFormat("catalog-asin-filter-%d").setDaemon(true).build()));
+    }
+
+    /**
+     * Instantiates a CatalogAsinFilter that reads time from the given ticker and rebuilds on the given executor.
+     *
+     * @param parallelScanner the {@link ParallelScanner} used to scan the Books table, or null to disable the filter
+     * @param ticker the source of time for scheduling rebuilds
+     * @param rebuildExecutor the executor background rebuilds run on
+     */
+    CatalogAsinFilter(ParallelScanner parallelScanner, Ticker ticker, ExecutorService rebuildExecutor) {
+        this.parallelScanner = parallelScanner;
+        this.ticker = ticker;
+        this.rebuildExecutor = rebuildExecutor;
+        this.nextRebuildNanos = ticker.read();
+    }
+
+    /**
+     * Returns false only if the asin was not in the catalog when the filter was built and has not been added through
+     * this container since. Starts a background rebuild when the filter has not been built yet or is due to be
+     * rebuilt.
+     *
+     * @param asin the asin of the book
+     * @return false if the book was not in the catalog as of the last build, true if it might be
+     */
+    public boolean mightContain(String asin) {
+        if (parallelScanner == null) {
+            return true;
+        }
+        if (ticker.read() - nextRebuildNanos >= 0 && rebuilding.compareAndSet(false, true)) {
+            rebuildExecutor.execute(this::rebuildAndRelease);
+        }
+        BloomFilter<CharSequence> current = filter;
+        return current == null || current.mightContain(asin);
+    }
+
+    /**
+     * Records an asin that was just added to the catalog.
+     *
+     * @param asin the asin of the book
+     */
+    public synchronized void add(String asin) {
+        if (parallelScanner == null) {
+            return;
+        }
+        if (filter != null) {
+            filter.put(asin);
+        }
+        if (rebuilding.get()) {
+            addedDuringRebuild.add(asin);
+        }
+    }
+
+    /**
+     * Scans the Books table and replaces the filter. A failed scan keeps the previous filter and is retried after
+     * {@link #RETRY_INTERVAL_NANOS}.
+     */
+    void rebuild() {
+        Queue<String> asins = new ConcurrentLinkedQueue<>();
+        try {
+            parallelScanner.scan(Book.class, () -> new DynamoDBScanExpression().withProjectionExpression("asin"),
+                books -> books.forEach(book -> asins.add(book.getAsin())));
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild the catalog asin filter", e);
+            nextRebuildNanos = ticker.read() + RETRY_INTERVAL_NANOS;
+            return;
+        }
+
+        BloomFilter<CharSequence> rebuilt = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8),
+                Math.max(MIN_EXPECTED_ASINS, asins.size() * 2), FALSE_POSITIVE_PROBABILITY);
+        asins.forEach(rebuilt::put);
+        synchronized (this) {
+            addedDuringRebuild.forEach(rebuilt::put);
+            addedDuringRebuild.clear();
+            filter = rebuilt;
+        }
+        nextRebuildNanos = ticker.read() + REBUILD_INTERVAL_NANOS;
+        log.info("Rebuilt the catalog asin filter with {} asins", asins.size());
+    }
+
+    /**
+     * Helper method running a rebuild and allowing the next one to start.
+     */
+    private void rebuildAndRelease() {
+        try {
+            rebuild();
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+}
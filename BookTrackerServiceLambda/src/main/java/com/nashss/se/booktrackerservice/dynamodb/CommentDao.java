@@ -2,15 +2,18 @@ package com.nashss.se.booktrackerservice.dynamodb;
 
 import com.nashss.se.booktrackerservice.dynamodb.models.Comment;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
-import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.Put;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItem;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -21,47 +24,73 @@ import javax.inject.Singleton;
 public class CommentDao {
 
     private final DynamoDBMapper dynamoDBMapper;
+    private final AmazonDynamoDB amazonDynamoDB;
+    private final BookStatsDao bookStatsDao;
 
     /**
      * Instantiates an CommentDao object.
      *
      * @param dynamoDBMapper the {@link DynamoDBMapper} used to interact with the comment_table table
+     * @param amazonDynamoDB the {@link AmazonDynamoDB} client used for transactional writes
+     * @param bookStatsDao the {@link BookStatsDao} whose comment counts are kept in step with the comments
      */
     @Inject
-    public CommentDao(DynamoDBMapper dynamoDBMapper) {
+    public CommentDao(DynamoDBMapper dynamoDBMapper, AmazonDynamoDB amazonDynamoDB, BookStatsDao bookStatsDao) {
         this.dynamoDBMapper = dynamoDBMapper;
+        this.amazonDynamoDB = amazonDynamoDB;
+        this.bookStatsDao = bookStatsDao;
     }
 
     /**
-     * Saves a comment associated with a book.
+     * Saves a new comment on a book and increments the book's comment count, in one transaction.
      *
      * @param asin the asin of the book
+     * @param customerId the customer leaving the comment
+     * @param percentComplete how far into the book the customer is, from 0 to 100
      * @param commentText the text of the comment to save
+     * @return the saved comment, with its generated commentId
      */
-    public void saveCommentForBook(String asin, String commentText) {
-        //Create & save new comment
+    public Comment saveCommentForBook(String asin, String customerId, int percentComplete, String commentText) {
         Comment comment = new Comment();
+        comment.setCommentId(UUID.randomUUID().toString());
         comment.setAsin(asin);
+        comment.setCustomerId(customerId);
+        comment.setPercentComplete(percentComplete);
         comment.setCommentText(commentText);
+        comment.setCreatedAt(System.currentTimeMillis());
 
-        dynamoDBMapper.save(comment);
+        this.amazonDynamoDB.transactWriteItems(new TransactWriteItemsRequest().withTransactItems(
+                new TransactWriteItem().withPut(new Put()
+                        .withTableName(Comment.TABLE_NAME)
+                        .withItem(this.dynamoDBMapper.getTableModel(Comment.class).convert(comment))),
+                new TransactWriteItem().withUpdate(bookStatsDao.statsUpdate(asin, 1, 0, 0, 0))));
+        return comment;
     }
 
     /**
-     * Retrieves the comments associated with a book.
+     * Perform a query of the AsinPercentIndex for one page of the comments on a book that were left at or before
+     * the given progress, so a reader never sees comments from further into the book than they are. Comments are
+     * returned in the order of the progress they were left at.
      *
      * @param asin the asin of the book
-     * @return a list of comments associated with the book
+     * @param maxPercentComplete the reader's own progress, from 0 to 100
+     * @param limit the maximum number of comments to return
+     * @param exclusiveStartKey the key to resume the query from, or null to start at the beginning
+     * @return a page of comments on the book, with the LastEvaluatedKey of the page
      */
-    public List<Comment> getCommentsForBook(String asin) {
+    public QueryResultPage<Comment> getCommentsForBook(String asin, int maxPercentComplete, int limit,
+                                                       Map<String, AttributeValue> exclusiveStartKey) {
         Map<String, AttributeValue> valueMap = new HashMap<>();
-        valueMap.put(":val", new AttributeValue().withS(asin));
+        valueMap.put(":asin", new AttributeValue().withS(asin));
+        valueMap.put(":myProgress", new AttributeValue().withN(String.valueOf(maxPercentComplete)));
 
         DynamoDBQueryExpression<Comment> queryExpression = new DynamoDBQueryExpression<Comment>()
-                .withKeyConditionExpression("asin = :val")
-                .withExpressionAttributeValues(valueMap);
-
-        PaginatedQueryList<Comment> result = dynamoDBMapper.query(Comment.class, queryExpression);
-        return new ArrayList<>(result);
+                .withIndexName(Comment.ASIN_PERCENT_INDEX)
+                .withConsistentRead(false)
+                .withKeyConditionExpression("asin = :asin AND percentComplete <= :myProgress")
+                .withExpressionAttributeValues(valueMap)
+                .withLimit(limit)
+                .withExclusiveStartKey(exclusiveStartKey);
+        return dynamoDBMapper.queryPage(Comment.class, queryExpression);
     }
 }
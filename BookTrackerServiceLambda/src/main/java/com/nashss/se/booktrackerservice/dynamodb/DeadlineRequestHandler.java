@@ -0,0 +1,26 @@
+package com.nashss.se.booktrackerservice.dynamodb;
+
+import com.nashss.se.booktrackerservice.utils.Deadline;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.handlers.RequestHandler2;
+
+/**
+ * Caps the total time of each DynamoDB request, retries included, to what is left of the current {@link Deadline}.
+ * A request that runs out of time fails with a ClientExecutionTimeoutException instead of holding the invocation
+ * until the Lambda times out.
+ */
+public class DeadlineRequestHandler extends RequestHandler2 {
+
+    @Override
+    public AmazonWebServiceRequest beforeExecution(AmazonWebServiceRequest request) {
+        Deadline deadline = Deadline.current();
+        if (!deadline.isBounded()) {
+            return request;
+        }
+        Integer timeoutMillis = request.getSdkClientExecutionTimeout();
+        request.setSdkClientExecutionTimeout(deadline.capTimeoutMillis(
+                timeoutMillis == null || timeoutMillis <= 0 ? Integer.MAX_VALUE : timeoutMillis));
+        return request;
+    }
+}
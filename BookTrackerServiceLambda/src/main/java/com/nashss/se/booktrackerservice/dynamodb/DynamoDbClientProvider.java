@@ -34,6 +34,8 @@ public class DynamoDbClientProvider {
                 .withCredentials(DefaultAWSCredentialsProviderChain.getInstance())
                 // This should be the same region the CloudFormation stack with tables was deployed in
                 .withRegion(region)
+                // caps each request to what is left of the invocation
+                .withRequestHandlers(new DeadlineRequestHandler())
                 .build();
     }
 }
@@ -0,0 +1,45 @@
+package com.nashss.se.booktrackerservice.dynamodb;
+
+import com.nashss.se.booktrackerservice.dynamodb.models.GoogleBooksCacheEntry;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Accesses cached Google Books responses using {@link GoogleBooksCacheEntry} to represent the model in DynamoDB.
+ */
+@Singleton
+public class GoogleBooksCacheDao {
+    private final DynamoDBMapper dynamoDBMapper;
+
+    /**
+     * Instantiates a GoogleBooksCacheDao object.
+     *
+     * @param dynamoDBMapper the {@link DynamoDBMapper} used to interact with the GoogleBooksCache table
+     */
+    @Inject
+    public GoogleBooksCacheDao(DynamoDBMapper dynamoDBMapper) {
+        this.dynamoDBMapper = dynamoDBMapper;
+    }
+
+    /**
+     * Returns the cached response for the given normalized query.
+     *
+     * @param query the normalized query
+     * @return the stored entry, or null if none was found
+     */
+    public GoogleBooksCacheEntry getEntry(String query) {
+        return this.dynamoDBMapper.load(GoogleBooksCacheEntry.class, query);
+    }
+
+    /**
+     * Saves a cached response, replacing any entry for the same query.
+     *
+     * @param entry the entry to save
+     */
+    public void saveEntry(GoogleBooksCacheEntry entry) {
+        this.dynamoDBMapper.save(entry);
+    }
+}
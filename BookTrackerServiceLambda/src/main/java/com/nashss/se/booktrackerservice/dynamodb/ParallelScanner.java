@@ -0,0 +1,153 @@
+package com.nashss.se.booktrackerservice.dynamodb;
+
+import com.nashss.se.booktrackerservice.exceptions.ParallelScanException;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import com.google.common.util.concurrent.RateLimiter;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Scans a whole table as a number of segments in parallel, for the jobs that still need a full table scan:
+ * exports, search index rebuilds and migrations.
+ * <p>
+ * Each segment is its own Scan cursor ({@code Segment}/{@code TotalSegments}) running on a bounded pool. All
+ * segments share one read capacity budget, and every page waits for the capacity DynamoDB reports it consumed.
+ */
+public class ParallelScanner {
+    public static final double DEFAULT_READ_CAPACITY_UNITS_PER_SECOND = 100;
+
+    private final Logger log = LogManager.getLogger();
+    private final DynamoDBMapper dynamoDBMapper;
+    private final int totalSegments;
+    private final int maxThreads;
+    private final RateLimiter rateLimiter;
+
+    /**
+     * Instantiates a ParallelScanner with one segment and one thread per available processor.
+     *
+     * @param dynamoDBMapper the {@link DynamoDBMapper} used to scan
+     * @param readCapacityUnitsPerSecond the read capacity the whole scan may consume per second
+     */
+    public ParallelScanner(DynamoDBMapper dynamoDBMapper, double readCapacityUnitsPerSecond) {
+        this(dynamoDBMapper, Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().availableProcessors(),
+                readCapacityUnitsPerSecond);
+    }
+
+    /**
+     * Instantiates a ParallelScanner.
+     *
+     * @param dynamoDBMapper the {@link DynamoDBMapper} used to scan
+     * @param totalSegments the number of segments to split the table into
+     * @param maxThreads the most segments to scan at once
+     * @param readCapacityUnitsPerSecond the read capacity the whole scan may consume per second
+     */
+    public ParallelScanner(DynamoDBMapper dynamoDBMapper, int totalSegments, int maxThreads,
+                           double readCapacityUnitsPerSecond) {
+        if (totalSegments < 1 || maxThreads < 1) {
+            throw new IllegalArgumentException("A parallel scan needs at least one segment and one thread");
+        }
+        this.dynamoDBMapper = dynamoDBMapper;
+        this.totalSegments = totalSegments;
+        this.maxThreads = Math.min(maxThreads, totalSegments);
+        this.rateLimiter = RateLimiter.create(readCapacityUnitsPerSecond);
+    }
+
+    /**
+     * Scans the whole table for the given class, handing each page of results to the page handler as it arrives.
+     * <p>
+     * Pages from different segments are handled concurrently, so the handler must be thread safe. If a segment
+     * fails, the remaining segments are cancelled.
+     *
+     * @param clazz the model class of the table to scan
+     * @param scanExpressionSupplier supplies a fresh scan expression (filter, projection, page size) per segment
+     * @param pageHandler called with the results of every page
+     * @param <T> the model type
+     * @return the number of items scanned
+     */
+    public <T> long scan(Class<T> clazz, Supplier<DynamoDBScanExpression> scanExpressionSupplier,
+                         Consumer<List<T>> pageHandler) {
+        ExecutorService executor = Executors.newFixedThreadPool(maxThreads);
+        try {
+            List<Future<Long>> segments = new ArrayList<>();
+            for (int segment = 0; segment < totalSegments; segment++) {
+                int currentSegment = segment;
+                segments.add(executor.submit(() ->
+                        scanSegment(clazz, scanExpressionSupplier.get(), currentSegment, pageHandler)));
+            }
+
+            long scanned = 0;
+            for (Future<Long> segment : segments) {
+                scanned += segment.get();
+            }
+            log.info("Scanned {} {} items in {} segments", scanned, clazz.getSimpleName(), totalSegments);
+            return scanned;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ParallelScanException("Interrupted while scanning " + clazz.getSimpleName(), e);
+        } catch (ExecutionException e) {
+            throw new ParallelScanException("A segment failed while scanning " + clazz.getSimpleName(),
+                    e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Helper method scanning one segment page by page until it is exhausted.
+     */
+    private <T> long scanSegment(Class<T> clazz, DynamoDBScanExpression scanExpression, int segment,
+                                 Consumer<List<T>> pageHandler) {
+        scanExpression.withSegment(segment)
+                .withTotalSegments(totalSegments)
+                .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+
+        long scanned = 0;
+        int pages = 0;
+        Map<String, AttributeValue> exclusiveStartKey = null;
+        do {
+            ScanResultPage<T> page = dynamoDBMapper.scanPage(clazz,
+                    scanExpression.withExclusiveStartKey(exclusiveStartKey));
+            throttle(page.getConsumedCapacity());
+            pageHandler.accept(page.getResults());
+
+            scanned += page.getResults().size();
+            pages++;
+            log.debug("Segment {}/{} of {}: {} items after {} pages", segment + 1, totalSegments,
+                    clazz.getSimpleName(), scanned, pages);
+            exclusiveStartKey = page.getLastEvaluatedKey();
+        } while (exclusiveStartKey != null);
+        log.info("Finished segment {}/{} of {}: {} items in {} pages", segment + 1, totalSegments,
+                clazz.getSimpleName(), scanned, pages);
+        return scanned;
+    }
+
+    /**
+     * Helper method blocking until the shared budget covers the capacity a page consumed.
+     */
+    private void throttle(ConsumedCapacity consumedCapacity) {
+        if (consumedCapacity == null || consumedCapacity.getCapacityUnits() == null) {
+            return;
+        }
+        int permits = (int) Math.ceil(consumedCapacity.getCapacityUnits());
+        if (permits > 0) {
+            rateLimiter.acquire(permits);
+        }
+    }
+}
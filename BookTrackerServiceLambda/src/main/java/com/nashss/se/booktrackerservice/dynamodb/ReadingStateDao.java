@@ -0,0 +1,328 @@
+package com.nashss.se.booktrackerservice.dynamodb;
+
+import com.nashss.se.booktrackerservice.dynamodb.models.ReadingState;
+import com.nashss.se.booktrackerservice.exceptions.ConflictingUpdateException;
+import com.nashss.se.booktrackerservice.exceptions.UserNotFoundException;
+import com.nashss.se.booktrackerservice.utils.RetryUtils;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.CancellationReason;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItem;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactionCanceledException;
+import com.amazonaws.services.dynamodbv2.model.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Accesses each user's progress on their books using {@link ReadingState} to represent the model in DynamoDB.
+ */
+@Singleton
+public class ReadingStateDao {
+    /** The most times an update is attempted when another write changes the reading state first. */
+    static final int MAX_UPDATE_ATTEMPTS = 3;
+    /** The longest wait before the second attempt of a conflicting update; later waits double up to the max. */
+    static final long UPDATE_BASE_DELAY_MILLIS = 20;
+    static final long UPDATE_MAX_DELAY_MILLIS = 200;
+
+    private static final DynamoDBMapperConfig CONSISTENT_READ = DynamoDBMapperConfig.builder()
+            .withConsistentReads(DynamoDBMapperConfig.ConsistentReads.CONSISTENT)
+            .build();
+    private static final String CONDITIONAL_CHECK_FAILED = "ConditionalCheckFailed";
+
+    private final DynamoDBMapper dynamoDBMapper;
+    private final AmazonDynamoDB amazonDynamoDB;
+    private final BookStatsDao bookStatsDao;
+
+    /**
+     * Instantiates a ReadingStateDao object.
+     *
+     * @param dynamoDBMapper the {@link DynamoDBMapper} used to interact with the reading state table
+     * @param amazonDynamoDB the {@link AmazonDynamoDB} client used for transactional writes
+     * @param bookStatsDao the {@link BookStatsDao} whose rating and reader counts are kept in step with the states
+     */
+    @Inject
+    public ReadingStateDao(DynamoDBMapper dynamoDBMapper, AmazonDynamoDB amazonDynamoDB, BookStatsDao bookStatsDao) {
+        this.dynamoDBMapper = dynamoDBMapper;
+        this.amazonDynamoDB = amazonDynamoDB;
+        this.bookStatsDao = bookStatsDao;
+    }
+
+    /**
+     * Creates or updates a reading state, and adds the change in the user's rating and reading status to the
+     * book's counters, in one transaction. Only the non-null attributes of the given state are written; the rest
+     * keep their stored values.
+     * <p>
+     * A book being read gets lastReadAt set, which puts it in the sparse CustomerIdLastReadAtIndex; a book that is
+     * no longer being read drops it.
+     * <p>
+     * The counter changes are worked out from a consistent read of the stored state, and the write is conditioned
+     * on the stored rating and reading status still being the ones read. When another write changed them first,
+     * the state is read again and the update retried after a jittered backoff, up to MAX_UPDATE_ATTEMPTS times, so
+     * concurrent updates are never counted twice. Once the attempts run out a {@link ConflictingUpdateException} is
+     * thrown.
+     *
+     * @param readingState The reading state to write
+     * @return The ReadingState as stored after the write
+     */
+    public ReadingState updateReadingState(ReadingState readingState) {
+        if (readingState.getUpdatedAt() == null) {
+            readingState.setUpdatedAt(System.currentTimeMillis());
+        }
+        for (int attempt = 1; ; attempt++) {
+            ReadingState previousState = this.dynamoDBMapper.load(ReadingState.class, readingState.getCustomerId(),
+                    readingState.getAsin(), CONSISTENT_READ);
+            List<TransactWriteItem> writes = new ArrayList<>();
+            writes.add(new TransactWriteItem().withUpdate(stateUpdate(readingState, previousState)));
+            Update statsUpdate = statsUpdate(readingState, previousState);
+            if (statsUpdate != null) {
+                writes.add(new TransactWriteItem().withUpdate(statsUpdate));
+            }
+
+            try {
+                this.amazonDynamoDB.transactWriteItems(new TransactWriteItemsRequest().withTransactItems(writes));
+                return merge(readingState, previousState);
+            } catch (TransactionCanceledException e) {
+                List<CancellationReason> reasons = e.getCancellationReasons();
+                if (reasons == null || reasons.isEmpty() ||
+                        !CONDITIONAL_CHECK_FAILED.equals(reasons.get(0).getCode())) {
+                    throw e;
+                }
+                // the other write has already landed, so the next consistent read sees it
+                if (attempt >= MAX_UPDATE_ATTEMPTS) {
+                    throw conflict(readingState, e);
+                }
+                backoff(attempt, readingState, e);
+            }
+        }
+    }
+
+    /**
+     * Helper method waiting out a jittered backoff before the next attempt of a conflicting update.
+     */
+    private static void backoff(int attempt, ReadingState readingState, TransactionCanceledException cause) {
+        try {
+            Thread.sleep(RetryUtils.backoffMillis(attempt, UPDATE_BASE_DELAY_MILLIS, UPDATE_MAX_DELAY_MILLIS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict(readingState, cause);
+        }
+    }
+
+    private static ConflictingUpdateException conflict(ReadingState readingState, Exception cause) {
+        return new ConflictingUpdateException("Reading state of " + readingState.getAsin() +
+                " for " + readingState.getCustomerId() + " was modified concurrently", cause);
+    }
+
+    /**
+     * Perform a query of the sparse CustomerIdLastReadAtIndex for one page of the books the user is currently
+     * reading, most recently read first.
+     *
+     * @param customerId the customer whose books to list
+     * @param limit the maximum number of reading states to return
+     * @param exclusiveStartKey the key to resume the query from, or null to start at the beginning
+     * @return a page of the user's in-progress ReadingStates, with the LastEvaluatedKey of the page
+     */
+    public QueryResultPage<ReadingState> getCurrentlyReading(String customerId, int limit,
+                                                             Map<String, AttributeValue> exclusiveStartKey) {
+        if (customerId == null) {
+            throw new UserNotFoundException("Could not find user with id " + customerId);
+        }
+        Map<String, AttributeValue> valueMap = new HashMap<>();
+        valueMap.put(":customerId", new AttributeValue().withS(customerId));
+
+        DynamoDBQueryExpression<ReadingState> queryExpression = new DynamoDBQueryExpression<ReadingState>()
+                .withIndexName(ReadingState.CUSTOMER_ID_LAST_READ_AT_INDEX)
+                .withConsistentRead(false)
+                .withKeyConditionExpression("customerId = :customerId")
+                .withExpressionAttributeValues(valueMap)
+                .withScanIndexForward(false)
+                .withLimit(limit)
+                .withExclusiveStartKey(exclusiveStartKey);
+        return this.dynamoDBMapper.queryPage(ReadingState.class, queryExpression);
+    }
+
+    /**
+     * Perform a query of the user's partition for one page of the books they have progress on but are not
+     * currently reading. The filter is applied after the limit, so a page can hold fewer items than the limit
+     * while more remain.
+     *
+     * @param customerId the customer whose books to list
+     * @param limit the maximum number of reading states to evaluate
+     * @param exclusiveStartKey the key to resume the query from, or null to start at the beginning
+     * @return a page of the user's ReadingStates that are not in progress, with the LastEvaluatedKey of the page
+     */
+    public QueryResultPage<ReadingState> getNotCurrentlyReading(String customerId, int limit,
+                                                                Map<String, AttributeValue> exclusiveStartKey) {
+        if (customerId == null) {
+            throw new UserNotFoundException("Could not find user with id " + customerId);
+        }
+        Map<String, AttributeValue> valueMap = new HashMap<>();
+        valueMap.put(":customerId", new AttributeValue().withS(customerId));
+        valueMap.put(":currentlyReading", new AttributeValue().withBOOL(false));
+
+        DynamoDBQueryExpression<ReadingState> queryExpression = new DynamoDBQueryExpression<ReadingState>()
+                .withKeyConditionExpression("customerId = :customerId")
+                .withFilterExpression("currentlyReading = :currentlyReading")
+                .withExpressionAttributeValues(valueMap)
+                .withLimit(limit)
+                .withExclusiveStartKey(exclusiveStartKey);
+        return this.dynamoDBMapper.queryPage(ReadingState.class, queryExpression);
+    }
+
+    /**
+     * Returns the reading state of the given user for one book.
+     *
+     * @param customerId the customer whose progress to load
+     * @param asin the asin of the book
+     * @return the stored ReadingState, or null if the user has no progress on the book
+     */
+    public ReadingState getReadingState(String customerId, String asin) {
+        return this.dynamoDBMapper.load(ReadingState.class, customerId, asin);
+    }
+
+    /**
+     * Returns the reading states of the given user for the given books, using a batch get.
+     *
+     * @param customerId the customer whose progress to load
+     * @param asins the asins of the books to load progress for
+     * @return the stored ReadingStates by asin; books the user has no progress on are left out.
+     */
+    public Map<String, ReadingState> getReadingStates(String customerId, Collection<String> asins) {
+        if (customerId == null || asins.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<ReadingState> keys = new ArrayList<>();
+        for (String asin : asins) {
+            ReadingState key = new ReadingState();
+            key.setCustomerId(customerId);
+            key.setAsin(asin);
+            keys.add(key);
+        }
+
+        Map<String, ReadingState> readingStates = new HashMap<>();
+        for (List<Object> items : this.dynamoDBMapper.batchLoad(keys).values()) {
+            for (Object item : items) {
+                ReadingState readingState = (ReadingState) item;
+                readingStates.put(readingState.getAsin(), readingState);
+            }
+        }
+        return readingStates;
+    }
+
+    /**
+     * Helper method building the update of the given non-null attributes, conditioned on the stored rating and
+     * reading status being those of the previous state.
+     */
+    private Update stateUpdate(ReadingState readingState, ReadingState previousState) {
+        Map<String, AttributeValue> valueMap = new HashMap<>();
+        List<String> assignments = new ArrayList<>();
+        valueMap.put(":updatedAt", new AttributeValue().withN(String.valueOf(readingState.getUpdatedAt())));
+        assignments.add("updatedAt = :updatedAt");
+        String removal = "";
+        if (readingState.isCurrentlyReading() != null) {
+            valueMap.put(":currentlyReading", new AttributeValue().withBOOL(readingState.isCurrentlyReading()));
+            assignments.add("currentlyReading = :currentlyReading");
+            if (readingState.isCurrentlyReading()) {
+                assignments.add("lastReadAt = :updatedAt");
+            } else {
+                removal = " REMOVE lastReadAt";
+            }
+        }
+        if (readingState.getPercentComplete() != null) {
+            valueMap.put(":percentComplete",
+                    new AttributeValue().withN(String.valueOf(readingState.getPercentComplete())));
+            assignments.add("percentComplete = :percentComplete");
+        }
+        if (readingState.getRating() != null) {
+            valueMap.put(":rating", new AttributeValue().withN(String.valueOf(readingState.getRating())));
+            assignments.add("rating = :rating");
+        }
+
+        String condition;
+        if (previousState == null) {
+            condition = "attribute_not_exists(customerId)";
+        } else {
+            String ratingCondition = "attribute_not_exists(rating)";
+            if (previousState.getRating() != null) {
+                valueMap.put(":previousRating",
+                        new AttributeValue().withN(String.valueOf(previousState.getRating())));
+                ratingCondition = "rating = :previousRating";
+            }
+            String readingCondition = "attribute_not_exists(currentlyReading)";
+            if (previousState.isCurrentlyReading() != null) {
+                valueMap.put(":previousReading", new AttributeValue().withBOOL(previousState.isCurrentlyReading()));
+                readingCondition = "currentlyReading = :previousReading";
+            }
+            condition = ratingCondition + " AND " + readingCondition;
+        }
+
+        Map<String, AttributeValue> key = new HashMap<>();
+        key.put("customerId", new AttributeValue().withS(readingState.getCustomerId()));
+        key.put("asin", new AttributeValue().withS(readingState.getAsin()));
+        return new Update()
+                .withTableName(ReadingState.TABLE_NAME)
+                .withKey(key)
+                .withUpdateExpression("SET " + String.join(", ", assignments) + removal)
+                .withConditionExpression(condition)
+                .withExpressionAttributeValues(valueMap);
+    }
+
+    /**
+     * Helper method building the update adding the difference between the previous and new rating and reading
+     * status to the book's counters, or null when neither changes them.
+     */
+    private Update statsUpdate(ReadingState readingState, ReadingState previousState) {
+        Integer previousRating = previousState == null ? null : previousState.getRating();
+        boolean wasReading = previousState != null && Boolean.TRUE.equals(previousState.isCurrentlyReading());
+
+        long ratingSum = 0;
+        long ratingCount = 0;
+        if (readingState.getRating() != null) {
+            ratingSum = readingState.getRating() - (previousRating == null ? 0 : previousRating);
+            ratingCount = previousRating == null ? 1 : 0;
+        }
+        long activeReaders = 0;
+        if (readingState.isCurrentlyReading() != null && readingState.isCurrentlyReading() != wasReading) {
+            activeReaders = readingState.isCurrentlyReading() ? 1 : -1;
+        }
+        return bookStatsDao.statsUpdate(readingState.getAsin(), 0, ratingSum, ratingCount, activeReaders);
+    }
+
+    /**
+     * Helper method applying the written attributes to the previous state, giving the state as now stored.
+     */
+    private ReadingState merge(ReadingState readingState, ReadingState previousState) {
+        if (previousState == null) {
+            if (Boolean.TRUE.equals(readingState.isCurrentlyReading())) {
+                readingState.setLastReadAt(readingState.getUpdatedAt());
+            }
+            return readingState;
+        }
+        previousState.setUpdatedAt(readingState.getUpdatedAt());
+        if (readingState.isCurrentlyReading() != null) {
+            previousState.setCurrentlyReading(readingState.isCurrentlyReading());
+            previousState.setLastReadAt(readingState.isCurrentlyReading() ? readingState.getUpdatedAt() : null);
+        }
+        if (readingState.getPercentComplete() != null) {
+            previousState.setPercentComplete(readingState.getPercentComplete());
+        }
+        if (readingState.getRating() != null) {
+            previousState.setRating(readingState.getRating());
+        }
+        return previousState;
+    }
+}
@@ -8,8 +8,9 @@ import java.util.Objects;
  * Represents a Book in the Books table.
  */
 
-@DynamoDBTable(tableName = "Books")
+@DynamoDBTable(tableName = Book.TABLE_NAME)
 public class Book {
+    public static final String TABLE_NAME = "Books";
 
     private String asin;
     private String title;
@@ -0,0 +1,77 @@
+package com.nashss.se.booktrackerservice.dynamodb.models;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBRangeKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+
+import java.util.Objects;
+
+/**
+ * Represents one posting in the BookSearchTokens inverted index: a normalized search token and a book containing it.
+ */
+@DynamoDBTable(tableName = "BookSearchTokens")
+public class BookSearchToken {
+
+    private String token;
+    private String asin;
+
+    /**
+     * Instantiates an empty BookSearchToken, as required by DynamoDBMapper.
+     */
+    public BookSearchToken() {
+    }
+
+    /**
+     * Instantiates a BookSearchToken for the given token and book.
+     *
+     * @param token the normalized search token
+     * @param asin the asin of the book containing the token
+     */
+    public BookSearchToken(String token, String asin) {
+        this.token = token;
+        this.asin = asin;
+    }
+
+    @DynamoDBHashKey(attributeName = "token")
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    @DynamoDBRangeKey(attributeName = "asin")
+    public String getAsin() {
+        return asin;
+    }
+
+    public void setAsin(String asin) {
+        this.asin = asin;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BookSearchToken that = (BookSearchToken) o;
+        return Objects.equals(token, that.token) && Objects.equals(asin, that.asin);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(token, asin);
+    }
+
+    @Override
+    public String toString() {
+        return "BookSearchToken{" +
+                "token='" + token + '\'' +
+                ", asin='" + asin + '\'' +
+                '}';
+    }
+}
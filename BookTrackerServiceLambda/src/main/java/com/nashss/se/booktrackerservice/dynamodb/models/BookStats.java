@@ -0,0 +1,110 @@
+package com.nashss.se.booktrackerservice.dynamodb.models;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBAttribute;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+
+import java.util.Objects;
+
+/**
+ * Represents one shard of a book's aggregate counters in the BookStats table.
+ * <p>
+ * A book's counters are spread over several items, keyed "asin#shard", so that a popular book's writes are spread
+ * over several partitions. A book's totals are the sum of its shards.
+ */
+@DynamoDBTable(tableName = BookStats.TABLE_NAME)
+public class BookStats {
+    public static final String TABLE_NAME = "BookStats";
+
+    private String id;
+    private String asin;
+    private long commentCount;
+    private long ratingSum;
+    private long ratingCount;
+    private long activeReaders;
+
+    @DynamoDBHashKey(attributeName = "id")
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @DynamoDBAttribute(attributeName = "asin")
+    public String getAsin() {
+        return asin;
+    }
+
+    public void setAsin(String asin) {
+        this.asin = asin;
+    }
+
+    @DynamoDBAttribute(attributeName = "commentCount")
+    public long getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(long commentCount) {
+        this.commentCount = commentCount;
+    }
+
+    @DynamoDBAttribute(attributeName = "ratingSum")
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
+    @DynamoDBAttribute(attributeName = "ratingCount")
+    public long getRatingCount() {
+        return ratingCount;
+    }
+
+    public void setRatingCount(long ratingCount) {
+        this.ratingCount = ratingCount;
+    }
+
+    @DynamoDBAttribute(attributeName = "activeReaders")
+    public long getActiveReaders() {
+        return activeReaders;
+    }
+
+    public void setActiveReaders(long activeReaders) {
+        this.activeReaders = activeReaders;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BookStats bookStats = (BookStats) o;
+        return commentCount == bookStats.commentCount && ratingSum == bookStats.ratingSum &&
+                ratingCount == bookStats.ratingCount && activeReaders == bookStats.activeReaders &&
+                Objects.equals(id, bookStats.id) && Objects.equals(asin, bookStats.asin);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, asin, commentCount, ratingSum, ratingCount, activeReaders);
+    }
+
+    @Override
+    public String toString() {
+        return "BookStats{" +
+                "id='" + id + '\'' +
+                ", asin='" + asin + '\'' +
+                ", commentCount=" + commentCount +
+                ", ratingSum=" + ratingSum +
+                ", ratingCount=" + ratingCount +
+                ", activeReaders=" + activeReaders +
+                '}';
+    }
+}
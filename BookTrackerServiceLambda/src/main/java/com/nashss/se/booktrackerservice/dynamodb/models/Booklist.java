@@ -3,8 +3,12 @@ import com.nashss.se.booktrackerservice.converters.BookConverter;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBAttribute;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIgnore;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIndexHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIndexRangeKey;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTypeConverted;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBVersionAttribute;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -12,14 +16,20 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
-@DynamoDBTable(tableName = "Booklists")
+@DynamoDBTable(tableName = Booklist.TABLE_NAME)
 public class Booklist {
+    public static final String TABLE_NAME = "Booklists";
+    public static final String CUSTOMER_ID_CREATED_AT_INDEX = "CustomerIdCreatedAtIndex";
+
     private String id;
     private String name;
     private String customerId;
+    private Long createdAt;
     private Integer bookCount;
     private Set<String> tags;
     private List<Book> books = new ArrayList<>();
+    private List<Book> legacyBooks;
+    private Long version;
 
     @DynamoDBHashKey(attributeName = "id")
     public String getId() {
@@ -35,13 +45,25 @@ public class Booklist {
     public void setName(String name) {
         this.name = name;
     }
-    @DynamoDBAttribute(attributeName = "customerId")
+    @DynamoDBIndexHashKey(globalSecondaryIndexName = CUSTOMER_ID_CREATED_AT_INDEX, attributeName = "customerId")
     public String getCustomerId() {
         return customerId;
     }
     public void setCustomerId(String customerId) {
         this.customerId = customerId;
     }
+
+    /**
+     * getter for the creation time of a booklist, in epoch milliseconds.
+     * @return createdAt
+     */
+    @DynamoDBIndexRangeKey(globalSecondaryIndexName = CUSTOMER_ID_CREATED_AT_INDEX, attributeName = "createdAt")
+    public Long getCreatedAt() {
+        return createdAt;
+    }
+    public void setCreatedAt(Long createdAt) {
+        this.createdAt = createdAt;
+    }
     @DynamoDBAttribute(attributeName = "bookCount")
     public Integer getBookCount() {
         return bookCount;
@@ -75,11 +97,11 @@ public class Booklist {
     }
 
     /**
-     * getter for the list of books.
+     * getter for the list of books. Books are stored in the BooklistEntries table, so this is only
+     * populated when a caller loads them.
      * @return books
      */
-    @DynamoDBAttribute(attributeName = "bookList")
-    @DynamoDBTypeConverted(converter = BookConverter.class)
+    @DynamoDBIgnore
     public List<Book> getBooks() {
         return books;
     }
@@ -96,6 +118,35 @@ public class Booklist {
         this.books = books;
     }
 
+    /**
+     * getter for the books embedded in the booklist item before books moved to the BooklistEntries table.
+     * Only read by the BooklistEntriesBackfill migration, which clears it.
+     * @return legacyBooks
+     */
+    @DynamoDBAttribute(attributeName = "bookList")
+    @DynamoDBTypeConverted(converter = BookConverter.class)
+    public List<Book> getLegacyBooks() {
+        return legacyBooks;
+    }
+
+    public void setLegacyBooks(List<Book> legacyBooks) {
+        this.legacyBooks = legacyBooks;
+    }
+
+    /**
+     * getter for the version of a booklist. The mapper increments it on every save and only saves over the
+     * version that was read, so concurrent read-modify-writes cannot silently overwrite each other.
+     * @return version
+     */
+    @DynamoDBVersionAttribute(attributeName = "version")
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -109,13 +160,15 @@ public class Booklist {
         return Objects.equals(id, bookList.id) &&
                 Objects.equals(name, bookList.name) &&
                 Objects.equals(customerId, bookList.customerId) &&
+                Objects.equals(createdAt, bookList.createdAt) &&
                 Objects.equals(bookCount, bookList.bookCount) &&
                 Objects.equals(tags, bookList.tags) &&
-                Objects.equals(books, bookList.books);
+                Objects.equals(books, bookList.books) &&
+                Objects.equals(legacyBooks, bookList.legacyBooks);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, name, customerId, bookCount, tags, books);
+        return Objects.hash(id, name, customerId, createdAt, bookCount, tags, books, legacyBooks);
     }
 }
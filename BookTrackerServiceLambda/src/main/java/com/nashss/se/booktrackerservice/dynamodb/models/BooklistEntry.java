@@ -0,0 +1,177 @@
+package com.nashss.se.booktrackerservice.dynamodb.models;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBAttribute;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIndexRangeKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperFieldModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBRangeKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTyped;
+
+import java.util.Objects;
+
+/**
+ * Represents one book on a booklist in the BooklistEntries table.
+ * <p>
+ * The entry holds its own copy of the book's details along with the reader's progress on that booklist.
+ */
+@DynamoDBTable(tableName = BooklistEntry.TABLE_NAME)
+public class BooklistEntry {
+    public static final String TABLE_NAME = "BooklistEntries";
+    public static final String BOOKLIST_ID_ADDED_AT_INDEX = "BooklistIdAddedAtIndex";
+
+    private String booklistId;
+    private String asin;
+    private Long addedAt;
+    private String title;
+    private String author;
+    private String genre;
+    private String thumbnail;
+    private Integer rating;
+    private Boolean currentlyReading;
+    private Integer percentComplete;
+    private Integer pageCount;
+
+    @DynamoDBHashKey(attributeName = "booklistId")
+    public String getBooklistId() {
+        return booklistId;
+    }
+
+    public void setBooklistId(String booklistId) {
+        this.booklistId = booklistId;
+    }
+
+    @DynamoDBRangeKey(attributeName = "asin")
+    public String getAsin() {
+        return asin;
+    }
+
+    public void setAsin(String asin) {
+        this.asin = asin;
+    }
+
+    /**
+     * getter for the time the book was added to the booklist, in epoch milliseconds.
+     * @return addedAt
+     */
+    @DynamoDBIndexRangeKey(localSecondaryIndexName = BOOKLIST_ID_ADDED_AT_INDEX, attributeName = "addedAt")
+    public Long getAddedAt() {
+        return addedAt;
+    }
+
+    public void setAddedAt(Long addedAt) {
+        this.addedAt = addedAt;
+    }
+
+    @DynamoDBAttribute(attributeName = "title")
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    @DynamoDBAttribute(attributeName = "author")
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    @DynamoDBAttribute(attributeName = "genre")
+    public String getGenre() {
+        return genre;
+    }
+
+    public void setGenre(String genre) {
+        this.genre = genre;
+    }
+
+    @DynamoDBAttribute(attributeName = "thumbnail")
+    public String getThumbnail() {
+        return thumbnail;
+    }
+
+    public void setThumbnail(String thumbnail) {
+        this.thumbnail = thumbnail;
+    }
+
+    @DynamoDBAttribute(attributeName = "rating")
+    public Integer getRating() {
+        return rating;
+    }
+
+    public void setRating(Integer rating) {
+        this.rating = rating;
+    }
+
+    @DynamoDBAttribute(attributeName = "currentlyReading")
+    @DynamoDBTyped(DynamoDBMapperFieldModel.DynamoDBAttributeType.BOOL)
+    public Boolean isCurrentlyReading() {
+        return currentlyReading;
+    }
+
+    public void setCurrentlyReading(Boolean currentlyReading) {
+        this.currentlyReading = currentlyReading;
+    }
+
+    @DynamoDBAttribute(attributeName = "percentComplete")
+    public Integer getPercentComplete() {
+        return percentComplete;
+    }
+
+    public void setPercentComplete(Integer percentComplete) {
+        this.percentComplete = percentComplete;
+    }
+
+    @DynamoDBAttribute(attributeName = "pageCount")
+    public Integer getPageCount() {
+        return pageCount;
+    }
+
+    public void setPageCount(Integer pageCount) {
+        this.pageCount = pageCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BooklistEntry that = (BooklistEntry) o;
+        return Objects.equals(booklistId, that.booklistId) &&
+                Objects.equals(asin, that.asin) &&
+                Objects.equals(addedAt, that.addedAt) &&
+                Objects.equals(title, that.title) &&
+                Objects.equals(author, that.author) &&
+                Objects.equals(genre, that.genre) &&
+                Objects.equals(thumbnail, that.thumbnail) &&
+                Objects.equals(rating, that.rating) &&
+                Objects.equals(currentlyReading, that.currentlyReading) &&
+                Objects.equals(percentComplete, that.percentComplete) &&
+                Objects.equals(pageCount, that.pageCount);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(booklistId, asin, addedAt, title, author, genre, thumbnail, rating, currentlyReading,
+                percentComplete, pageCount);
+    }
+
+    @Override
+    public String toString() {
+        return "BooklistEntry{" +
+                "booklistId='" + booklistId + '\'' +
+                ", asin='" + asin + '\'' +
+                ", addedAt=" + addedAt +
+                ", title='" + title + '\'' +
+                ", percentComplete=" + percentComplete +
+                '}';
+    }
+}
@@ -11,14 +11,18 @@ import java.util.Objects;
 /**
  * Represents a Comment in the Comments table.
  */
-@DynamoDBTable(tableName = "Comments")
+@DynamoDBTable(tableName = Comment.TABLE_NAME)
 public class Comment {
+    public static final String TABLE_NAME = "Comments";
+    public static final String ASIN_PERCENT_INDEX = "AsinPercentIndex";
+
 
     private String commentId;
     private String asin;
     private String customerId;
     private Integer percentComplete;
     private String commentText;
+    private Long createdAt;
 
     @DynamoDBHashKey(attributeName = "commentId")
     public String getCommentId() {
@@ -30,6 +34,7 @@ public class Comment {
     }
 
     @DynamoDBIndexRangeKey(globalSecondaryIndexName = "CustomerIdAsinIndex", attributeName = "asin")
+    @DynamoDBIndexHashKey(globalSecondaryIndexName = ASIN_PERCENT_INDEX, attributeName = "asin")
     public String getAsin() {
         return asin;
     }
@@ -43,14 +48,17 @@ public class Comment {
         return customerId;
     }
 
-    /**
-     * setter for the customerId for a comment.
-     */
-    public void setCustomerId() {
+    public void setCustomerId(String customerId) {
         this.customerId = customerId;
     }
 
-    @DynamoDBAttribute(attributeName = "percentComplete")
+    /**
+     * How far into the book the commenter was, which is the range key of the AsinPercentIndex so readers can
+     * query for only the comments at or behind their own progress.
+     *
+     * @return the commenter's percent complete, from 0 to 100
+     */
+    @DynamoDBIndexRangeKey(globalSecondaryIndexName = ASIN_PERCENT_INDEX, attributeName = "percentComplete")
     public Integer getPercentComplete() {
         return percentComplete;
     }
@@ -68,6 +76,15 @@ public class Comment {
         this.commentText = commentText;
     }
 
+    @DynamoDBAttribute(attributeName = "createdAt")
+    public Long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Long createdAt) {
+        this.createdAt = createdAt;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -80,12 +97,12 @@ public class Comment {
         return Objects.equals(commentId, comment.commentId) && Objects.equals(asin, comment.asin) &&
                 Objects.equals(customerId, comment.customerId) &&
                 Objects.equals(percentComplete, comment.percentComplete) &&
-                Objects.equals(commentText, comment.commentText);
+                Objects.equals(commentText, comment.commentText) && Objects.equals(createdAt, comment.createdAt);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(commentId, asin, customerId, percentComplete, commentText);
+        return Objects.hash(commentId, asin, customerId, percentComplete, commentText, createdAt);
     }
 
     @Override
@@ -96,8 +113,7 @@ public class Comment {
                 ", customerId='" + customerId + '\'' +
                 ", percentComplete=" + percentComplete +
                 ", commentText='" + commentText + '\'' +
+                ", createdAt=" + createdAt +
                 '}';
     }
 }
-
-
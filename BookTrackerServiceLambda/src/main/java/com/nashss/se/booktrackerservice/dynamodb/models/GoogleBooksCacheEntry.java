@@ -0,0 +1,101 @@
+package com.nashss.se.booktrackerservice.dynamodb.models;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBAttribute;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+
+import java.util.Objects;
+
+/**
+ * Represents the cached Google Books response for one normalized query in the GoogleBooksCache table.
+ * <p>
+ * The table's TTL deletes an entry some time after expiresAt, so readers must still check expiresAt themselves.
+ */
+@DynamoDBTable(tableName = GoogleBooksCacheEntry.TABLE_NAME)
+public class GoogleBooksCacheEntry {
+    public static final String TABLE_NAME = "GoogleBooksCache";
+
+    private String query;
+    private String volumesJson;
+    private Long maxResults;
+    private long fetchedAt;
+    private long expiresAt;
+
+    @DynamoDBHashKey(attributeName = "query")
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    @DynamoDBAttribute(attributeName = "volumesJson")
+    public String getVolumesJson() {
+        return volumesJson;
+    }
+
+    public void setVolumesJson(String volumesJson) {
+        this.volumesJson = volumesJson;
+    }
+
+    /**
+     * How many volumes Google Books was asked for, or null for entries cached before queries were size limited.
+     *
+     * @return the maxResults the query was made with
+     */
+    @DynamoDBAttribute(attributeName = "maxResults")
+    public Long getMaxResults() {
+        return maxResults;
+    }
+
+    public void setMaxResults(Long maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * When Google Books was queried, in epoch milliseconds.
+     *
+     * @return the fetch time
+     */
+    @DynamoDBAttribute(attributeName = "fetchedAt")
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public void setFetchedAt(long fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+
+    /**
+     * When the entry may no longer be served, in epoch seconds, as the table's TTL attribute expects.
+     *
+     * @return the expiry time
+     */
+    @DynamoDBAttribute(attributeName = "expiresAt")
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        GoogleBooksCacheEntry that = (GoogleBooksCacheEntry) o;
+        return fetchedAt == that.fetchedAt && expiresAt == that.expiresAt && Objects.equals(query, that.query) &&
+                Objects.equals(volumesJson, that.volumesJson) && Objects.equals(maxResults, that.maxResults);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(query, volumesJson, maxResults, fetchedAt, expiresAt);
+    }
+}
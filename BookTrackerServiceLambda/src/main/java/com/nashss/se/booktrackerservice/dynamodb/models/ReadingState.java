@@ -0,0 +1,139 @@
+package com.nashss.se.booktrackerservice.dynamodb.models;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBAttribute;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIndexHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBIndexRangeKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperFieldModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBRangeKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTable;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTyped;
+
+import java.util.Objects;
+
+/**
+ * Represents one user's progress on one book in the ReadingState table.
+ */
+@DynamoDBTable(tableName = ReadingState.TABLE_NAME)
+public class ReadingState {
+    public static final String TABLE_NAME = "ReadingState";
+    public static final String CUSTOMER_ID_LAST_READ_AT_INDEX = "CustomerIdLastReadAtIndex";
+
+    private String customerId;
+    private String asin;
+    private Boolean currentlyReading;
+    private Integer percentComplete;
+    private Integer rating;
+    private Long updatedAt;
+    private Long lastReadAt;
+
+    @DynamoDBHashKey(attributeName = "customerId")
+    @DynamoDBIndexHashKey(globalSecondaryIndexName = CUSTOMER_ID_LAST_READ_AT_INDEX, attributeName = "customerId")
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(String customerId) {
+        this.customerId = customerId;
+    }
+
+    @DynamoDBRangeKey(attributeName = "asin")
+    public String getAsin() {
+        return asin;
+    }
+
+    public void setAsin(String asin) {
+        this.asin = asin;
+    }
+
+    @DynamoDBAttribute(attributeName = "currentlyReading")
+    @DynamoDBTyped(DynamoDBMapperFieldModel.DynamoDBAttributeType.BOOL)
+    public Boolean isCurrentlyReading() {
+        return currentlyReading;
+    }
+
+    public void setCurrentlyReading(Boolean currentlyReading) {
+        this.currentlyReading = currentlyReading;
+    }
+
+    @DynamoDBAttribute(attributeName = "percentComplete")
+    public Integer getPercentComplete() {
+        return percentComplete;
+    }
+
+    public void setPercentComplete(Integer percentComplete) {
+        this.percentComplete = percentComplete;
+    }
+
+    @DynamoDBAttribute(attributeName = "rating")
+    public Integer getRating() {
+        return rating;
+    }
+
+    public void setRating(Integer rating) {
+        this.rating = rating;
+    }
+
+    /**
+     * getter for the time the reading state was last updated, in epoch milliseconds.
+     * @return updatedAt
+     */
+    @DynamoDBAttribute(attributeName = "updatedAt")
+    public Long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * getter for the time the book was last updated while being read, in epoch milliseconds. Only set while the
+     * book is currently being read, so the CustomerIdLastReadAtIndex holds nothing but in-progress books.
+     * @return lastReadAt
+     */
+    @DynamoDBIndexRangeKey(globalSecondaryIndexName = CUSTOMER_ID_LAST_READ_AT_INDEX, attributeName = "lastReadAt")
+    public Long getLastReadAt() {
+        return lastReadAt;
+    }
+
+    public void setLastReadAt(Long lastReadAt) {
+        this.lastReadAt = lastReadAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ReadingState that = (ReadingState) o;
+        return Objects.equals(customerId, that.customerId) &&
+                Objects.equals(asin, that.asin) &&
+                Objects.equals(currentlyReading, that.currentlyReading) &&
+                Objects.equals(percentComplete, that.percentComplete) &&
+                Objects.equals(rating, that.rating) &&
+                Objects.equals(updatedAt, that.updatedAt) &&
+                Objects.equals(lastReadAt, that.lastReadAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(customerId, asin, currentlyReading, percentComplete, rating, updatedAt, lastReadAt);
+    }
+
+    @Override
+    public String toString() {
+        return "ReadingState{" +
+                "customerId='" + customerId + '\'' +
+                ", asin='" + asin + '\'' +
+                ", currentlyReading=" + currentlyReading +
+                ", percentComplete=" + percentComplete +
+                ", rating=" + rating +
+                ", updatedAt=" + updatedAt +
+                ", lastReadAt=" + lastReadAt +
+                '}';
+    }
+}
@@ -0,0 +1,17 @@
+package com.nashss.se.booktrackerservice.exceptions;
+
+/**
+ * Exception to throw when a batch write keeps being throttled or returning unprocessed items, or is interrupted.
+ */
+public class BatchWriteException extends RuntimeException {
+    private static final long serialVersionUID = 6381172054092635618L;
+
+    /**
+     * Exception with message and cause.
+     * @param message A descriptive message for this exception.
+     * @param cause The original throwable resulting in this exception.
+     */
+    public BatchWriteException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
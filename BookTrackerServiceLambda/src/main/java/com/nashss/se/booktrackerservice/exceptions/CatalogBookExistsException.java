@@ -0,0 +1,37 @@
+package com.nashss.se.booktrackerservice.exceptions;
+
+public class CatalogBookExistsException extends RuntimeException {
+    private static final long serialVersionUID = 3719845120468310275L;
+
+    /**
+     * Exception with no message or cause.
+     */
+    public CatalogBookExistsException() {
+        super();
+    }
+
+    /**
+     * Exception with a message, but no cause.
+     * @param message A descriptive message for this exception.
+     */
+    public CatalogBookExistsException(String message) {
+        super(message);
+    }
+
+    /**
+     * Exception with no message, but with a cause.
+     * @param cause The original throwable resulting in this exception.
+     */
+    public CatalogBookExistsException(Throwable cause) {
+        super(cause);
+    }
+
+    /**
+     * Exception with message and cause.
+     * @param message A descriptive message for this exception.
+     * @param cause The original throwable resulting in this exception.
+     */
+    public CatalogBookExistsException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.nashss.se.booktrackerservice.exceptions;
+
+/**
+ * Exception to throw when a conditional write loses a race with another writer of the same item.
+ */
+public class ConflictingUpdateException extends RuntimeException {
+    private static final long serialVersionUID = -2815329071046713857L;
+
+    /**
+     * Exception with message and cause.
+     * @param message A descriptive message for this exception.
+     * @param cause The original throwable resulting in this exception.
+     */
+    public ConflictingUpdateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,41 @@
+package com.nashss.se.booktrackerservice.exceptions;
+
+/**
+ * Exception to throw when a call to the Google Book API is refused without being sent, because the circuit breaker
+ * is open or too many calls are already in flight.
+ */
+public class GoogleBooksUnavailableException extends RuntimeException {
+    private static final long serialVersionUID = 4217316893310580224L;
+
+    /**
+     * Exception with no message or cause.
+     */
+    public GoogleBooksUnavailableException() {
+        super();
+    }
+
+    /**
+     * Exception with a message, but no cause.
+     * @param message A descriptive message for this exception.
+     */
+    public GoogleBooksUnavailableException(String message) {
+        super(message);
+    }
+
+    /**
+     * Exception with no message, but with a cause.
+     * @param cause The original throwable resulting in this exception.
+     */
+    public GoogleBooksUnavailableException(Throwable cause) {
+        super(cause);
+    }
+
+    /**
+     * Exception with message and cause.
+     * @param message A descriptive message for this exception.
+     * @param cause The original throwable resulting in this exception.
+     */
+    public GoogleBooksUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
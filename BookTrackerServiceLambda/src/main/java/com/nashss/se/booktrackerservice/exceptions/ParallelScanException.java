@@ -0,0 +1,17 @@
+package com.nashss.se.booktrackerservice.exceptions;
+
+/**
+ * Exception to throw when a segment of a parallel scan fails or the scan is interrupted.
+ */
+public class ParallelScanException extends RuntimeException {
+    private static final long serialVersionUID = 4120532978311746419L;
+
+    /**
+     * Exception with message and cause.
+     * @param message A descriptive message for this exception.
+     * @param cause The original throwable resulting in this exception.
+     */
+    public ParallelScanException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
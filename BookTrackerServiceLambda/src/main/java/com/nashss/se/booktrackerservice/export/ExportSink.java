@@ -0,0 +1,19 @@
+package com.nashss.se.booktrackerservice.export;
+
+import java.io.IOException;
+
+/**
+ * A destination exports are streamed to, such as a local directory or an S3 bucket.
+ */
+public interface ExportSink {
+
+    /**
+     * Opens a new export with the given name. Nothing is visible at the destination until the returned stream is
+     * committed; closing it without committing discards what was written.
+     *
+     * @param name the name of the export, which may contain '/' separated prefixes
+     * @return the stream to write the export to
+     * @throws IOException if the export cannot be started
+     */
+    ExportStream open(String name) throws IOException;
+}
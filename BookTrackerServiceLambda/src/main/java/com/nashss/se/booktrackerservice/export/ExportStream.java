@@ -0,0 +1,51 @@
+package com.nashss.se.booktrackerservice.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The stream an export is written to. {@link #commit()} publishes the export; {@link #close()} on a stream that
+ * was not committed discards it, so a failed export never leaves a truncated file behind.
+ */
+public abstract class ExportStream extends OutputStream {
+    private boolean committed;
+    private boolean closed;
+
+    /**
+     * Publishes everything written so far as the finished export.
+     *
+     * @return the location the export can be found at
+     * @throws IOException if the export cannot be published
+     */
+    public final String commit() throws IOException {
+        String location = publish();
+        committed = true;
+        closed = true;
+        return location;
+    }
+
+    @Override
+    public final void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            if (!committed) {
+                discard();
+            }
+        }
+    }
+
+    /**
+     * Publishes the export.
+     *
+     * @return the location the export can be found at
+     * @throws IOException if the export cannot be published
+     */
+    protected abstract String publish() throws IOException;
+
+    /**
+     * Discards everything written.
+     *
+     * @throws IOException if the partial export cannot be cleaned up
+     */
+    protected abstract void discard() throws IOException;
+}
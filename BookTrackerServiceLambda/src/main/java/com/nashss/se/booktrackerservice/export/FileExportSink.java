@@ -0,0 +1,63 @@
+package com.nashss.se.booktrackerservice.export;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Writes exports to files under a local directory. Each export is written to a temporary file and moved into
+ * place when committed.
+ */
+public class FileExportSink implements ExportSink {
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final Path directory;
+
+    /**
+     * Instantiates a FileExportSink.
+     *
+     * @param directory the directory exports are written under
+     */
+    public FileExportSink(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public ExportStream open(String name) throws IOException {
+        Path target = directory.resolve(name).normalize();
+        if (!target.startsWith(directory.normalize())) {
+            throw new IllegalArgumentException("Export name " + name + " is outside the export directory");
+        }
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_BYTES);
+
+        return new ExportStream() {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            protected String publish() throws IOException {
+                out.close();
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return target.toUri().toString();
+            }
+
+            @Override
+            protected void discard() throws IOException {
+                out.close();
+                Files.deleteIfExists(temp);
+            }
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package com.nashss.se.booktrackerservice.export;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes exports to objects in an S3 (or S3 compatible) bucket as multipart uploads.
+ * <p>
+ * Only one part is held in memory at a time, so an export of any size needs about {@link #PART_SIZE_BYTES} of
+ * memory. A part is uploaded whenever the buffer fills, and the upload is completed on commit or aborted on close.
+ */
+public class S3ExportSink implements ExportSink {
+    /** The smallest part size S3 accepts for every part but the last. */
+    public static final int PART_SIZE_BYTES = 5 * 1024 * 1024;
+
+    private final AmazonS3 amazonS3;
+    private final String bucket;
+
+    /**
+     * Instantiates an S3ExportSink.
+     *
+     * @param amazonS3 the {@link AmazonS3} client used to upload
+     * @param bucket the bucket exports are written to
+     */
+    public S3ExportSink(AmazonS3 amazonS3, String bucket) {
+        this.amazonS3 = amazonS3;
+        this.bucket = bucket;
+    }
+
+    @Override
+    public ExportStream open(String name) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType("application/x-ndjson");
+        String uploadId = amazonS3.initiateMultipartUpload(
+                new InitiateMultipartUploadRequest(bucket, name, metadata)).getUploadId();
+        return new MultipartUploadStream(name, uploadId);
+    }
+
+    /**
+     * Buffers one part at a time and uploads it once full.
+     */
+    private class MultipartUploadStream extends ExportStream {
+        private final String key;
+        private final String uploadId;
+        private final List<PartETag> partETags = new ArrayList<>();
+        private final byte[] buffer = new byte[PART_SIZE_BYTES];
+        private int buffered;
+
+        MultipartUploadStream(String key, String uploadId) {
+            this.key = key;
+            this.uploadId = uploadId;
+        }
+
+        @Override
+        public void write(int b) {
+            if (buffered == buffer.length) {
+                uploadPart();
+            }
+            buffer[buffered++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            int written = 0;
+            while (written < len) {
+                if (buffered == buffer.length) {
+                    uploadPart();
+                }
+                int copied = Math.min(len - written, buffer.length - buffered);
+                System.arraycopy(b, off + written, buffer, buffered, copied);
+                buffered += copied;
+                written += copied;
+            }
+        }
+
+        @Override
+        protected String publish() throws IOException {
+            if (buffered > 0 || partETags.isEmpty()) {
+                uploadPart();
+            }
+            amazonS3.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, key, uploadId, partETags));
+            return "s3://" + bucket + "/" + key;
+        }
+
+        @Override
+        protected void discard() {
+            amazonS3.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+        }
+
+        private void uploadPart() {
+            UploadPartRequest request = new UploadPartRequest()
+                    .withBucketName(bucket)
+                    .withKey(key)
+                    .withUploadId(uploadId)
+                    .withPartNumber(partETags.size() + 1)
+                    .withInputStream(new ByteArrayInputStream(buffer, 0, buffered))
+                    .withPartSize(buffered);
+            partETags.add(amazonS3.uploadPart(request).getPartETag());
+            buffered = 0;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.nashss.se.booktrackerservice.googlebookapi;
+
+import com.nashss.se.booktrackerservice.exceptions.GoogleBooksUnavailableException;
+import com.nashss.se.booktrackerservice.metrics.MetricsConstants;
+import com.nashss.se.booktrackerservice.metrics.MetricsPublisher;
+
+import com.google.api.client.http.HttpResponseException;
+import com.google.common.base.Ticker;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Guards calls to the Google Book API with a circuit breaker and a bulkhead, so a slow or failing Google Books
+ * costs each request a fast rejection instead of a blocked Lambda.
+ * <p>
+ * The breaker keeps the outcome of the last {@link #WINDOW_SIZE} calls. Once it has at least {@link #MINIMUM_CALLS},
+ * it opens when {@link #FAILURE_RATE_THRESHOLD_PERCENT} of them failed or {@link #SLOW_CALL_RATE_THRESHOLD_PERCENT}
+ * took longer than {@link #SLOW_CALL_MILLIS}. An open breaker refuses every call for {@link #OPEN_MILLIS}, then lets
+ * {@link #HALF_OPEN_TRIAL_CALLS} trial calls through: it closes if they all succeed quickly and opens again
+ * otherwise. Client errors other than 429 say nothing about Google's health and are not counted as failures.
+ * <p>
+ * Independently, the bulkhead refuses a call when {@link #MAX_CONCURRENT_CALLS} are already in flight. Every state
+ * transition is published as a count.
+ */
+@Singleton
+public class GoogleBooksCircuitBreaker {
+    public static final int WINDOW_SIZE = 20;
+    public static final int MINIMUM_CALLS = 10;
+    public static final int FAILURE_RATE_THRESHOLD_PERCENT = 50;
+    public static final int SLOW_CALL_RATE_THRESHOLD_PERCENT = 50;
+    public static final long SLOW_CALL_MILLIS = 2_000;
+    public static final long OPEN_MILLIS = 30_000;
+    public static final int HALF_OPEN_TRIAL_CALLS = 3;
+    public static final int MAX_CONCURRENT_CALLS = 4;
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final Logger log = LogManager.getLogger();
+    private final MetricsPublisher metricsPublisher;
+    private final Ticker ticker;
+    private final Semaphore bulkhead = new Semaphore(MAX_CONCURRENT_CALLS);
+    private final boolean[] failedCalls = new boolean[WINDOW_SIZE];
+    private final boolean[] slowCalls = new boolean[WINDOW_SIZE];
+    private int recordedCalls;
+    private int nextSlot;
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int trialCallsStarted;
+    private int trialCallsSucceeded;
+
+    /**
+     * Instantiates a GoogleBooksCircuitBreaker that publishes its state transitions.
+     *
+     * @param metricsPublisher the {@link MetricsPublisher} state transitions are published to
+     */
+    @Inject
+    public GoogleBooksCircuitBreaker(MetricsPublisher metricsPublisher) {
+        this(metricsPublisher, Ticker.systemTicker());
+    }
+
+    /**
+     * Instantiates a GoogleBooksCircuitBreaker that does not publish metrics, for tools that run outside of Lambda.
+     */
+    public GoogleBooksCircuitBreaker() {
+        this(null, Ticker.systemTicker());
+    }
+
+    /**
+     * Instantiates a GoogleBooksCircuitBreaker that reads time from the given ticker.
+     *
+     * @param metricsPublisher the {@link MetricsPublisher} state transitions are published to, or null for none
+     * @param ticker the source of time for call durations and for how long the breaker stays open
+     */
+    GoogleBooksCircuitBreaker(MetricsPublisher metricsPublisher, Ticker ticker) {
+        this.metricsPublisher = metricsPublisher;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Runs a call to the Google Book API if the breaker and the bulkhead allow it, and records its outcome. A
+     * refused call throws a {@link GoogleBooksUnavailableException} without being made.
+     *
+     * @param call the call to make
+     * @param <T> the result type
+     * @return the call's result
+     * @throws IOException when the call fails
+     */
+    public <T> T call(GoogleBooksCall<T> call) throws IOException {
+        if (!bulkhead.tryAcquire()) {
+            throw new GoogleBooksUnavailableException("Too many concurrent calls to the Google Book API");
+        }
+        try {
+            acquirePermission();
+            long startNanos = ticker.read();
+            try {
+                T result = call.call();
+                record(false, startNanos);
+                return result;
+            } catch (IOException | RuntimeException e) {
+                record(isFailure(e), startNanos);
+                throw e;
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Returns the breaker's current state. An open breaker whose wait has passed still reads as open until the next
+     * call moves it to half open.
+     *
+     * @return the current state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Helper method refusing the call while the breaker is open, and moving it to half open once the wait is over.
+     */
+    private void acquirePermission() {
+        State transitionedTo = null;
+        synchronized (this) {
+            if (state == State.OPEN) {
+                if (ticker.read() - openedAtNanos < TimeUnit.MILLISECONDS.toNanos(OPEN_MILLIS)) {
+                    throw new GoogleBooksUnavailableException("The Google Book API circuit breaker is open");
+                }
+                transitionTo(State.HALF_OPEN);
+                transitionedTo = State.HALF_OPEN;
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialCallsStarted >= HALF_OPEN_TRIAL_CALLS) {
+                    throw new GoogleBooksUnavailableException("The Google Book API circuit breaker is half open");
+                }
+                trialCallsStarted++;
+            }
+        }
+        publishTransition(transitionedTo);
+    }
+
+    /**
+     * Helper method recording a finished call and applying any state transition it causes.
+     */
+    private void record(boolean failed, long startNanos) {
+        boolean slow = ticker.read() - startNanos > TimeUnit.MILLISECONDS.toNanos(SLOW_CALL_MILLIS);
+        State transitionedTo = null;
+        synchronized (this) {
+            if (state == State.HALF_OPEN) {
+                if (failed || slow) {
+                    transitionedTo = transitionTo(State.OPEN);
+                } else if (++trialCallsSucceeded >= HALF_OPEN_TRIAL_CALLS) {
+                    transitionedTo = transitionTo(State.CLOSED);
+                }
+            } else if (state == State.CLOSED) {
+                failedCalls[nextSlot] = failed;
+                slowCalls[nextSlot] = slow;
+                nextSlot = (nextSlot + 1) % WINDOW_SIZE;
+                recordedCalls = Math.min(recordedCalls + 1, WINDOW_SIZE);
+                if (recordedCalls >= MINIMUM_CALLS && (percent(failedCalls) >= FAILURE_RATE_THRESHOLD_PERCENT ||
+                        percent(slowCalls) >= SLOW_CALL_RATE_THRESHOLD_PERCENT)) {
+                    transitionedTo = transitionTo(State.OPEN);
+                }
+            }
+        }
+        publishTransition(transitionedTo);
+    }
+
+    /**
+     * Helper method resetting the window or the trial calls for the new state. Callers must hold the lock.
+     */
+    private State transitionTo(State newState) {
+        log.warn("Google Book API circuit breaker moving from {} to {}", state, newState);
+        state = newState;
+        recordedCalls = 0;
+        nextSlot = 0;
+        trialCallsStarted = 0;
+        trialCallsSucceeded = 0;
+        if (newState == State.OPEN) {
+            openedAtNanos = ticker.read();
+        }
+        return newState;
+    }
+
+    private int percent(boolean[] outcomes) {
+        int count = 0;
+        for (int i = 0; i < recordedCalls; i++) {
+            if (outcomes[i]) {
+                count++;
+            }
+        }
+        return count * 100 / recordedCalls;
+    }
+
+    private void publishTransition(State newState) {
+        if (metricsPublisher == null || newState == null) {
+            return;
+        }
+        switch (newState) {
+            case OPEN:
+                metricsPublisher.addCount(MetricsConstants.GOOGLEBOOKS_CIRCUITBREAKER_OPEN_COUNT, 1);
+                break;
+            case HALF_OPEN:
+                metricsPublisher.addCount(MetricsConstants.GOOGLEBOOKS_CIRCUITBREAKER_HALFOPEN_COUNT, 1);
+                break;
+            default:
+                metricsPublisher.addCount(MetricsConstants.GOOGLEBOOKS_CIRCUITBREAKER_CLOSED_COUNT, 1);
+                break;
+        }
+    }
+
+    private static boolean isFailure(Exception e) {
+        if (e instanceof HttpResponseException) {
+            int statusCode = ((HttpResponseException) e).getStatusCode();
+            return statusCode == TOO_MANY_REQUESTS || statusCode >= 500;
+        }
+        return true;
+    }
+
+    /**
+     * The states of the breaker.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * A call to the Google Book API.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface GoogleBooksCall<T> {
+        /**
+         * Makes the call.
+         *
+         * @return the call's result
+         * @throws IOException when the call fails
+         */
+        T call() throws IOException;
+    }
+}
@@ -0,0 +1,87 @@
+package com.nashss.se.booktrackerservice.googlebookapi;
+
+import com.nashss.se.booktrackerservice.exceptions.GoogleBookAPISearchException;
+import com.nashss.se.booktrackerservice.utils.Deadline;
+
+import com.google.api.client.googleapis.apache.v2.GoogleApacheHttpTransport;
+import com.google.api.client.http.HttpBackOffIOExceptionHandler;
+import com.google.api.client.http.HttpBackOffUnsuccessfulResponseHandler;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.util.BackOff;
+import com.google.api.client.util.ExponentialBackOff;
+import com.google.api.services.books.v1.Books;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+
+/**
+ * Builds the Google Books client. One client is meant to be shared for the life of the container, so the trust
+ * store is loaded once and TLS connections are kept alive in the transport's pool between queries.
+ * <p>
+ * Every request gets connect and read timeouts, and is retried after an I/O error, a 429 or a 5xx with jittered
+ * exponential backoff. The client is only used for volume lookups, which are GETs and safe to repeat.
+ */
+public class GoogleBooksClientFactory {
+    public static final String APPLICATION_NAME = "LonelyReads";
+    public static final int CONNECT_TIMEOUT_MILLIS = 2_000;
+    public static final int READ_TIMEOUT_MILLIS = 3_000;
+    public static final int MAX_RETRIES = 2;
+    public static final int INITIAL_BACKOFF_MILLIS = 100;
+    public static final int MAX_BACKOFF_MILLIS = 1_000;
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private GoogleBooksClientFactory() { }
+
+    /**
+     * Builds a Google Books client over a new pooled, trusted transport.
+     *
+     * @return the client
+     */
+    public static Books newClient() {
+        HttpTransport transport;
+        try {
+            transport = GoogleApacheHttpTransport.newTrustedTransport();
+        } catch (IOException | GeneralSecurityException e) {
+            throw new GoogleBookAPISearchException("Unable to set up the Google Book API transport", e);
+        }
+        return newClient(transport);
+    }
+
+    /**
+     * Builds a Google Books client over the given transport.
+     *
+     * @param transport the transport requests are sent through
+     * @return the client
+     */
+    public static Books newClient(HttpTransport transport) {
+        return new Books.Builder(transport, GsonFactory.getDefaultInstance(), GoogleBooksClientFactory::initialize)
+                .setApplicationName(APPLICATION_NAME)
+                .build();
+    }
+
+    /**
+     * Applies the timeouts and retry handlers to a request, capped to what is left of the current {@link Deadline}.
+     * Each request gets its own backoff, since a backoff keeps the state of the retries so far.
+     *
+     * @param request the request to initialize
+     */
+    static void initialize(HttpRequest request) {
+        Deadline deadline = Deadline.current();
+        request.setConnectTimeout(deadline.capTimeoutMillis(CONNECT_TIMEOUT_MILLIS));
+        request.setReadTimeout(deadline.capTimeoutMillis(READ_TIMEOUT_MILLIS));
+        request.setNumberOfRetries(MAX_RETRIES);
+
+        BackOff backOff = new ExponentialBackOff.Builder()
+                .setInitialIntervalMillis(INITIAL_BACKOFF_MILLIS)
+                .setMaxIntervalMillis(MAX_BACKOFF_MILLIS)
+                .setMaxElapsedTimeMillis(deadline.capTimeoutMillis(CONNECT_TIMEOUT_MILLIS + READ_TIMEOUT_MILLIS))
+                .setRandomizationFactor(0.5)
+                .build();
+        request.setIOExceptionHandler(new HttpBackOffIOExceptionHandler(backOff));
+        request.setUnsuccessfulResponseHandler(new HttpBackOffUnsuccessfulResponseHandler(backOff)
+                .setBackOffRequired(response -> response.getStatusCode() == TOO_MANY_REQUESTS ||
+                        response.getStatusCode() / 100 == 5));
+    }
+}
@@ -0,0 +1,271 @@
+package com.nashss.se.booktrackerservice.googlebookapi;
+
+import com.nashss.se.booktrackerservice.dynamodb.GoogleBooksCacheDao;
+import com.nashss.se.booktrackerservice.dynamodb.models.GoogleBooksCacheEntry;
+import com.nashss.se.booktrackerservice.metrics.MetricsConstants;
+import com.nashss.se.booktrackerservice.metrics.MetricsPublisher;
+
+import com.amazonaws.AmazonClientException;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.services.books.v1.model.Volume;
+import com.google.api.services.books.v1.model.Volumes;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.text.Normalizer;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Caches Google Books query results by normalized query, in memory for the life of a warm Lambda container and in
+ * the GoogleBooksCache table so they are shared between containers. A result fetched for a given maxResults also
+ * answers queries for fewer volumes.
+ * <p>
+ * A result is fresh for {@link #FRESH_MINUTES} and may be served stale for up to {@link #STALE_HOURS}. A stale
+ * result is returned straight away while one background query per key refreshes it; the refresh only runs while
+ * the container is thawed, so it may finish on a later invocation. Fresh hits, stale hits and misses are published
+ * at most once a minute.
+ */
+@Singleton
+public class GoogleBooksQueryCache {
+    public static final long MAX_QUERIES = 1_000;
+    public static final long FRESH_MINUTES = 60;
+    public static final long STALE_HOURS = 24;
+    static final long METRICS_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final JsonFactory JSON_FACTORY = GsonFactory.getDefaultInstance();
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Logger log = LogManager.getLogger();
+    private final GoogleBooksCacheDao googleBooksCacheDao;
+    private final MetricsPublisher metricsPublisher;
+    private final Clock clock;
+    private final Executor revalidationExecutor;
+    private final Cache<String, GoogleBooksCacheEntry> entries;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong staleHitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong publishedHitCount = new AtomicLong();
+    private final AtomicLong publishedStaleHitCount = new AtomicLong();
+    private final AtomicLong publishedMissCount = new AtomicLong();
+    private final AtomicLong nextPublishMillis;
+
+    /**
+     * Instantiates a GoogleBooksQueryCache.
+     *
+     * @param googleBooksCacheDao the {@link GoogleBooksCacheDao} results are shared through
+     * @param metricsPublisher the {@link MetricsPublisher} hit and miss counts are published to
+     */
+    @Inject
+    public GoogleBooksQueryCache(GoogleBooksCacheDao googleBooksCacheDao, MetricsPublisher metricsPublisher) {
+        this(googleBooksCacheDao, metricsPublisher, Clock.systemUTC(), Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("google-books-revalidate-%d").setDaemon(true).build()));
+    }
+
+    /**
+     * Instantiates a GoogleBooksQueryCache that reads time from the given clock and refreshes on the given executor.
+     *
+     * @param googleBooksCacheDao the {@link GoogleBooksCacheDao} results are shared through
+     * @param metricsPublisher the {@link MetricsPublisher} hit and miss counts are published to
+     * @param clock the source of time for freshness and for spacing out metrics
+     * @param revalidationExecutor the executor stale results are refreshed on
+     */
+    GoogleBooksQueryCache(GoogleBooksCacheDao googleBooksCacheDao, MetricsPublisher metricsPublisher, Clock clock,
+                          Executor revalidationExecutor) {
+        this.googleBooksCacheDao = googleBooksCacheDao;
+        this.metricsPublisher = metricsPublisher;
+        this.clock = clock;
+        this.revalidationExecutor = revalidationExecutor;
+        this.nextPublishMillis = new AtomicLong(clock.millis() + METRICS_INTERVAL_MILLIS);
+        this.entries = CacheBuilder.newBuilder()
+                .maximumSize(MAX_QUERIES)
+                .expireAfterWrite(STALE_HOURS, TimeUnit.HOURS)
+                .ticker(new Ticker() {
+                    @Override
+                    public long read() {
+                        return TimeUnit.MILLISECONDS.toNanos(clock.millis());
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Returns up to maxResults volumes for a search term, from the cache when the same normalized query was made
+     * recently for at least as many volumes, and from the loader otherwise.
+     *
+     * @param searchTerm the search term
+     * @param maxResults the most volumes to return
+     * @param loader queries Google Books on a miss, and in the background to refresh a stale result
+     * @return the volumes found, or null if nothing matched
+     * @throws IOException when the request to Google Books fails
+     * @throws GeneralSecurityException when the transport cannot be set up
+     */
+    public List<Volume> queryBooks(String searchTerm, long maxResults, VolumesLoader loader) throws IOException,
+            GeneralSecurityException {
+        String key = normalize(searchTerm);
+        GoogleBooksCacheEntry entry = entries.getIfPresent(key);
+        if (entry == null) {
+            entry = loadPersisted(key);
+            if (entry != null) {
+                entries.put(key, entry);
+            }
+        }
+
+        long now = clock.millis();
+        if (entry != null && entry.getMaxResults() != null && now < TimeUnit.SECONDS.toMillis(entry.getExpiresAt())) {
+            try {
+                List<Volume> volumes = parse(entry.getVolumesJson());
+                if (covers(entry.getMaxResults(), volumes, maxResults)) {
+                    if (now - entry.getFetchedAt() < TimeUnit.MINUTES.toMillis(FRESH_MINUTES)) {
+                        hitCount.incrementAndGet();
+                    } else {
+                        staleHitCount.incrementAndGet();
+                        revalidate(key, searchTerm, Math.max(maxResults, entry.getMaxResults()), loader);
+                    }
+                    publishMetricsIfDue();
+                    return first(volumes, maxResults);
+                }
+            } catch (IOException e) {
+                log.warn("Discarding unreadable cached Google Books result for '{}'", key, e);
+            }
+        }
+
+        missCount.incrementAndGet();
+        publishMetricsIfDue();
+        return fetch(key, searchTerm, maxResults, loader);
+    }
+
+    /**
+     * Returns the share of lookups, fresh or stale, served without waiting on Google Books since the cache was
+     * created.
+     *
+     * @return the hit ratio, or 0 before the first lookup
+     */
+    public double hitRatio() {
+        long hits = hitCount.get() + staleHitCount.get();
+        long lookups = hits + missCount.get();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Normalizes a search term into a cache key: compatibility normalized, lower case, and with runs of whitespace
+     * collapsed, since Google Books treats those variants as the same query.
+     *
+     * @param searchTerm the search term
+     * @return the cache key
+     */
+    static String normalize(String searchTerm) {
+        String normalized = Normalizer.normalize(searchTerm == null ? "" : searchTerm, Normalizer.Form.NFKC);
+        return WHITESPACE.matcher(normalized.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Helper method querying Google Books and storing the result in both tiers.
+     */
+    private List<Volume> fetch(String key, String searchTerm, long maxResults, VolumesLoader loader)
+            throws IOException, GeneralSecurityException {
+        List<Volume> volumes = loader.load(searchTerm, maxResults);
+        long now = clock.millis();
+
+        GoogleBooksCacheEntry entry = new GoogleBooksCacheEntry();
+        entry.setQuery(key);
+        entry.setVolumesJson(JSON_FACTORY.toString(new Volumes().setItems(volumes)));
+        entry.setMaxResults(maxResults);
+        entry.setFetchedAt(now);
+        entry.setExpiresAt(TimeUnit.MILLISECONDS.toSeconds(now) + TimeUnit.HOURS.toSeconds(STALE_HOURS));
+        entries.put(key, entry);
+        try {
+            googleBooksCacheDao.saveEntry(entry);
+        } catch (AmazonClientException e) {
+            log.warn("Failed to share cached Google Books result for '{}'", key, e);
+        }
+        return volumes;
+    }
+
+    /**
+     * Helper method refreshing a stale result in the background, at most once at a time per key.
+     */
+    private void revalidate(String key, String searchTerm, long maxResults, VolumesLoader loader) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        revalidationExecutor.execute(() -> {
+            try {
+                fetch(key, searchTerm, maxResults, loader);
+            } catch (IOException | GeneralSecurityException | RuntimeException e) {
+                log.warn("Failed to refresh cached Google Books result for '{}'", key, e);
+            } finally {
+                revalidating.remove(key);
+            }
+        });
+    }
+
+    /**
+     * Helper method reading the shared tier, treating an unreachable table as a miss.
+     */
+    private GoogleBooksCacheEntry loadPersisted(String key) {
+        try {
+            return googleBooksCacheDao.getEntry(key);
+        } catch (AmazonClientException e) {
+            log.warn("Failed to read cached Google Books result for '{}'", key, e);
+            return null;
+        }
+    }
+
+    private static List<Volume> parse(String volumesJson) throws IOException {
+        return JSON_FACTORY.fromString(volumesJson, Volumes.class).getItems();
+    }
+
+    /**
+     * Helper method deciding whether a cached result answers a query for maxResults volumes: it does when it was
+     * fetched for at least as many, or when Google Books returned fewer than were asked for and so had no more.
+     */
+    private static boolean covers(long cachedMaxResults, List<Volume> volumes, long maxResults) {
+        return cachedMaxResults >= maxResults || volumes == null || volumes.size() < cachedMaxResults;
+    }
+
+    private static List<Volume> first(List<Volume> volumes, long maxResults) {
+        if (volumes == null || volumes.size() <= maxResults) {
+            return volumes;
+        }
+        return new ArrayList<>(volumes.subList(0, (int) maxResults));
+    }
+
+    private void publishMetricsIfDue() {
+        long next = nextPublishMillis.get();
+        long now = clock.millis();
+        if (metricsPublisher == null || now < next ||
+                !nextPublishMillis.compareAndSet(next, now + METRICS_INTERVAL_MILLIS)) {
+            return;
+        }
+        metricsPublisher.addCount(MetricsConstants.GOOGLEBOOKSCACHE_HIT_COUNT, delta(hitCount, publishedHitCount));
+        metricsPublisher.addCount(MetricsConstants.GOOGLEBOOKSCACHE_STALEHIT_COUNT,
+                delta(staleHitCount, publishedStaleHitCount));
+        metricsPublisher.addCount(MetricsConstants.GOOGLEBOOKSCACHE_MISS_COUNT, delta(missCount, publishedMissCount));
+    }
+
+    private static long delta(AtomicLong total, AtomicLong published) {
+        long current = total.get();
+        return current - published.getAndSet(current);
+    }
+}
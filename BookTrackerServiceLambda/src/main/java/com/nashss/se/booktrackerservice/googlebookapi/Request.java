@@ -1,48 +1,111 @@
 package com.nashss.se.booktrackerservice.googlebookapi;
 
+import com.nashss.se.booktrackerservice.converters.VolumeConverter;
 import com.nashss.se.booktrackerservice.dynamodb.models.Book;
-import com.nashss.se.booktrackerservice.googlebookapi.helper.VolumeInfoHelper;
+import com.nashss.se.booktrackerservice.exceptions.GoogleBooksUnavailableException;
+import com.nashss.se.booktrackerservice.utils.Deadline;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
-import com.google.api.client.json.JsonFactory;
 import com.google.api.services.books.v1.Books;
 import com.google.api.services.books.v1.model.Volume;
 import com.google.api.services.books.v1.model.Volumes;
 
 import java.io.IOException;
-import java.security.GeneralSecurityException;
 import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Singleton;
 
+/**
+ * Queries the Google Book API. Its volumes are converted to {@link Book}s by {@link VolumeConverter}.
+ */
+@Singleton
 public class Request {
-    private static final String APPLICATION_NAME = "LonelyReads";
+    public static final long MIN_QUERY_MILLIS = 500;
+    public static final long DEFAULT_MAX_RESULTS = 5;
+    // Only the volume attributes VolumeConverter reads; descriptions, sale and access info are left out
+    public static final String VOLUME_FIELDS =
+            "items(volumeInfo(title,subtitle,authors,categories,imageLinks/thumbnail,pageCount,industryIdentifiers))";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final VolumeConverter VOLUME_CONVERTER = new VolumeConverter();
 
-    // Example JSON response : https://www.googleapis.com/books/v1/volumes/btpIkZ6X6egC
+    private final Books books;
+    private final GoogleBooksCircuitBreaker circuitBreaker;
 
     /**
-     * Queries the Google Book API with a given search term.
-     * @param jsonFactory used to parse JSONs and access object properties
-     * @param searchTerm the search term used to query the Google Book API
-     * @return a list of Volumes returned by the query
-     * @throws IOException when errors making request to the API
-     * @throws GeneralSecurityException provides type safety
+     * Instantiates a Request that queries through the given client and circuit breaker.
+     *
+     * @param books the shared Google Books client
+     * @param circuitBreaker the {@link GoogleBooksCircuitBreaker} every query goes through
      */
-    public List<Volume> queryBooks(JsonFactory jsonFactory, String searchTerm) throws
-            IOException, GeneralSecurityException {
+    @Inject
+    public Request(Books books, GoogleBooksCircuitBreaker circuitBreaker) {
+        this.books = books;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Instantiates a Request that queries through the given client, with its own circuit breaker.
+     *
+     * @param books the Google Books client
+     */
+    public Request(Books books) {
+        this(books, new GoogleBooksCircuitBreaker());
+    }
 
-        Books books = new Books.Builder(GoogleNetHttpTransport.newTrustedTransport(), jsonFactory, null)
-                .setApplicationName(APPLICATION_NAME)
-                .build();
+    /**
+     * Instantiates a Request with its own client and circuit breaker, for callers that run outside of Lambda.
+     */
+    public Request() {
+        this(GoogleBooksClientFactory.newClient());
+    }
 
-        Books.Volumes.List volumesList = books.volumes().list(searchTerm);
+    // Example JSON response : https://www.googleapis.com/books/v1/volumes/btpIkZ6X6egC
 
-        //System.out.println(query);
+    /**
+     * Queries the Google Book API with a given search term, for up to {@link #DEFAULT_MAX_RESULTS} volumes.
+     * @param searchTerm the search term used to query the Google Book API
+     * @return a list of Volumes returned by the query, or null if nothing matched
+     * @throws IOException when errors making request to the API, after retries
+     */
+    public List<Volume> queryBooks(String searchTerm) throws IOException {
+        return queryBooks(searchTerm, DEFAULT_MAX_RESULTS);
+    }
 
-        Volumes volumes = volumesList.execute();
+    /**
+     * Queries the Google Book API with a given search term, through the circuit breaker and within the current
+     * {@link Deadline}. A query refused by the breaker, or with less than {@link #MIN_QUERY_MILLIS} left before the
+     * deadline, throws a {@link GoogleBooksUnavailableException} without being sent, as does a query cut off by the
+     * deadline.
+     * <p>
+     * Only the {@link #VOLUME_FIELDS} of each volume are requested, so the volumes carry no id, description, sale or
+     * access info.
+     * @param searchTerm the search term used to query the Google Book API
+     * @param maxResults the most volumes to return, from 1 to 40
+     * @return a list of Volumes returned by the query, or null if nothing matched
+     * @throws IOException when errors making request to the API, after retries
+     */
+    public List<Volume> queryBooks(String searchTerm, long maxResults) throws IOException {
+        Deadline deadline = Deadline.current();
+        if (deadline.remainingMillis() < MIN_QUERY_MILLIS) {
+            throw new GoogleBooksUnavailableException("Too little time left to query the Google Book API");
+        }
+        Books.Volumes.List volumesList = books.volumes().list(searchTerm)
+                .setFields(VOLUME_FIELDS)
+                .setMaxResults(maxResults);
+
+        Volumes volumes;
+        try {
+            volumes = circuitBreaker.call(volumesList::execute);
+        } catch (IOException e) {
+            if (deadline.isExpired()) {
+                throw new GoogleBooksUnavailableException("Ran out of time querying the Google Book API", e);
+            }
+            throw e;
+        }
 
-        // If there are no results/Total results
-        if (volumes.getTotalItems() == 0 || volumes.getItems() == null) {
+        // If there are no results/Total results. totalItems is left out of some empty responses.
+        if (volumes.getItems() == null || volumes.getItems().isEmpty()) {
             System.out.println("No matches found, try narrowing your search..");
         }
 
@@ -54,59 +117,23 @@ public class Request {
      * @param volumes a list of Volumes returned from querying the Google Book API
      * @param desiredIndex the index of the desired Volume from list of Volumes
      * @return a JSON representation of the Book object to be created
-     * @throws JsonProcessingException when a Volume has null isbn or title
+     * @throws JsonProcessingException when the Book cannot be written as JSON
+     * @deprecated map volumes with {@link VolumeConverter#toBooks(List)} instead, which skips the JSON round trip
      */
+    @Deprecated
     public String extractAttributes(List<Volume> volumes, int desiredIndex) throws JsonProcessingException {
-        // Get the volume's VolumeInfo object from JSON response
-        // VolumeInfo contains the attributes needed for a Book object
-        Volume.VolumeInfo volumeInfo = volumes.get(desiredIndex).getVolumeInfo();
-
-        // Instantiate helper class to parse through VolumeInfo JSON
-        VolumeInfoHelper helper = new VolumeInfoHelper();
-
-        // Create Book object and set attributes as values extracted by helper class
-
-        Book book = new Book();
-        book.setAsin(helper.getIsbn(volumeInfo));
-        book.setTitle(helper.getTitle(volumeInfo));
-        if (!helper.getAuthors(volumeInfo).isEmpty()) {
-            book.setAuthor(helper.getAuthors(volumeInfo).get(0));
-        } else {
-            book.setAuthor("");
-        }
-        if (!helper.getGenres(volumeInfo).isEmpty()) {
-            book.setGenre(helper.getGenres(volumeInfo).get(0));
-        } else {
-            book.setGenre("");
-        }
-        if (!helper.getThumbnail(volumeInfo).isEmpty()) {
-            book.setThumbnail(helper.getThumbnail(volumeInfo));
-        } else {
-            book.setThumbnail("");
-        }
-        if (!helper.getPageCount(volumeInfo).isEmpty()) {
-            book.setPageCount(Integer.parseInt(helper.getPageCount(volumeInfo)));
-        } else {
-            book.setPageCount(0);
-        }
-
-        ObjectMapper mapper = new ObjectMapper();
-
-        // Return the Book as JSON
-        return mapper.writeValueAsString(book);
+        return OBJECT_MAPPER.writeValueAsString(VOLUME_CONVERTER.toBook(volumes.get(desiredIndex).getVolumeInfo()));
     }
 
     /**
      * Deserializes a JSON array to a Book object.
      * @param jsonArray JSON representation of a Book returned from extractAttributes()
      * @return a Book object
-     * @throws JsonProcessingException when passing jsonArray with null isbn or title
+     * @throws JsonProcessingException when jsonArray is not a JSON Book
+     * @deprecated map volumes with {@link VolumeConverter#toBooks(List)} instead, which skips the JSON round trip
      */
+    @Deprecated
     public Book deserializeVolumeToBook(String jsonArray) throws JsonProcessingException {
-        ObjectMapper mapper = new ObjectMapper();
-
-        // Use JSON of Book created in extractAttributes() to return actual Book object
-        return mapper.readValue(jsonArray, Book.class);
+        return OBJECT_MAPPER.readValue(jsonArray, Book.class);
     }
-
 }
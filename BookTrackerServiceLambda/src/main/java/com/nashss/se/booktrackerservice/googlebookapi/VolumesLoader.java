@@ -0,0 +1,24 @@
+package com.nashss.se.booktrackerservice.googlebookapi;
+
+import com.google.api.services.books.v1.model.Volume;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.List;
+
+/**
+ * Loads the volumes for a query from Google Books.
+ */
+@FunctionalInterface
+public interface VolumesLoader {
+    /**
+     * Queries Google Books.
+     *
+     * @param searchTerm the search term, as the caller gave it
+     * @param maxResults the most volumes to return
+     * @return the volumes found, or null if nothing matched
+     * @throws IOException when the request to Google Books fails
+     * @throws GeneralSecurityException when the transport cannot be set up
+     */
+    List<Volume> load(String searchTerm, long maxResults) throws IOException, GeneralSecurityException;
+}
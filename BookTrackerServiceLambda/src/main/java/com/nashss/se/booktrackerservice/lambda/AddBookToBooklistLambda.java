@@ -25,6 +25,6 @@ public class AddBookToBooklistLambda
                 } catch (Exception e) {
                     throw new RuntimeException(e);
                 }
-            });
+            }, context);
     }
 }
@@ -0,0 +1,31 @@
+package com.nashss.se.booktrackerservice.lambda;
+
+import com.nashss.se.booktrackerservice.activity.requests.AddCommentRequest;
+import com.nashss.se.booktrackerservice.activity.results.AddCommentResult;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+
+public class AddCommentLambda
+        extends LambdaActivityRunner<AddCommentRequest, AddCommentResult>
+        implements RequestHandler<AuthenticatedLambdaRequest<AddCommentRequest>, LambdaResponse> {
+
+    @Override
+    public LambdaResponse handleRequest(AuthenticatedLambdaRequest<AddCommentRequest> input, Context context) {
+        return super.runActivity(
+            () -> {
+                AddCommentRequest unauthenticatedRequest = input.fromBody(AddCommentRequest.class);
+                return input.fromPath(path -> input.fromUserClaims(claims ->
+                        AddCommentRequest.builder()
+                                .withAsin(path.get("asin"))
+                                .withCustomerId(claims.get("email"))
+                                .withCommentText(unauthenticatedRequest.getCommentText())
+                                .withPercentComplete(unauthenticatedRequest.getPercentComplete())
+                                .build()));
+            },
+            (request, serviceComponent) ->
+                    serviceComponent.provideAddCommentActivity().handleRequest(request),
+            context
+        );
+    }
+}
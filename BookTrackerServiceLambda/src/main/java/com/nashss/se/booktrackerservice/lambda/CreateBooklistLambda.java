@@ -22,7 +22,8 @@ public class CreateBooklistLambda
                                 .build());
             },
             (request, serviceComponent) ->
-                    serviceComponent.provideCreateBooklistActivity().handleRequest(request)
+                    serviceComponent.provideCreateBooklistActivity().handleRequest(request),
+            context
         );
     }
 }
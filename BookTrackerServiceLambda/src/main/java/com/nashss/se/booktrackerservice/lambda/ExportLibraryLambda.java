@@ -0,0 +1,31 @@
+package com.nashss.se.booktrackerservice.lambda;
+
+import com.nashss.se.booktrackerservice.activity.requests.ExportLibraryRequest;
+import com.nashss.se.booktrackerservice.activity.results.ExportLibraryResult;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class ExportLibraryLambda
+    extends LambdaActivityRunner<ExportLibraryRequest, ExportLibraryResult>
+    implements RequestHandler<AuthenticatedLambdaRequest<ExportLibraryRequest>, LambdaResponse> {
+
+    private final Logger log = LogManager.getLogger();
+
+    @Override
+    public LambdaResponse handleRequest(AuthenticatedLambdaRequest<ExportLibraryRequest> input, Context context) {
+        log.info("handleRequest");
+        return super.runActivity(
+            () -> input.fromUserClaims(claims ->
+                    ExportLibraryRequest.builder()
+                            .withCustomerId(claims.get("email"))
+                            .build()),
+            (request, serviceComponent) ->
+                    serviceComponent.provideExportLibraryActivity().handleRequest(request),
+            context
+        );
+    }
+}
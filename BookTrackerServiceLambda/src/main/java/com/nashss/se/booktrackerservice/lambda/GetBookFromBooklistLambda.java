@@ -31,7 +31,8 @@ public class GetBookFromBooklistLambda
                                 .build());
             },
             (request, serviceComponent) ->
-                    serviceComponent.provideGetBookFromBooklistActivity().handleRequest(request)
+                    serviceComponent.provideGetBookFromBooklistActivity().handleRequest(request),
+            context
             );
     }
 }
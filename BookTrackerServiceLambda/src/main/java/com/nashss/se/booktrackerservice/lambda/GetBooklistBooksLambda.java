@@ -2,6 +2,7 @@ package com.nashss.se.booktrackerservice.lambda;
 
 import com.nashss.se.booktrackerservice.activity.requests.GetBooklistBooksRequest;
 import com.nashss.se.booktrackerservice.activity.results.GetBooklistBooksResult;
+import com.nashss.se.booktrackerservice.utils.PaginationUtils;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
@@ -17,9 +18,12 @@ public class GetBooklistBooksLambda
                     GetBooklistBooksRequest.builder()
                             .withId(path.get("id"))
                             .withOrder(query.get("order"))
+                            .withLimit(PaginationUtils.parseLimit(query.get("limit")))
+                            .withNextToken(query.get("nextToken"))
                             .build()),
             (request, serviceComponent) ->
-                    serviceComponent.provideGetBooklistBooksActivity().handleRequest(request)
+                    serviceComponent.provideGetBooklistBooksActivity().handleRequest(request),
+            context
     );
     }
 }
@@ -24,7 +24,8 @@ public class GetBooklistLambda
                             .withId(path.get("id"))
                             .build()),
             (request, serviceComponent) ->
-                    serviceComponent.provideGetBooklistActivity().handleRequest(request)
+                    serviceComponent.provideGetBooklistActivity().handleRequest(request),
+            context
         );
     }
 
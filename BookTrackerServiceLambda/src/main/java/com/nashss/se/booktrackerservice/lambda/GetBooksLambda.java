@@ -0,0 +1,35 @@
+package com.nashss.se.booktrackerservice.lambda;
+
+import com.nashss.se.booktrackerservice.activity.requests.GetBooksRequest;
+import com.nashss.se.booktrackerservice.activity.results.GetBooksResult;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class GetBooksLambda
+        extends LambdaActivityRunner<GetBooksRequest, GetBooksResult>
+        implements RequestHandler<LambdaRequest<GetBooksRequest>, LambdaResponse> {
+
+    private final Logger log = LogManager.getLogger();
+
+    @Override
+    public LambdaResponse handleRequest(LambdaRequest<GetBooksRequest> input, Context context) {
+        log.info("handleRequest");
+        return super.runActivity(
+            () -> input.fromQuery(query ->
+                    GetBooksRequest.builder()
+                            .withAsins(query.get("asins") == null ? Collections.emptyList() :
+                                    Arrays.asList(query.get("asins").split(",")))
+                            .build()),
+            (request, serviceComponent) ->
+                    serviceComponent.provideGetBooksActivity().handleRequest(request),
+            context
+        );
+    }
+}
@@ -0,0 +1,29 @@
+package com.nashss.se.booktrackerservice.lambda;
+
+import com.nashss.se.booktrackerservice.activity.requests.GetCommentsRequest;
+import com.nashss.se.booktrackerservice.activity.results.GetCommentsResult;
+import com.nashss.se.booktrackerservice.utils.PaginationUtils;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+
+public class GetCommentsLambda
+        extends LambdaActivityRunner<GetCommentsRequest, GetCommentsResult>
+        implements RequestHandler<AuthenticatedLambdaRequest<GetCommentsRequest>, LambdaResponse> {
+
+    @Override
+    public LambdaResponse handleRequest(AuthenticatedLambdaRequest<GetCommentsRequest> input, Context context) {
+        return super.runActivity(
+            () -> input.fromPathAndQuery((path, query) -> input.fromUserClaims(claims ->
+                    GetCommentsRequest.builder()
+                            .withAsin(path.get("asin"))
+                            .withCustomerId(claims.get("email"))
+                            .withLimit(PaginationUtils.parseLimit(query.get("limit")))
+                            .withNextToken(query.get("nextToken"))
+                            .build())),
+            (request, serviceComponent) ->
+                    serviceComponent.provideGetCommentsActivity().handleRequest(request),
+            context
+        );
+    }
+}
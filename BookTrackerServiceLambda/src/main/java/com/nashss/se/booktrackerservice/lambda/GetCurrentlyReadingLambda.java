@@ -2,6 +2,7 @@ package com.nashss.se.booktrackerservice.lambda;
 
 import com.nashss.se.booktrackerservice.activity.requests.GetCurrentlyReadingRequest;
 import com.nashss.se.booktrackerservice.activity.results.GetCurrentlyReadingResult;
+import com.nashss.se.booktrackerservice.utils.PaginationUtils;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
@@ -11,20 +12,25 @@ import org.apache.logging.log4j.Logger;
 
 public class GetCurrentlyReadingLambda
     extends LambdaActivityRunner<GetCurrentlyReadingRequest, GetCurrentlyReadingResult>
-    implements RequestHandler<LambdaRequest<GetCurrentlyReadingRequest>, LambdaResponse> {
+    implements RequestHandler<AuthenticatedLambdaRequest<GetCurrentlyReadingRequest>, LambdaResponse> {
 
     private final Logger log = LogManager.getLogger();
 
     @Override
-    public LambdaResponse handleRequest(LambdaRequest<GetCurrentlyReadingRequest> input, Context context) {
+    public LambdaResponse handleRequest(AuthenticatedLambdaRequest<GetCurrentlyReadingRequest> input,
+                                        Context context) {
         log.info("handleRequest");
         return super.runActivity(
-            () -> input.fromPath(path ->
+            () -> input.fromPathAndQuery((path, query) -> input.fromUserClaims(claims ->
                     GetCurrentlyReadingRequest.builder()
                             .withCurrentlyReading(Boolean.parseBoolean(path.get("currentlyReading")))
-                            .withId(path.get("id"))
-                            .build()), (request, serviceComponent) ->
-                    serviceComponent.provideGetCurrentlyReadingActivity().handleRequest(request)
+                            .withId(query.get("id"))
+                            .withCustomerId(claims.get("email"))
+                            .withLimit(PaginationUtils.parseLimit(query.get("limit")))
+                            .withNextToken(query.get("nextToken"))
+                            .build())), (request, serviceComponent) ->
+                    serviceComponent.provideGetCurrentlyReadingActivity().handleRequest(request),
+            context
         );
     }
 }
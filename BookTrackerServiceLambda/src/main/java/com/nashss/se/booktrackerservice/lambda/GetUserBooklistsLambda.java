@@ -2,6 +2,7 @@ package com.nashss.se.booktrackerservice.lambda;
 
 import com.nashss.se.booktrackerservice.activity.requests.GetUserBooklistsRequest;
 import com.nashss.se.booktrackerservice.activity.results.GetUserBooklistsResult;
+import com.nashss.se.booktrackerservice.utils.PaginationUtils;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
@@ -19,12 +20,15 @@ public class GetUserBooklistsLambda
     public LambdaResponse handleRequest(AuthenticatedLambdaRequest<GetUserBooklistsRequest> input, Context context) {
         log.info("handleRequest");
         return super.runActivity(
-            () -> input.fromUserClaims(claims ->
+            () -> input.fromQuery(query -> input.fromUserClaims(claims ->
                     GetUserBooklistsRequest.builder()
                             .withCustomerId(claims.get("email"))
-                            .build()),
+                            .withLimit(PaginationUtils.parseLimit(query.get("limit")))
+                            .withNextToken(query.get("nextToken"))
+                            .build())),
             (request, serviceComponent) ->
-                    serviceComponent.provideGetUserBooklistsActivity().handleRequest(request)
+                    serviceComponent.provideGetUserBooklistsActivity().handleRequest(request),
+            context
         );
     }
 }
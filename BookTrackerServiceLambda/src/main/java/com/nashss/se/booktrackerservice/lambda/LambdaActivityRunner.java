@@ -2,6 +2,9 @@ package com.nashss.se.booktrackerservice.lambda;
 
 import com.nashss.se.booktrackerservice.dependency.DaggerServiceComponent;
 import com.nashss.se.booktrackerservice.dependency.ServiceComponent;
+import com.nashss.se.booktrackerservice.utils.Deadline;
+
+import com.amazonaws.services.lambda.runtime.Context;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -15,13 +18,18 @@ public class LambdaActivityRunner<TRequest, TResult> {
 
     /**
      * Handles running the activity and returning a LambdaResponse (either success or failure).
+     * <p>
+     * The activity runs with a {@link Deadline} derived from the invocation's remaining time made current, so the
+     * DynamoDB and Google Books calls it makes give up in time for a response to be returned.
      * @param requestSupplier Provides the activity request.
      * @param handleRequest Runs the activity and provides a response.
+     * @param context The Lambda context of the invocation, or null outside of Lambda.
      * @return A LambdaResponse
      */
     protected LambdaResponse runActivity(
             Supplier<TRequest> requestSupplier,
-            BiFunction<TRequest, ServiceComponent, TResult> handleRequest) {
+            BiFunction<TRequest, ServiceComponent, TResult> handleRequest,
+            Context context) {
 
         TRequest request;
         try {
@@ -39,7 +47,8 @@ public class LambdaActivityRunner<TRequest, TResult> {
             log.info("Attempting to execute activity...");
 
             ServiceComponent serviceComponent = getService();
-            TResult result = handleRequest.apply(request, serviceComponent);
+            Deadline deadline = Deadline.fromContext(context);
+            TResult result = deadline.call(() -> handleRequest.apply(request, serviceComponent));
 
             if (result == null) {
                 return LambdaResponse.noContent();
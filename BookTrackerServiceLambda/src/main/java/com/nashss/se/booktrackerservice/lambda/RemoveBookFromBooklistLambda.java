@@ -31,7 +31,8 @@ public class RemoveBookFromBooklistLambda
                                 .build());
             },
             (request, serviceComponent) ->
-                    serviceComponent.provideRemoveBookFromBooklistActivity().handleRequest(request)
+                    serviceComponent.provideRemoveBookFromBooklistActivity().handleRequest(request),
+            ctxt
         );
     }
 }
@@ -33,7 +33,8 @@ public class RemoveBooklistLambda
                                 .build());
             },
             (request, serviceComponent) ->
-                        serviceComponent.provideRemoveBooklistActivity().handleRequest(request)
+                        serviceComponent.provideRemoveBooklistActivity().handleRequest(request),
+            context
         );
     }
 }
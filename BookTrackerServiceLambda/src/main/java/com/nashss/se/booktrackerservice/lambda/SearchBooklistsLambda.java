@@ -2,6 +2,7 @@ package com.nashss.se.booktrackerservice.lambda;
 
 import com.nashss.se.booktrackerservice.activity.requests.SearchBooklistsRequest;
 import com.nashss.se.booktrackerservice.activity.results.SearchBooklistsResult;
+import com.nashss.se.booktrackerservice.utils.PaginationUtils;
 
 import com.amazonaws.services.lambda.runtime.Context;
 
@@ -23,9 +24,12 @@ public class SearchBooklistsLambda
             () -> input.fromQuery(query ->
                     SearchBooklistsRequest.builder()
                             .withCriteria(query.get("q"))
+                            .withLimit(PaginationUtils.parseLimit(query.get("limit")))
+                            .withNextToken(query.get("nextToken"))
                             .build()),
             (request, serviceComponent) ->
-                    serviceComponent.provideSearchBooklistsActivity().handleRequest(request)
+                    serviceComponent.provideSearchBooklistsActivity().handleRequest(request),
+            context
         );
     }
 }
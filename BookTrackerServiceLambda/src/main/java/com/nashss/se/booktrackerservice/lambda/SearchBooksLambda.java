@@ -24,7 +24,8 @@ public class SearchBooksLambda
                             .withCriteria(query.get("q"))
                             .build()),
             (request, serviceComponent) ->
-                    serviceComponent.provideSearchBooksActivity().handleRequest(request)
+                    serviceComponent.provideSearchBooksActivity().handleRequest(request),
+            context
         );
     }
 }
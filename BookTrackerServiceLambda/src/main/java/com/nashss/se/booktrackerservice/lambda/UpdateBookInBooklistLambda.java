@@ -30,7 +30,8 @@ public class UpdateBookInBooklistLambda
                                 .build());
             },
             (request, serviceComponent) ->
-                        serviceComponent.provideUpdateBookInBooklistActivity().handleRequest(request)
+                        serviceComponent.provideUpdateBookInBooklistActivity().handleRequest(request),
+            context
        );
     }
 }
@@ -23,7 +23,8 @@ public class UpdateBooklistLambda
                                 .build());
             },
             (request, serviceComponent) ->
-                    serviceComponent.provideUpdateBooklistActivity().handleRequest(request)
+                    serviceComponent.provideUpdateBooklistActivity().handleRequest(request),
+            context
     );
     }
 }
@@ -12,4 +12,13 @@ public class MetricsConstants {
             "UpdateBooklist.InvalidAttributeValueException.Count";
     public static final String UPDATEBOOKLIST_INVALIDATTRIBUTECHANGE_COUNT =
             "UpdateBooklist.InvalidAttributeChangeException.Count";
+    public static final String BOOKCACHE_HIT_COUNT = "BookCache.Hit.Count";
+    public static final String BOOKCACHE_MISS_COUNT = "BookCache.Miss.Count";
+    public static final String BOOKCACHE_EVICTION_COUNT = "BookCache.Eviction.Count";
+    public static final String GOOGLEBOOKSCACHE_HIT_COUNT = "GoogleBooksCache.Hit.Count";
+    public static final String GOOGLEBOOKSCACHE_STALEHIT_COUNT = "GoogleBooksCache.StaleHit.Count";
+    public static final String GOOGLEBOOKSCACHE_MISS_COUNT = "GoogleBooksCache.Miss.Count";
+    public static final String GOOGLEBOOKS_CIRCUITBREAKER_OPEN_COUNT = "GoogleBooks.CircuitBreaker.Open.Count";
+    public static final String GOOGLEBOOKS_CIRCUITBREAKER_HALFOPEN_COUNT = "GoogleBooks.CircuitBreaker.HalfOpen.Count";
+    public static final String GOOGLEBOOKS_CIRCUITBREAKER_CLOSED_COUNT = "GoogleBooks.CircuitBreaker.Closed.Count";
 }
@@ -0,0 +1,234 @@
+package com.nashss.se.booktrackerservice.migrations;
+
+import com.nashss.se.booktrackerservice.dynamodb.BatchWriter;
+import com.nashss.se.booktrackerservice.dynamodb.DynamoDbClientProvider;
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+import com.nashss.se.booktrackerservice.exceptions.BatchWriteException;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bulk loads a book catalog into the Books table.
+ * <p>
+ * The catalog is streamed, either as a JSON array of books or as newline delimited JSON with one book per line,
+ * and written in {@link BatchWriter#MAX_BATCH_SIZE} item batches across a bounded pool of writers. Reading
+ * pauses while every writer is busy, so memory stays flat however large the catalog is.
+ * <p>
+ * The number of leading books known to be written is saved to a checkpoint file as the load progresses, and a
+ * rerun skips that many books. Puts are idempotent, so books written after the last checkpoint are simply
+ * written again. Run {@link BookSearchTokenBackfill} afterwards to make the loaded books searchable.
+ */
+public class BookCatalogImport {
+    public static final int DEFAULT_THREADS = 8;
+    private static final long PROGRESS_INTERVAL_BOOKS = 10_000;
+
+    private final Logger log = LogManager.getLogger();
+    private final DynamoDBMapperTableModel<Book> tableModel;
+    private final BatchWriter batchWriter;
+    private final int maxThreads;
+    private final Path checkpointFile;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /**
+     * Instantiates a BookCatalogImport object.
+     *
+     * @param dynamoDBMapper the {@link DynamoDBMapper} used to convert books into items
+     * @param batchWriter the {@link BatchWriter} used to write the items
+     * @param maxThreads the most batches to write at once
+     * @param checkpointFile the file progress is saved to and resumed from, or null to always start over
+     */
+    public BookCatalogImport(DynamoDBMapper dynamoDBMapper, BatchWriter batchWriter, int maxThreads,
+                             Path checkpointFile) {
+        this.tableModel = dynamoDBMapper.getTableModel(Book.class);
+        this.batchWriter = batchWriter;
+        this.maxThreads = maxThreads;
+        this.checkpointFile = checkpointFile;
+    }
+
+    /**
+     * Loads the catalog file named by the first argument against the default region, checkpointing to the file
+     * named by the second argument, or to the catalog file name with ".checkpoint" appended.
+     *
+     * @param args the catalog file, and optionally the checkpoint file
+     * @throws IOException if the catalog cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: BookCatalogImport <catalog.json|catalog.ndjson> [checkpoint]");
+        }
+        Path catalog = Paths.get(args[0]);
+        Path checkpoint = Paths.get(args.length > 1 ? args[1] : args[0] + ".checkpoint");
+
+        AmazonDynamoDB amazonDynamoDB = DynamoDbClientProvider.getDynamoDBClient();
+        BookCatalogImport catalogImport = new BookCatalogImport(new DynamoDBMapper(amazonDynamoDB),
+                new BatchWriter(amazonDynamoDB, BatchWriter.DEFAULT_WRITE_CAPACITY_UNITS_PER_SECOND),
+                DEFAULT_THREADS, checkpoint);
+        try (InputStream in = Files.newInputStream(catalog)) {
+            catalogImport.run(in);
+        }
+    }
+
+    /**
+     * Writes every book in the catalog, resuming after the last checkpoint.
+     *
+     * @param catalog the catalog, as a JSON array or newline delimited JSON of books
+     * @return the number of books written by this run
+     */
+    public long run(InputStream catalog) {
+        long resumeFrom = readCheckpoint();
+        if (resumeFrom > 0) {
+            log.info("Resuming catalog import after {} books", resumeFrom);
+        }
+
+        Progress progress = new Progress(resumeFrom);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Semaphore inFlight = new Semaphore(maxThreads * 2);
+        ExecutorService executor = Executors.newFixedThreadPool(maxThreads);
+        long startNanos = System.nanoTime();
+
+        long position = 0;
+        try (MappingIterator<Book> books = objectMapper.readerFor(Book.class).readValues(catalog)) {
+            List<Map<String, AttributeValue>> batch = new ArrayList<>();
+            long batchStart = resumeFrom;
+            while (books.hasNextValue() && failure.get() == null) {
+                Book book = books.nextValue();
+                position++;
+                if (position <= resumeFrom) {
+                    continue;
+                }
+                batch.add(tableModel.convert(book));
+                if (batch.size() == BatchWriter.MAX_BATCH_SIZE) {
+                    submit(executor, inFlight, batch, batchStart, position, progress, failure);
+                    batch = new ArrayList<>();
+                    batchStart = position;
+                }
+            }
+            if (!batch.isEmpty() && failure.get() == null) {
+                submit(executor, inFlight, batch, batchStart, position, progress, failure);
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the catalog at book " + position, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BatchWriteException("Interrupted while importing the catalog", e);
+        } finally {
+            executor.shutdownNow();
+            writeCheckpoint(progress.watermark());
+        }
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        long written = progress.written.get();
+        double seconds = Math.max(1, System.nanoTime() - startNanos) / 1e9;
+        log.info("Imported {} books in {} s ({} books/s, {} retries)", written, String.format("%.1f", seconds),
+                String.format("%.0f", written / seconds), progress.retries.get());
+        return written;
+    }
+
+    /**
+     * Helper method handing a batch to the writers, waiting first if they are all busy.
+     */
+    private void submit(ExecutorService executor, Semaphore inFlight, List<Map<String, AttributeValue>> batch,
+                        long batchStart, long batchEnd, Progress progress,
+                        AtomicReference<RuntimeException> failure) throws InterruptedException {
+        inFlight.acquire();
+        executor.execute(() -> {
+            try {
+                progress.retries.addAndGet(batchWriter.write(Book.TABLE_NAME, batch));
+                long written = progress.written.addAndGet(batch.size());
+                long watermark = progress.completed(batchStart, batchEnd);
+                if (written / PROGRESS_INTERVAL_BOOKS != (written - batch.size()) / PROGRESS_INTERVAL_BOOKS) {
+                    log.info("Imported {} books, checkpointed through book {}", written, watermark);
+                    writeCheckpoint(watermark);
+                }
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private long readCheckpoint() {
+        if (checkpointFile == null || !Files.exists(checkpointFile)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(new String(Files.readAllBytes(checkpointFile), StandardCharsets.UTF_8).trim());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read checkpoint " + checkpointFile, e);
+        }
+    }
+
+    private synchronized void writeCheckpoint(long watermark) {
+        if (checkpointFile == null) {
+            return;
+        }
+        try {
+            Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+            Files.write(temp, String.valueOf(watermark).getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not save checkpoint {} to {}", watermark, checkpointFile, e);
+        }
+    }
+
+    /**
+     * Tracks how far the catalog has been written. Batches finish out of order, so the checkpoint only moves past
+     * a batch once every batch before it has finished too.
+     */
+    private static class Progress {
+        private final AtomicLong written = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private final Map<Long, Long> finishedBatches = new TreeMap<>();
+        private long watermark;
+
+        Progress(long watermark) {
+            this.watermark = watermark;
+        }
+
+        synchronized long completed(long batchStart, long batchEnd) {
+            finishedBatches.put(batchStart, batchEnd);
+            while (finishedBatches.containsKey(watermark)) {
+                watermark = finishedBatches.remove(watermark);
+            }
+            return watermark;
+        }
+
+        synchronized long watermark() {
+            return watermark;
+        }
+    }
+}
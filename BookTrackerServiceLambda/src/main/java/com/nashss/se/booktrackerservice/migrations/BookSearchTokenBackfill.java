@@ -0,0 +1,66 @@
+package com.nashss.se.booktrackerservice.migrations;
+
+import com.nashss.se.booktrackerservice.dynamodb.BookDao;
+import com.nashss.se.booktrackerservice.dynamodb.DynamoDbClientProvider;
+import com.nashss.se.booktrackerservice.dynamodb.ParallelScanner;
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One-off migration that writes BookSearchTokens postings for books saved before the search index existed.
+ * <p>
+ * {@code BookDao.searchBooks} only finds books through the index, so legacy books are unsearchable until this
+ * has been run. Postings are idempotent puts, so the migration is safe to re-run.
+ */
+public class BookSearchTokenBackfill {
+    private final Logger log = LogManager.getLogger();
+    private final ParallelScanner parallelScanner;
+    private final BookDao bookDao;
+
+    /**
+     * Instantiates a BookSearchTokenBackfill object.
+     *
+     * @param parallelScanner the {@link ParallelScanner} used to scan the books table
+     * @param bookDao the {@link BookDao} used to write the index
+     */
+    public BookSearchTokenBackfill(ParallelScanner parallelScanner, BookDao bookDao) {
+        this.parallelScanner = parallelScanner;
+        this.bookDao = bookDao;
+    }
+
+    /**
+     * Runs the backfill against the default region.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        DynamoDBMapper mapper = new DynamoDBMapper(DynamoDbClientProvider.getDynamoDBClient());
+        new BookSearchTokenBackfill(new ParallelScanner(mapper, ParallelScanner.DEFAULT_READ_CAPACITY_UNITS_PER_SECOND),
+                new BookDao(mapper)).run();
+    }
+
+    /**
+     * Indexes every book in the books table.
+     *
+     * @return the number of books indexed
+     */
+    public int run() {
+        AtomicInteger indexed = new AtomicInteger();
+        parallelScanner.scan(Book.class, DynamoDBScanExpression::new, books -> {
+            for (Book book : books) {
+                bookDao.indexBook(book);
+                indexed.incrementAndGet();
+            }
+        });
+
+        log.info("Indexed {} books into BookSearchTokens", indexed.get());
+        return indexed.get();
+    }
+}
@@ -0,0 +1,69 @@
+package com.nashss.se.booktrackerservice.migrations;
+
+import com.nashss.se.booktrackerservice.dynamodb.DynamoDbClientProvider;
+import com.nashss.se.booktrackerservice.dynamodb.ParallelScanner;
+import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One-off migration that stamps a creation time on booklists saved before the CustomerIdCreatedAtIndex existed.
+ * <p>
+ * DynamoDB leaves items without the index range key out of a GSI, so legacy booklists are invisible to
+ * {@code BooklistDao.getBooklistsForUser} until this has been run.
+ */
+public class BooklistCreatedAtBackfill {
+    private final Logger log = LogManager.getLogger();
+    private final DynamoDBMapper dynamoDBMapper;
+    private final ParallelScanner parallelScanner;
+
+    /**
+     * Instantiates a BooklistCreatedAtBackfill object.
+     *
+     * @param dynamoDBMapper the {@link DynamoDBMapper} used to interact with the booklists table
+     * @param parallelScanner the {@link ParallelScanner} used to scan the booklists table
+     */
+    public BooklistCreatedAtBackfill(DynamoDBMapper dynamoDBMapper, ParallelScanner parallelScanner) {
+        this.dynamoDBMapper = dynamoDBMapper;
+        this.parallelScanner = parallelScanner;
+    }
+
+    /**
+     * Runs the backfill against the default region.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        DynamoDBMapper mapper = new DynamoDBMapper(DynamoDbClientProvider.getDynamoDBClient());
+        new BooklistCreatedAtBackfill(mapper,
+                new ParallelScanner(mapper, ParallelScanner.DEFAULT_READ_CAPACITY_UNITS_PER_SECOND)).run();
+    }
+
+    /**
+     * Stamps every booklist that is missing a creation time with the current time.
+     *
+     * @return the number of booklists updated
+     */
+    public int run() {
+        long now = System.currentTimeMillis();
+        AtomicInteger updated = new AtomicInteger();
+        parallelScanner.scan(Booklist.class,
+            () -> new DynamoDBScanExpression().withFilterExpression("attribute_not_exists(createdAt)"),
+            legacyBooklists -> {
+                for (Booklist booklist : legacyBooklists) {
+                    booklist.setCreatedAt(now);
+                    dynamoDBMapper.save(booklist);
+                    updated.incrementAndGet();
+                }
+            });
+
+        log.info("Backfilled createdAt on {} booklists", updated.get());
+        return updated.get();
+    }
+}
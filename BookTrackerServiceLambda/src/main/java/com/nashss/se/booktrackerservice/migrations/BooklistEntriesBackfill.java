@@ -0,0 +1,103 @@
+package com.nashss.se.booktrackerservice.migrations;
+
+import com.nashss.se.booktrackerservice.converters.BooklistEntryConverter;
+import com.nashss.se.booktrackerservice.dynamodb.DynamoDbClientProvider;
+import com.nashss.se.booktrackerservice.dynamodb.ParallelScanner;
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.dynamodb.models.BooklistEntry;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One-off migration that moves the books embedded in each booklist's legacy {@code bookList} attribute into the
+ * BooklistEntries table.
+ * <p>
+ * Entries are written before the legacy attribute is removed, so an interrupted run can simply be re-run.
+ * Each entry's addedAt is offset from the booklist's creation time by its position, preserving the original order.
+ */
+public class BooklistEntriesBackfill {
+    private final Logger log = LogManager.getLogger();
+    private final DynamoDBMapper dynamoDBMapper;
+    private final ParallelScanner parallelScanner;
+
+    /**
+     * Instantiates a BooklistEntriesBackfill object.
+     *
+     * @param dynamoDBMapper the {@link DynamoDBMapper} used to interact with the booklists and entries tables
+     * @param parallelScanner the {@link ParallelScanner} used to scan the booklists table
+     */
+    public BooklistEntriesBackfill(DynamoDBMapper dynamoDBMapper, ParallelScanner parallelScanner) {
+        this.dynamoDBMapper = dynamoDBMapper;
+        this.parallelScanner = parallelScanner;
+    }
+
+    /**
+     * Runs the backfill against the default region.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        DynamoDBMapper mapper = new DynamoDBMapper(DynamoDbClientProvider.getDynamoDBClient());
+        new BooklistEntriesBackfill(mapper,
+                new ParallelScanner(mapper, ParallelScanner.DEFAULT_READ_CAPACITY_UNITS_PER_SECOND)).run();
+    }
+
+    /**
+     * Moves the embedded books of every booklist that still has them into BooklistEntries.
+     *
+     * @return the number of booklists migrated
+     */
+    public int run() {
+        AtomicInteger migrated = new AtomicInteger();
+        parallelScanner.scan(Booklist.class,
+            () -> new DynamoDBScanExpression().withFilterExpression("attribute_exists(bookList)"),
+            legacyBooklists -> {
+                for (Booklist booklist : legacyBooklists) {
+                    if (migrate(booklist)) {
+                        migrated.incrementAndGet();
+                    }
+                }
+            });
+
+        log.info("Moved books of {} booklists into BooklistEntries", migrated.get());
+        return migrated.get();
+    }
+
+    /**
+     * Helper method moving one booklist's embedded books into BooklistEntries.
+     */
+    private boolean migrate(Booklist booklist) {
+        BooklistEntryConverter entryConverter = new BooklistEntryConverter();
+        List<Book> books = booklist.getLegacyBooks() == null ? new ArrayList<>() : booklist.getLegacyBooks();
+        long firstAddedAt = booklist.getCreatedAt() == null ? System.currentTimeMillis() : booklist.getCreatedAt();
+
+        List<BooklistEntry> entries = new ArrayList<>();
+        Set<String> asins = new HashSet<>();
+        for (int i = 0; i < books.size(); i++) {
+            if (asins.add(books.get(i).getAsin())) {
+                entries.add(entryConverter.toBooklistEntry(booklist.getId(), books.get(i), firstAddedAt + i));
+            }
+        }
+        List<DynamoDBMapper.FailedBatch> failedBatches = dynamoDBMapper.batchSave(entries);
+        if (!failedBatches.isEmpty()) {
+            log.warn("Failed to write entries for booklist {}; leaving its bookList in place", booklist.getId());
+            return false;
+        }
+
+        booklist.setLegacyBooks(null);
+        booklist.setBookCount(entries.size());
+        dynamoDBMapper.save(booklist);
+        return true;
+    }
+}
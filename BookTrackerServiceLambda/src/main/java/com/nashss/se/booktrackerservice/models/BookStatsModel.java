@@ -0,0 +1,103 @@
+package com.nashss.se.booktrackerservice.models;
+
+import java.util.Objects;
+
+public class BookStatsModel {
+    private final String asin;
+    private final long commentCount;
+    private final long ratingCount;
+    private final Double averageRating;
+    private final long activeReaders;
+
+    private BookStatsModel(String asin, long commentCount, long ratingCount, Double averageRating,
+                           long activeReaders) {
+        this.asin = asin;
+        this.commentCount = commentCount;
+        this.ratingCount = ratingCount;
+        this.averageRating = averageRating;
+        this.activeReaders = activeReaders;
+    }
+
+    public String getAsin() {
+        return asin;
+    }
+
+    public long getCommentCount() {
+        return commentCount;
+    }
+
+    public long getRatingCount() {
+        return ratingCount;
+    }
+
+    public Double getAverageRating() {
+        return averageRating;
+    }
+
+    public long getActiveReaders() {
+        return activeReaders;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BookStatsModel that = (BookStatsModel) o;
+        return commentCount == that.commentCount &&
+                ratingCount == that.ratingCount &&
+                activeReaders == that.activeReaders &&
+                Objects.equals(asin, that.asin) &&
+                Objects.equals(averageRating, that.averageRating);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(asin, commentCount, ratingCount, averageRating, activeReaders);
+    }
+
+    //CHECKSTYLE:OFF:Builder
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private String asin;
+        private long commentCount;
+        private long ratingCount;
+        private Double averageRating;
+        private long activeReaders;
+
+        public Builder withAsin(String asin) {
+            this.asin = asin;
+            return this;
+        }
+
+        public Builder withCommentCount(long commentCount) {
+            this.commentCount = commentCount;
+            return this;
+        }
+
+        public Builder withRatingCount(long ratingCount) {
+            this.ratingCount = ratingCount;
+            return this;
+        }
+
+        public Builder withAverageRating(Double averageRating) {
+            this.averageRating = averageRating;
+            return this;
+        }
+
+        public Builder withActiveReaders(long activeReaders) {
+            this.activeReaders = activeReaders;
+            return this;
+        }
+
+        public BookStatsModel build() {
+            return new BookStatsModel(asin, commentCount, ratingCount, averageRating, activeReaders);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.nashss.se.booktrackerservice.models;
+
+import java.util.List;
+import java.util.Objects;
+
+import static com.nashss.se.booktrackerservice.utils.CollectionUtils.copyToList;
+
+public class BooklistSummaryModel {
+    private final String id;
+    private final String name;
+    private final String customerId;
+    private final int bookCount;
+    private final List<String> tags;
+
+    private BooklistSummaryModel(String id, String name, String customerId, int bookCount, List<String> tags) {
+        this.id = id;
+        this.name = name;
+        this.customerId = customerId;
+        this.bookCount = bookCount;
+        this.tags = tags;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public int getBookCount() {
+        return bookCount;
+    }
+
+    public List<String> getTags() {
+        return copyToList(tags);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BooklistSummaryModel that = (BooklistSummaryModel) o;
+        return bookCount == that.bookCount &&
+                Objects.equals(id, that.id) &&
+                Objects.equals(name, that.name) &&
+                Objects.equals(customerId, that.customerId) &&
+                Objects.equals(tags, that.tags);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, customerId, bookCount, tags);
+    }
+
+    //CHECKSTYLE:OFF:Builder
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private String id;
+        private String name;
+        private String customerId;
+        private int bookCount;
+        private List<String> tags;
+
+        public Builder withId(String id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder withName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder withCustomerId(String customerId) {
+            this.customerId = customerId;
+            return this;
+        }
+
+        public Builder withBookCount(int bookCount) {
+            this.bookCount = bookCount;
+            return this;
+        }
+
+        public Builder withTags(List<String> tags) {
+            this.tags = copyToList(tags);
+            return this;
+        }
+
+        public BooklistSummaryModel build() {
+            return new BooklistSummaryModel(id, name, customerId, bookCount, tags);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.nashss.se.booktrackerservice.utils;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.google.common.base.Ticker;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The time by which the current request must be answered. LambdaActivityRunner derives it from the Lambda
+ * {@link Context} and makes it current on the invocation's thread, where the DynamoDB and Google Books clients read it
+ * to cap their timeouts, so a slow downstream call gives up in time for the activity to return what it has.
+ * <p>
+ * Work handed to another thread does not see the deadline unless it is run through {@link #call(Supplier)}.
+ */
+public final class Deadline {
+    public static final long RESPONSE_RESERVE_MILLIS = 250;
+
+    private static final Deadline NONE = new Deadline(false, 0, Ticker.systemTicker());
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final boolean bounded;
+    private final long expiresAtNanos;
+    private final Ticker ticker;
+
+    private Deadline(boolean bounded, long expiresAtNanos, Ticker ticker) {
+        this.bounded = bounded;
+        this.expiresAtNanos = expiresAtNanos;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Returns a deadline that never expires, for work outside of a Lambda invocation.
+     * @return The unbounded deadline.
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    /**
+     * Returns a deadline the given time from now.
+     * @param millis The time allowed, in milliseconds.
+     * @return The deadline.
+     */
+    public static Deadline afterMillis(long millis) {
+        return afterMillis(millis, Ticker.systemTicker());
+    }
+
+    /**
+     * Returns a deadline the given time from now, as read from the given ticker.
+     * @param millis The time allowed, in milliseconds.
+     * @param ticker The source of time.
+     * @return The deadline.
+     */
+    static Deadline afterMillis(long millis, Ticker ticker) {
+        return new Deadline(true, ticker.read() + TimeUnit.MILLISECONDS.toNanos(millis), ticker);
+    }
+
+    /**
+     * Returns the deadline for a Lambda invocation: the time it has left, less RESPONSE_RESERVE_MILLIS for returning
+     * the response.
+     * @param context The invocation's context, or null outside of Lambda.
+     * @return The deadline, or the unbounded deadline when there is no context.
+     */
+    public static Deadline fromContext(Context context) {
+        if (context == null) {
+            return NONE;
+        }
+        return afterMillis(context.getRemainingTimeInMillis() - RESPONSE_RESERVE_MILLIS);
+    }
+
+    /**
+     * Returns the deadline of the work running on this thread.
+     * @return The current deadline, or the unbounded deadline when none was set.
+     */
+    public static Deadline current() {
+        return NullUtils.ifNull(CURRENT.get(), NONE);
+    }
+
+    /**
+     * Runs the supplier with this deadline current on the calling thread, restoring the previous one afterwards.
+     * @param supplier The work to run.
+     * @param <T> The result type.
+     * @return The supplier's result.
+     */
+    public <T> T call(Supplier<T> supplier) {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return supplier.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Returns whether this deadline can expire.
+     * @return false for the unbounded deadline.
+     */
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /**
+     * Returns the time left before this deadline.
+     * @return The time left in milliseconds, never negative, or Long.MAX_VALUE for the unbounded deadline.
+     */
+    public long remainingMillis() {
+        if (!bounded) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - ticker.read()));
+    }
+
+    /**
+     * Returns whether this deadline has passed.
+     * @return true once no time is left.
+     */
+    public boolean isExpired() {
+        return remainingMillis() == 0;
+    }
+
+    /**
+     * Caps a downstream timeout to the time left, so the call cannot outlive the request.
+     * @param timeoutMillis The timeout the call would otherwise use, in milliseconds.
+     * @return The smaller of the timeout and the time left, and at least 1 so the call fails rather than waiting
+     *     forever on a zero timeout.
+     */
+    public int capTimeoutMillis(int timeoutMillis) {
+        return (int) Math.max(1, Math.min(timeoutMillis, remainingMillis()));
+    }
+}
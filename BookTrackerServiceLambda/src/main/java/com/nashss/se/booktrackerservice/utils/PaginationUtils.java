@@ -0,0 +1,45 @@
+package com.nashss.se.booktrackerservice.utils;
+
+import com.nashss.se.booktrackerservice.exceptions.InvalidAttributeValueException;
+
+/**
+ * Various utilities for paginated API requests.
+ */
+public class PaginationUtils {
+    public static final int DEFAULT_LIMIT = 25;
+    public static final int MAX_LIMIT = 100;
+
+    private PaginationUtils() { }
+
+    /**
+     * Parses a page size supplied as a query string parameter.
+     * @param limit The raw limit, which may be null.
+     * @return The parsed limit, or null if none was supplied.
+     */
+    public static Integer parseLimit(String limit) {
+        if (limit == null || limit.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(limit.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidAttributeValueException(String.format("Invalid limit: '%s'", limit), e);
+        }
+    }
+
+    /**
+     * Computes the page size to use for a request, applying the default when none was requested.
+     * @param limit The requested limit, which may be null.
+     * @return The page size, between 1 and MAX_LIMIT.
+     */
+    public static int computeLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidAttributeValueException(
+                    String.format("Limit must be between 1 and %d, but was %d", MAX_LIMIT, limit));
+        }
+        return limit;
+    }
+}
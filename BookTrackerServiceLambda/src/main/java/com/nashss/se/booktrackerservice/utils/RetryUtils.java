@@ -0,0 +1,23 @@
+package com.nashss.se.booktrackerservice.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Various utilities for spacing out retries.
+ */
+public class RetryUtils {
+
+    private RetryUtils() { }
+
+    /**
+     * Computes a full jitter backoff: a random wait between zero and the capped exponential delay.
+     * @param attempt The number of the attempt that just failed, starting at 1.
+     * @param baseDelayMillis The longest wait after the first attempt.
+     * @param maxDelayMillis The longest wait after any attempt.
+     * @return The time to wait, in milliseconds.
+     */
+    public static long backoffMillis(int attempt, long baseDelayMillis, long maxDelayMillis) {
+        long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
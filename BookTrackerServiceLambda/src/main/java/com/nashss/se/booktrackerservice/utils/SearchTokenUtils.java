@@ -0,0 +1,63 @@
+package com.nashss.se.booktrackerservice.utils;
+
+import java.text.Normalizer;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Various utilities for building and querying the book search token index.
+ */
+public class SearchTokenUtils {
+    /**
+     * Shortest prefix of a token that is indexed, so that partially typed words still match.
+     */
+    public static final int MIN_PREFIX_LENGTH = 3;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    private SearchTokenUtils() { }
+
+    /**
+     * Splits the given values into normalized tokens: lower case, accents removed, split on anything that is not
+     * a letter or digit. Null values are ignored.
+     * @param values The values to tokenize.
+     * @return The distinct tokens found in the values.
+     */
+    public static Set<String> tokenize(String... values) {
+        Set<String> tokens = new HashSet<>();
+        for (String value : values) {
+            if (value == null) {
+                continue;
+            }
+            String normalized = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD))
+                    .replaceAll("")
+                    .toLowerCase(Locale.ROOT);
+            for (String token : NON_ALPHANUMERIC.split(normalized)) {
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Computes the terms to write to the index for the given values: every token, plus every prefix of it that is
+     * at least MIN_PREFIX_LENGTH characters long.
+     * @param values The values to index.
+     * @return The distinct index terms for the values.
+     */
+    public static Set<String> indexTerms(String... values) {
+        Set<String> terms = new HashSet<>();
+        for (String token : tokenize(values)) {
+            terms.add(token);
+            for (int length = MIN_PREFIX_LENGTH; length < token.length(); length++) {
+                terms.add(token.substring(0, length));
+            }
+        }
+        return terms;
+    }
+}
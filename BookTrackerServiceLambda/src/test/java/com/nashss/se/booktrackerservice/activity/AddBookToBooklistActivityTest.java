@@ -5,18 +5,35 @@ import com.nashss.se.booktrackerservice.activity.results.AddBookToBooklistResult
 import com.nashss.se.booktrackerservice.converters.ModelConverterCarbon;
 import com.nashss.se.booktrackerservice.dynamodb.BookDao;
 import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
+import com.nashss.se.booktrackerservice.dynamodb.BooklistEntryDao;
+import com.nashss.se.booktrackerservice.dynamodb.GoogleBooksCacheDao;
+import com.nashss.se.booktrackerservice.dynamodb.ReadingStateDao;
 import com.nashss.se.booktrackerservice.dynamodb.models.Book;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.dynamodb.models.BooklistEntry;
 import com.nashss.se.booktrackerservice.exceptions.*;
+import com.nashss.se.booktrackerservice.googlebookapi.GoogleBooksQueryCache;
+import com.nashss.se.booktrackerservice.googlebookapi.Request;
 import com.nashss.se.booktrackerservice.models.BookModel;
 import com.nashss.se.booktrackerservice.test.helper.BookTestHelper;
 import com.nashss.se.booktrackerservice.test.helper.BooklistTestHelper;
+import com.nashss.se.booktrackerservice.utils.PaginationUtils;
+import com.google.api.services.books.v1.model.Volume;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.openMocks;
 
@@ -27,13 +44,21 @@ public class AddBookToBooklistActivityTest {
     @Mock
     private BookDao bookDao;
 
+    @Mock
+    private BooklistEntryDao booklistEntryDao;
+    @Mock
+    private ReadingStateDao readingStateDao;
+    @Mock
+    private GoogleBooksCacheDao googleBooksCacheDao;
+
     private AddBookToBooklistActivity addBookToBooklistActivity;
     private ModelConverterCarbon modelConverter;
 
     @BeforeEach
     void setup() {
         openMocks(this);
-        this.addBookToBooklistActivity = new AddBookToBooklistActivity(booklistDao, bookDao);
+        this.addBookToBooklistActivity = new AddBookToBooklistActivity(booklistDao, bookDao, booklistEntryDao,
+                readingStateDao, new GoogleBooksQueryCache(googleBooksCacheDao, null), new Request());
         this.modelConverter = new ModelConverterCarbon();
     }
 
@@ -60,9 +85,11 @@ public class AddBookToBooklistActivityTest {
         Book existingBookInBooklist = BookTestHelper.generateBook(1);
 
         when(booklistDao.getBooklist(booklistId)).thenReturn(originalBooklist);
-        when(booklistDao.saveBooklist(originalBooklist)).thenReturn(originalBooklist);
         when(bookDao.getBook(addedAsin)).thenReturn(bookToAdd);
         when(bookDao.getBook(existingAsin)).thenReturn(existingBookInBooklist);
+        List<Book> booksAfterAdd = new ArrayList<>(originalBooklist.getBooks());
+        booksAfterAdd.add(bookToAdd);
+        mockFirstPage(booklistId, BooklistTestHelper.generateEntries(booklistId, booksAfterAdd));
 
         AddBookToBooklistRequest request = AddBookToBooklistRequest.builder()
                 .withAsin(addedAsin)
@@ -74,13 +101,41 @@ public class AddBookToBooklistActivityTest {
         AddBookToBooklistResult result = addBookToBooklistActivity.handleRequest(request);
 
         // THEN
-        verify(booklistDao).saveBooklist(originalBooklist);
+        ArgumentCaptor<BooklistEntry> entryCaptor = ArgumentCaptor.forClass(BooklistEntry.class);
+        verify(booklistDao).addBookToBooklist(entryCaptor.capture(), isNull());
+        assertEquals(booklistId, entryCaptor.getValue().getBooklistId());
+        assertEquals(addedAsin, entryCaptor.getValue().getAsin());
+        assertEquals(0, entryCaptor.getValue().getPercentComplete());
+        verify(booklistDao, never()).saveBooklist(any(Booklist.class));
+        verify(bookDao, never()).indexBook(any(Book.class));
+        verify(booklistEntryDao, never()).getAllEntries(anyString());
 
         assertEquals(2, result.getBookList().size());
+        assertNull(result.getNextToken());
         BookModel secondBook = result.getBookList().get(1);
         BookTestHelper.assertBookEqualsBookModel(bookToAdd, secondBook);
     }
 
+    @Test
+    public void handleRequest_bookAlreadyInBooklist_throwsDuplicateBookException() {
+        // GIVEN
+        Booklist booklist = BooklistTestHelper.generateBooklist();
+        Book existingBook = booklist.getBooks().get(0);
+        AddBookToBooklistRequest request = AddBookToBooklistRequest.builder()
+                .withId(booklist.getId())
+                .withAsin(existingBook.getAsin())
+                .withCustomerId(booklist.getCustomerId())
+                .build();
+
+        when(booklistDao.getBooklist(booklist.getId())).thenReturn(booklist);
+        when(bookDao.getBook(existingBook.getAsin())).thenReturn(existingBook);
+        doThrow(new DuplicateBookException()).when(booklistDao).addBookToBooklist(any(BooklistEntry.class), any());
+
+        // WHEN + THEN
+        assertThrows(DuplicateBookException.class, () -> addBookToBooklistActivity.handleRequest(request));
+        verify(booklistEntryDao, never()).getAllEntries(anyString());
+    }
+
     @Test
     public void handleRequest_noMatchingBooklistId_throwsBooklistNotFoundException() {
         // GIVEN
@@ -118,6 +173,69 @@ public class AddBookToBooklistActivityTest {
         assertThrows(BookNotFoundException.class, () -> addBookToBooklistActivity.handleRequest(request));
     }
 
+    @Test
+    public void handleRequest_recentlyUnresolvableSearchTerm_throwsBookNotFoundExceptionWithoutSearching() {
+        // GIVEN - A search term that recently matched nothing in the catalog or the Google Book API
+        Booklist booklist = BooklistTestHelper.generateBooklist();
+        String searchTerm = "no such book";
+        AddBookToBooklistRequest request = AddBookToBooklistRequest.builder()
+                .withId(booklist.getId())
+                .withAsin(searchTerm)
+                .withCustomerId(booklist.getCustomerId())
+                .build();
+
+        when(booklistDao.getBooklist(booklist.getId())).thenReturn(booklist);
+        when(bookDao.isUnresolvable(searchTerm)).thenReturn(true);
+
+        // WHEN & THEN - The request fails fast and nothing is written
+        assertThrows(BookNotFoundException.class, () -> addBookToBooklistActivity.handleRequest(request));
+        verify(bookDao, never()).markUnresolvable(any());
+        verify(booklistDao, never()).addBookToBooklist(any(), any());
+    }
+
+    @Test
+    public void handleRequest_searchResultSavedByAnotherContainer_addsStoredBookWithoutOverwritingIt() throws Exception {
+        // GIVEN - Google finds a book the catalog filter has not seen, but another container saved it already
+        Booklist booklist = BooklistTestHelper.generateBooklist();
+        String booklistId = booklist.getId();
+        String searchTerm = "the hobbit";
+        String foundAsin = "9780261103344";
+        GoogleBooksQueryCache googleBooksQueryCache = mock(GoogleBooksQueryCache.class);
+        addBookToBooklistActivity = new AddBookToBooklistActivity(booklistDao, bookDao, booklistEntryDao,
+                readingStateDao, googleBooksQueryCache, new Request());
+        Volume volume = new Volume().setVolumeInfo(new Volume.VolumeInfo()
+                .setTitle("The Hobbit")
+                .setIndustryIdentifiers(List.of(new Volume.VolumeInfo.IndustryIdentifiers()
+                        .setIdentifier(foundAsin))));
+        Book storedBook = BookTestHelper.generateBook(2);
+        storedBook.setAsin(foundAsin);
+
+        when(booklistDao.getBooklist(booklistId)).thenReturn(booklist);
+        when(googleBooksQueryCache.queryBooks(eq(searchTerm), anyLong(), any())).thenReturn(List.of(volume));
+        when(bookDao.findCatalogBook(foundAsin)).thenReturn(null);
+        doThrow(new CatalogBookExistsException()).when(booklistDao)
+                .addBookToBooklist(any(BooklistEntry.class), any(Book.class));
+        when(bookDao.reloadBook(foundAsin)).thenReturn(storedBook);
+        mockFirstPage(booklistId, BooklistTestHelper.generateEntries(booklistId, List.of(storedBook)));
+
+        AddBookToBooklistRequest request = AddBookToBooklistRequest.builder()
+                .withAsin(searchTerm)
+                .withId(booklistId)
+                .withCustomerId(booklist.getCustomerId())
+                .build();
+
+        // WHEN
+        AddBookToBooklistResult result = addBookToBooklistActivity.handleRequest(request);
+
+        // THEN - The stored book is added on the retry, without a catalog write, and is not re-indexed
+        ArgumentCaptor<BooklistEntry> entryCaptor = ArgumentCaptor.forClass(BooklistEntry.class);
+        verify(booklistDao).addBookToBooklist(entryCaptor.capture(), isNull());
+        assertEquals(foundAsin, entryCaptor.getValue().getAsin());
+        assertEquals(storedBook.getTitle(), entryCaptor.getValue().getTitle());
+        verify(bookDao, never()).indexBook(any(Book.class));
+        BookTestHelper.assertBookEqualsBookModel(storedBook, result.getBookList().get(0));
+    }
+
     @Test
     public void handleRequest_similarSearches_returnSameBookFromAPI() {
         // GIVEN - A booklist and two requests with similar search terms to query to the Google Book API
@@ -136,12 +254,11 @@ public class AddBookToBooklistActivityTest {
                 .build();
 
         when(booklistDao.getBooklist(booklistId)).thenReturn(booklist);
-        when(booklistDao.saveBooklist(booklist)).thenReturn(booklist);
 
         // WHEN - Calling handleRequest() with both requests
         AddBookToBooklistResult result = addBookToBooklistActivity.handleRequest(request);
 
-        verify(booklistDao).saveBooklist(booklist);
+        verify(booklistDao).addBookToBooklist(any(BooklistEntry.class), any(Book.class));
 
         // Other
         AddBookToBooklistRequest request2 = AddBookToBooklistRequest.builder()
@@ -178,15 +295,16 @@ public class AddBookToBooklistActivityTest {
                 .build();
 
         when(booklistDao.getBooklist(booklistId)).thenReturn(booklist);
-        when(booklistDao.saveBooklist(booklist)).thenReturn(booklist);
         when(bookDao.getBook(request.getAsin())).thenReturn(book);
+        List<Book> booksAfterAdd = new ArrayList<>(booklist.getBooks());
+        booksAfterAdd.add(book);
+        mockFirstPage(booklistId, BooklistTestHelper.generateEntries(booklistId, booksAfterAdd));
 
         // WHEN - Calling handleRequest() with the request
         AddBookToBooklistResult result = addBookToBooklistActivity.handleRequest(request);
 
 
-        verify(booklistDao).saveBooklist(booklist);
-        verify(booklistDao).saveBooklist(booklist);
+        verify(booklistDao).addBookToBooklist(any(BooklistEntry.class), isNull());
         verify(bookDao).getBook(request.getAsin());
 
         // THEN - The existing book in DynamoDB will be returned instead of pinging the Google Book API.
@@ -210,14 +328,13 @@ public class AddBookToBooklistActivityTest {
                 .build();
 
         when(booklistDao.getBooklist(booklistId)).thenReturn(booklist);
-        when(booklistDao.saveBooklist(booklist)).thenReturn(booklist);
 
         // WHEN - Calling handleRequest() with the request
         AddBookToBooklistResult result = addBookToBooklistActivity.handleRequest(request);
 
         // THEN - The book created from deserializing Google Book API response is saved
-        verify(booklistDao).saveBooklist(booklist);
-        assertEquals(2, booklist.getBookCount());
+        verify(booklistDao).addBookToBooklist(any(BooklistEntry.class), any(Book.class));
+        verify(bookDao).indexBook(any(Book.class));
     }
 
     @Test
@@ -259,4 +376,10 @@ public class AddBookToBooklistActivityTest {
 
         assertThrows(GoogleBookAPISearchException.class, () -> addBookToBooklistActivity.handleRequest(request));
     }
+
+    private void mockFirstPage(String booklistId, List<BooklistEntry> entries) {
+        QueryResultPage<BooklistEntry> page = new QueryResultPage<>();
+        page.setResults(entries);
+        when(booklistEntryDao.getEntries(booklistId, true, PaginationUtils.DEFAULT_LIMIT, null)).thenReturn(page);
+    }
 }
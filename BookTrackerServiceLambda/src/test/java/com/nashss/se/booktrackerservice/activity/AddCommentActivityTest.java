@@ -0,0 +1,142 @@
+package com.nashss.se.booktrackerservice.activity;
+
+import com.nashss.se.booktrackerservice.activity.requests.AddCommentRequest;
+import com.nashss.se.booktrackerservice.activity.results.AddCommentResult;
+import com.nashss.se.booktrackerservice.dynamodb.CommentDao;
+import com.nashss.se.booktrackerservice.dynamodb.ReadingStateDao;
+import com.nashss.se.booktrackerservice.dynamodb.models.Comment;
+import com.nashss.se.booktrackerservice.dynamodb.models.ReadingState;
+import com.nashss.se.booktrackerservice.exceptions.InvalidAttributeValueException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class AddCommentActivityTest {
+    private static final String ASIN = "asin";
+    private static final String CUSTOMER_ID = "reader@example.com";
+
+    @Mock
+    private CommentDao commentDao;
+    @Mock
+    private ReadingStateDao readingStateDao;
+
+    private AddCommentActivity addCommentActivity;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        addCommentActivity = new AddCommentActivity(commentDao, readingStateDao);
+    }
+
+    @Test
+    public void handleRequest_noProgressGiven_tagsCommentWithStoredProgress() {
+        // GIVEN
+        ReadingState readingState = new ReadingState();
+        readingState.setPercentComplete(60);
+        when(readingStateDao.getReadingState(CUSTOMER_ID, ASIN)).thenReturn(readingState);
+        when(commentDao.saveCommentForBook(ASIN, CUSTOMER_ID, 60, "Loved it")).thenReturn(comment(60, "Loved it"));
+
+        // WHEN
+        AddCommentResult result = addCommentActivity.handleRequest(request(" Loved it ", null));
+
+        // THEN
+        assertEquals(60, result.getComment().getPercentComplete());
+        assertEquals("Loved it", result.getComment().getCommentText());
+    }
+
+    @Test
+    public void handleRequest_noKnownProgress_tagsCommentAsFinished() {
+        // GIVEN
+        when(commentDao.saveCommentForBook(ASIN, CUSTOMER_ID, 100, "Loved it")).thenReturn(comment(100, "Loved it"));
+
+        // WHEN
+        AddCommentResult result = addCommentActivity.handleRequest(request("Loved it", null));
+
+        // THEN
+        assertEquals(100, result.getComment().getPercentComplete());
+    }
+
+    @Test
+    public void handleRequest_progressGivenAheadOfStoredProgress_usesIt() {
+        // GIVEN
+        ReadingState readingState = new ReadingState();
+        readingState.setPercentComplete(10);
+        when(readingStateDao.getReadingState(CUSTOMER_ID, ASIN)).thenReturn(readingState);
+        when(commentDao.saveCommentForBook(ASIN, CUSTOMER_ID, 20, "Slow start")).thenReturn(comment(20, "Slow start"));
+
+        // WHEN
+        addCommentActivity.handleRequest(request("Slow start", 20));
+
+        // THEN
+        verify(commentDao).saveCommentForBook(ASIN, CUSTOMER_ID, 20, "Slow start");
+    }
+
+    @Test
+    public void handleRequest_progressGivenBehindStoredProgress_tagsCommentWithStoredProgress() {
+        // GIVEN
+        ReadingState readingState = new ReadingState();
+        readingState.setPercentComplete(80);
+        when(readingStateDao.getReadingState(CUSTOMER_ID, ASIN)).thenReturn(readingState);
+        when(commentDao.saveCommentForBook(ASIN, CUSTOMER_ID, 80, "Twist!")).thenReturn(comment(80, "Twist!"));
+
+        // WHEN
+        AddCommentResult result = addCommentActivity.handleRequest(request("Twist!", 5));
+
+        // THEN
+        verify(commentDao).saveCommentForBook(ASIN, CUSTOMER_ID, 80, "Twist!");
+        assertEquals(80, result.getComment().getPercentComplete());
+    }
+
+    @Test
+    public void handleRequest_progressGivenWithoutStoredProgress_usesIt() {
+        // GIVEN
+        when(commentDao.saveCommentForBook(ASIN, CUSTOMER_ID, 20, "Slow start")).thenReturn(comment(20, "Slow start"));
+
+        // WHEN
+        addCommentActivity.handleRequest(request("Slow start", 20));
+
+        // THEN
+        verify(commentDao).saveCommentForBook(ASIN, CUSTOMER_ID, 20, "Slow start");
+    }
+
+    @Test
+    public void handleRequest_blankText_throwsInvalidAttributeValueException() {
+        assertThrows(InvalidAttributeValueException.class, () -> addCommentActivity.handleRequest(request(" ", 10)));
+        verify(commentDao, never()).saveCommentForBook(anyString(), anyString(), anyInt(), anyString());
+    }
+
+    @Test
+    public void handleRequest_progressOutOfRange_throwsInvalidAttributeValueException() {
+        assertThrows(InvalidAttributeValueException.class, () -> addCommentActivity.handleRequest(request("Hi", 101)));
+        verify(commentDao, never()).saveCommentForBook(anyString(), anyString(), anyInt(), anyString());
+    }
+
+    private static AddCommentRequest request(String commentText, Integer percentComplete) {
+        return AddCommentRequest.builder()
+                .withAsin(ASIN)
+                .withCustomerId(CUSTOMER_ID)
+                .withCommentText(commentText)
+                .withPercentComplete(percentComplete)
+                .build();
+    }
+
+    private static Comment comment(int percentComplete, String commentText) {
+        Comment comment = new Comment();
+        comment.setCommentId("commentId");
+        comment.setAsin(ASIN);
+        comment.setCustomerId(CUSTOMER_ID);
+        comment.setPercentComplete(percentComplete);
+        comment.setCommentText(commentText);
+        return comment;
+    }
+}
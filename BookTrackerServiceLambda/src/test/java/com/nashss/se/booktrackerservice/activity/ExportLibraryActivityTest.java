@@ -0,0 +1,163 @@
+package com.nashss.se.booktrackerservice.activity;
+
+import com.nashss.se.booktrackerservice.activity.requests.ExportLibraryRequest;
+import com.nashss.se.booktrackerservice.activity.results.ExportLibraryResult;
+import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
+import com.nashss.se.booktrackerservice.dynamodb.BooklistEntryDao;
+import com.nashss.se.booktrackerservice.dynamodb.ReadingStateDao;
+import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.dynamodb.models.BooklistEntry;
+import com.nashss.se.booktrackerservice.export.ExportSink;
+import com.nashss.se.booktrackerservice.export.ExportStream;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ExportLibraryActivityTest {
+    private static final String CUSTOMER_ID = "reader@example.com";
+
+    @Mock
+    private BooklistDao booklistDao;
+    @Mock
+    private BooklistEntryDao booklistEntryDao;
+    @Mock
+    private ReadingStateDao readingStateDao;
+
+    private InMemorySink sink;
+    private ExportLibraryActivity exportLibraryActivity;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        sink = new InMemorySink();
+        exportLibraryActivity = new ExportLibraryActivity(booklistDao, booklistEntryDao, readingStateDao, sink);
+        when(readingStateDao.getReadingStates(eq(CUSTOMER_ID), any())).thenReturn(Map.of());
+    }
+
+    @Test
+    public void handleRequest_pagedBooklistsAndEntries_writesOneLinePerBook() throws Exception {
+        // GIVEN
+        Map<String, AttributeValue> booklistKey = Map.of("id", new AttributeValue().withS("list1"));
+        when(booklistDao.getBooklistsForUser(CUSTOMER_ID, ExportLibraryActivity.PAGE_SIZE, null))
+                .thenReturn(page(List.of(booklist("list1", "Summer")), booklistKey));
+        when(booklistDao.getBooklistsForUser(CUSTOMER_ID, ExportLibraryActivity.PAGE_SIZE, booklistKey))
+                .thenReturn(page(List.of(booklist("list2", "Winter")), null));
+
+        Map<String, AttributeValue> entryKey = Map.of("asin", new AttributeValue().withS("a2"));
+        when(booklistEntryDao.getEntries("list1", true, ExportLibraryActivity.PAGE_SIZE, null))
+                .thenReturn(page(List.of(entry("list1", "a1"), entry("list1", "a2")), entryKey));
+        when(booklistEntryDao.getEntries("list1", true, ExportLibraryActivity.PAGE_SIZE, entryKey))
+                .thenReturn(page(List.of(entry("list1", "a3")), null));
+        when(booklistEntryDao.getEntries(eq("list2"), eq(true), eq(ExportLibraryActivity.PAGE_SIZE), isNull()))
+                .thenReturn(page(List.of(entry("list2", "a4")), null));
+
+        // WHEN
+        ExportLibraryResult result = exportLibraryActivity.handleRequest(ExportLibraryRequest.builder()
+                .withCustomerId(CUSTOMER_ID)
+                .build());
+
+        // THEN
+        assertEquals(2, result.getBooklistCount());
+        assertEquals(4, result.getBookCount());
+        assertTrue(result.getLocation().startsWith("memory:exports/" + CUSTOMER_ID + "/library-"));
+
+        String[] lines = sink.committed.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, lines.length);
+        ObjectMapper mapper = new ObjectMapper();
+        List<String> asins = new ArrayList<>();
+        for (String line : lines) {
+            asins.add(mapper.readTree(line).get("book").get("asin").asText());
+        }
+        assertEquals(List.of("a1", "a2", "a3", "a4"), asins);
+        JsonNode last = mapper.readTree(lines[3]);
+        assertEquals("list2", last.get("booklistId").asText());
+        assertEquals("Winter", last.get("booklistName").asText());
+    }
+
+    @Test
+    public void handleRequest_readFails_discardsExport() {
+        // GIVEN
+        when(booklistDao.getBooklistsForUser(CUSTOMER_ID, ExportLibraryActivity.PAGE_SIZE, null))
+                .thenReturn(page(List.of(booklist("list1", "Summer")), null));
+        when(booklistEntryDao.getEntries(anyString(), eq(true), eq(ExportLibraryActivity.PAGE_SIZE), any()))
+                .thenThrow(new IllegalStateException("throttled"));
+
+        // WHEN & THEN
+        assertThrows(IllegalStateException.class, () -> exportLibraryActivity.handleRequest(
+                ExportLibraryRequest.builder().withCustomerId(CUSTOMER_ID).build()));
+        assertTrue(sink.discarded);
+        assertFalse(sink.committed.size() > 0);
+    }
+
+    private static <T> QueryResultPage<T> page(List<T> results, Map<String, AttributeValue> lastEvaluatedKey) {
+        QueryResultPage<T> page = new QueryResultPage<>();
+        page.setResults(results);
+        page.setLastEvaluatedKey(lastEvaluatedKey);
+        return page;
+    }
+
+    private static Booklist booklist(String id, String name) {
+        Booklist booklist = new Booklist();
+        booklist.setId(id);
+        booklist.setName(name);
+        booklist.setCustomerId(CUSTOMER_ID);
+        return booklist;
+    }
+
+    private static BooklistEntry entry(String booklistId, String asin) {
+        BooklistEntry entry = new BooklistEntry();
+        entry.setBooklistId(booklistId);
+        entry.setAsin(asin);
+        entry.setTitle("Title " + asin);
+        return entry;
+    }
+
+    private static class InMemorySink implements ExportSink {
+        private final ByteArrayOutputStream committed = new ByteArrayOutputStream();
+        private boolean discarded;
+
+        @Override
+        public ExportStream open(String name) {
+            ByteArrayOutputStream pending = new ByteArrayOutputStream();
+            return new ExportStream() {
+                @Override
+                public void write(int b) {
+                    pending.write(b);
+                }
+
+                @Override
+                protected String publish() {
+                    committed.writeBytes(pending.toByteArray());
+                    return "memory:" + name;
+                }
+
+                @Override
+                protected void discard() {
+                    discarded = true;
+                }
+            };
+        }
+    }
+}
@@ -2,16 +2,27 @@ package com.nashss.se.booktrackerservice.activity;
 
 import com.nashss.se.booktrackerservice.activity.requests.GetBookFromBooklistRequest;
 import com.nashss.se.booktrackerservice.activity.results.GetBookFromBooklistResult;
+import com.nashss.se.booktrackerservice.dynamodb.BookStatsDao;
 import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
+import com.nashss.se.booktrackerservice.dynamodb.BooklistEntryDao;
+import com.nashss.se.booktrackerservice.dynamodb.ReadingStateDao;
+import com.nashss.se.booktrackerservice.dynamodb.models.BookStats;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.dynamodb.models.ReadingState;
 import com.nashss.se.booktrackerservice.exceptions.BookNotFoundException;
+import com.nashss.se.booktrackerservice.exceptions.BooklistNotFoundException;
 import com.nashss.se.booktrackerservice.test.helper.BooklistTestHelper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -19,12 +30,20 @@ public class GetBookFromBooklistActivityTest {
 
     @Mock
     private BooklistDao booklistDao;
+    @Mock
+    private BooklistEntryDao booklistEntryDao;
+    @Mock
+    private ReadingStateDao readingStateDao;
+    @Mock
+    private BookStatsDao bookStatsDao;
     private GetBookFromBooklistActivity getBookFromBooklistActivity;
 
     @BeforeEach
     public void setup() {
         initMocks(this);
-        getBookFromBooklistActivity = new GetBookFromBooklistActivity(booklistDao);
+        getBookFromBooklistActivity = new GetBookFromBooklistActivity(booklistDao, booklistEntryDao, readingStateDao,
+                bookStatsDao);
+        when(bookStatsDao.getBookStats(anyString())).thenReturn(new BookStats());
     }
 
     @Test
@@ -34,6 +53,8 @@ public class GetBookFromBooklistActivityTest {
         String expBookAsin = expBooklist.getBooks().get(0).getAsin();
         String expBooklistId = expBooklist.getId();
         when(booklistDao.getBooklist(expBooklistId)).thenReturn(expBooklist);
+        when(booklistEntryDao.getEntry(expBooklistId, expBookAsin))
+                .thenReturn(BooklistTestHelper.generateEntries(expBooklist).get(0));
 
         GetBookFromBooklistRequest request = GetBookFromBooklistRequest.builder()
                 .withBooklistId(expBooklistId)
@@ -50,6 +71,53 @@ public class GetBookFromBooklistActivityTest {
         assertEquals(result.getBook().getGenre(), expBooklist.getBooks().get(0).getGenre());
     }
 
+    @Test
+    public void handleRequest_ownerHasReadingState_overlaysProgressOnBook() {
+        // GIVEN
+        Booklist expBooklist = BooklistTestHelper.generateBooklistWithNBooks(3);
+        String expBookAsin = expBooklist.getBooks().get(0).getAsin();
+        String expBooklistId = expBooklist.getId();
+        when(booklistDao.getBooklist(expBooklistId)).thenReturn(expBooklist);
+        when(booklistEntryDao.getEntry(expBooklistId, expBookAsin))
+                .thenReturn(BooklistTestHelper.generateEntries(expBooklist).get(0));
+
+        ReadingState readingState = new ReadingState();
+        readingState.setCustomerId(expBooklist.getCustomerId());
+        readingState.setAsin(expBookAsin);
+        readingState.setCurrentlyReading(true);
+        readingState.setPercentComplete(40);
+        when(readingStateDao.getReadingStates(expBooklist.getCustomerId(), List.of(expBookAsin)))
+                .thenReturn(Map.of(expBookAsin, readingState));
+
+        GetBookFromBooklistRequest request = GetBookFromBooklistRequest.builder()
+                .withBooklistId(expBooklistId)
+                .withBookAsin(expBookAsin)
+                .build();
+
+        // WHEN
+        GetBookFromBooklistResult result = getBookFromBooklistActivity.handleRequest(request);
+
+        // THEN
+        assertEquals(expBookAsin, result.getBook().getAsin());
+        assertTrue(result.getBook().isCurrentlyReading());
+        assertEquals(40, result.getBook().getPercentComplete());
+    }
+
+    @Test
+    public void handleRequest_savedBooklistNotFound_throwsBooklistNotFoundException() {
+        // GIVEN
+        String missingId = "missing";
+        when(booklistDao.getBooklist(missingId)).thenThrow(new BooklistNotFoundException());
+
+        GetBookFromBooklistRequest request = GetBookFromBooklistRequest.builder()
+                .withBooklistId(missingId)
+                .withBookAsin("asin")
+                .build();
+
+        // WHEN & THEN
+        assertThrows(BooklistNotFoundException.class, ()-> getBookFromBooklistActivity.handleRequest(request));
+    }
+
     @Test
     public void handleRequest_savedBooklistFoundAndBookNotFound_throwsBookNotFoundException() {
         // GIVEN
@@ -66,4 +134,36 @@ public class GetBookFromBooklistActivityTest {
         // WHEN & THEN
         assertThrows(BookNotFoundException.class, ()-> getBookFromBooklistActivity.handleRequest(request));
     }
+
+    @Test
+    public void handleRequest_bookHasStats_returnsAverageRatingAndCounts() {
+        // GIVEN
+        Booklist expBooklist = BooklistTestHelper.generateBooklistWithNBooks(1);
+        String expBookAsin = expBooklist.getBooks().get(0).getAsin();
+        when(booklistDao.getBooklist(expBooklist.getId())).thenReturn(expBooklist);
+        when(booklistEntryDao.getEntry(expBooklist.getId(), expBookAsin))
+                .thenReturn(BooklistTestHelper.generateEntries(expBooklist).get(0));
+
+        BookStats stats = new BookStats();
+        stats.setAsin(expBookAsin);
+        stats.setCommentCount(5);
+        stats.setRatingSum(14);
+        stats.setRatingCount(4);
+        stats.setActiveReaders(2);
+        when(bookStatsDao.getBookStats(expBookAsin)).thenReturn(stats);
+
+        GetBookFromBooklistRequest request = GetBookFromBooklistRequest.builder()
+                .withBooklistId(expBooklist.getId())
+                .withBookAsin(expBookAsin)
+                .build();
+
+        // WHEN
+        GetBookFromBooklistResult result = getBookFromBooklistActivity.handleRequest(request);
+
+        // THEN
+        assertEquals(5, result.getStats().getCommentCount());
+        assertEquals(4, result.getStats().getRatingCount());
+        assertEquals(3.5, result.getStats().getAverageRating());
+        assertEquals(2, result.getStats().getActiveReaders());
+    }
 }
@@ -4,7 +4,11 @@ import com.google.common.collect.Sets;
 import com.nashss.se.booktrackerservice.activity.requests.GetBooklistRequest;
 import com.nashss.se.booktrackerservice.activity.results.GetBooklistResult;
 import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
+import com.nashss.se.booktrackerservice.dynamodb.BooklistEntryDao;
+import com.nashss.se.booktrackerservice.dynamodb.ReadingStateDao;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.test.helper.BookTestHelper;
+import com.nashss.se.booktrackerservice.test.helper.BooklistTestHelper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -18,13 +22,17 @@ import static org.mockito.MockitoAnnotations.initMocks;
 public class GetBooklistActivityTest {
     @Mock
     private BooklistDao booklistDao;
+    @Mock
+    private BooklistEntryDao booklistEntryDao;
+    @Mock
+    private ReadingStateDao readingStateDao;
 
     private GetBooklistActivity getBooklistActivity;
 
     @BeforeEach
     public void setUp() {
         initMocks(this);
-        getBooklistActivity = new GetBooklistActivity(booklistDao);
+        getBooklistActivity = new GetBooklistActivity(booklistDao, booklistEntryDao, readingStateDao);
     }
 
     @Test
@@ -59,4 +67,24 @@ public class GetBooklistActivityTest {
         assertEquals(expectedBookCount, result.getBooklist().getBookCount());
         assertEquals(expectedTags, result.getBooklist().getTags());
     }
+
+    @Test
+    public void handleRequest_savedBooklistWithEntries_returnsBooksFromEntries() {
+        // GIVEN
+        Booklist booklist = BooklistTestHelper.generateBooklistWithNBooks(2);
+        String booklistId = booklist.getId();
+        when(booklistDao.getBooklist(booklistId)).thenReturn(booklist);
+        when(booklistEntryDao.getAllEntries(booklistId)).thenReturn(BooklistTestHelper.generateEntries(booklist));
+
+        GetBooklistRequest request = GetBooklistRequest.builder()
+                .withId(booklistId)
+                .build();
+
+        // WHEN
+        GetBooklistResult result = getBooklistActivity.handleRequest(request);
+
+        // THEN
+        assertEquals(2, result.getBooklist().getBooks().size());
+        assertEquals(BookTestHelper.generateBook(1), result.getBooklist().getBooks().get(1));
+    }
 }
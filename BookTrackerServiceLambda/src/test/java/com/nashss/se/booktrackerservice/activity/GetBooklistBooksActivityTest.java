@@ -3,9 +3,13 @@ package com.nashss.se.booktrackerservice.activity;
 import com.nashss.se.booktrackerservice.activity.requests.GetBooklistBooksRequest;
 import com.nashss.se.booktrackerservice.activity.results.GetBooklistBooksResult;
 import com.nashss.se.booktrackerservice.converters.ModelConverterCarbon;
+import com.nashss.se.booktrackerservice.converters.PaginationTokenConverter;
 import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
+import com.nashss.se.booktrackerservice.dynamodb.BooklistEntryDao;
+import com.nashss.se.booktrackerservice.dynamodb.ReadingStateDao;
 import com.nashss.se.booktrackerservice.dynamodb.models.Book;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.dynamodb.models.BooklistEntry;
 import com.nashss.se.booktrackerservice.exceptions.BooklistNotFoundException;
 import com.nashss.se.booktrackerservice.exceptions.InvalidAttributeValueException;
 import com.nashss.se.booktrackerservice.models.BookModel;
@@ -13,6 +17,8 @@ import com.nashss.se.booktrackerservice.models.BookOrder;
 import com.nashss.se.booktrackerservice.test.helper.BookTestHelper;
 import com.nashss.se.booktrackerservice.test.helper.BooklistTestHelper;
 
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -20,8 +26,13 @@ import org.mockito.Mock;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
 
@@ -29,13 +40,17 @@ public class GetBooklistBooksActivityTest {
 
     @Mock
     private BooklistDao booklistDao;
+    @Mock
+    private BooklistEntryDao booklistEntryDao;
+    @Mock
+    private ReadingStateDao readingStateDao;
 
     private GetBooklistBooksActivity getBooklistBooksActivity;
 
     @BeforeEach
     void setup() {
         openMocks(this);
-        getBooklistBooksActivity = new GetBooklistBooksActivity(booklistDao);
+        getBooklistBooksActivity = new GetBooklistBooksActivity(booklistDao, booklistEntryDao, readingStateDao);
     }
 
     @Test
@@ -47,6 +62,7 @@ public class GetBooklistBooksActivityTest {
                 .withId(booklistId)
                 .build();
         when(booklistDao.getBooklist(booklistId)).thenReturn(booklist);
+        mockEntriesPage(booklistId, true, BooklistTestHelper.generateEntries(booklist), null);
 
         // WHEN
         GetBooklistBooksResult result = getBooklistBooksActivity.handleRequest(request);
@@ -66,6 +82,7 @@ public class GetBooklistBooksActivityTest {
                 .withOrder(BookOrder.DEFAULT)
                 .build();
         when(booklistDao.getBooklist(booklistId)).thenReturn(booklist);
+        mockEntriesPage(booklistId, true, BooklistTestHelper.generateEntries(booklist), null);
 
         // WHEN
         GetBooklistBooksResult result = getBooklistBooksActivity.handleRequest(request);
@@ -87,6 +104,7 @@ public class GetBooklistBooksActivityTest {
                 .withOrder(BookOrder.REVERSED)
                 .build();
         when(booklistDao.getBooklist(booklistId)).thenReturn(booklist);
+        mockEntriesPage(booklistId, false, BooklistTestHelper.generateEntries(booklistId, reversedBooks), null);
 
         // WHEN
         GetBooklistBooksResult result = getBooklistBooksActivity.handleRequest(request);
@@ -108,6 +126,7 @@ public class GetBooklistBooksActivityTest {
                 .withOrder(BookOrder.SHUFFLED)
                 .build();
         when(booklistDao.getBooklist(booklistId)).thenReturn(booklist);
+        mockEntriesPage(booklistId, true, BooklistTestHelper.generateEntries(booklist), null);
 
         // WHEN
         GetBooklistBooksResult result = getBooklistBooksActivity.handleRequest(request);
@@ -128,6 +147,33 @@ public class GetBooklistBooksActivityTest {
                         result.getBooks()));
     }
 
+    @Test
+    void handleRequest_withMoreBooksThanLimit_returnsPageAndNextToken() {
+        // GIVEN
+        Booklist booklist = BooklistTestHelper.generateBooklistWithNBooks(3);
+        String booklistId = booklist.getId();
+        List<BooklistEntry> entries = BooklistTestHelper.generateEntries(booklist);
+        Map<String, AttributeValue> lastKey = Map.of(
+                "booklistId", new AttributeValue().withS(booklistId),
+                "asin", new AttributeValue().withS(entries.get(1).getAsin()),
+                "addedAt", new AttributeValue().withN("1"));
+
+        GetBooklistBooksRequest request = GetBooklistBooksRequest.builder()
+                .withId(booklistId)
+                .withLimit(2)
+                .build();
+        when(booklistDao.getBooklist(booklistId)).thenReturn(booklist);
+        mockEntriesPage(booklistId, true, entries.subList(0, 2), lastKey);
+
+        // WHEN
+        GetBooklistBooksResult result = getBooklistBooksActivity.handleRequest(request);
+
+        // THEN
+        verify(booklistEntryDao).getEntries(booklistId, true, 2, null);
+        BookTestHelper.assertBooksEqualBookModels(booklist.getBooks().subList(0, 2), result.getBooks());
+        assertEquals(lastKey, new PaginationTokenConverter().decode(result.getNextToken()));
+    }
+
     @Test
     public void handleRequest_noMatchingBooklistId_throwsBooklistNotFoundException() {
         // GIVEN
@@ -156,4 +202,12 @@ public class GetBooklistBooksActivityTest {
         // WHEN + THEN
         assertThrows(InvalidAttributeValueException.class, () -> getBooklistBooksActivity.handleRequest(request));
     }
+
+    private void mockEntriesPage(String booklistId, boolean oldestFirst, List<BooklistEntry> entries,
+                                 Map<String, AttributeValue> lastEvaluatedKey) {
+        QueryResultPage<BooklistEntry> page = new QueryResultPage<>();
+        page.setResults(entries);
+        page.setLastEvaluatedKey(lastEvaluatedKey);
+        when(booklistEntryDao.getEntries(eq(booklistId), eq(oldestFirst), anyInt(), any())).thenReturn(page);
+    }
 }
@@ -0,0 +1,72 @@
+package com.nashss.se.booktrackerservice.activity;
+
+import com.nashss.se.booktrackerservice.activity.requests.GetBooksRequest;
+import com.nashss.se.booktrackerservice.activity.results.GetBooksResult;
+import com.nashss.se.booktrackerservice.dynamodb.BookDao;
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+import com.nashss.se.booktrackerservice.exceptions.InvalidAttributeValueException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class GetBooksActivityTest {
+    @Mock
+    private BookDao bookDao;
+    private GetBooksActivity getBooksActivity;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        getBooksActivity = new GetBooksActivity(bookDao);
+    }
+
+    @Test
+    public void handleRequest_withAsins_returnsBooksFromOneBatchLoad() {
+        // GIVEN
+        Book book1 = new Book();
+        book1.setAsin("111");
+        Book book2 = new Book();
+        book2.setAsin("222");
+        when(bookDao.getBooks(List.of("111", "222"))).thenReturn(List.of(book1, book2));
+
+        GetBooksRequest request = GetBooksRequest.builder()
+                .withAsins(List.of("111", " 222", "111", ""))
+                .build();
+
+        // WHEN
+        GetBooksResult result = getBooksActivity.handleRequest(request);
+
+        // THEN
+        assertEquals(2, result.getBooks().size());
+        assertEquals("111", result.getBooks().get(0).getAsin());
+        assertEquals("222", result.getBooks().get(1).getAsin());
+    }
+
+    @Test
+    public void handleRequest_tooManyAsins_throwsInvalidAttributeValueException() {
+        // GIVEN
+        List<String> asins = new ArrayList<>();
+        for (int i = 0; i <= GetBooksActivity.MAX_ASINS; i++) {
+            asins.add("asin" + i);
+        }
+        GetBooksRequest request = GetBooksRequest.builder()
+                .withAsins(asins)
+                .build();
+
+        // WHEN & THEN
+        assertThrows(InvalidAttributeValueException.class, () -> getBooksActivity.handleRequest(request));
+        verify(bookDao, never()).getBooks(any());
+    }
+}
@@ -0,0 +1,95 @@
+package com.nashss.se.booktrackerservice.activity;
+
+import com.nashss.se.booktrackerservice.activity.requests.GetCommentsRequest;
+import com.nashss.se.booktrackerservice.activity.results.GetCommentsResult;
+import com.nashss.se.booktrackerservice.dynamodb.CommentDao;
+import com.nashss.se.booktrackerservice.dynamodb.ReadingStateDao;
+import com.nashss.se.booktrackerservice.dynamodb.models.Comment;
+import com.nashss.se.booktrackerservice.dynamodb.models.ReadingState;
+import com.nashss.se.booktrackerservice.utils.PaginationUtils;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class GetCommentsActivityTest {
+    private static final String ASIN = "asin";
+    private static final String CUSTOMER_ID = "reader@example.com";
+
+    @Mock
+    private CommentDao commentDao;
+    @Mock
+    private ReadingStateDao readingStateDao;
+
+    private GetCommentsActivity getCommentsActivity;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        getCommentsActivity = new GetCommentsActivity(commentDao, readingStateDao);
+    }
+
+    @Test
+    public void handleRequest_withProgress_queriesUpToReadersProgress() {
+        // GIVEN
+        ReadingState readingState = new ReadingState();
+        readingState.setPercentComplete(45);
+        when(readingStateDao.getReadingState(CUSTOMER_ID, ASIN)).thenReturn(readingState);
+
+        Comment comment = new Comment();
+        comment.setCommentId("c1");
+        comment.setAsin(ASIN);
+        comment.setPercentComplete(30);
+        QueryResultPage<Comment> page = new QueryResultPage<>();
+        page.setResults(List.of(comment));
+        page.setLastEvaluatedKey(Map.of(
+                "commentId", new AttributeValue().withS("c1"),
+                "asin", new AttributeValue().withS(ASIN),
+                "percentComplete", new AttributeValue().withN("30")));
+        when(commentDao.getCommentsForBook(ASIN, 45, PaginationUtils.DEFAULT_LIMIT, null)).thenReturn(page);
+
+        // WHEN
+        GetCommentsResult result = getCommentsActivity.handleRequest(request());
+
+        // THEN
+        assertEquals(45, result.getPercentComplete());
+        assertEquals(1, result.getComments().size());
+        assertEquals("c1", result.getComments().get(0).getCommentId());
+        assertNotNull(result.getNextToken());
+    }
+
+    @Test
+    public void handleRequest_noProgress_onlyShowsCommentsFromTheStart() {
+        // GIVEN
+        QueryResultPage<Comment> page = new QueryResultPage<>();
+        page.setResults(List.of());
+        when(commentDao.getCommentsForBook(ASIN, 0, PaginationUtils.DEFAULT_LIMIT, null)).thenReturn(page);
+
+        // WHEN
+        GetCommentsResult result = getCommentsActivity.handleRequest(request());
+
+        // THEN
+        assertEquals(0, result.getPercentComplete());
+        assertEquals(0, result.getComments().size());
+        assertNull(result.getNextToken());
+    }
+
+    private static GetCommentsRequest request() {
+        return GetCommentsRequest.builder()
+                .withAsin(ASIN)
+                .withCustomerId(CUSTOMER_ID)
+                .build();
+    }
+}
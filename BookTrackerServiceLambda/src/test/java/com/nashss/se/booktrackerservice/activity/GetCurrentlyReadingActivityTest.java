@@ -5,8 +5,15 @@ import com.nashss.se.booktrackerservice.activity.requests.GetCurrentlyReadingReq
 import com.nashss.se.booktrackerservice.activity.results.GetCurrentlyReadingResult;
 import com.nashss.se.booktrackerservice.dynamodb.BookDao;
 import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
+import com.nashss.se.booktrackerservice.dynamodb.BooklistEntryDao;
+import com.nashss.se.booktrackerservice.dynamodb.ReadingStateDao;
 import com.nashss.se.booktrackerservice.dynamodb.models.Book;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.dynamodb.models.BooklistEntry;
+import com.nashss.se.booktrackerservice.dynamodb.models.ReadingState;
+import com.nashss.se.booktrackerservice.test.helper.BooklistTestHelper;
+import com.nashss.se.booktrackerservice.utils.PaginationUtils;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -14,6 +21,14 @@ import org.mockito.Mock;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -22,13 +37,18 @@ public class GetCurrentlyReadingActivityTest {
     private BooklistDao booklistDao;
     @Mock
     private BookDao bookDao;
+    @Mock
+    private BooklistEntryDao booklistEntryDao;
+    @Mock
+    private ReadingStateDao readingStateDao;
 
     private GetCurrentlyReadingActivity getCurrentlyReadingActivity;
 
     @BeforeEach
     public void setUp() {
         initMocks(this);
-        getCurrentlyReadingActivity = new GetCurrentlyReadingActivity(bookDao, booklistDao);
+        getCurrentlyReadingActivity = new GetCurrentlyReadingActivity(bookDao, booklistDao, booklistEntryDao,
+                readingStateDao);
     }
 
     @Test
@@ -67,15 +87,15 @@ public class GetCurrentlyReadingActivityTest {
         booklist.setTags(Sets.newHashSet(expectedTags));
         booklist.setBooks(booksGiven);
 
-        Booklist currentlyReading = new Booklist();
-        currentlyReading.setBooks(List.of(book4, book5));
-
         when(booklistDao.getBooklist(expectedId)).thenReturn(booklist);
-        when(bookDao.getCurrentlyReading(true)).thenReturn(currentlyReading);
+        QueryResultPage<BooklistEntry> entries = new QueryResultPage<>();
+        entries.setResults(BooklistTestHelper.generateEntries(booklist));
+        when(booklistEntryDao.getEntries(expectedId, true, PaginationUtils.DEFAULT_LIMIT, null)).thenReturn(entries);
 
         GetCurrentlyReadingRequest request = GetCurrentlyReadingRequest.builder()
                 .withCurrentlyReading(true)
                 .withId(expectedId)
+                .withCustomerId(expectedCustomerId)
                 .build();
 
         // WHEN
@@ -88,5 +108,71 @@ public class GetCurrentlyReadingActivityTest {
         assertEquals(expectedBookCount, result.getBooklist().getBookCount());
         assertEquals(expectedTags, result.getBooklist().getTags());
         assertEquals(List.of(book4, book5), result.getBooklist().getBooks());
+        assertNull(result.getNextToken());
+        verify(booklistEntryDao, never()).getAllEntries(any());
+        verifyNoInteractions(bookDao);
+    }
+
+    @Test
+    public void handleRequest_booklistOwnedByAnotherUser_throwsSecurityException() {
+        // GIVEN
+        Booklist booklist = BooklistTestHelper.generateBooklist();
+        when(booklistDao.getBooklist(booklist.getId())).thenReturn(booklist);
+
+        GetCurrentlyReadingRequest request = GetCurrentlyReadingRequest.builder()
+                .withCurrentlyReading(true)
+                .withId(booklist.getId())
+                .withCustomerId("someoneElse")
+                .build();
+
+        // WHEN + THEN
+        assertThrows(SecurityException.class, () -> getCurrentlyReadingActivity.handleRequest(request));
+        verifyNoInteractions(booklistEntryDao, readingStateDao);
+    }
+
+    @Test
+    public void handleRequest_noBooklistId_returnsPageOfUsersInProgressBooks() {
+        // GIVEN
+        ReadingState first = readingState("current2", 60);
+        ReadingState second = readingState("current1", 10);
+        QueryResultPage<ReadingState> page = new QueryResultPage<>();
+        page.setResults(List.of(first, second));
+        page.setLastEvaluatedKey(null);
+        when(readingStateDao.getCurrentlyReading("customerId", PaginationUtils.DEFAULT_LIMIT, null)).thenReturn(page);
+
+        Book book1 = new Book();
+        book1.setAsin("current1");
+        Book book2 = new Book();
+        book2.setAsin("current2");
+        when(bookDao.getBooks(List.of("current2", "current1"))).thenReturn(List.of(book1, book2));
+
+        GetCurrentlyReadingRequest request = GetCurrentlyReadingRequest.builder()
+                .withCurrentlyReading(true)
+                .withCustomerId("customerId")
+                .build();
+
+        // WHEN
+        GetCurrentlyReadingResult result = getCurrentlyReadingActivity.handleRequest(request);
+
+        // THEN
+        List<Book> books = result.getBooklist().getBooks();
+        assertEquals(2, books.size());
+        assertEquals("current2", books.get(0).getAsin());
+        assertEquals(60, books.get(0).getPercentComplete());
+        assertTrue(books.get(0).isCurrentlyReading());
+        assertEquals("current1", books.get(1).getAsin());
+        assertEquals("customerId", result.getBooklist().getCustomerId());
+        assertNull(result.getNextToken());
+        verify(readingStateDao, never()).getNotCurrentlyReading(any(), anyInt(), any());
+        verifyNoInteractions(booklistDao);
+    }
+
+    private ReadingState readingState(String asin, int percentComplete) {
+        ReadingState readingState = new ReadingState();
+        readingState.setCustomerId("customerId");
+        readingState.setAsin(asin);
+        readingState.setCurrentlyReading(true);
+        readingState.setPercentComplete(percentComplete);
+        return readingState;
     }
 }
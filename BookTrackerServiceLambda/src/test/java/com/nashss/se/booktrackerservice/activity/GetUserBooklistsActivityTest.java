@@ -5,13 +5,20 @@ import com.nashss.se.booktrackerservice.activity.results.GetUserBooklistsResult;
 import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
 import com.nashss.se.booktrackerservice.test.helper.BooklistTestHelper;
+import com.nashss.se.booktrackerservice.utils.PaginationUtils;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -36,7 +43,10 @@ public class GetUserBooklistsActivityTest {
 
         List<Booklist> expectedBooklists = List.of(booklist1, booklist2);
 
-        when(booklistDao.getAllBooklistsForUser(booklist1.getCustomerId())).thenReturn(expectedBooklists);
+        QueryResultPage<Booklist> page = new QueryResultPage<>();
+        page.setResults(expectedBooklists);
+        when(booklistDao.getBooklistsForUser(booklist1.getCustomerId(), PaginationUtils.DEFAULT_LIMIT, null))
+                .thenReturn(page);
 
         GetUserBooklistsRequest request = GetUserBooklistsRequest.builder()
                 .withCustomerId(booklist1.getCustomerId())
@@ -50,5 +60,42 @@ public class GetUserBooklistsActivityTest {
         assertNotNull(result);
         assertEquals(result.getBooklists().get(0).getBookCount(), booklist1.getBookCount());
         assertEquals(result.getBooklists().get(1).getBookCount(), booklist2.getBookCount());
+        assertNull(result.getNextToken());
+    }
+
+    @Test
+    public void handleRequest_withNextToken_resumesFromLastEvaluatedKey() {
+        // GIVEN
+        Booklist booklist = BooklistTestHelper.generateBooklist();
+        Map<String, AttributeValue> lastEvaluatedKey = Map.of(
+                "id", new AttributeValue().withS(booklist.getId()),
+                "customerId", new AttributeValue().withS(booklist.getCustomerId()),
+                "createdAt", new AttributeValue().withN("1700000000000"));
+
+        QueryResultPage<Booklist> firstPage = new QueryResultPage<>();
+        firstPage.setResults(List.of(booklist));
+        firstPage.setLastEvaluatedKey(lastEvaluatedKey);
+        QueryResultPage<Booklist> secondPage = new QueryResultPage<>();
+        secondPage.setResults(List.of());
+
+        when(booklistDao.getBooklistsForUser(eq(booklist.getCustomerId()), eq(1), isNull())).thenReturn(firstPage);
+        when(booklistDao.getBooklistsForUser(booklist.getCustomerId(), 1, lastEvaluatedKey)).thenReturn(secondPage);
+
+        // WHEN
+        GetUserBooklistsResult first = getUserBooklistsActivity.handleRequest(GetUserBooklistsRequest.builder()
+                .withCustomerId(booklist.getCustomerId())
+                .withLimit(1)
+                .build());
+        GetUserBooklistsResult second = getUserBooklistsActivity.handleRequest(GetUserBooklistsRequest.builder()
+                .withCustomerId(booklist.getCustomerId())
+                .withLimit(1)
+                .withNextToken(first.getNextToken())
+                .build());
+
+        // THEN
+        assertEquals(1, first.getBooklists().size());
+        assertNotNull(first.getNextToken());
+        assertTrue(second.getBooklists().isEmpty());
+        assertNull(second.getNextToken());
     }
 }
@@ -2,19 +2,27 @@ package com.nashss.se.booktrackerservice.activity;
 
 import com.nashss.se.booktrackerservice.activity.requests.RemoveBookFromBooklistRequest;
 import com.nashss.se.booktrackerservice.activity.results.RemoveBookFromBooklistResult;
-import com.nashss.se.booktrackerservice.dynamodb.BookDao;
 import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
+import com.nashss.se.booktrackerservice.dynamodb.BooklistEntryDao;
+import com.nashss.se.booktrackerservice.dynamodb.ReadingStateDao;
 import com.nashss.se.booktrackerservice.dynamodb.models.Book;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.dynamodb.models.BooklistEntry;
 import com.nashss.se.booktrackerservice.exceptions.BookNotFoundException;
 import com.nashss.se.booktrackerservice.exceptions.BooklistNotFoundException;
 import com.nashss.se.booktrackerservice.test.helper.BookTestHelper;
 import com.nashss.se.booktrackerservice.test.helper.BooklistTestHelper;
+import com.nashss.se.booktrackerservice.utils.PaginationUtils;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -22,13 +30,16 @@ public class RemoveBookFromBooklistActivityTest {
     @Mock
     private BooklistDao booklistDao;
     @Mock
-    private BookDao bookDao;
+    private BooklistEntryDao booklistEntryDao;
+    @Mock
+    private ReadingStateDao readingStateDao;
     private RemoveBookFromBooklistActivity removeBookFromBooklistActivity;
 
     @BeforeEach
     void setUp() {
         initMocks(this);
-        this.removeBookFromBooklistActivity = new RemoveBookFromBooklistActivity(booklistDao, bookDao);
+        this.removeBookFromBooklistActivity = new RemoveBookFromBooklistActivity(booklistDao, booklistEntryDao,
+                readingStateDao);
     }
 
     @Test
@@ -41,11 +52,12 @@ public class RemoveBookFromBooklistActivityTest {
         Book bookToRemove = BookTestHelper.generateBook(2);
         String removeAsin = bookToRemove.getAsin();
 
-        originalBooklist.getBooks().add(bookToRemove);
+        originalBooklist.setBookCount(2);
 
         when(booklistDao.getBooklist(booklistId)).thenReturn(originalBooklist);
-        when(booklistDao.saveBooklist(originalBooklist)).thenReturn(originalBooklist);
-        when(bookDao.getBook(removeAsin)).thenReturn(bookToRemove);
+        QueryResultPage<BooklistEntry> page = new QueryResultPage<>();
+        page.setResults(BooklistTestHelper.generateEntries(originalBooklist));
+        when(booklistEntryDao.getEntries(booklistId, true, PaginationUtils.DEFAULT_LIMIT, null)).thenReturn(page);
 
         RemoveBookFromBooklistRequest request = RemoveBookFromBooklistRequest.builder()
                 .withAsin(removeAsin)
@@ -57,8 +69,10 @@ public class RemoveBookFromBooklistActivityTest {
         RemoveBookFromBooklistResult result = removeBookFromBooklistActivity.handleRequest(request);
 
         //THEN;
+        verify(booklistDao).removeBookFromBooklist(booklistId, removeAsin);
+        verify(booklistEntryDao, never()).getAllEntries(anyString());
         assertEquals(1, result.getBooklist().size());
-        assertFalse(originalBooklist.getBooks().contains(bookToRemove));
+        assertNull(result.getNextToken());
     }
     @Test
     public void handleRequest_noMatchingBooklistId_throwsBooklistNotFoundException() {
@@ -90,9 +104,10 @@ public class RemoveBookFromBooklistActivityTest {
 
         // WHEN
         when(booklistDao.getBooklist(booklistId)).thenReturn(booklist);
-        when(bookDao.getBook(asin)).thenThrow(new BookNotFoundException());
+        doThrow(new BookNotFoundException()).when(booklistDao).removeBookFromBooklist(booklistId, asin);
 
         // THEN
         assertThrows(BookNotFoundException.class, () -> removeBookFromBooklistActivity.handleRequest(request));
+        verify(booklistEntryDao, never()).getAllEntries(anyString());
     }
 }
@@ -4,6 +4,7 @@ import com.google.common.collect.Sets;
 import com.nashss.se.booktrackerservice.activity.requests.RemoveBooklistRequest;
 import com.nashss.se.booktrackerservice.activity.results.RemoveBooklistResult;
 import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
+import com.nashss.se.booktrackerservice.dynamodb.BooklistEntryDao;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,19 +14,22 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 public class RemoveBooklistActivityTest {
     @Mock
     private BooklistDao booklistDao;
+    @Mock
+    private BooklistEntryDao booklistEntryDao;
 
     private RemoveBooklistActivity removeBooklistActivity;
 
     @BeforeEach
     public void setUp() {
         initMocks(this);
-        removeBooklistActivity = new RemoveBooklistActivity(booklistDao);
+        removeBooklistActivity = new RemoveBooklistActivity(booklistDao, booklistEntryDao);
     }
 
     @Test
@@ -59,7 +63,7 @@ public class RemoveBooklistActivityTest {
         assertEquals(expectedCustomerId, result.getBooklist().getCustomerId());
         assertEquals(expectedBookCount, result.getBooklist().getBookCount());
         assertEquals(expectedTags, result.getBooklist().getTags());
-
+        verify(booklistEntryDao).removeAllEntries(expectedId);
     }
 
     @Test
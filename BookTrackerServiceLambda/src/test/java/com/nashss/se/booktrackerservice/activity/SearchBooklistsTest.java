@@ -4,8 +4,12 @@ import com.nashss.se.booktrackerservice.activity.requests.SearchBooklistsRequest
 import com.nashss.se.booktrackerservice.activity.results.SearchBooklistsResult;
 import com.nashss.se.booktrackerservice.dynamodb.BooklistDao;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
-import com.nashss.se.booktrackerservice.models.BooklistModel;
+import com.nashss.se.booktrackerservice.exceptions.InvalidAttributeValueException;
+import com.nashss.se.booktrackerservice.models.BooklistSummaryModel;
+import com.nashss.se.booktrackerservice.utils.PaginationUtils;
 
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.google.common.collect.Sets;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -15,8 +19,16 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -42,7 +54,8 @@ public class SearchBooklistsTest {
                 newBooklist("id1", "a good playlist", List.of("tag1", "tag2")),
                 newBooklist("id2", "another good playlist", List.of("tag1", "tag2")));
 
-        when(booklistDao.searchBooklists(criteriaArray)).thenReturn(expected);
+        when(booklistDao.searchBooklists(criteriaArray, PaginationUtils.DEFAULT_LIMIT, null))
+                .thenReturn(page(expected, null));
 
         SearchBooklistsRequest request = SearchBooklistsRequest.builder()
                 .withCriteria(criteria)
@@ -52,8 +65,9 @@ public class SearchBooklistsTest {
         SearchBooklistsResult result = searchBooklistsActivity.handleRequest(request);
 
         // THEN
-        List<BooklistModel> resultBooklists = result.getBooklists();
+        List<BooklistSummaryModel> resultBooklists = result.getBooklists();
         assertEquals(expected.size(), resultBooklists.size());
+        assertNull(result.getNextToken());
 
         for (int i=0; i<expected.size(); i++) {
             assertEquals(expected.get(i).getId(), resultBooklists.get(i).getId());
@@ -67,7 +81,7 @@ public class SearchBooklistsTest {
         String criteria = null;
         ArgumentCaptor<String[]> criteriaArray = ArgumentCaptor.forClass(String[].class);
 
-        when(booklistDao.searchBooklists(criteriaArray.capture())).thenReturn(List.of());
+        when(booklistDao.searchBooklists(criteriaArray.capture(), anyInt(), any())).thenReturn(page(List.of(), null));
 
         SearchBooklistsRequest request = SearchBooklistsRequest.builder()
                 .withCriteria(criteria)
@@ -80,6 +94,65 @@ public class SearchBooklistsTest {
         assertEquals(0, criteriaArray.getValue().length, "Criteria Array should be empty");
     }
 
+    @Test
+    public void handleRequest_withMoreResults_returnsNextTokenThatResumesSearch() {
+        // GIVEN
+        Map<String, AttributeValue> lastEvaluatedKey = Map.of("id", new AttributeValue().withS("id1"));
+        when(booklistDao.searchBooklists(any(), eq(1), isNull()))
+                .thenReturn(page(List.of(newBooklist("id1", "good", List.of("tag"))), lastEvaluatedKey));
+        when(booklistDao.searchBooklists(any(), eq(1), eq(lastEvaluatedKey)))
+                .thenReturn(page(List.of(newBooklist("id2", "good", List.of("tag"))), null));
+
+        // WHEN
+        SearchBooklistsResult firstPage = searchBooklistsActivity.handleRequest(SearchBooklistsRequest.builder()
+                .withCriteria("good")
+                .withLimit(1)
+                .build());
+        SearchBooklistsResult secondPage = searchBooklistsActivity.handleRequest(SearchBooklistsRequest.builder()
+                .withCriteria("good")
+                .withLimit(1)
+                .withNextToken(firstPage.getNextToken())
+                .build());
+
+        // THEN
+        assertNotNull(firstPage.getNextToken());
+        assertEquals("id1", firstPage.getBooklists().get(0).getId());
+        assertEquals("id2", secondPage.getBooklists().get(0).getId());
+        assertNull(secondPage.getNextToken());
+    }
+
+    @Test
+    public void handleRequest_withLimitAboveMaximum_throwsInvalidAttributeValueException() {
+        // GIVEN
+        SearchBooklistsRequest request = SearchBooklistsRequest.builder()
+                .withCriteria("good")
+                .withLimit(PaginationUtils.MAX_LIMIT + 1)
+                .build();
+
+        // WHEN + THEN
+        assertThrows(InvalidAttributeValueException.class, () -> searchBooklistsActivity.handleRequest(request));
+    }
+
+    @Test
+    public void handleRequest_withMalformedNextToken_throwsInvalidAttributeValueException() {
+        // GIVEN
+        SearchBooklistsRequest request = SearchBooklistsRequest.builder()
+                .withCriteria("good")
+                .withNextToken("not-a-token")
+                .build();
+
+        // WHEN + THEN
+        assertThrows(InvalidAttributeValueException.class, () -> searchBooklistsActivity.handleRequest(request));
+    }
+
+    private static ScanResultPage<Booklist> page(List<Booklist> booklists,
+                                                 Map<String, AttributeValue> lastEvaluatedKey) {
+        ScanResultPage<Booklist> page = new ScanResultPage<>();
+        page.setResults(booklists);
+        page.setLastEvaluatedKey(lastEvaluatedKey);
+        return page;
+    }
+
     private static Booklist newBooklist(String id, String name, List<String> tags) {
         Booklist booklist = new Booklist();
 
@@ -4,10 +4,17 @@ package com.nashss.se.booktrackerservice.activity;
 import com.nashss.se.booktrackerservice.activity.requests.SearchBooksRequest;
 import com.nashss.se.booktrackerservice.activity.results.SearchBooksResult;
 import com.nashss.se.booktrackerservice.dynamodb.BookDao;
+import com.nashss.se.booktrackerservice.dynamodb.GoogleBooksCacheDao;
 import com.nashss.se.booktrackerservice.dynamodb.models.Book;
 import com.nashss.se.booktrackerservice.exceptions.GoogleBookAPISearchException;
+import com.nashss.se.booktrackerservice.exceptions.GoogleBooksUnavailableException;
+import com.nashss.se.booktrackerservice.googlebookapi.GoogleBooksClientFactory;
+import com.nashss.se.booktrackerservice.googlebookapi.GoogleBooksQueryCache;
+import com.nashss.se.booktrackerservice.googlebookapi.Request;
 import com.nashss.se.booktrackerservice.models.BookModel;
+import com.nashss.se.booktrackerservice.utils.Deadline;
 
+import com.google.api.client.testing.http.MockHttpTransport;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -17,6 +24,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -24,12 +32,15 @@ import static org.mockito.MockitoAnnotations.initMocks;
 public class SearchBooksActivityTest {
     @Mock
     private BookDao bookDao;
+    @Mock
+    private GoogleBooksCacheDao googleBooksCacheDao;
     private SearchBooksActivity searchBooksActivity;
 
     @BeforeEach
     public void setup() {
         initMocks(this);
-        searchBooksActivity = new SearchBooksActivity(bookDao);
+        searchBooksActivity = new SearchBooksActivity(bookDao, new GoogleBooksQueryCache(googleBooksCacheDao, null),
+                new Request());
     }
 
     @Test
@@ -104,6 +115,46 @@ public class SearchBooksActivityTest {
         }
     }
 
+    @Test
+    public void handleRequest_googleBooksUnavailable_returnsLocalResultsImmediately() throws Exception {
+        // GIVEN
+        Request googleBookApi = mock(Request.class);
+        when(googleBookApi.queryBooks("game of thrones", 5))
+                .thenThrow(new GoogleBooksUnavailableException("circuit breaker is open"));
+        when(bookDao.searchBooks(new String[] {"game", "of", "thrones"})).thenReturn(List.of());
+        searchBooksActivity = new SearchBooksActivity(bookDao, new GoogleBooksQueryCache(googleBooksCacheDao, null),
+                googleBookApi);
+
+        SearchBooksRequest request = SearchBooksRequest.builder()
+                .withCriteria("game of thrones")
+                .build();
+
+        // WHEN
+        SearchBooksResult result = searchBooksActivity.handleRequest(request);
+
+        // THEN
+        assertEquals(0, result.getBooks().size());
+    }
+
+    @Test
+    public void handleRequest_deadlineNearlyReached_returnsLocalResultsWithoutQueryingGoogle() {
+        // GIVEN
+        when(bookDao.searchBooks(new String[] {"game", "of", "thrones"})).thenReturn(List.of());
+        searchBooksActivity = new SearchBooksActivity(bookDao, new GoogleBooksQueryCache(googleBooksCacheDao, null),
+                new Request(GoogleBooksClientFactory.newClient(new MockHttpTransport())));
+
+        SearchBooksRequest request = SearchBooksRequest.builder()
+                .withCriteria("game of thrones")
+                .build();
+
+        // WHEN
+        SearchBooksResult result = Deadline.afterMillis(Request.MIN_QUERY_MILLIS / 2)
+                .call(() -> searchBooksActivity.handleRequest(request));
+
+        // THEN
+        assertEquals(0, result.getBooks().size());
+    }
+
     private static Book newBook(String asin, String title, String author, String genre) {
         Book book = new Book();
 
@@ -12,6 +12,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
@@ -45,12 +47,19 @@ public class UpdateBooklistActivityTest {
                 .build();
 
         Booklist startingBooklist = new Booklist();
+        startingBooklist.setId(id);
         startingBooklist.setCustomerId(expectedCustomerId);
         startingBooklist.setName("old name");
         startingBooklist.setBookCount(expectedBookCount);
 
+        Booklist renamedBooklist = new Booklist();
+        renamedBooklist.setId(id);
+        renamedBooklist.setCustomerId(expectedCustomerId);
+        renamedBooklist.setName(expectedName);
+        renamedBooklist.setBookCount(expectedBookCount);
+
         when(booklistDao.getBooklist(id)).thenReturn(startingBooklist);
-        when(booklistDao.saveBooklist(startingBooklist)).thenReturn(startingBooklist);
+        when(booklistDao.updateBooklistName(id, expectedName)).thenReturn(renamedBooklist);
 
         // WHEN
         UpdateBooklistResult result = updateBooklistActivity.handleRequest(request);
@@ -59,6 +68,7 @@ public class UpdateBooklistActivityTest {
         assertEquals(expectedName, result.getBooklist().getName());
         assertEquals(expectedCustomerId, result.getBooklist().getCustomerId());
         assertEquals(expectedBookCount, result.getBooklist().getBookCount());
+        verify(booklistDao, never()).saveBooklist(any(Booklist.class));
     }
 
     @Test
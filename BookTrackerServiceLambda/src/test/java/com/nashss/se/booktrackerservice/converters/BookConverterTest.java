@@ -0,0 +1,102 @@
+package com.nashss.se.booktrackerservice.converters;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.exceptions.BookSerializationException;
+import com.nashss.se.booktrackerservice.test.helper.BookTestHelper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class BookConverterTest {
+    private final BookConverter bookConverter = new BookConverter();
+
+    @Test
+    public void convert_smallList_roundTripsAsCbor() {
+        // GIVEN
+        List<Book> books = List.of(BookTestHelper.generateBook(1));
+
+        // WHEN
+        AttributeValue value = bookConverter.convert(books);
+
+        // THEN
+        assertNull(value.getS());
+        assertEquals(BookListCodec.FORMAT_CBOR, value.getB().get(0));
+        assertEquals(books, bookConverter.unconvert(value));
+    }
+
+    @Test
+    public void convert_largeList_roundTripsDeflated() {
+        // GIVEN
+        List<Book> books = books(50);
+
+        // WHEN
+        AttributeValue value = bookConverter.convert(books);
+
+        // THEN
+        assertEquals(BookListCodec.FORMAT_CBOR_DEFLATE, value.getB().get(0));
+        assertEquals(books, bookConverter.unconvert(value));
+    }
+
+    @Test
+    public void unconvert_legacyJsonString_isStillReadable() throws Exception {
+        // GIVEN
+        List<Book> books = books(3);
+        AttributeValue legacy = new AttributeValue().withS(new ObjectMapper().writeValueAsString(books));
+
+        // WHEN
+        List<Book> result = bookConverter.unconvert(legacy);
+
+        // THEN
+        assertEquals(books, result);
+    }
+
+    @Test
+    public void unconvert_unknownFormat_throwsBookSerializationException() {
+        // GIVEN
+        AttributeValue value = new AttributeValue().withB(ByteBuffer.wrap(new byte[] {99, 1, 2}));
+
+        // WHEN + THEN
+        assertThrows(BookSerializationException.class, () -> bookConverter.unconvert(value));
+    }
+
+    @Test
+    public void mapper_legacyJsonBooklist_isRewrittenAsBinaryOnSave() throws Exception {
+        // GIVEN
+        DynamoDBMapper dynamoDBMapper = new DynamoDBMapper(mock(AmazonDynamoDB.class));
+        List<Book> books = books(3);
+        Map<String, AttributeValue> stored = Map.of(
+                "id", new AttributeValue("id"),
+                "bookList", new AttributeValue().withS(new ObjectMapper().writeValueAsString(books)));
+
+        // WHEN
+        Booklist booklist = dynamoDBMapper.marshallIntoObject(Booklist.class, stored);
+        Map<String, AttributeValue> saved = dynamoDBMapper.getTableModel(Booklist.class).convert(booklist);
+
+        // THEN
+        assertEquals(books, booklist.getLegacyBooks());
+        assertNull(saved.get("bookList").getS());
+        assertNotNull(saved.get("bookList").getB());
+    }
+
+    private List<Book> books(int count) {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Book book = BookTestHelper.generateBook(i);
+            book.setPageCount(100 + i);
+            book.setThumbnail("http://books.google.com/books/content?id=" + i + "&printsec=frontcover&img=1");
+            books.add(book);
+        }
+        return books;
+    }
+}
@@ -0,0 +1,76 @@
+package com.nashss.se.booktrackerservice.converters;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+import com.nashss.se.booktrackerservice.test.helper.BookTestHelper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the stored size and encode/decode time of the binary book list encoding against the JSON it replaced.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class BookListCodecBenchmarkTest {
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 5_000;
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final BookListCodec codec = new BookListCodec();
+
+    @Test
+    public void binaryEncoding_isSmallerThanJson() throws Exception {
+        for (int size : new int[] {1, 10, 50, 200}) {
+            List<Book> books = books(size);
+            byte[] json = jsonMapper.writeValueAsString(books).getBytes(StandardCharsets.UTF_8);
+            byte[] binary = codec.encode(books);
+
+            long jsonNanos = time(() -> jsonMapper.readValue(jsonMapper.writeValueAsString(books),
+                    new TypeReference<List<Book>>() { }));
+            long binaryNanos = time(() -> codec.decode(codec.encode(books)));
+
+            System.out.printf("%4d books: json %7d bytes %8.1f us/round trip, binary %7d bytes (format %d) "
+                    + "%8.1f us/round trip%n", size, json.length, jsonNanos / 1000.0, binary.length, binary[0],
+                    binaryNanos / 1000.0);
+
+            assertEquals(books, codec.decode(binary));
+            if (size > 1) {
+                assertTrue(binary.length < json.length, "binary encoding should be smaller for " + size + " books");
+            }
+        }
+    }
+
+    private long time(ThrowingRunnable roundTrip) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            roundTrip.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            roundTrip.run();
+        }
+        return (System.nanoTime() - start) / MEASURED_ITERATIONS;
+    }
+
+    private List<Book> books(int count) {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Book book = BookTestHelper.generateBook(i);
+            book.setPageCount(100 + i);
+            book.setThumbnail("http://books.google.com/books/content?id=" + i + "&printsec=frontcover&img=1");
+            books.add(book);
+        }
+        return books;
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
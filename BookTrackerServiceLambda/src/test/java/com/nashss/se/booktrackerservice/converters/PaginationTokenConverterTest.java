@@ -0,0 +1,74 @@
+package com.nashss.se.booktrackerservice.converters;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.nashss.se.booktrackerservice.exceptions.InvalidAttributeValueException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PaginationTokenConverterTest {
+    private final PaginationTokenConverter tokenConverter = new PaginationTokenConverter();
+
+    @Test
+    public void decode_encodedKey_returnsTheSameKey() {
+        // GIVEN
+        Map<String, AttributeValue> key = Map.of(
+                "id", new AttributeValue().withS("booklistId"),
+                "createdAt", new AttributeValue().withN("42"));
+
+        // WHEN
+        Map<String, AttributeValue> decoded = tokenConverter.decode(tokenConverter.encode(key));
+
+        // THEN
+        assertEquals(key, decoded);
+    }
+
+    @Test
+    public void decode_noToken_returnsNull() {
+        assertNull(tokenConverter.decode(null));
+        assertNull(tokenConverter.decode(" "));
+    }
+
+    @Test
+    public void decode_notBase64Json_throwsInvalidAttributeValueException() {
+        assertThrows(InvalidAttributeValueException.class, () -> tokenConverter.decode("not a token!"));
+    }
+
+    @Test
+    public void decode_nullValue_throwsInvalidAttributeValueException() {
+        assertThrows(InvalidAttributeValueException.class, () -> tokenConverter.decode(token("{\"id\":null}")));
+    }
+
+    @Test
+    public void decode_nullString_throwsInvalidAttributeValueException() {
+        assertThrows(InvalidAttributeValueException.class,
+                () -> tokenConverter.decode(token("{\"id\":{\"S\":null}}")));
+    }
+
+    @Test
+    public void decode_unsupportedType_throwsInvalidAttributeValueException() {
+        assertThrows(InvalidAttributeValueException.class,
+                () -> tokenConverter.decode(token("{\"id\":{\"B\":\"AAAA\"}}")));
+    }
+
+    @Test
+    public void decode_moreThanOneType_throwsInvalidAttributeValueException() {
+        assertThrows(InvalidAttributeValueException.class,
+                () -> tokenConverter.decode(token("{\"id\":{\"S\":\"a\",\"N\":\"1\"}}")));
+    }
+
+    @Test
+    public void decode_jsonNull_throwsInvalidAttributeValueException() {
+        assertThrows(InvalidAttributeValueException.class, () -> tokenConverter.decode(token("null")));
+    }
+
+    private static String token(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
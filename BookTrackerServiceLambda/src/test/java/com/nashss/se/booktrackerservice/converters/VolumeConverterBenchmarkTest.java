@@ -0,0 +1,94 @@
+package com.nashss.se.booktrackerservice.converters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.services.books.v1.model.Volume;
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+import com.nashss.se.booktrackerservice.googlebookapi.helper.VolumeInfoHelper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares mapping a page of volumes with {@link VolumeConverter} against the JSON round trip it replaced, which
+ * wrote each book as JSON and read it back with two new ObjectMappers. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class VolumeConverterBenchmarkTest {
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 5_000;
+
+    private final VolumeConverter volumeConverter = new VolumeConverter();
+
+    @Test
+    public void directMapping_isFasterThanJsonRoundTrip() throws Exception {
+        for (int size : new int[] {1, 5}) {
+            List<Volume> volumes = volumes(size);
+
+            long roundTripNanos = time(() -> jsonRoundTrip(volumes));
+            long directNanos = time(() -> volumeConverter.toBooks(volumes));
+
+            System.out.printf("%d volumes: json round trip %8.1f us/page, direct %8.1f us/page%n", size,
+                    roundTripNanos / 1000.0, directNanos / 1000.0);
+
+            assertEquals(jsonRoundTrip(volumes), volumeConverter.toBooks(volumes));
+        }
+    }
+
+    /**
+     * The mapping as SearchBooksActivity used to do it, through the helper getters and a JSON round trip per volume.
+     */
+    private static List<Book> jsonRoundTrip(List<Volume> volumes) throws Exception {
+        List<Book> books = new ArrayList<>();
+        for (Volume volume : volumes) {
+            Volume.VolumeInfo volumeInfo = volume.getVolumeInfo();
+            VolumeInfoHelper helper = new VolumeInfoHelper();
+            Book book = new Book();
+            book.setAsin(helper.getIsbn(volumeInfo));
+            book.setTitle(helper.getTitle(volumeInfo));
+            book.setAuthor(helper.getAuthors(volumeInfo).isEmpty() ? "" : helper.getAuthors(volumeInfo).get(0));
+            book.setGenre(helper.getGenres(volumeInfo).isEmpty() ? "" : helper.getGenres(volumeInfo).get(0));
+            book.setThumbnail(helper.getThumbnail(volumeInfo));
+            book.setPageCount(helper.getPageCount(volumeInfo).isEmpty() ? 0 :
+                    Integer.parseInt(helper.getPageCount(volumeInfo)));
+            String json = new ObjectMapper().writeValueAsString(book);
+            books.add(new ObjectMapper().readValue(json, Book.class));
+        }
+        return books;
+    }
+
+    private long time(ThrowingRunnable mapping) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            mapping.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            mapping.run();
+        }
+        return (System.nanoTime() - start) / MEASURED_ITERATIONS;
+    }
+
+    private static List<Volume> volumes(int count) {
+        List<Volume> volumes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            volumes.add(new Volume().setVolumeInfo(new Volume.VolumeInfo()
+                    .setTitle("The Hobbit " + i)
+                    .setSubtitle("Or There and Back Again")
+                    .setAuthors(List.of("J. R. R. Tolkien"))
+                    .setCategories(List.of("Fiction"))
+                    .setImageLinks(new Volume.VolumeInfo.ImageLinks()
+                            .setThumbnail("http://books.google.com/books/content?id=" + i))
+                    .setPageCount(300 + i)
+                    .setIndustryIdentifiers(List.of(new Volume.VolumeInfo.IndustryIdentifiers()
+                            .setType("ISBN_13").setIdentifier("978000745842" + i)))));
+        }
+        return volumes;
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,101 @@
+package com.nashss.se.booktrackerservice.converters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.services.books.v1.model.Volume;
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VolumeConverterTest {
+    private final VolumeConverter volumeConverter = new VolumeConverter();
+
+    @Test
+    public void toBook_fullVolumeInfo_mapsEveryAttribute() {
+        // GIVEN
+        Volume.VolumeInfo volumeInfo = volumeInfo("9780007458424");
+
+        // WHEN
+        Book book = volumeConverter.toBook(volumeInfo);
+
+        // THEN
+        assertEquals("9780007458424", book.getAsin());
+        assertEquals("The Hobbit, Or There and Back Again", book.getTitle());
+        assertEquals("J. R. R. Tolkien", book.getAuthor());
+        assertEquals("Fiction", book.getGenre());
+        assertEquals("http://books.google.com/books/content?id=btpIkZ6X6egC", book.getThumbnail());
+        assertEquals(310, book.getPageCount());
+    }
+
+    @Test
+    public void toBook_missingAttributes_mapsToEmptyValues() {
+        // GIVEN
+        Volume.VolumeInfo volumeInfo = new Volume.VolumeInfo().setTitle("The Hobbit");
+
+        // WHEN
+        Book book = volumeConverter.toBook(volumeInfo);
+
+        // THEN
+        assertEquals("", book.getAsin());
+        assertEquals("The Hobbit", book.getTitle());
+        assertEquals("", book.getAuthor());
+        assertEquals("", book.getGenre());
+        assertEquals("", book.getThumbnail());
+        assertEquals(0, book.getPageCount());
+    }
+
+    @Test
+    public void toBook_sameVolumeInfo_matchesTheJsonRoundTrip() throws Exception {
+        // GIVEN
+        ObjectMapper mapper = new ObjectMapper();
+        Book book = volumeConverter.toBook(volumeInfo("9780007458424"));
+
+        // WHEN
+        Book roundTripped = mapper.readValue(mapper.writeValueAsString(book), Book.class);
+
+        // THEN
+        assertEquals(roundTripped, book);
+    }
+
+    @Test
+    public void toBooks_page_mapsInOrderAndSkipsVolumesWithoutInfo() {
+        // GIVEN
+        List<Volume> volumes = Arrays.asList(
+                new Volume().setVolumeInfo(volumeInfo("1111")),
+                new Volume(),
+                null,
+                new Volume().setVolumeInfo(volumeInfo("2222")));
+
+        // WHEN
+        List<Book> books = volumeConverter.toBooks(volumes);
+
+        // THEN
+        assertEquals(2, books.size());
+        assertEquals("1111", books.get(0).getAsin());
+        assertEquals("2222", books.get(1).getAsin());
+    }
+
+    @Test
+    public void toBooks_noVolumes_returnsEmptyList() {
+        // WHEN & THEN
+        assertTrue(volumeConverter.toBooks(null).isEmpty());
+    }
+
+    private static Volume.VolumeInfo volumeInfo(String isbn) {
+        return new Volume.VolumeInfo()
+                .setTitle("The Hobbit")
+                .setSubtitle("Or There and Back Again")
+                .setAuthors(List.of("J. R. R. Tolkien", "Christopher Tolkien"))
+                .setCategories(List.of("Fiction"))
+                .setImageLinks(new Volume.VolumeInfo.ImageLinks()
+                        .setThumbnail("http://books.google.com/books/content?id=btpIkZ6X6egC"))
+                .setPageCount(310)
+                .setIndustryIdentifiers(List.of(
+                        new Volume.VolumeInfo.IndustryIdentifiers().setType("ISBN_13").setIdentifier(isbn),
+                        new Volume.VolumeInfo.IndustryIdentifiers().setType("ISBN_10").setIdentifier("0007458428")));
+    }
+}
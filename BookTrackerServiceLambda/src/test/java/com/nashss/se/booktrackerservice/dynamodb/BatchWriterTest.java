@@ -0,0 +1,106 @@
+package com.nashss.se.booktrackerservice.dynamodb;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputExceededException;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import com.nashss.se.booktrackerservice.exceptions.BatchWriteException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class BatchWriterTest {
+    @Mock
+    private AmazonDynamoDB amazonDynamoDB;
+    @Captor
+    ArgumentCaptor<BatchWriteItemRequest> requestCaptor;
+
+    private BatchWriter batchWriter;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        batchWriter = new BatchWriter(amazonDynamoDB, 10_000, 3, 1, 2);
+    }
+
+    @Test
+    public void write_unprocessedItems_retriesOnlyTheUnprocessedItems() {
+        // GIVEN
+        List<Map<String, AttributeValue>> items = items(3);
+        List<WriteRequest> unprocessed = List.of(new WriteRequest());
+        when(amazonDynamoDB.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(result(Map.of("Books", unprocessed)))
+                .thenReturn(result(Map.of()));
+
+        // WHEN
+        int retries = batchWriter.write("Books", items);
+
+        // THEN
+        assertEquals(1, retries);
+        verify(amazonDynamoDB, times(2)).batchWriteItem(requestCaptor.capture());
+        assertEquals(3, requestCaptor.getAllValues().get(0).getRequestItems().get("Books").size());
+        assertEquals(unprocessed, requestCaptor.getAllValues().get(1).getRequestItems().get("Books"));
+    }
+
+    @Test
+    public void write_throttled_retriesAndSucceeds() {
+        // GIVEN
+        when(amazonDynamoDB.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenThrow(new ProvisionedThroughputExceededException("slow down"))
+                .thenReturn(result(Map.of()));
+
+        // WHEN
+        int retries = batchWriter.write("Books", items(1));
+
+        // THEN
+        assertEquals(1, retries);
+    }
+
+    @Test
+    public void write_stillUnprocessedAfterMaxAttempts_throwsBatchWriteException() {
+        // GIVEN
+        when(amazonDynamoDB.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(result(Map.of("Books", List.of(new WriteRequest()))));
+
+        // WHEN + THEN
+        assertThrows(BatchWriteException.class, () -> batchWriter.write("Books", items(1)));
+        verify(amazonDynamoDB, times(3)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    @Test
+    public void write_tooManyItems_throwsIllegalArgumentException() {
+        // WHEN + THEN
+        assertThrows(IllegalArgumentException.class,
+                () -> batchWriter.write("Books", items(BatchWriter.MAX_BATCH_SIZE + 1)));
+    }
+
+    private BatchWriteItemResult result(Map<String, List<WriteRequest>> unprocessed) {
+        return new BatchWriteItemResult()
+                .withUnprocessedItems(unprocessed)
+                .withConsumedCapacity(new ConsumedCapacity().withTableName("Books").withCapacityUnits(1.0));
+    }
+
+    private List<Map<String, AttributeValue>> items(int count) {
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(Map.of("asin", new AttributeValue("asin" + i)));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,152 @@
+package com.nashss.se.booktrackerservice.dynamodb;
+
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+import com.nashss.se.booktrackerservice.metrics.MetricsConstants;
+import com.nashss.se.booktrackerservice.metrics.MetricsPublisher;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class BookCacheTest {
+    @Mock
+    private MetricsPublisher metricsPublisher;
+
+    private FakeTicker ticker;
+    private BookCache bookCache;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        ticker = new FakeTicker();
+        bookCache = new BookCache(metricsPublisher, ticker);
+    }
+
+    @Test
+    public void get_afterPut_returnsACopy() {
+        // GIVEN
+        Book book = book("1234");
+        bookCache.put(book);
+        book.setTitle("changed after caching");
+
+        // WHEN
+        Book cached = bookCache.get("1234");
+
+        // THEN
+        assertNotSame(book, cached);
+        assertEquals("title", cached.getTitle());
+    }
+
+    @Test
+    public void get_afterTtl_misses() {
+        // GIVEN
+        bookCache.put(book("1234"));
+
+        // WHEN
+        ticker.advance(BookCache.TTL_MINUTES, TimeUnit.MINUTES);
+
+        // THEN
+        assertNull(bookCache.get("1234"));
+    }
+
+    @Test
+    public void get_afterInvalidate_misses() {
+        // GIVEN
+        bookCache.put(book("1234"));
+
+        // WHEN
+        bookCache.invalidate("1234");
+
+        // THEN
+        assertNull(bookCache.get("1234"));
+    }
+
+    @Test
+    public void isMissing_afterPutMissing_isTrueUntilTtl() {
+        // GIVEN
+        bookCache.putMissing("1234");
+        assertTrue(bookCache.isMissing("1234"));
+
+        // WHEN
+        ticker.advance(BookCache.MISSING_TTL_SECONDS, TimeUnit.SECONDS);
+
+        // THEN
+        assertFalse(bookCache.isMissing("1234"));
+    }
+
+    @Test
+    public void isMissing_afterPut_isFalse() {
+        // GIVEN
+        bookCache.putMissing("1234");
+
+        // WHEN
+        bookCache.put(book("1234"));
+
+        // THEN
+        assertFalse(bookCache.isMissing("1234"));
+    }
+
+    @Test
+    public void isUnresolvable_missingAsin_isFalse() {
+        // GIVEN
+        bookCache.putMissing("1234");
+
+        // WHEN & THEN
+        assertFalse(bookCache.isUnresolvable("1234"));
+        bookCache.putUnresolvable("1234");
+        assertTrue(bookCache.isUnresolvable("1234"));
+    }
+
+    @Test
+    public void get_metricsIntervalElapsed_publishesCountsSinceLastPublish() {
+        // GIVEN
+        bookCache.put(book("1234"));
+        assertNotNull(bookCache.get("1234"));
+        assertNull(bookCache.get("5678"));
+        verify(metricsPublisher, never()).addCount(anyString(), anyDouble());
+
+        // WHEN
+        ticker.advance(BookCache.METRICS_INTERVAL_NANOS, TimeUnit.NANOSECONDS);
+        bookCache.get("1234");
+
+        // THEN
+        verify(metricsPublisher).addCount(MetricsConstants.BOOKCACHE_HIT_COUNT, 2);
+        verify(metricsPublisher).addCount(MetricsConstants.BOOKCACHE_MISS_COUNT, 1);
+        verify(metricsPublisher).addCount(MetricsConstants.BOOKCACHE_EVICTION_COUNT, 0);
+    }
+
+    private static Book book(String asin) {
+        Book book = new Book();
+        book.setAsin(asin);
+        book.setTitle("title");
+        return book;
+    }
+
+    private static class FakeTicker extends Ticker {
+        private long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        void advance(long amount, TimeUnit unit) {
+            nanos += unit.toNanos(amount);
+        }
+    }
+}
@@ -2,7 +2,6 @@ package com.nashss.se.booktrackerservice.dynamodb;
 
 
 import com.amazonaws.services.dynamodbv2.datamodeling.*;
-import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
 import org.junit.jupiter.api.BeforeEach;
 import org.mockito.Mock;
 
@@ -10,6 +9,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+import com.nashss.se.booktrackerservice.dynamodb.models.BookSearchToken;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 
@@ -18,23 +18,29 @@ import org.junit.jupiter.api.Test;
 
 import org.mockito.ArgumentCaptor;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.Captor;
 
 import static org.mockito.Mockito.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 public class BookDaoTest {
     @Mock
     private DynamoDBMapper dynamoDBMapper;
-    @Mock
-    private PaginatedScanList<Book> pagScanList;
-    @Mock
-    private ScanResultPage<Book> scanResultPage;
     @Captor
-    ArgumentCaptor<DynamoDBScanExpression> scanExpCaptor;
+    ArgumentCaptor<DynamoDBQueryExpression<BookSearchToken>> queryExpCaptor;
+    @Captor
+    ArgumentCaptor<List<BookSearchToken>> savedTokensCaptor;
+    @Captor
+    ArgumentCaptor<List<BookSearchToken>> deletedTokensCaptor;
+    @Captor
+    ArgumentCaptor<List<Book>> batchKeysCaptor;
 
 
     private BookDao bookDao;
@@ -46,20 +52,102 @@ public class BookDaoTest {
     }
 
     @Test
-    public void searchBooks_withValidCriteria_returnsAListOfBooks() {
+    public void searchBooks_withValidCriteria_returnsBooksMatchingEveryToken() {
         // GIVEN
-        String criteria = "not null";
-        String[] criteriaArray = {criteria};
-        when(dynamoDBMapper.scan(eq(Book.class),
-                any(DynamoDBScanExpression.class))).thenReturn(pagScanList);
+        String[] criteriaArray = {"Hobb", "tolkien"};
+        Book hobbit = book("1234", "The Hobbit", "J.R.R. Tolkien");
+        when(dynamoDBMapper.queryPage(eq(BookSearchToken.class), any(DynamoDBQueryExpression.class)))
+                .thenReturn(postings("1234", "5678"), postings("1234"));
+        when(dynamoDBMapper.batchLoad(anyList(), any(DynamoDBMapperConfig.class)))
+                .thenReturn(Collections.singletonMap("Books", Collections.singletonList(hobbit)));
 
         // WHEN
         List<Book> results = bookDao.searchBooks(criteriaArray);
 
         // THEN
-        verify(dynamoDBMapper).scan(eq(Book.class), scanExpCaptor.capture());
-        assertNotNull(results);
-        assertTrue(!results.isEmpty());
+        verify(dynamoDBMapper, times(2)).queryPage(eq(BookSearchToken.class), queryExpCaptor.capture());
+        assertEquals(":token", queryExpCaptor.getValue().getExpressionAttributeValues().keySet().iterator().next());
+        verify(dynamoDBMapper, never()).scan(eq(Book.class), any(DynamoDBScanExpression.class));
+        assertEquals(Collections.singletonList(hobbit), results);
+    }
+
+    @Test
+    public void searchBooks_withDisjointPostings_returnsEmptyListWithoutLoadingBooks() {
+        // GIVEN
+        String[] criteriaArray = {"hobbit", "dune"};
+        when(dynamoDBMapper.queryPage(eq(BookSearchToken.class), any(DynamoDBQueryExpression.class)))
+                .thenReturn(postings("1234"), postings("5678"));
+
+        // WHEN
+        List<Book> results = bookDao.searchBooks(criteriaArray);
+
+        // THEN
+        assertTrue(results.isEmpty());
+        verify(dynamoDBMapper, never()).batchLoad(anyList(), any(DynamoDBMapperConfig.class));
+    }
+
+    @Test
+    public void searchBooks_withStalePosting_filtersOutBooksThatNoLongerMatch() {
+        // GIVEN
+        String[] criteriaArray = {"hobbit"};
+        Book renamed = book("1234", "Dune", "Frank Herbert");
+        when(dynamoDBMapper.queryPage(eq(BookSearchToken.class), any(DynamoDBQueryExpression.class)))
+                .thenReturn(postings("1234"));
+        when(dynamoDBMapper.batchLoad(anyList(), any(DynamoDBMapperConfig.class)))
+                .thenReturn(Collections.singletonMap("Books", Collections.singletonList(renamed)));
+
+        // WHEN
+        List<Book> results = bookDao.searchBooks(criteriaArray);
+
+        // THEN
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    public void searchBooks_withTokenOverPostingCap_stopsReadingPostingsAndLoadsAtMostCap() {
+        // GIVEN
+        String[] asins = new String[BookDao.MAX_SEARCH_POSTINGS + 1];
+        for (int i = 0; i < asins.length; i++) {
+            asins[i] = "asin" + i;
+        }
+        QueryResultPage<BookSearchToken> firstPage = postings(asins);
+        firstPage.setLastEvaluatedKey(Collections.emptyMap());
+        when(dynamoDBMapper.queryPage(eq(BookSearchToken.class), any(DynamoDBQueryExpression.class)))
+                .thenReturn(firstPage);
+        when(dynamoDBMapper.batchLoad(anyList(), any(DynamoDBMapperConfig.class))).thenReturn(Collections.emptyMap());
+
+        // WHEN
+        bookDao.searchBooks(new String[] {"the"});
+
+        // THEN
+        verify(dynamoDBMapper).queryPage(eq(BookSearchToken.class), queryExpCaptor.capture());
+        assertEquals(BookDao.MAX_SEARCH_POSTINGS + 1, queryExpCaptor.getValue().getLimit());
+        verify(dynamoDBMapper, atLeastOnce()).batchLoad(batchKeysCaptor.capture(), any(DynamoDBMapperConfig.class));
+        assertEquals(BookDao.MAX_SEARCH_POSTINGS, batchKeysCaptor.getAllValues().stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    public void searchBooks_withOneTokenOverPostingCap_intersectsTheOtherTokens() {
+        // GIVEN
+        String[] asins = new String[BookDao.MAX_SEARCH_POSTINGS + 1];
+        for (int i = 0; i < asins.length; i++) {
+            asins[i] = "asin" + i;
+        }
+        QueryResultPage<BookSearchToken> commonPostings = postings(asins);
+        commonPostings.setLastEvaluatedKey(Collections.emptyMap());
+        Book hobbit = book("1234", "The Hobbit", "J.R.R. Tolkien");
+        when(dynamoDBMapper.queryPage(eq(BookSearchToken.class), any(DynamoDBQueryExpression.class)))
+                .thenReturn(commonPostings, postings("1234"));
+        when(dynamoDBMapper.batchLoad(anyList(), any(DynamoDBMapperConfig.class)))
+                .thenReturn(Collections.singletonMap("Books", Collections.singletonList(hobbit)));
+
+        // WHEN
+        List<Book> results = bookDao.searchBooks(new String[] {"tolkien", "hobb"});
+
+        // THEN
+        verify(dynamoDBMapper).batchLoad(batchKeysCaptor.capture(), any(DynamoDBMapperConfig.class));
+        assertEquals(1, batchKeysCaptor.getValue().size());
+        assertEquals(Collections.singletonList(hobbit), results);
     }
 
     @Test
@@ -68,36 +156,240 @@ public class BookDaoTest {
         String criteria = null;
         String[] criteriaArray = {criteria};
 
-        when(dynamoDBMapper.scan(eq(Book.class),
-                any(DynamoDBScanExpression.class))).thenReturn(pagScanList);
-
         // WHEN
         List<Book> results = bookDao.searchBooks(criteriaArray);
 
         // THEN
-        verify(dynamoDBMapper).scan(eq(Book.class), scanExpCaptor.capture());
         assertNotNull(results);
         assertTrue(results.size() == 0);
+        verifyNoInteractions(dynamoDBMapper);
     }
 
     @Test
-    public void getCurrentlyReading_withValidCriteria_returnsAListOfBooks() {
+    public void saveBook_withRenamedBook_writesNewTokensAndDeletesStaleOnes() {
         // GIVEN
-        boolean currentlyReading = true;
-        Book book = new Book();
-        book.setAsin("1234");
-        List<Book> result = new ArrayList<>();
-        result.add(book);
-        when(dynamoDBMapper.scanPage(eq(Book.class),
-                any(DynamoDBScanExpression.class))).thenReturn(scanResultPage);
-        when(scanResultPage.getResults()).thenReturn(result);
+        Book previous = book("1234", "Dune", "Frank Herbert");
+        Book updated = book("1234", "Dune Messiah", "Frank Herbert");
+        when(dynamoDBMapper.load(Book.class, "1234")).thenReturn(previous);
 
         // WHEN
-        Booklist results = bookDao.getCurrentlyReading(currentlyReading);
+        bookDao.saveBook(updated);
 
         // THEN
-        verify(dynamoDBMapper).scanPage(eq(Book.class), scanExpCaptor.capture());
-        assertNotNull(results);
+        verify(dynamoDBMapper).save(updated);
+        verify(dynamoDBMapper).batchWrite(savedTokensCaptor.capture(), deletedTokensCaptor.capture());
+        assertTrue(savedTokensCaptor.getValue().contains(new BookSearchToken("messiah", "1234")));
+        assertTrue(savedTokensCaptor.getValue().contains(new BookSearchToken("mes", "1234")));
+        assertTrue(savedTokensCaptor.getValue().contains(new BookSearchToken("dune", "1234")));
+        assertTrue(deletedTokensCaptor.getValue().isEmpty());
+    }
+
+    @Test
+    public void saveBook_withChangedTitle_deletesTokensNoLongerPresent() {
+        // GIVEN
+        Book previous = book("1234", "Dune", "Frank Herbert");
+        Book updated = book("1234", "Emma", "Frank Herbert");
+        when(dynamoDBMapper.load(Book.class, "1234")).thenReturn(previous);
+
+        // WHEN
+        bookDao.saveBook(updated);
+
+        // THEN
+        verify(dynamoDBMapper).batchWrite(savedTokensCaptor.capture(), deletedTokensCaptor.capture());
+        assertTrue(deletedTokensCaptor.getValue().contains(new BookSearchToken("dune", "1234")));
+        assertFalse(deletedTokensCaptor.getValue().contains(new BookSearchToken("frank", "1234")));
     }
 
+    @Test
+    public void getBooks_withAsins_batchLoadsBooks() {
+        // GIVEN
+        Book stored = book("1234", "Dune", "Frank Herbert");
+        when(dynamoDBMapper.batchLoad(anyList(), any(DynamoDBMapperConfig.class))).thenReturn(Map.of("Books", List.of(stored)));
+
+        // WHEN
+        List<Book> results = bookDao.getBooks(List.of("1234", "5678"));
+
+        // THEN
+        assertEquals(List.of(stored), results);
+    }
+
+    @Test
+    public void getBooks_moreThanOneHundredAsins_loadsInChunksAndKeepsRequestedOrder() {
+        // GIVEN
+        List<String> asins = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            asins.add("asin" + i);
+        }
+        when(dynamoDBMapper.batchLoad(anyList(), any(DynamoDBMapperConfig.class))).thenAnswer(invocation -> {
+            List<Book> keys = invocation.getArgument(0);
+            List<Object> loaded = new ArrayList<>();
+            for (Book key : keys) {
+                loaded.add(book(key.getAsin(), "title", "author"));
+            }
+            Collections.reverse(loaded);
+            return Map.of("Books", loaded);
+        });
+
+        // WHEN
+        List<Book> results = bookDao.getBooks(asins);
+
+        // THEN
+        verify(dynamoDBMapper, times(2)).batchLoad(batchKeysCaptor.capture(), any(DynamoDBMapperConfig.class));
+        List<Integer> chunkSizes = new ArrayList<>();
+        for (List<Book> chunk : batchKeysCaptor.getAllValues()) {
+            chunkSizes.add(chunk.size());
+        }
+        chunkSizes.sort(Comparator.reverseOrder());
+        assertEquals(List.of(100, 50), chunkSizes);
+        assertEquals(150, results.size());
+        for (int i = 0; i < 150; i++) {
+            assertEquals("asin" + i, results.get(i).getAsin());
+        }
+    }
+
+    @Test
+    public void getBooks_duplicateAsins_loadsEachOnce() {
+        // GIVEN
+        Book stored = book("1234", "Dune", "Frank Herbert");
+        when(dynamoDBMapper.batchLoad(anyList(), any(DynamoDBMapperConfig.class)))
+                .thenReturn(Map.of("Books", List.of(stored)));
+
+        // WHEN
+        List<Book> results = bookDao.getBooks(List.of("1234", "1234"));
+
+        // THEN
+        verify(dynamoDBMapper).batchLoad(batchKeysCaptor.capture(), any(DynamoDBMapperConfig.class));
+        assertEquals(1, batchKeysCaptor.getValue().size());
+        assertEquals(List.of(stored), results);
+    }
+
+    @Test
+    public void getBooks_noAsins_doesNotCallDynamo() {
+        // WHEN
+        List<Book> results = bookDao.getBooks(Collections.emptyList());
+
+        // THEN
+        assertTrue(results.isEmpty());
+        verify(dynamoDBMapper, never()).batchLoad(anyList(), any(DynamoDBMapperConfig.class));
+    }
+
+    @Test
+    public void getBook_readTwice_loadsFromDynamoDBOnce() {
+        // GIVEN
+        when(dynamoDBMapper.load(Book.class, "1234")).thenReturn(book("1234", "The Hobbit", "J.R.R. Tolkien"));
+
+        // WHEN
+        Book first = bookDao.getBook("1234");
+        first.setCurrentlyReading(true);
+        Book second = bookDao.getBook("1234");
+
+        // THEN
+        verify(dynamoDBMapper, times(1)).load(Book.class, "1234");
+        assertEquals("The Hobbit", second.getTitle());
+        assertNull(second.isCurrentlyReading());
+    }
+
+    @Test
+    public void saveBook_cachedBook_isReadAgainAfterSave() {
+        // GIVEN
+        when(dynamoDBMapper.load(Book.class, "1234")).thenReturn(book("1234", "The Hobbit", "J.R.R. Tolkien"),
+                book("1234", "The Hobbit", "J.R.R. Tolkien"), book("1234", "The Hobbit, 2nd ed.", "J.R.R. Tolkien"));
+        bookDao.getBook("1234");
+
+        // WHEN
+        bookDao.saveBook(book("1234", "The Hobbit, 2nd ed.", "J.R.R. Tolkien"));
+
+        // THEN
+        assertEquals("The Hobbit, 2nd ed.", bookDao.getBook("1234").getTitle());
+    }
+
+    @Test
+    public void getBook_missingBookReadTwice_loadsFromDynamoDBOnce() {
+        // GIVEN
+        when(dynamoDBMapper.load(Book.class, "1234")).thenReturn(null);
+
+        // WHEN
+        bookDao.getBook("1234");
+        Book second = bookDao.getBook("1234");
+
+        // THEN
+        assertNull(second);
+        verify(dynamoDBMapper, times(1)).load(Book.class, "1234");
+    }
+
+    @Test
+    public void getBook_missingBookSavedHere_isReadAfterSave() {
+        // GIVEN
+        when(dynamoDBMapper.load(Book.class, "1234")).thenReturn(null, null,
+                book("1234", "The Hobbit", "J.R.R. Tolkien"));
+        bookDao.getBook("1234");
+
+        // WHEN
+        bookDao.saveBook(book("1234", "The Hobbit", "J.R.R. Tolkien"));
+
+        // THEN
+        assertEquals("The Hobbit", bookDao.getBook("1234").getTitle());
+    }
+
+    @Test
+    public void getBook_asinRuledOutByFilter_stillLoadsFromDynamoDB() {
+        // GIVEN - a book another container saved after the filter was built
+        CatalogAsinFilter catalogAsinFilter = mock(CatalogAsinFilter.class);
+        when(catalogAsinFilter.mightContain("1234")).thenReturn(false);
+        bookDao = new BookDao(dynamoDBMapper, new BookCache(), catalogAsinFilter);
+        when(dynamoDBMapper.load(Book.class, "1234")).thenReturn(book("1234", "The Hobbit", "Tolkien"));
+
+        // WHEN
+        Book book = bookDao.getBook("1234");
+
+        // THEN
+        assertEquals("The Hobbit", book.getTitle());
+    }
+
+    @Test
+    public void findCatalogBook_asinRuledOutByFilter_doesNotCallDynamo() {
+        // GIVEN
+        CatalogAsinFilter catalogAsinFilter = mock(CatalogAsinFilter.class);
+        when(catalogAsinFilter.mightContain("1234")).thenReturn(false);
+        bookDao = new BookDao(dynamoDBMapper, new BookCache(), catalogAsinFilter);
+
+        // WHEN
+        Book book = bookDao.findCatalogBook("1234");
+
+        // THEN
+        assertNull(book);
+        verify(dynamoDBMapper, never()).load(Book.class, "1234");
+    }
+
+    @Test
+    public void reloadBook_recentlyFoundMissing_loadsFromDynamoDBAgain() {
+        // GIVEN
+        when(dynamoDBMapper.load(Book.class, "1234")).thenReturn(null, book("1234", "The Hobbit", "Tolkien"));
+        bookDao.getBook("1234");
+
+        // WHEN
+        Book book = bookDao.reloadBook("1234");
+
+        // THEN
+        assertEquals("The Hobbit", book.getTitle());
+        verify(dynamoDBMapper, times(2)).load(Book.class, "1234");
+    }
+
+    private Book book(String asin, String title, String author) {
+        Book book = new Book();
+        book.setAsin(asin);
+        book.setTitle(title);
+        book.setAuthor(author);
+        return book;
+    }
+
+    private QueryResultPage<BookSearchToken> postings(String... asins) {
+        QueryResultPage<BookSearchToken> page = new QueryResultPage<>();
+        List<BookSearchToken> results = new ArrayList<>();
+        for (String asin : asins) {
+            results.add(new BookSearchToken("token", asin));
+        }
+        page.setResults(results);
+        return page;
+    }
 }
@@ -0,0 +1,90 @@
+package com.nashss.se.booktrackerservice.dynamodb;
+
+import com.nashss.se.booktrackerservice.dynamodb.models.BookStats;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.model.Update;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class BookStatsDaoTest {
+    @Mock
+    private DynamoDBMapper dynamoDBMapper;
+    @Captor
+    private ArgumentCaptor<List<BookStats>> keysCaptor;
+
+    private BookStatsDao bookStatsDao;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        bookStatsDao = new BookStatsDao(dynamoDBMapper);
+    }
+
+    @Test
+    public void statsUpdate_addsOnlyNonZeroCountersToOneShard() {
+        // WHEN
+        Update update = bookStatsDao.statsUpdate("asin", 0, 4, 1, 0);
+
+        // THEN
+        assertEquals(BookStats.TABLE_NAME, update.getTableName());
+        assertTrue(update.getKey().get("id").getS().matches("asin#[0-7]"));
+        assertEquals("SET asin = :asin ADD ratingSum :ratingSum, ratingCount :ratingCount",
+                update.getUpdateExpression());
+        assertEquals("4", update.getExpressionAttributeValues().get(":ratingSum").getN());
+        assertEquals("1", update.getExpressionAttributeValues().get(":ratingCount").getN());
+    }
+
+    @Test
+    public void statsUpdate_nothingChanged_returnsNull() {
+        // WHEN + THEN
+        assertNull(bookStatsDao.statsUpdate("asin", 0, 0, 0, 0));
+    }
+
+    @Test
+    public void getBookStats_sumsEveryShardFromOneBatchGet() {
+        // GIVEN
+        when(dynamoDBMapper.batchLoad(keysCaptor.capture()))
+                .thenReturn(Map.of(BookStats.TABLE_NAME, List.of(shard("asin#1", 2, 9, 2, 1),
+                        shard("asin#6", 1, 4, 1, 0))));
+
+        // WHEN
+        BookStats totals = bookStatsDao.getBookStats("asin");
+
+        // THEN
+        Set<String> ids = new HashSet<>();
+        for (BookStats key : keysCaptor.getValue()) {
+            ids.add(key.getId());
+        }
+        assertEquals(BookStatsDao.SHARD_COUNT, ids.size());
+        assertEquals("asin", totals.getAsin());
+        assertEquals(3, totals.getCommentCount());
+        assertEquals(13, totals.getRatingSum());
+        assertEquals(3, totals.getRatingCount());
+        assertEquals(1, totals.getActiveReaders());
+    }
+
+    private static BookStats shard(String id, long comments, long ratingSum, long ratingCount, long readers) {
+        BookStats shard = new BookStats();
+        shard.setId(id);
+        shard.setCommentCount(comments);
+        shard.setRatingSum(ratingSum);
+        shard.setRatingCount(ratingCount);
+        shard.setActiveReaders(readers);
+        return shard;
+    }
+}
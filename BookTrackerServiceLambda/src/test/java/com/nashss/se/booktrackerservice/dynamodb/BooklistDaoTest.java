@@ -1,11 +1,29 @@
 package com.nashss.se.booktrackerservice.dynamodb;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
-import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.CancellationReason;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItem;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactionCanceledException;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemResult;
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.dynamodb.models.BooklistEntry;
+import com.nashss.se.booktrackerservice.exceptions.BookNotFoundException;
 import com.nashss.se.booktrackerservice.exceptions.BooklistNotFoundException;
+import com.nashss.se.booktrackerservice.exceptions.CatalogBookExistsException;
+import com.nashss.se.booktrackerservice.exceptions.ConflictingUpdateException;
+import com.nashss.se.booktrackerservice.exceptions.DuplicateBookException;
 import com.nashss.se.booktrackerservice.exceptions.UserNotFoundException;
+import com.nashss.se.booktrackerservice.utils.Deadline;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -13,9 +31,14 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -24,16 +47,22 @@ public class BooklistDaoTest {
     @Mock
     private DynamoDBMapper dynamoDBMapper;
     @Mock
-    private PaginatedScanList<Booklist> pagScanList;
+    private AmazonDynamoDB amazonDynamoDB;
+    @Captor
+    ArgumentCaptor<UpdateItemRequest> updateCaptor;
+    @Captor
+    ArgumentCaptor<TransactWriteItemsRequest> transactCaptor;
     @Captor
     ArgumentCaptor<DynamoDBScanExpression> scanExpCaptor;
+    @Captor
+    ArgumentCaptor<DynamoDBQueryExpression<Booklist>> queryExpCaptor;
 
     private BooklistDao booklistDao;
 
     @BeforeEach
     public void setup() {
         initMocks(this);
-        booklistDao = new BooklistDao(dynamoDBMapper);
+        booklistDao = new BooklistDao(dynamoDBMapper, amazonDynamoDB);
     }
 
     @Test
@@ -74,63 +103,337 @@ public class BooklistDaoTest {
     }
 
     @Test
-    public void searchBooklist_withValidCriteria_returnsAListOfBooklists() {
+    public void saveBooklist_versionConflict_throwsConflictingUpdateException() {
         // GIVEN
-        String criteria = "not null";
-        String[] criteriaArray = {criteria};
-        when(dynamoDBMapper.scan(eq(Booklist.class),
-                any(DynamoDBScanExpression.class))).thenReturn(pagScanList);
+        Booklist booklist = new Booklist();
+        booklist.setVersion(3L);
+        doThrow(new ConditionalCheckFailedException("stale version")).when(dynamoDBMapper).save(booklist);
+
+        // WHEN + THEN
+        assertThrows(ConflictingUpdateException.class, () -> booklistDao.saveBooklist(booklist));
+    }
+
+    @Test
+    public void updateBooklistName_setsOnlyTheNameAndBumpsVersion() {
+        // GIVEN
+        Map<String, AttributeValue> attributes = Map.of("id", new AttributeValue("id"));
+        Booklist renamed = new Booklist();
+        when(amazonDynamoDB.updateItem(any(UpdateItemRequest.class)))
+                .thenReturn(new UpdateItemResult().withAttributes(attributes));
+        when(dynamoDBMapper.marshallIntoObject(Booklist.class, attributes)).thenReturn(renamed);
 
         // WHEN
-        List<Booklist> results = booklistDao.searchBooklists(criteriaArray);
+        Booklist result = booklistDao.updateBooklistName("id", "new name");
 
         // THEN
-        verify(dynamoDBMapper).scan(eq(Booklist.class), scanExpCaptor.capture());
-        assertNotNull(results);
-        assertTrue(!results.isEmpty());
+        verify(amazonDynamoDB).updateItem(updateCaptor.capture());
+        UpdateItemRequest request = updateCaptor.getValue();
+        assertEquals(Booklist.TABLE_NAME, request.getTableName());
+        assertEquals("id", request.getKey().get("id").getS());
+        assertEquals("SET booklistName = :name ADD version :one", request.getUpdateExpression());
+        assertEquals("new name", request.getExpressionAttributeValues().get(":name").getS());
+        assertEquals("attribute_exists(id)", request.getConditionExpression());
+        assertEquals(renamed, result);
+        verify(dynamoDBMapper, never()).save(any());
     }
 
     @Test
-    public void searchBooklist_withNullCriteria_returnsEmptyListOfBooklist() {
+    public void updateBooklistName_booklistMissing_throwsBooklistNotFoundException() {
         // GIVEN
-        String criteria = null;
-        String[] criteriaArray = {criteria};
+        when(amazonDynamoDB.updateItem(any(UpdateItemRequest.class)))
+                .thenThrow(new ConditionalCheckFailedException("missing"));
 
-        when(dynamoDBMapper.scan(eq(Booklist.class),
-                any(DynamoDBScanExpression.class))).thenReturn(pagScanList);
+        // WHEN + THEN
+        assertThrows(BooklistNotFoundException.class, () -> booklistDao.updateBooklistName("id", "name"));
+    }
+
+    @Test
+    public void addBookToBooklist_newCatalogBook_writesEntryCountAndBookInOneTransaction() {
+        // GIVEN
+        stubTableModels();
+        BooklistEntry entry = entry("booklistId", "asin");
+        Book book = new Book();
+        book.setAsin("asin");
 
         // WHEN
-        List<Booklist> results = booklistDao.searchBooklists(criteriaArray);
+        booklistDao.addBookToBooklist(entry, book);
 
         // THEN
-        verify(dynamoDBMapper).scan(eq(Booklist.class), scanExpCaptor.capture());
-        assertNotNull(results);
-        assertTrue(results.size() == 0);
+        verify(amazonDynamoDB).transactWriteItems(transactCaptor.capture());
+        List<TransactWriteItem> writes = transactCaptor.getValue().getTransactItems();
+        assertEquals(3, writes.size());
+        assertEquals(BooklistEntry.TABLE_NAME, writes.get(0).getPut().getTableName());
+        assertEquals("attribute_not_exists(asin)", writes.get(0).getPut().getConditionExpression());
+        assertEquals("booklistId", writes.get(1).getUpdate().getKey().get("id").getS());
+        assertEquals("ADD bookCount :one, version :one", writes.get(1).getUpdate().getUpdateExpression());
+        assertEquals("attribute_exists(id)", writes.get(1).getUpdate().getConditionExpression());
+        assertEquals(Book.TABLE_NAME, writes.get(2).getPut().getTableName());
+        assertEquals("asin", writes.get(2).getPut().getItem().get("asin").getS());
+        assertEquals("attribute_not_exists(asin)", writes.get(2).getPut().getConditionExpression());
     }
 
     @Test
-    public void getAllBooklistsForUser_withUserId_returnsListOfBooklists() {
+    public void addBookToBooklist_bookAlreadyInCatalog_doesNotWriteBook() {
         // GIVEN
-        String testId = "testId";
-        when(dynamoDBMapper.scan(eq(Booklist.class), any(DynamoDBScanExpression.class))).thenReturn(pagScanList);
+        stubTableModels();
 
         // WHEN
-        List<Booklist> results = booklistDao.getAllBooklistsForUser(testId);
+        booklistDao.addBookToBooklist(entry("booklistId", "asin"), null);
 
         // THEN
-        assertNotNull(results);
-        verify(dynamoDBMapper).scan(eq(Booklist.class), scanExpCaptor.capture());
-        assertTrue(!results.isEmpty());
+        verify(amazonDynamoDB).transactWriteItems(transactCaptor.capture());
+        assertEquals(2, transactCaptor.getValue().getTransactItems().size());
     }
 
     @Test
-    public void getAllBooklistsForUser_withNullId_throwsUserNotFoundException() {
+    public void addBookToBooklist_entryExists_throwsDuplicateBookException() {
         // GIVEN
-        String testId = null;
-        when(dynamoDBMapper.scan(eq(Booklist.class), any(DynamoDBScanExpression.class))).thenReturn(pagScanList);
+        stubTableModels();
+        when(amazonDynamoDB.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(canceled("ConditionalCheckFailed", "None"));
+
+        // WHEN + THEN
+        assertThrows(DuplicateBookException.class,
+                () -> booklistDao.addBookToBooklist(entry("booklistId", "asin"), null));
+    }
+
+    @Test
+    public void addBookToBooklist_catalogBookSavedByAnotherWriter_throwsCatalogBookExistsException() {
+        // GIVEN
+        stubTableModels();
+        Book book = new Book();
+        book.setAsin("asin");
+        TransactionCanceledException canceled = new TransactionCanceledException("canceled");
+        canceled.setCancellationReasons(List.of(new CancellationReason().withCode("None"),
+                new CancellationReason().withCode("None"),
+                new CancellationReason().withCode("ConditionalCheckFailed")));
+        when(amazonDynamoDB.transactWriteItems(any(TransactWriteItemsRequest.class))).thenThrow(canceled);
+
+        // WHEN + THEN
+        assertThrows(CatalogBookExistsException.class,
+                () -> booklistDao.addBookToBooklist(entry("booklistId", "asin"), book));
+    }
+
+    @Test
+    public void addBookToBooklist_booklistMissing_throwsBooklistNotFoundException() {
+        // GIVEN
+        stubTableModels();
+        when(amazonDynamoDB.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(canceled("None", "ConditionalCheckFailed"));
+
+        // WHEN + THEN
+        assertThrows(BooklistNotFoundException.class,
+                () -> booklistDao.addBookToBooklist(entry("booklistId", "asin"), null));
+    }
+
+    @Test
+    public void removeBookFromBooklist_deletesEntryAndDecrementsCountInOneTransaction() {
+        // WHEN
+        booklistDao.removeBookFromBooklist("booklistId", "asin");
+
+        // THEN
+        verify(amazonDynamoDB).transactWriteItems(transactCaptor.capture());
+        List<TransactWriteItem> writes = transactCaptor.getValue().getTransactItems();
+        assertEquals(2, writes.size());
+        assertEquals(BooklistEntry.TABLE_NAME, writes.get(0).getDelete().getTableName());
+        assertEquals("asin", writes.get(0).getDelete().getKey().get("asin").getS());
+        assertEquals("attribute_exists(asin)", writes.get(0).getDelete().getConditionExpression());
+        assertEquals("booklistId", writes.get(1).getUpdate().getKey().get("id").getS());
+        assertEquals("ADD bookCount :minusOne, version :one", writes.get(1).getUpdate().getUpdateExpression());
+        assertEquals("-1", writes.get(1).getUpdate().getExpressionAttributeValues().get(":minusOne").getN());
+        assertEquals("attribute_exists(id)", writes.get(1).getUpdate().getConditionExpression());
+    }
+
+    @Test
+    public void removeBookFromBooklist_entryMissing_throwsBookNotFoundException() {
+        // GIVEN
+        when(amazonDynamoDB.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(canceled("ConditionalCheckFailed", "None"));
+
+        // WHEN + THEN
+        assertThrows(BookNotFoundException.class, () -> booklistDao.removeBookFromBooklist("booklistId", "asin"));
+    }
+
+    @Test
+    public void removeBookFromBooklist_booklistMissing_throwsBooklistNotFoundException() {
+        // GIVEN
+        when(amazonDynamoDB.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(canceled("None", "ConditionalCheckFailed"));
+
+        // WHEN + THEN
+        assertThrows(BooklistNotFoundException.class,
+                () -> booklistDao.removeBookFromBooklist("booklistId", "asin"));
+    }
+
+    @Test
+    public void searchBooklists_withValidCriteria_scansWithFilterAndLimit() {
+        // GIVEN
+        String[] criteriaArray = {"good"};
+        ScanResultPage<Booklist> scanPage = new ScanResultPage<>();
+        scanPage.setResults(List.of(new Booklist(), new Booklist()));
+        when(dynamoDBMapper.scanPage(eq(Booklist.class), any(DynamoDBScanExpression.class))).thenReturn(scanPage);
+
+        // WHEN
+        ScanResultPage<Booklist> results = booklistDao.searchBooklists(criteriaArray, 2, null);
+
+        // THEN
+        verify(dynamoDBMapper).scanPage(eq(Booklist.class), scanExpCaptor.capture());
+        assertEquals(2, scanExpCaptor.getValue().getLimit());
+        assertEquals("good", scanExpCaptor.getValue().getExpressionAttributeValues().get(":c0").getS());
+        assertEquals(BooklistDao.SUMMARY_PROJECTION, scanExpCaptor.getValue().getProjectionExpression());
+        assertEquals(2, results.getResults().size());
+        assertNull(results.getLastEvaluatedKey());
+    }
+
+    @Test
+    public void searchBooklists_withSparseMatches_readsPagesUntilLimitReached() {
+        // GIVEN
+        Map<String, AttributeValue> firstKey = Map.of("id", new AttributeValue().withS("a"));
+        Map<String, AttributeValue> secondKey = Map.of("id", new AttributeValue().withS("b"));
+        ScanResultPage<Booklist> emptyPage = new ScanResultPage<>();
+        emptyPage.setResults(List.of());
+        emptyPage.setLastEvaluatedKey(firstKey);
+        ScanResultPage<Booklist> fullPage = new ScanResultPage<>();
+        fullPage.setResults(List.of(new Booklist()));
+        fullPage.setLastEvaluatedKey(secondKey);
+        when(dynamoDBMapper.scanPage(eq(Booklist.class), any(DynamoDBScanExpression.class)))
+                .thenReturn(emptyPage, fullPage);
+
+        // WHEN
+        ScanResultPage<Booklist> results = booklistDao.searchBooklists(new String[] {"good"}, 1, null);
+
+        // THEN
+        verify(dynamoDBMapper, times(2)).scanPage(eq(Booklist.class), any(DynamoDBScanExpression.class));
+        assertEquals(1, results.getResults().size());
+        assertEquals(secondKey, results.getLastEvaluatedKey());
+    }
+
+    @Test
+    public void searchBooklists_withMoreMatchesThanLimit_resumesAfterLastBooklistKept() {
+        // GIVEN
+        ScanResultPage<Booklist> firstPage = new ScanResultPage<>();
+        firstPage.setResults(List.of(booklist("a")));
+        firstPage.setLastEvaluatedKey(Map.of("id", new AttributeValue().withS("a")));
+        ScanResultPage<Booklist> secondPage = new ScanResultPage<>();
+        secondPage.setResults(List.of(booklist("b"), booklist("c")));
+        secondPage.setLastEvaluatedKey(Map.of("id", new AttributeValue().withS("c")));
+        when(dynamoDBMapper.scanPage(eq(Booklist.class), any(DynamoDBScanExpression.class)))
+                .thenReturn(firstPage, secondPage);
+
+        // WHEN
+        ScanResultPage<Booklist> results = booklistDao.searchBooklists(new String[] {"good"}, 2, null);
+
+        // THEN
+        assertEquals(List.of("a", "b"),
+                results.getResults().stream().map(Booklist::getId).collect(Collectors.toList()));
+        assertEquals(Map.of("id", new AttributeValue().withS("b")), results.getLastEvaluatedKey());
+    }
+
+    @Test
+    public void searchBooklists_withNoMatches_stopsAfterMaxScanPages() {
+        // GIVEN
+        Map<String, AttributeValue> key = Map.of("id", new AttributeValue().withS("a"));
+        ScanResultPage<Booklist> emptyPage = new ScanResultPage<>();
+        emptyPage.setResults(List.of());
+        emptyPage.setLastEvaluatedKey(key);
+        when(dynamoDBMapper.scanPage(eq(Booklist.class), any(DynamoDBScanExpression.class))).thenReturn(emptyPage);
+
+        // WHEN
+        ScanResultPage<Booklist> results = booklistDao.searchBooklists(new String[] {"good"}, 1, null);
+
+        // THEN
+        verify(dynamoDBMapper, times(BooklistDao.MAX_SCAN_PAGES))
+                .scanPage(eq(Booklist.class), any(DynamoDBScanExpression.class));
+        assertTrue(results.getResults().isEmpty());
+        assertEquals(key, results.getLastEvaluatedKey());
+    }
+
+    @Test
+    public void searchBooklists_afterDeadline_returnsAfterOnePage() {
+        // GIVEN
+        Map<String, AttributeValue> key = Map.of("id", new AttributeValue().withS("a"));
+        ScanResultPage<Booklist> emptyPage = new ScanResultPage<>();
+        emptyPage.setResults(List.of());
+        emptyPage.setLastEvaluatedKey(key);
+        when(dynamoDBMapper.scanPage(eq(Booklist.class), any(DynamoDBScanExpression.class))).thenReturn(emptyPage);
+
+        // WHEN
+        ScanResultPage<Booklist> results = Deadline.afterMillis(0)
+                .call(() -> booklistDao.searchBooklists(new String[] {"good"}, 1, null));
+
+        // THEN
+        verify(dynamoDBMapper).scanPage(eq(Booklist.class), any(DynamoDBScanExpression.class));
+        assertEquals(key, results.getLastEvaluatedKey());
+    }
 
+    @Test
+    public void getBooklistsForUser_withStartKey_queriesOnePage() {
+        // GIVEN
+        Map<String, AttributeValue> startKey = Map.of("id", new AttributeValue().withS("a"));
+        QueryResultPage<Booklist> queryPage = new QueryResultPage<>();
+        queryPage.setResults(List.of(new Booklist()));
+        when(dynamoDBMapper.queryPage(eq(Booklist.class), any(DynamoDBQueryExpression.class))).thenReturn(queryPage);
+
+        // WHEN
+        QueryResultPage<Booklist> result = booklistDao.getBooklistsForUser("testId", 10, startKey);
+
+        // THEN
+        verify(dynamoDBMapper).queryPage(eq(Booklist.class), queryExpCaptor.capture());
+        assertEquals(Booklist.CUSTOMER_ID_CREATED_AT_INDEX, queryExpCaptor.getValue().getIndexName());
+        assertEquals("customerId = :userId", queryExpCaptor.getValue().getKeyConditionExpression());
+        assertEquals("testId", queryExpCaptor.getValue().getExpressionAttributeValues().get(":userId").getS());
+        assertEquals(10, queryExpCaptor.getValue().getLimit());
+        assertEquals(startKey, queryExpCaptor.getValue().getExclusiveStartKey());
+        assertEquals(BooklistDao.SUMMARY_PROJECTION, queryExpCaptor.getValue().getProjectionExpression());
+        assertEquals(queryPage, result);
+    }
+
+    @Test
+    public void saveBooklist_withoutCreatedAt_stampsCreatedAt() {
+        // GIVEN
+        Booklist booklist = new Booklist();
+
+        // WHEN
+        Booklist result = booklistDao.saveBooklist(booklist);
+
+        // THEN
+        assertNotNull(result.getCreatedAt());
+    }
+
+    @Test
+    public void getBooklistsForUser_withNullId_throwsUserNotFoundException() {
+        // GIVEN
+        String testId = null;
 
         // WHEN + THEN
-        assertThrows(UserNotFoundException.class, () -> booklistDao.getAllBooklistsForUser(testId));
+        assertThrows(UserNotFoundException.class, () -> booklistDao.getBooklistsForUser(testId, 10, null));
+    }
+
+    private void stubTableModels() {
+        DynamoDBMapper realMapper = new DynamoDBMapper(amazonDynamoDB);
+        when(dynamoDBMapper.getTableModel(BooklistEntry.class)).thenReturn(realMapper.getTableModel(BooklistEntry.class));
+        when(dynamoDBMapper.getTableModel(Book.class)).thenReturn(realMapper.getTableModel(Book.class));
+    }
+
+    private Booklist booklist(String id) {
+        Booklist booklist = new Booklist();
+        booklist.setId(id);
+        return booklist;
+    }
+
+    private BooklistEntry entry(String booklistId, String asin) {
+        BooklistEntry entry = new BooklistEntry();
+        entry.setBooklistId(booklistId);
+        entry.setAsin(asin);
+        entry.setTitle("title");
+        return entry;
+    }
+
+    private TransactionCanceledException canceled(String entryReason, String booklistReason) {
+        TransactionCanceledException exception = new TransactionCanceledException("canceled");
+        exception.setCancellationReasons(List.of(
+                new CancellationReason().withCode(entryReason),
+                new CancellationReason().withCode(booklistReason)));
+        return exception;
     }
 }
@@ -0,0 +1,93 @@
+package com.nashss.se.booktrackerservice.dynamodb;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBSaveExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.nashss.se.booktrackerservice.dynamodb.models.BooklistEntry;
+import com.nashss.se.booktrackerservice.exceptions.DuplicateBookException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class BooklistEntryDaoTest {
+    @Mock
+    private DynamoDBMapper dynamoDBMapper;
+    @Captor
+    ArgumentCaptor<DynamoDBQueryExpression<BooklistEntry>> queryExpCaptor;
+    @Captor
+    ArgumentCaptor<DynamoDBSaveExpression> saveExpCaptor;
+
+    private BooklistEntryDao booklistEntryDao;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        booklistEntryDao = new BooklistEntryDao(dynamoDBMapper);
+    }
+
+    @Test
+    public void addEntry_newBook_savesOnlyIfAbsent() {
+        // GIVEN
+        BooklistEntry entry = entry("booklistId", "asin");
+
+        // WHEN
+        booklistEntryDao.addEntry(entry);
+
+        // THEN
+        verify(dynamoDBMapper).save(eq(entry), saveExpCaptor.capture());
+        assertFalse(saveExpCaptor.getValue().getExpected().get("asin").isExists());
+    }
+
+    @Test
+    public void addEntry_bookAlreadyOnBooklist_throwsDuplicateBookException() {
+        // GIVEN
+        BooklistEntry entry = entry("booklistId", "asin");
+        doThrow(new ConditionalCheckFailedException("exists"))
+                .when(dynamoDBMapper).save(eq(entry), any(DynamoDBSaveExpression.class));
+
+        // WHEN + THEN
+        assertThrows(DuplicateBookException.class, () -> booklistEntryDao.addEntry(entry));
+    }
+
+    @Test
+    public void getEntries_withBooklistId_queriesAddedAtIndexInRequestedOrder() {
+        // GIVEN
+        QueryResultPage<BooklistEntry> page = new QueryResultPage<>();
+        page.setResults(List.of(entry("booklistId", "asin")));
+        when(dynamoDBMapper.queryPage(eq(BooklistEntry.class), any(DynamoDBQueryExpression.class))).thenReturn(page);
+
+        // WHEN
+        QueryResultPage<BooklistEntry> result = booklistEntryDao.getEntries("booklistId", false, 10, null);
+
+        // THEN
+        verify(dynamoDBMapper).queryPage(eq(BooklistEntry.class), queryExpCaptor.capture());
+        DynamoDBQueryExpression<BooklistEntry> query = queryExpCaptor.getValue();
+        assertEquals(BooklistEntry.BOOKLIST_ID_ADDED_AT_INDEX, query.getIndexName());
+        assertEquals("booklistId = :booklistId", query.getKeyConditionExpression());
+        assertEquals("booklistId", query.getExpressionAttributeValues().get(":booklistId").getS());
+        assertFalse(query.isScanIndexForward());
+        assertEquals(10, query.getLimit());
+        assertSame(page, result);
+    }
+
+    private BooklistEntry entry(String booklistId, String asin) {
+        BooklistEntry entry = new BooklistEntry();
+        entry.setBooklistId(booklistId);
+        entry.setAsin(asin);
+        return entry;
+    }
+}
@@ -0,0 +1,133 @@
+package com.nashss.se.booktrackerservice.dynamodb;
+
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+import com.nashss.se.booktrackerservice.exceptions.ParallelScanException;
+
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class CatalogAsinFilterTest {
+    @Mock
+    private ParallelScanner parallelScanner;
+
+    private List<String> catalogAsins;
+    private FakeTicker ticker;
+    private CatalogAsinFilter catalogAsinFilter;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        catalogAsins = new ArrayList<>(List.of("1111", "2222"));
+        when(parallelScanner.scan(eq(Book.class), any(), any())).thenAnswer(invocation -> {
+            Consumer<List<Book>> pageHandler = invocation.getArgument(2);
+            List<Book> books = new ArrayList<>();
+            for (String asin : catalogAsins) {
+                books.add(book(asin));
+            }
+            pageHandler.accept(books);
+            return (long) books.size();
+        });
+        ticker = new FakeTicker();
+        catalogAsinFilter = new CatalogAsinFilter(parallelScanner, ticker, MoreExecutors.newDirectExecutorService());
+    }
+
+    @Test
+    public void mightContain_afterBuild_rulesOutAsinsNotInTheCatalog() {
+        // WHEN & THEN
+        assertTrue(catalogAsinFilter.mightContain("1111"));
+        assertTrue(catalogAsinFilter.mightContain("2222"));
+        assertFalse(catalogAsinFilter.mightContain("3333"));
+        verify(parallelScanner, times(1)).scan(eq(Book.class), any(), any());
+    }
+
+    @Test
+    public void mightContain_disabled_isAlwaysTrue() {
+        // GIVEN
+        CatalogAsinFilter disabled = new CatalogAsinFilter(null);
+
+        // WHEN
+        disabled.add("1111");
+
+        // THEN
+        assertTrue(disabled.mightContain("3333"));
+    }
+
+    @Test
+    public void mightContain_afterAdd_isTrue() {
+        // GIVEN
+        assertFalse(catalogAsinFilter.mightContain("3333"));
+
+        // WHEN
+        catalogAsinFilter.add("3333");
+
+        // THEN
+        assertTrue(catalogAsinFilter.mightContain("3333"));
+    }
+
+    @Test
+    public void mightContain_afterRebuildInterval_picksUpBooksAddedElsewhere() {
+        // GIVEN
+        assertFalse(catalogAsinFilter.mightContain("3333"));
+        catalogAsins.add("3333");
+
+        // WHEN
+        ticker.advance(CatalogAsinFilter.REBUILD_INTERVAL_MINUTES, TimeUnit.MINUTES);
+
+        // THEN
+        assertTrue(catalogAsinFilter.mightContain("3333"));
+        verify(parallelScanner, times(2)).scan(eq(Book.class), any(), any());
+    }
+
+    @Test
+    public void mightContain_scanFails_isTrueAndRetriesAfterRetryInterval() {
+        // GIVEN
+        when(parallelScanner.scan(eq(Book.class), any(), any())).thenThrow(new ParallelScanException("boom", null));
+
+        // WHEN
+        boolean mightContain = catalogAsinFilter.mightContain("3333");
+        catalogAsinFilter.mightContain("3333");
+
+        // THEN
+        assertTrue(mightContain);
+        verify(parallelScanner, times(1)).scan(eq(Book.class), any(), any());
+        ticker.advance(CatalogAsinFilter.RETRY_INTERVAL_NANOS, TimeUnit.NANOSECONDS);
+        catalogAsinFilter.mightContain("3333");
+        verify(parallelScanner, times(2)).scan(eq(Book.class), any(), any());
+    }
+
+    private static Book book(String asin) {
+        Book book = new Book();
+        book.setAsin(asin);
+        return book;
+    }
+
+    private static class FakeTicker extends Ticker {
+        private long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        void advance(long amount, TimeUnit unit) {
+            nanos += unit.toNanos(amount);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.nashss.se.booktrackerservice.dynamodb;
+
+import com.nashss.se.booktrackerservice.dynamodb.models.BookStats;
+import com.nashss.se.booktrackerservice.dynamodb.models.Comment;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.CreateTableRequest;
+import com.amazonaws.services.dynamodbv2.model.GlobalSecondaryIndex;
+import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItem;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class CommentDaoTest {
+    @Mock
+    private DynamoDBMapper dynamoDBMapper;
+    @Mock
+    private AmazonDynamoDB amazonDynamoDB;
+    @Captor
+    private ArgumentCaptor<DynamoDBQueryExpression<Comment>> queryExpCaptor;
+    @Captor
+    private ArgumentCaptor<TransactWriteItemsRequest> transactCaptor;
+
+    private CommentDao commentDao;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        commentDao = new CommentDao(dynamoDBMapper, amazonDynamoDB, new BookStatsDao(dynamoDBMapper));
+    }
+
+    @Test
+    public void saveCommentForBook_savesCommentAndCountsItInOneTransaction() {
+        // GIVEN
+        when(dynamoDBMapper.getTableModel(Comment.class))
+                .thenReturn(new DynamoDBMapper(amazonDynamoDB).getTableModel(Comment.class));
+
+        // WHEN
+        Comment comment = commentDao.saveCommentForBook("asin", "reader@example.com", 40, "Great twist");
+
+        // THEN
+        assertNotNull(comment.getCommentId());
+        assertFalse(comment.getCommentId().isEmpty());
+        assertEquals("reader@example.com", comment.getCustomerId());
+        assertEquals(40, comment.getPercentComplete());
+        assertNotNull(comment.getCreatedAt());
+
+        verify(amazonDynamoDB).transactWriteItems(transactCaptor.capture());
+        List<TransactWriteItem> writes = transactCaptor.getValue().getTransactItems();
+        assertEquals(2, writes.size());
+        assertEquals(Comment.TABLE_NAME, writes.get(0).getPut().getTableName());
+        assertEquals(comment.getCommentId(), writes.get(0).getPut().getItem().get("commentId").getS());
+        assertEquals("reader@example.com", writes.get(0).getPut().getItem().get("customerId").getS());
+        assertEquals(BookStats.TABLE_NAME, writes.get(1).getUpdate().getTableName());
+        assertEquals("1", writes.get(1).getUpdate().getExpressionAttributeValues().get(":commentCount").getN());
+    }
+
+    @Test
+    public void getCommentsForBook_queriesAsinPercentIndexUpToProgress() {
+        // GIVEN
+        Map<String, AttributeValue> startKey = Map.of("asin", new AttributeValue().withS("asin"));
+        QueryResultPage<Comment> page = new QueryResultPage<>();
+        when(dynamoDBMapper.queryPage(eq(Comment.class), queryExpCaptor.capture())).thenReturn(page);
+
+        // WHEN
+        QueryResultPage<Comment> result = commentDao.getCommentsForBook("asin", 35, 10, startKey);
+
+        // THEN
+        assertSame(page, result);
+        DynamoDBQueryExpression<Comment> query = queryExpCaptor.getValue();
+        assertEquals(Comment.ASIN_PERCENT_INDEX, query.getIndexName());
+        assertEquals("asin = :asin AND percentComplete <= :myProgress", query.getKeyConditionExpression());
+        assertEquals("asin", query.getExpressionAttributeValues().get(":asin").getS());
+        assertEquals("35", query.getExpressionAttributeValues().get(":myProgress").getN());
+        assertEquals(10, query.getLimit());
+        assertEquals(startKey, query.getExclusiveStartKey());
+        assertFalse(query.isConsistentRead());
+    }
+
+    @Test
+    public void commentModel_declaresBothIndexes() {
+        // GIVEN
+        DynamoDBMapper mapper = new DynamoDBMapper(mock(AmazonDynamoDB.class));
+
+        // WHEN
+        CreateTableRequest request = mapper.generateCreateTableRequest(Comment.class);
+
+        // THEN
+        Map<String, List<KeySchemaElement>> indexes = request.getGlobalSecondaryIndexes().stream()
+                .collect(Collectors.toMap(GlobalSecondaryIndex::getIndexName, GlobalSecondaryIndex::getKeySchema));
+        assertEquals(List.of(new KeySchemaElement("asin", "HASH"), new KeySchemaElement("percentComplete", "RANGE")),
+                indexes.get(Comment.ASIN_PERCENT_INDEX));
+        assertEquals(List.of(new KeySchemaElement("customerId", "HASH"), new KeySchemaElement("asin", "RANGE")),
+                indexes.get("CustomerIdAsinIndex"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.nashss.se.booktrackerservice.dynamodb;
+
+import com.nashss.se.booktrackerservice.utils.Deadline;
+
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeadlineRequestHandlerTest {
+    private final DeadlineRequestHandler handler = new DeadlineRequestHandler();
+
+    @Test
+    public void beforeExecution_noDeadline_leavesRequestUnbounded() {
+        // GIVEN
+        GetItemRequest request = new GetItemRequest();
+
+        // WHEN
+        handler.beforeExecution(request);
+
+        // THEN
+        assertNull(request.getSdkClientExecutionTimeout());
+    }
+
+    @Test
+    public void beforeExecution_withDeadline_capsRequestToTimeLeft() {
+        // GIVEN
+        GetItemRequest request = new GetItemRequest();
+
+        // WHEN
+        Deadline.afterMillis(2_000).call(() -> handler.beforeExecution(request));
+
+        // THEN
+        int timeoutMillis = request.getSdkClientExecutionTimeout();
+        assertTrue(timeoutMillis > 1_000 && timeoutMillis <= 2_000);
+    }
+
+    @Test
+    public void beforeExecution_shorterTimeoutAlreadySet_keepsIt() {
+        // GIVEN
+        GetItemRequest request = new GetItemRequest();
+        request.setSdkClientExecutionTimeout(300);
+
+        // WHEN
+        Deadline.afterMillis(2_000).call(() -> handler.beforeExecution(request));
+
+        // THEN
+        assertEquals(300, request.getSdkClientExecutionTimeout());
+    }
+
+    @Test
+    public void beforeExecution_deadlinePassed_failsRequestAlmostImmediately() {
+        // GIVEN
+        GetItemRequest request = new GetItemRequest();
+
+        // WHEN
+        Deadline.afterMillis(0).call(() -> handler.beforeExecution(request));
+
+        // THEN
+        assertEquals(1, request.getSdkClientExecutionTimeout());
+    }
+}
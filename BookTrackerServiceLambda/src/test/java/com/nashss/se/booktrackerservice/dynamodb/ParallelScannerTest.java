@@ -0,0 +1,92 @@
+package com.nashss.se.booktrackerservice.dynamodb;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+import com.nashss.se.booktrackerservice.exceptions.ParallelScanException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ParallelScannerTest {
+    @Mock
+    private DynamoDBMapper dynamoDBMapper;
+
+    private ParallelScanner parallelScanner;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        parallelScanner = new ParallelScanner(dynamoDBMapper, 2, 2, 1000);
+    }
+
+    @Test
+    public void scan_twoSegments_scansEverySegmentToTheEnd() {
+        // GIVEN
+        Set<String> seenSegments = ConcurrentHashMap.newKeySet();
+        when(dynamoDBMapper.scanPage(eq(Book.class), any(DynamoDBScanExpression.class))).thenAnswer(invocation -> {
+            DynamoDBScanExpression expression = invocation.getArgument(1);
+            assertEquals(2, expression.getTotalSegments());
+            String segment = String.valueOf(expression.getSegment());
+            boolean firstPage = expression.getExclusiveStartKey() == null;
+            seenSegments.add(segment + (firstPage ? "-first" : "-last"));
+            return page(book(segment + (firstPage ? "a" : "b")),
+                    firstPage ? Map.of("asin", new AttributeValue(segment)) : null);
+        });
+        List<String> handled = Collections.synchronizedList(new ArrayList<>());
+
+        // WHEN
+        long scanned = parallelScanner.scan(Book.class, DynamoDBScanExpression::new, books -> {
+            for (Book book : books) {
+                handled.add(book.getAsin());
+            }
+        });
+
+        // THEN
+        assertEquals(4, scanned);
+        assertEquals(Set.of("0-first", "0-last", "1-first", "1-last"), seenSegments);
+        assertEquals(Set.of("0a", "0b", "1a", "1b"), Set.copyOf(handled));
+    }
+
+    @Test
+    public void scan_segmentFails_throwsParallelScanException() {
+        // GIVEN
+        when(dynamoDBMapper.scanPage(eq(Book.class), any(DynamoDBScanExpression.class)))
+                .thenThrow(new IllegalStateException("boom"));
+
+        // WHEN & THEN
+        ParallelScanException exception = assertThrows(ParallelScanException.class, () ->
+                parallelScanner.scan(Book.class, DynamoDBScanExpression::new, books -> { }));
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+    }
+
+    private ScanResultPage<Book> page(Book book, Map<String, AttributeValue> lastEvaluatedKey) {
+        ScanResultPage<Book> page = new ScanResultPage<>();
+        page.setResults(List.of(book));
+        page.setLastEvaluatedKey(lastEvaluatedKey);
+        page.setConsumedCapacity(new ConsumedCapacity().withCapacityUnits(0.5));
+        return page;
+    }
+
+    private Book book(String asin) {
+        Book book = new Book();
+        book.setAsin(asin);
+        return book;
+    }
+}
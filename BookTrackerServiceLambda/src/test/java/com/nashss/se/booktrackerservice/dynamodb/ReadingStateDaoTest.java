@@ -0,0 +1,317 @@
+package com.nashss.se.booktrackerservice.dynamodb;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.CancellationReason;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItem;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsRequest;
+import com.amazonaws.services.dynamodbv2.model.TransactWriteItemsResult;
+import com.amazonaws.services.dynamodbv2.model.TransactionCanceledException;
+import com.amazonaws.services.dynamodbv2.model.Update;
+import com.nashss.se.booktrackerservice.dynamodb.models.BookStats;
+import com.nashss.se.booktrackerservice.dynamodb.models.ReadingState;
+import com.nashss.se.booktrackerservice.exceptions.ConflictingUpdateException;
+import com.nashss.se.booktrackerservice.exceptions.UserNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ReadingStateDaoTest {
+    @Mock
+    private DynamoDBMapper dynamoDBMapper;
+    @Mock
+    private AmazonDynamoDB amazonDynamoDB;
+    @Captor
+    ArgumentCaptor<TransactWriteItemsRequest> transactCaptor;
+    @Captor
+    ArgumentCaptor<List<ReadingState>> keysCaptor;
+    @Captor
+    ArgumentCaptor<DynamoDBQueryExpression<ReadingState>> queryExpCaptor;
+
+    private ReadingStateDao readingStateDao;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        readingStateDao = new ReadingStateDao(dynamoDBMapper, amazonDynamoDB,
+                new BookStatsDao(dynamoDBMapper));
+    }
+
+    @Test
+    public void updateReadingState_newState_writesOnlyGivenAttributesIfStillAbsent() {
+        // GIVEN
+        ReadingState readingState = readingState("customerId", "asin");
+        readingState.setPercentComplete(30);
+        readingState.setUpdatedAt(42L);
+
+        // WHEN
+        ReadingState result = readingStateDao.updateReadingState(readingState);
+
+        // THEN
+        verify(amazonDynamoDB).transactWriteItems(transactCaptor.capture());
+        List<TransactWriteItem> writes = transactCaptor.getValue().getTransactItems();
+        assertEquals(1, writes.size());
+        Update update = writes.get(0).getUpdate();
+        assertEquals(ReadingState.TABLE_NAME, update.getTableName());
+        assertEquals("SET updatedAt = :updatedAt, percentComplete = :percentComplete", update.getUpdateExpression());
+        assertEquals("attribute_not_exists(customerId)", update.getConditionExpression());
+        assertEquals(30, result.getPercentComplete());
+    }
+
+    @Test
+    public void updateReadingState_currentlyReading_setsLastReadAtForTheSparseIndex() {
+        // GIVEN
+        ReadingState readingState = readingState("customerId", "asin");
+        readingState.setCurrentlyReading(true);
+        readingState.setUpdatedAt(42L);
+
+        // WHEN
+        ReadingState result = readingStateDao.updateReadingState(readingState);
+
+        // THEN
+        verify(amazonDynamoDB).transactWriteItems(transactCaptor.capture());
+        Update update = transactCaptor.getValue().getTransactItems().get(0).getUpdate();
+        assertEquals("SET updatedAt = :updatedAt, currentlyReading = :currentlyReading, lastReadAt = :updatedAt",
+                update.getUpdateExpression());
+        assertEquals(42L, result.getLastReadAt());
+    }
+
+    @Test
+    public void updateReadingState_stoppedReading_removesLastReadAtAndReturnsStoredState() {
+        // GIVEN
+        ReadingState stored = readingState("customerId", "asin");
+        stored.setCurrentlyReading(true);
+        stored.setPercentComplete(80);
+        stored.setRating(4);
+        stored.setLastReadAt(10L);
+        stubStoredStates(stored);
+
+        ReadingState update = readingState("customerId", "asin");
+        update.setCurrentlyReading(false);
+        update.setPercentComplete(100);
+        update.setUpdatedAt(42L);
+
+        // WHEN
+        ReadingState result = readingStateDao.updateReadingState(update);
+
+        // THEN
+        verify(amazonDynamoDB).transactWriteItems(transactCaptor.capture());
+        Update stateUpdate = transactCaptor.getValue().getTransactItems().get(0).getUpdate();
+        assertTrue(stateUpdate.getUpdateExpression().endsWith(" REMOVE lastReadAt"));
+        assertEquals("rating = :previousRating AND currentlyReading = :previousReading",
+                stateUpdate.getConditionExpression());
+        assertFalse(result.isCurrentlyReading());
+        assertEquals(100, result.getPercentComplete());
+        assertEquals(4, result.getRating());
+        assertEquals(42L, result.getUpdatedAt());
+        assertNull(result.getLastReadAt());
+    }
+
+    @Test
+    public void updateReadingState_firstRatingAndStartedReading_addsToBookStatsInTheSameTransaction() {
+        // GIVEN
+        ReadingState update = readingState("customerId", "asin");
+        update.setRating(8);
+        update.setCurrentlyReading(true);
+
+        // WHEN
+        readingStateDao.updateReadingState(update);
+
+        // THEN
+        verify(amazonDynamoDB).transactWriteItems(transactCaptor.capture());
+        List<TransactWriteItem> writes = transactCaptor.getValue().getTransactItems();
+        assertEquals(2, writes.size());
+        assertStatsUpdate(writes.get(1).getUpdate(), "8", "1", "1");
+    }
+
+    @Test
+    public void updateReadingState_changedRatingAndStoppedReading_addsDifferenceToBookStats() {
+        // GIVEN
+        ReadingState stored = readingState("customerId", "asin");
+        stored.setRating(6);
+        stored.setCurrentlyReading(true);
+        stubStoredStates(stored);
+
+        ReadingState update = readingState("customerId", "asin");
+        update.setRating(9);
+        update.setCurrentlyReading(false);
+
+        // WHEN
+        readingStateDao.updateReadingState(update);
+
+        // THEN
+        verify(amazonDynamoDB).transactWriteItems(transactCaptor.capture());
+        Update stateUpdate = transactCaptor.getValue().getTransactItems().get(0).getUpdate();
+        assertEquals("6", stateUpdate.getExpressionAttributeValues().get(":previousRating").getN());
+        assertTrue(stateUpdate.getExpressionAttributeValues().get(":previousReading").getBOOL());
+        assertStatsUpdate(transactCaptor.getValue().getTransactItems().get(1).getUpdate(), "3", null, "-1");
+    }
+
+    @Test
+    public void updateReadingState_stateChangedBetweenReadAndWrite_rereadsAndCountsTheChangeOnce() {
+        // GIVEN
+        ReadingState readFirst = readingState("customerId", "asin");
+        readFirst.setRating(6);
+        readFirst.setCurrentlyReading(true);
+        // another device rates the book 8 and stops reading it before our write lands
+        ReadingState readAfterConflict = readingState("customerId", "asin");
+        readAfterConflict.setRating(8);
+        readAfterConflict.setCurrentlyReading(false);
+        stubStoredStates(readFirst, readAfterConflict);
+        when(amazonDynamoDB.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(conditionalCheckFailed())
+                .thenReturn(new TransactWriteItemsResult());
+
+        ReadingState update = readingState("customerId", "asin");
+        update.setRating(9);
+        update.setCurrentlyReading(false);
+
+        // WHEN
+        ReadingState result = readingStateDao.updateReadingState(update);
+
+        // THEN
+        verify(amazonDynamoDB, times(2)).transactWriteItems(transactCaptor.capture());
+        List<TransactWriteItem> retried = transactCaptor.getAllValues().get(1).getTransactItems();
+        Update stateUpdate = retried.get(0).getUpdate();
+        assertEquals("8", stateUpdate.getExpressionAttributeValues().get(":previousRating").getN());
+        assertFalse(stateUpdate.getExpressionAttributeValues().get(":previousReading").getBOOL());
+        // only the rating moves from 8 to 9; the other device already took the reader off the count
+        assertEquals(2, retried.size());
+        assertStatsUpdate(retried.get(1).getUpdate(), "1", null, null);
+        assertEquals(9, result.getRating());
+    }
+
+    @Test
+    public void updateReadingState_alwaysConflicting_throwsConflictingUpdateException() {
+        // GIVEN
+        when(amazonDynamoDB.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(conditionalCheckFailed());
+        ReadingState update = readingState("customerId", "asin");
+        update.setRating(9);
+
+        // WHEN & THEN
+        assertThrows(ConflictingUpdateException.class, () -> readingStateDao.updateReadingState(update));
+        verify(amazonDynamoDB, times(ReadingStateDao.MAX_UPDATE_ATTEMPTS))
+                .transactWriteItems(any(TransactWriteItemsRequest.class));
+    }
+
+    @Test
+    public void updateReadingState_interruptedWhileBackingOff_throwsConflictingUpdateException() {
+        // GIVEN
+        when(amazonDynamoDB.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(conditionalCheckFailed());
+        ReadingState update = readingState("customerId", "asin");
+        update.setRating(9);
+        Thread.currentThread().interrupt();
+
+        // WHEN & THEN
+        try {
+            assertThrows(ConflictingUpdateException.class, () -> readingStateDao.updateReadingState(update));
+            assertTrue(Thread.currentThread().isInterrupted());
+            verify(amazonDynamoDB, times(1)).transactWriteItems(any(TransactWriteItemsRequest.class));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void getCurrentlyReading_queriesSparseIndexMostRecentFirst() {
+        // GIVEN
+        when(dynamoDBMapper.queryPage(eq(ReadingState.class), any(DynamoDBQueryExpression.class)))
+                .thenReturn(new QueryResultPage<>());
+
+        // WHEN
+        readingStateDao.getCurrentlyReading("customerId", 10, null);
+
+        // THEN
+        verify(dynamoDBMapper).queryPage(eq(ReadingState.class), queryExpCaptor.capture());
+        DynamoDBQueryExpression<ReadingState> query = queryExpCaptor.getValue();
+        assertEquals(ReadingState.CUSTOMER_ID_LAST_READ_AT_INDEX, query.getIndexName());
+        assertFalse(query.isScanIndexForward());
+        assertEquals(10, query.getLimit());
+        assertEquals("customerId", query.getExpressionAttributeValues().get(":customerId").getS());
+    }
+
+    @Test
+    public void getCurrentlyReading_noCustomerId_throwsUserNotFoundException() {
+        // WHEN & THEN
+        assertThrows(UserNotFoundException.class, () -> readingStateDao.getCurrentlyReading(null, 10, null));
+    }
+
+    @Test
+    public void getReadingStates_withAsins_batchLoadsAndMapsByAsin() {
+        // GIVEN
+        ReadingState stored = readingState("customerId", "asin1");
+        when(dynamoDBMapper.batchLoad(anyList()))
+                .thenReturn(Map.of("ReadingState", List.of(stored)));
+
+        // WHEN
+        Map<String, ReadingState> result = readingStateDao.getReadingStates("customerId", List.of("asin1", "asin2"));
+
+        // THEN
+        verify(dynamoDBMapper).batchLoad(keysCaptor.capture());
+        List<ReadingState> keys = keysCaptor.getValue();
+        assertEquals(2, keys.size());
+        assertEquals("customerId", keys.get(1).getCustomerId());
+        assertEquals("asin2", keys.get(1).getAsin());
+        assertEquals(Map.of("asin1", stored), result);
+    }
+
+    @Test
+    public void getReadingStates_noAsins_doesNotCallDynamo() {
+        // WHEN
+        Map<String, ReadingState> result = readingStateDao.getReadingStates("customerId", Collections.emptyList());
+
+        // THEN
+        assertTrue(result.isEmpty());
+        verify(dynamoDBMapper, never()).batchLoad(anyList());
+    }
+
+    private void stubStoredStates(ReadingState stored, ReadingState... storedAfterwards) {
+        when(dynamoDBMapper.load(eq(ReadingState.class), eq("customerId"), eq("asin"),
+                any(DynamoDBMapperConfig.class))).thenReturn(stored, storedAfterwards);
+    }
+
+    private TransactionCanceledException conditionalCheckFailed() {
+        TransactionCanceledException exception = new TransactionCanceledException("canceled");
+        exception.setCancellationReasons(List.of(new CancellationReason().withCode("ConditionalCheckFailed"),
+                new CancellationReason().withCode("None")));
+        return exception;
+    }
+
+    private void assertStatsUpdate(Update update, String ratingSum, String ratingCount, String activeReaders) {
+        assertEquals(BookStats.TABLE_NAME, update.getTableName());
+        Map<String, AttributeValue> values = update.getExpressionAttributeValues();
+        assertEquals(ratingSum, values.containsKey(":ratingSum") ? values.get(":ratingSum").getN() : null);
+        assertEquals(ratingCount, values.containsKey(":ratingCount") ? values.get(":ratingCount").getN() : null);
+        assertEquals(activeReaders,
+                values.containsKey(":activeReaders") ? values.get(":activeReaders").getN() : null);
+    }
+
+    private ReadingState readingState(String customerId, String asin) {
+        ReadingState readingState = new ReadingState();
+        readingState.setCustomerId(customerId);
+        readingState.setAsin(asin);
+        return readingState;
+    }
+}
@@ -0,0 +1,93 @@
+package com.nashss.se.booktrackerservice.export;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class S3ExportSinkTest {
+    private static final String BUCKET = "exports-bucket";
+    private static final String KEY = "exports/reader/library.ndjson";
+
+    @Mock
+    private AmazonS3 amazonS3;
+
+    private final List<Long> partSizes = new ArrayList<>();
+    private S3ExportSink sink;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        sink = new S3ExportSink(amazonS3, BUCKET);
+
+        InitiateMultipartUploadResult initiated = new InitiateMultipartUploadResult();
+        initiated.setUploadId("upload-1");
+        when(amazonS3.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenReturn(initiated);
+        when(amazonS3.uploadPart(any(UploadPartRequest.class))).thenAnswer(invocation -> {
+            UploadPartRequest request = invocation.getArgument(0);
+            partSizes.add(request.getPartSize());
+            UploadPartResult result = new UploadPartResult();
+            result.setPartNumber(request.getPartNumber());
+            result.setETag("etag-" + request.getPartNumber());
+            return result;
+        });
+        when(amazonS3.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+                .thenReturn(new CompleteMultipartUploadResult());
+    }
+
+    @Test
+    public void commit_moreThanOnePart_uploadsFullPartsThenTheRemainder() throws Exception {
+        // GIVEN
+        byte[] chunk = new byte[1024 * 1024];
+        ExportStream stream = sink.open(KEY);
+
+        // WHEN
+        for (int i = 0; i < 12; i++) {
+            stream.write(chunk);
+        }
+        String location = stream.commit();
+        stream.close();
+
+        // THEN
+        assertEquals("s3://" + BUCKET + "/" + KEY, location);
+        assertEquals(List.of((long) S3ExportSink.PART_SIZE_BYTES, (long) S3ExportSink.PART_SIZE_BYTES,
+                2L * 1024 * 1024), partSizes);
+        ArgumentCaptor<CompleteMultipartUploadRequest> captor =
+                ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(amazonS3).completeMultipartUpload(captor.capture());
+        assertEquals(3, captor.getValue().getPartETags().size());
+        verify(amazonS3, never()).abortMultipartUpload(any());
+    }
+
+    @Test
+    public void close_withoutCommit_abortsUpload() throws Exception {
+        // GIVEN
+        ExportStream stream = sink.open(KEY);
+        stream.write(new byte[10]);
+
+        // WHEN
+        stream.close();
+
+        // THEN
+        verify(amazonS3).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(amazonS3, never()).completeMultipartUpload(any());
+    }
+}
@@ -0,0 +1,175 @@
+package com.nashss.se.booktrackerservice.googlebookapi;
+
+import com.nashss.se.booktrackerservice.exceptions.GoogleBooksUnavailableException;
+import com.nashss.se.booktrackerservice.metrics.MetricsConstants;
+import com.nashss.se.booktrackerservice.metrics.MetricsPublisher;
+
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class GoogleBooksCircuitBreakerTest {
+    @Mock
+    private MetricsPublisher metricsPublisher;
+
+    private FakeTicker ticker;
+    private GoogleBooksCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        ticker = new FakeTicker();
+        circuitBreaker = new GoogleBooksCircuitBreaker(metricsPublisher, ticker);
+    }
+
+    @Test
+    public void call_failureRateReachesThreshold_opensAndRefusesCalls() throws Exception {
+        // GIVEN
+        failCalls(GoogleBooksCircuitBreaker.MINIMUM_CALLS / 2);
+        succeedCalls(GoogleBooksCircuitBreaker.MINIMUM_CALLS / 2);
+
+        // WHEN
+        AtomicInteger made = new AtomicInteger();
+        assertThrows(GoogleBooksUnavailableException.class, () -> circuitBreaker.call(made::incrementAndGet));
+
+        // THEN
+        assertEquals(0, made.get());
+        assertEquals(GoogleBooksCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        verify(metricsPublisher).addCount(MetricsConstants.GOOGLEBOOKS_CIRCUITBREAKER_OPEN_COUNT, 1);
+    }
+
+    @Test
+    public void call_fewerCallsThanMinimum_staysClosed() throws Exception {
+        // WHEN
+        failCalls(GoogleBooksCircuitBreaker.MINIMUM_CALLS - 1);
+
+        // THEN
+        assertEquals(GoogleBooksCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals("ok", circuitBreaker.call(() -> "ok"));
+    }
+
+    @Test
+    public void call_slowCallRateReachesThreshold_opens() throws Exception {
+        // WHEN
+        for (int i = 0; i < GoogleBooksCircuitBreaker.MINIMUM_CALLS; i++) {
+            circuitBreaker.call(() -> {
+                ticker.advance(GoogleBooksCircuitBreaker.SLOW_CALL_MILLIS + 1, TimeUnit.MILLISECONDS);
+                return "slow";
+            });
+        }
+
+        // THEN
+        assertEquals(GoogleBooksCircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void call_clientErrors_doNotOpen() throws Exception {
+        // WHEN
+        for (int i = 0; i < GoogleBooksCircuitBreaker.WINDOW_SIZE; i++) {
+            assertThrows(HttpResponseException.class, () -> circuitBreaker.call(() -> {
+                throw new HttpResponseException.Builder(400, "Bad Request", new HttpHeaders()).build();
+            }));
+        }
+
+        // THEN
+        assertEquals(GoogleBooksCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void call_openWaitPassedAndTrialCallsSucceed_closes() throws Exception {
+        // GIVEN
+        failCalls(GoogleBooksCircuitBreaker.MINIMUM_CALLS);
+        ticker.advance(GoogleBooksCircuitBreaker.OPEN_MILLIS, TimeUnit.MILLISECONDS);
+
+        // WHEN
+        succeedCalls(GoogleBooksCircuitBreaker.HALF_OPEN_TRIAL_CALLS);
+
+        // THEN
+        assertEquals(GoogleBooksCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        verify(metricsPublisher).addCount(MetricsConstants.GOOGLEBOOKS_CIRCUITBREAKER_HALFOPEN_COUNT, 1);
+        verify(metricsPublisher).addCount(MetricsConstants.GOOGLEBOOKS_CIRCUITBREAKER_CLOSED_COUNT, 1);
+    }
+
+    @Test
+    public void call_trialCallFails_opensAgain() throws Exception {
+        // GIVEN
+        failCalls(GoogleBooksCircuitBreaker.MINIMUM_CALLS);
+        ticker.advance(GoogleBooksCircuitBreaker.OPEN_MILLIS, TimeUnit.MILLISECONDS);
+
+        // WHEN
+        failCalls(1);
+
+        // THEN
+        assertEquals(GoogleBooksCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertThrows(GoogleBooksUnavailableException.class, () -> circuitBreaker.call(() -> "ok"));
+    }
+
+    @Test
+    public void call_tooManyConcurrentCalls_refusesTheExtraCall() throws Exception {
+        // GIVEN
+        ExecutorService executor = Executors.newFixedThreadPool(GoogleBooksCircuitBreaker.MAX_CONCURRENT_CALLS);
+        CountDownLatch started = new CountDownLatch(GoogleBooksCircuitBreaker.MAX_CONCURRENT_CALLS);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < GoogleBooksCircuitBreaker.MAX_CONCURRENT_CALLS; i++) {
+                executor.submit(() -> circuitBreaker.call(() -> {
+                    started.countDown();
+                    Uninterruptibles.awaitUninterruptibly(release);
+                    return "ok";
+                }));
+            }
+            started.await();
+
+            // WHEN & THEN
+            assertThrows(GoogleBooksUnavailableException.class, () -> circuitBreaker.call(() -> "ok"));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+        assertEquals("ok", circuitBreaker.call(() -> "ok"));
+    }
+
+    private void failCalls(int count) {
+        for (int i = 0; i < count; i++) {
+            assertThrows(IOException.class, () -> circuitBreaker.call(() -> {
+                throw new IOException("connection reset");
+            }));
+        }
+    }
+
+    private void succeedCalls(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            circuitBreaker.call(() -> "ok");
+        }
+    }
+
+    private static class FakeTicker extends Ticker {
+        private long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        void advance(long amount, TimeUnit unit) {
+            nanos += unit.toNanos(amount);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.nashss.se.booktrackerservice.googlebookapi;
+
+import com.nashss.se.booktrackerservice.exceptions.GoogleBooksUnavailableException;
+import com.nashss.se.booktrackerservice.utils.Deadline;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.services.books.v1.Books;
+import com.google.api.services.books.v1.model.Volume;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GoogleBooksClientFactoryTest {
+    private static final String ONE_VOLUME = "{\"totalItems\": 1, \"items\": [{\"id\": \"btpIkZ6X6egC\"}]}";
+
+    @Test
+    public void queryBooks_serverErrorThenSuccess_retriesAndReturnsVolumes() throws Exception {
+        // GIVEN
+        AtomicInteger requests = new AtomicInteger();
+        Request request = new Request(GoogleBooksClientFactory.newClient(transport(requests, 503, 200)));
+
+        // WHEN
+        List<Volume> volumes = request.queryBooks("the hobbit");
+
+        // THEN
+        assertEquals(2, requests.get());
+        assertEquals("btpIkZ6X6egC", volumes.get(0).getId());
+    }
+
+    @Test
+    public void queryBooks_clientError_isNotRetried() {
+        // GIVEN
+        AtomicInteger requests = new AtomicInteger();
+        Request request = new Request(GoogleBooksClientFactory.newClient(transport(requests, 400, 200)));
+
+        // WHEN & THEN
+        assertThrows(HttpResponseException.class, () -> request.queryBooks("the hobbit"));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void queryBooks_keepsFailing_givesUpAfterMaxRetries() {
+        // GIVEN
+        AtomicInteger requests = new AtomicInteger();
+        Request request = new Request(GoogleBooksClientFactory.newClient(transport(requests, 503, 503, 503, 503)));
+
+        // WHEN & THEN
+        assertThrows(HttpResponseException.class, () -> request.queryBooks("the hobbit"));
+        assertEquals(GoogleBooksClientFactory.MAX_RETRIES + 1, requests.get());
+    }
+
+    @Test
+    public void queryBooks_maxResults_requestsOnlyTheNeededFieldsOfThatManyVolumes() throws Exception {
+        // GIVEN
+        List<String> urls = new ArrayList<>();
+        Request request = new Request(GoogleBooksClientFactory.newClient(new MockHttpTransport() {
+            @Override
+            public LowLevelHttpRequest buildRequest(String method, String url) {
+                urls.add(url);
+                return new MockLowLevelHttpRequest().setResponse(new MockLowLevelHttpResponse()
+                        .setContentType("application/json")
+                        .setContent(ONE_VOLUME));
+            }
+        }));
+
+        // WHEN
+        request.queryBooks("the hobbit", 3);
+
+        // THEN
+        GenericUrl url = new GenericUrl(urls.get(0));
+        assertEquals(Request.VOLUME_FIELDS, url.getFirst("fields"));
+        assertEquals("3", url.getFirst("maxResults"));
+    }
+
+    @Test
+    public void newClient_requests_haveTimeouts() throws Exception {
+        // GIVEN
+        Books books = GoogleBooksClientFactory.newClient(new MockHttpTransport());
+
+        // WHEN
+        HttpRequest httpRequest = books.volumes().list("the hobbit").buildHttpRequest();
+
+        // THEN
+        assertEquals(GoogleBooksClientFactory.CONNECT_TIMEOUT_MILLIS, httpRequest.getConnectTimeout());
+        assertEquals(GoogleBooksClientFactory.READ_TIMEOUT_MILLIS, httpRequest.getReadTimeout());
+        assertEquals(GoogleBooksClientFactory.MAX_RETRIES, httpRequest.getNumberOfRetries());
+    }
+
+    @Test
+    public void newClient_requestUnderDeadline_capsTimeoutsToTimeLeft() throws Exception {
+        // GIVEN
+        Books books = GoogleBooksClientFactory.newClient(new MockHttpTransport());
+
+        // WHEN
+        HttpRequest httpRequest = Deadline.afterMillis(1_000).call(() -> {
+            try {
+                return books.volumes().list("the hobbit").buildHttpRequest();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // THEN
+        assertTrue(httpRequest.getConnectTimeout() <= 1_000);
+        assertTrue(httpRequest.getReadTimeout() <= 1_000);
+    }
+
+    @Test
+    public void queryBooks_tooLittleTimeLeft_isRefusedWithoutBeingSent() {
+        // GIVEN
+        AtomicInteger requests = new AtomicInteger();
+        Request request = new Request(GoogleBooksClientFactory.newClient(transport(requests, 200)));
+
+        // WHEN & THEN
+        assertThrows(GoogleBooksUnavailableException.class, () ->
+                Deadline.afterMillis(Request.MIN_QUERY_MILLIS / 2).call(() -> {
+                    try {
+                        return request.queryBooks("the hobbit");
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+        assertEquals(0, requests.get());
+    }
+
+    private static MockHttpTransport transport(AtomicInteger requests, int... statusCodes) {
+        return new MockHttpTransport() {
+            @Override
+            public LowLevelHttpRequest buildRequest(String method, String url) {
+                return new MockLowLevelHttpRequest() {
+                    @Override
+                    public LowLevelHttpResponse execute() {
+                        int statusCode = statusCodes[requests.getAndIncrement()];
+                        return new MockLowLevelHttpResponse()
+                                .setStatusCode(statusCode)
+                                .setContentType("application/json")
+                                .setContent(statusCode == 200 ? ONE_VOLUME : "{}");
+                    }
+                };
+            }
+        };
+    }
+}
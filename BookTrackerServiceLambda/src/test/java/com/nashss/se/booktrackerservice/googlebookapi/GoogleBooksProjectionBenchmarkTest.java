@@ -0,0 +1,154 @@
+package com.nashss.se.booktrackerservice.googlebookapi;
+
+import com.nashss.se.booktrackerservice.converters.VolumeConverter;
+
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.services.books.v1.model.Volume;
+import com.google.api.services.books.v1.model.Volumes;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the size and parse time of a full Google Books response, as returned without a fields selector or
+ * maxResults, against the field-projected, size-limited responses the activities now ask for. The full volumes
+ * follow the shape of a real response, with a description, sale, access and search info.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class GoogleBooksProjectionBenchmarkTest {
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 5_000;
+    // Google Books returns 10 volumes when no maxResults is given
+    private static final int DEFAULT_GOOGLE_RESULTS = 10;
+
+    private final JsonFactory jsonFactory = GsonFactory.getDefaultInstance();
+    private final VolumeConverter volumeConverter = new VolumeConverter();
+
+    @Test
+    public void projectedResponses_areSmallerAndFasterToParse() throws Exception {
+        String full = fullResponse(DEFAULT_GOOGLE_RESULTS);
+        long fullNanos = time(full);
+        int fullBytes = full.getBytes(StandardCharsets.UTF_8).length;
+        System.out.printf("full, %2d volumes     : %7d bytes %8.1f us/parse%n", DEFAULT_GOOGLE_RESULTS, fullBytes,
+                fullNanos / 1000.0);
+
+        for (int maxResults : new int[] {5, 1}) {
+            String projected = project(full, maxResults);
+            long projectedNanos = time(projected);
+            int projectedBytes = projected.getBytes(StandardCharsets.UTF_8).length;
+            System.out.printf("projected, %2d volumes: %7d bytes %8.1f us/parse (%.0f%% of the bytes)%n", maxResults,
+                    projectedBytes, projectedNanos / 1000.0, 100.0 * projectedBytes / fullBytes);
+
+            assertTrue(projectedBytes < fullBytes, "projected response should be smaller for " + maxResults);
+        }
+    }
+
+    @Test
+    public void projectedVolume_extractsTheSameBook() throws Exception {
+        // GIVEN
+        String full = fullResponse(1);
+
+        // WHEN
+        List<Volume> fullVolumes = jsonFactory.fromString(full, Volumes.class).getItems();
+        List<Volume> projectedVolumes = jsonFactory.fromString(project(full, 1), Volumes.class).getItems();
+
+        // THEN
+        assertEquals(volumeConverter.toBooks(fullVolumes), volumeConverter.toBooks(projectedVolumes));
+    }
+
+    private long time(String json) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            jsonFactory.fromString(json, Volumes.class);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            jsonFactory.fromString(json, Volumes.class);
+        }
+        return (System.nanoTime() - start) / MEASURED_ITERATIONS;
+    }
+
+    /**
+     * Keeps what the Request.VOLUME_FIELDS selector would: the first maxResults volumes, and only the volumeInfo
+     * attributes it names.
+     */
+    private String project(String fullJson, int maxResults) throws Exception {
+        List<Volume> projected = new ArrayList<>();
+        for (Volume volume : jsonFactory.fromString(fullJson, Volumes.class).getItems().subList(0, maxResults)) {
+            Volume.VolumeInfo info = volume.getVolumeInfo();
+            projected.add(new Volume().setVolumeInfo(new Volume.VolumeInfo()
+                    .setTitle(info.getTitle())
+                    .setSubtitle(info.getSubtitle())
+                    .setAuthors(info.getAuthors())
+                    .setCategories(info.getCategories())
+                    .setImageLinks(new Volume.VolumeInfo.ImageLinks()
+                            .setThumbnail(info.getImageLinks().getThumbnail()))
+                    .setPageCount(info.getPageCount())
+                    .setIndustryIdentifiers(info.getIndustryIdentifiers())));
+        }
+        return jsonFactory.toString(new Volumes().setItems(projected));
+    }
+
+    private static String fullResponse(int volumes) {
+        StringBuilder json = new StringBuilder("{\"kind\": \"books#volumes\", \"totalItems\": 1542, \"items\": [");
+        for (int i = 0; i < volumes; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(fullVolume(i));
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String fullVolume(int i) {
+        String id = "btpIkZ6X6e" + i;
+        String description = ("Bilbo Baggins is a hobbit who enjoys a comfortable, unambitious life, rarely travelling "
+                + "any farther than his pantry or cellar. But his contentment is disturbed when the wizard Gandalf "
+                + "and a company of dwarves arrive on his doorstep one day to whisk him away on an adventure. ")
+                .repeat(4);
+        return "{\"kind\": \"books#volume\", \"id\": \"" + id + "\", \"etag\": \"e" + i + "Xq1\", "
+                + "\"selfLink\": \"https://www.googleapis.com/books/v1/volumes/" + id + "\", "
+                + "\"volumeInfo\": {\"title\": \"The Hobbit " + i + "\", \"subtitle\": \"Or There and Back Again\", "
+                + "\"authors\": [\"J. R. R. Tolkien\"], \"publisher\": \"HarperCollins UK\", "
+                + "\"publishedDate\": \"2012-02-15\", \"description\": \"" + description + "\", "
+                + "\"industryIdentifiers\": [{\"type\": \"ISBN_13\", \"identifier\": \"97800074581" + i + "0\"}, "
+                + "{\"type\": \"ISBN_10\", \"identifier\": \"00074581" + i + "X\"}], "
+                + "\"readingModes\": {\"text\": true, \"image\": false}, \"pageCount\": 310, "
+                + "\"printType\": \"BOOK\", \"categories\": [\"Fiction\"], \"averageRating\": 4.5, "
+                + "\"ratingsCount\": 2114, \"maturityRating\": \"NOT_MATURE\", \"allowAnonLogging\": true, "
+                + "\"contentVersion\": \"1.14.15.0.preview.2\", "
+                + "\"panelizationSummary\": {\"containsEpubBubbles\": false, \"containsImageBubbles\": false}, "
+                + "\"imageLinks\": {\"smallThumbnail\": \"http://books.google.com/books/content?id=" + id
+                + "&printsec=frontcover&img=1&zoom=5&edge=curl&source=gbs_api\", "
+                + "\"thumbnail\": \"http://books.google.com/books/content?id=" + id
+                + "&printsec=frontcover&img=1&zoom=1&edge=curl&source=gbs_api\"}, \"language\": \"en\", "
+                + "\"previewLink\": \"http://books.google.com/books?id=" + id + "&printsec=frontcover&dq=hobbit"
+                + "&hl=&cd=1&source=gbs_api\", \"infoLink\": \"https://play.google.com/store/books/details?id=" + id
+                + "&source=gbs_api\", \"canonicalVolumeLink\": \"https://play.google.com/store/books/details?id="
+                + id + "\"}, "
+                + "\"saleInfo\": {\"country\": \"US\", \"saleability\": \"FOR_SALE\", \"isEbook\": true, "
+                + "\"listPrice\": {\"amount\": 8.99, \"currencyCode\": \"USD\"}, "
+                + "\"retailPrice\": {\"amount\": 8.99, \"currencyCode\": \"USD\"}, "
+                + "\"buyLink\": \"https://play.google.com/store/books/details?id=" + id + "&rdid=book-" + id
+                + "&rdot=1&source=gbs_api\", \"offers\": [{\"finskyOfferType\": 1, "
+                + "\"listPrice\": {\"amountInMicros\": 8990000, \"currencyCode\": \"USD\"}, "
+                + "\"retailPrice\": {\"amountInMicros\": 8990000, \"currencyCode\": \"USD\"}, "
+                + "\"giftable\": true}]}, "
+                + "\"accessInfo\": {\"country\": \"US\", \"viewability\": \"PARTIAL\", \"embeddable\": true, "
+                + "\"publicDomain\": false, \"textToSpeechPermission\": \"ALLOWED_FOR_ACCESSIBILITY\", "
+                + "\"epub\": {\"isAvailable\": true, \"acsTokenLink\": \"http://books.google.com/books/download/"
+                + "The_Hobbit-sample-epub.acsm?id=" + id + "&format=epub&output=acs4_fulfillment_token"
+                + "&dl_type=sample&source=gbs_api\"}, \"pdf\": {\"isAvailable\": false}, "
+                + "\"webReaderLink\": \"http://play.google.com/books/reader?id=" + id + "&hl=&source=gbs_api\", "
+                + "\"accessViewStatus\": \"SAMPLE\", \"quoteSharingAllowed\": false}, "
+                + "\"searchInfo\": {\"textSnippet\": \"Bilbo Baggins is a &lt;b&gt;hobbit&lt;/b&gt; who enjoys a "
+                + "comfortable, unambitious life, rarely travelling any farther than his pantry or cellar.\"}}";
+    }
+}
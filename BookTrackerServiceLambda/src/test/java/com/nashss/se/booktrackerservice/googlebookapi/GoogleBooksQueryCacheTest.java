@@ -0,0 +1,244 @@
+package com.nashss.se.booktrackerservice.googlebookapi;
+
+import com.nashss.se.booktrackerservice.dynamodb.GoogleBooksCacheDao;
+import com.nashss.se.booktrackerservice.dynamodb.models.GoogleBooksCacheEntry;
+import com.nashss.se.booktrackerservice.metrics.MetricsConstants;
+import com.nashss.se.booktrackerservice.metrics.MetricsPublisher;
+
+import com.amazonaws.AmazonServiceException;
+import com.google.api.services.books.v1.model.Volume;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class GoogleBooksQueryCacheTest {
+    @Mock
+    private GoogleBooksCacheDao googleBooksCacheDao;
+    @Mock
+    private MetricsPublisher metricsPublisher;
+
+    private MutableClock clock;
+    private AtomicInteger googleCalls;
+    private GoogleBooksQueryCache cache;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        clock = new MutableClock();
+        googleCalls = new AtomicInteger();
+        cache = new GoogleBooksQueryCache(googleBooksCacheDao, metricsPublisher, clock,
+                MoreExecutors.directExecutor());
+    }
+
+    @Test
+    public void queryBooks_sameNormalizedQueryTwice_queriesGoogleOnce() throws Exception {
+        // WHEN
+        cache.queryBooks("The Hobbit", 5, this::google);
+        List<Volume> second = cache.queryBooks("  the   HOBBIT ", 5, this::google);
+
+        // THEN
+        assertEquals(1, googleCalls.get());
+        assertEquals("the hobbit-1", second.get(0).getId());
+        assertEquals(0.5, cache.hitRatio());
+    }
+
+    @Test
+    public void queryBooks_miss_sharesResultThroughTable() throws Exception {
+        // WHEN
+        cache.queryBooks("The Hobbit", 5, this::google);
+
+        // THEN
+        ArgumentCaptor<GoogleBooksCacheEntry> entryCaptor = ArgumentCaptor.forClass(GoogleBooksCacheEntry.class);
+        verify(googleBooksCacheDao).saveEntry(entryCaptor.capture());
+        GoogleBooksCacheEntry entry = entryCaptor.getValue();
+        assertEquals("the hobbit", entry.getQuery());
+        assertEquals(5L, entry.getMaxResults());
+        assertEquals(clock.millis(), entry.getFetchedAt());
+        assertEquals(TimeUnit.MILLISECONDS.toSeconds(clock.millis()) +
+                TimeUnit.HOURS.toSeconds(GoogleBooksQueryCache.STALE_HOURS), entry.getExpiresAt());
+    }
+
+    @Test
+    public void queryBooks_entryFromAnotherContainer_isServedWithoutQueryingGoogle() throws Exception {
+        // GIVEN
+        GoogleBooksQueryCache otherContainer = new GoogleBooksQueryCache(googleBooksCacheDao, null, clock,
+                MoreExecutors.directExecutor());
+        otherContainer.queryBooks("the hobbit", 5, this::google);
+        ArgumentCaptor<GoogleBooksCacheEntry> entryCaptor = ArgumentCaptor.forClass(GoogleBooksCacheEntry.class);
+        verify(googleBooksCacheDao).saveEntry(entryCaptor.capture());
+        when(googleBooksCacheDao.getEntry("the hobbit")).thenReturn(entryCaptor.getValue());
+
+        // WHEN
+        List<Volume> volumes = cache.queryBooks("The Hobbit", 5, this::google);
+
+        // THEN
+        assertEquals(1, googleCalls.get());
+        assertEquals("the hobbit-1", volumes.get(0).getId());
+    }
+
+    @Test
+    public void queryBooks_staleEntry_returnsStaleResultAndRefreshesIt() throws Exception {
+        // GIVEN
+        cache.queryBooks("the hobbit", 5, this::google);
+        clock.advance(GoogleBooksQueryCache.FRESH_MINUTES, TimeUnit.MINUTES);
+
+        // WHEN
+        List<Volume> stale = cache.queryBooks("the hobbit", 5, this::google);
+        List<Volume> refreshed = cache.queryBooks("the hobbit", 5, this::google);
+
+        // THEN
+        assertEquals("the hobbit-1", stale.get(0).getId());
+        assertEquals("the hobbit-2", refreshed.get(0).getId());
+        assertEquals(2, googleCalls.get());
+    }
+
+    @Test
+    public void queryBooks_expiredEntry_queriesGoogleBeforeReturning() throws Exception {
+        // GIVEN
+        cache.queryBooks("the hobbit", 5, this::google);
+        clock.advance(GoogleBooksQueryCache.STALE_HOURS, TimeUnit.HOURS);
+
+        // WHEN
+        List<Volume> volumes = cache.queryBooks("the hobbit", 5, this::google);
+
+        // THEN
+        assertEquals("the hobbit-2", volumes.get(0).getId());
+    }
+
+    @Test
+    public void queryBooks_noMatches_cachesEmptyResult() throws Exception {
+        // WHEN
+        cache.queryBooks("zzzz", 5, (searchTerm, maxResults) -> {
+            googleCalls.incrementAndGet();
+            return null;
+        });
+        List<Volume> second = cache.queryBooks("zzzz", 5, this::google);
+
+        // THEN
+        assertNull(second);
+        assertEquals(1, googleCalls.get());
+    }
+
+    @Test
+    public void queryBooks_tableUnavailable_stillQueriesGoogle() throws Exception {
+        // GIVEN
+        when(googleBooksCacheDao.getEntry(anyString())).thenThrow(new AmazonServiceException("unavailable"));
+        doThrow(new AmazonServiceException("unavailable"))
+                .when(googleBooksCacheDao).saveEntry(any());
+
+        // WHEN
+        List<Volume> volumes = cache.queryBooks("the hobbit", 5, this::google);
+
+        // THEN
+        assertEquals("the hobbit-1", volumes.get(0).getId());
+    }
+
+    @Test
+    public void queryBooks_metricsIntervalElapsed_publishesCountsSinceLastPublish() throws Exception {
+        // GIVEN
+        cache.queryBooks("the hobbit", 5, this::google);
+        cache.queryBooks("the hobbit", 5, this::google);
+
+        // WHEN
+        clock.advance(GoogleBooksQueryCache.METRICS_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        cache.queryBooks("the hobbit", 5, this::google);
+
+        // THEN
+        verify(metricsPublisher).addCount(MetricsConstants.GOOGLEBOOKSCACHE_HIT_COUNT, 2);
+        verify(metricsPublisher).addCount(MetricsConstants.GOOGLEBOOKSCACHE_STALEHIT_COUNT, 0);
+        verify(metricsPublisher, times(1)).addCount(MetricsConstants.GOOGLEBOOKSCACHE_MISS_COUNT, 1);
+    }
+
+    @Test
+    public void queryBooks_cachedForMoreResults_servesFewerWithoutQueryingGoogle() throws Exception {
+        // GIVEN
+        cache.queryBooks("the hobbit", 5, this::google);
+
+        // WHEN
+        List<Volume> volumes = cache.queryBooks("the hobbit", 1, this::google);
+
+        // THEN
+        assertEquals(1, volumes.size());
+        assertEquals(1, googleCalls.get());
+    }
+
+    @Test
+    public void queryBooks_cachedForFewerResults_queriesGoogleAgain() throws Exception {
+        // GIVEN
+        cache.queryBooks("the hobbit", 1, this::google);
+
+        // WHEN
+        List<Volume> volumes = cache.queryBooks("the hobbit", 5, this::google);
+
+        // THEN
+        assertEquals(5, volumes.size());
+        assertEquals(2, googleCalls.get());
+    }
+
+    @Test
+    public void queryBooks_cachedResultHadEveryMatch_servesMoreWithoutQueryingGoogle() throws Exception {
+        // GIVEN
+        cache.queryBooks("the hobbit", 5, (searchTerm, maxResults) -> google(searchTerm, 2));
+
+        // WHEN
+        List<Volume> volumes = cache.queryBooks("the hobbit", 10, this::google);
+
+        // THEN
+        assertEquals(2, volumes.size());
+        assertEquals(1, googleCalls.get());
+    }
+
+    private List<Volume> google(String searchTerm, long maxResults) throws IOException {
+        String id = searchTerm.toLowerCase() + "-" + googleCalls.incrementAndGet();
+        List<Volume> volumes = new ArrayList<>();
+        for (int i = 0; i < maxResults; i++) {
+            volumes.add(new Volume().setId(id));
+        }
+        return volumes;
+    }
+
+    private static class MutableClock extends Clock {
+        private long millis = 1_700_000_000_000L;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        void advance(long amount, TimeUnit unit) {
+            millis += unit.toMillis(amount);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.nashss.se.booktrackerservice.migrations;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.nashss.se.booktrackerservice.dynamodb.BatchWriter;
+import com.nashss.se.booktrackerservice.dynamodb.models.Book;
+import com.nashss.se.booktrackerservice.exceptions.BatchWriteException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class BookCatalogImportTest {
+    @Mock
+    private BatchWriter batchWriter;
+    @TempDir
+    Path tempDir;
+
+    private final Set<String> writtenAsins = ConcurrentHashMap.newKeySet();
+    private DynamoDBMapper dynamoDBMapper;
+
+    @BeforeEach
+    public void setup() {
+        initMocks(this);
+        dynamoDBMapper = new DynamoDBMapper(mock(AmazonDynamoDB.class));
+        when(batchWriter.write(eq(Book.TABLE_NAME), anyList())).thenAnswer(invocation -> {
+            List<Map<String, AttributeValue>> items = invocation.getArgument(1);
+            assertTrue(items.size() <= BatchWriter.MAX_BATCH_SIZE);
+            for (Map<String, AttributeValue> item : items) {
+                writtenAsins.add(item.get("asin").getS());
+            }
+            return 0;
+        });
+    }
+
+    @Test
+    public void run_ndjsonCatalog_writesEveryBookInBatches() {
+        // GIVEN
+        BookCatalogImport catalogImport = new BookCatalogImport(dynamoDBMapper, batchWriter, 4, null);
+
+        // WHEN
+        long written = catalogImport.run(ndjson(60));
+
+        // THEN
+        assertEquals(60, written);
+        assertEquals(60, writtenAsins.size());
+        assertTrue(writtenAsins.contains("asin59"));
+    }
+
+    @Test
+    public void run_jsonArrayCatalog_writesEveryBook() {
+        // GIVEN
+        BookCatalogImport catalogImport = new BookCatalogImport(dynamoDBMapper, batchWriter, 2, null);
+        String catalog = "[{\"asin\": \"a\", \"title\": \"A\", \"publisher\": \"ignored\"}, {\"asin\": \"b\"}]";
+
+        // WHEN
+        long written = catalogImport.run(new ByteArrayInputStream(catalog.getBytes(StandardCharsets.UTF_8)));
+
+        // THEN
+        assertEquals(2, written);
+        assertEquals(Set.of("a", "b"), writtenAsins);
+    }
+
+    @Test
+    public void run_withCheckpoint_resumesAfterCheckpointAndSavesProgress() throws Exception {
+        // GIVEN
+        Path checkpoint = tempDir.resolve("catalog.checkpoint");
+        Files.write(checkpoint, "50".getBytes(StandardCharsets.UTF_8));
+        BookCatalogImport catalogImport = new BookCatalogImport(dynamoDBMapper, batchWriter, 4, checkpoint);
+
+        // WHEN
+        long written = catalogImport.run(ndjson(60));
+
+        // THEN
+        assertEquals(10, written);
+        assertFalse(writtenAsins.contains("asin49"));
+        assertTrue(writtenAsins.contains("asin50"));
+        assertEquals("60", new String(Files.readAllBytes(checkpoint), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void run_batchFails_checkpointsOnlyTheBooksBeforeTheFailure() throws Exception {
+        // GIVEN
+        when(batchWriter.write(eq(Book.TABLE_NAME), anyList()))
+                .thenReturn(0)
+                .thenThrow(new BatchWriteException("throttled", null));
+        Path checkpoint = tempDir.resolve("catalog.checkpoint");
+        BookCatalogImport catalogImport = new BookCatalogImport(dynamoDBMapper, batchWriter, 1, checkpoint);
+
+        // WHEN + THEN
+        assertThrows(BatchWriteException.class, () -> catalogImport.run(ndjson(60)));
+        assertEquals("25", new String(Files.readAllBytes(checkpoint), StandardCharsets.UTF_8));
+    }
+
+    private InputStream ndjson(int count) {
+        StringBuilder catalog = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            catalog.append("{\"asin\": \"asin").append(i).append("\", \"title\": \"title").append(i).append("\"}\n");
+        }
+        return new ByteArrayInputStream(catalog.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,7 +1,9 @@
 package com.nashss.se.booktrackerservice.test.helper;
 
+import com.nashss.se.booktrackerservice.converters.BooklistEntryConverter;
 import com.nashss.se.booktrackerservice.dynamodb.models.Book;
 import com.nashss.se.booktrackerservice.dynamodb.models.Booklist;
+import com.nashss.se.booktrackerservice.dynamodb.models.BooklistEntry;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -31,4 +33,17 @@ public final class BooklistTestHelper {
 
         return booklist;
     }
+
+    public static List<BooklistEntry> generateEntries(Booklist booklist) {
+        return generateEntries(booklist.getId(), booklist.getBooks());
+    }
+
+    public static List<BooklistEntry> generateEntries(String booklistId, List<Book> books) {
+        BooklistEntryConverter converter = new BooklistEntryConverter();
+        List<BooklistEntry> entries = new ArrayList<>();
+        for (int i = 0; i < books.size(); i++) {
+            entries.add(converter.toBooklistEntry(booklistId, books.get(i), (long) i));
+        }
+        return entries;
+    }
 }
@@ -0,0 +1,103 @@
+package com.nashss.se.booktrackerservice.utils;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DeadlineTest {
+
+    @Test
+    public void fromContext_remainingTime_reservesTimeForTheResponse() {
+        // GIVEN
+        Context context = mock(Context.class);
+        when(context.getRemainingTimeInMillis()).thenReturn(10_000);
+
+        // WHEN
+        Deadline deadline = Deadline.fromContext(context);
+
+        // THEN
+        assertTrue(deadline.isBounded());
+        assertTrue(deadline.remainingMillis() <= 10_000 - Deadline.RESPONSE_RESERVE_MILLIS);
+        assertTrue(deadline.remainingMillis() > 9_000 - Deadline.RESPONSE_RESERVE_MILLIS);
+    }
+
+    @Test
+    public void fromContext_noContext_neverExpires() {
+        // WHEN
+        Deadline deadline = Deadline.fromContext(null);
+
+        // THEN
+        assertFalse(deadline.isBounded());
+        assertFalse(deadline.isExpired());
+        assertEquals(3_000, deadline.capTimeoutMillis(3_000));
+    }
+
+    @Test
+    public void capTimeoutMillis_lessTimeLeftThanTimeout_returnsTimeLeft() {
+        // GIVEN
+        FakeTicker ticker = new FakeTicker();
+        Deadline deadline = Deadline.afterMillis(5_000, ticker);
+
+        // WHEN
+        ticker.advance(4_000, TimeUnit.MILLISECONDS);
+
+        // THEN
+        assertEquals(1_000, deadline.remainingMillis());
+        assertEquals(1_000, deadline.capTimeoutMillis(3_000));
+        assertEquals(500, deadline.capTimeoutMillis(500));
+    }
+
+    @Test
+    public void capTimeoutMillis_expired_returnsOneMillisecond() {
+        // GIVEN
+        FakeTicker ticker = new FakeTicker();
+        Deadline deadline = Deadline.afterMillis(5_000, ticker);
+
+        // WHEN
+        ticker.advance(6_000, TimeUnit.MILLISECONDS);
+
+        // THEN
+        assertTrue(deadline.isExpired());
+        assertEquals(0, deadline.remainingMillis());
+        assertEquals(1, deadline.capTimeoutMillis(3_000));
+    }
+
+    @Test
+    public void call_nestedDeadlines_restoresThePreviousOne() {
+        // GIVEN
+        Deadline outer = Deadline.afterMillis(10_000);
+        Deadline inner = Deadline.afterMillis(1_000);
+
+        // WHEN
+        Deadline seenInside = outer.call(() -> {
+            inner.call(Deadline::current);
+            return Deadline.current();
+        });
+
+        // THEN
+        assertSame(outer, seenInside);
+        assertSame(Deadline.none(), Deadline.current());
+    }
+
+    private static class FakeTicker extends Ticker {
+        private long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        void advance(long amount, TimeUnit unit) {
+            nanos += unit.toNanos(amount);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.nashss.se.booktrackerservice.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetryUtilsTest {
+
+    @Test
+    public void backoffMillis_neverExceedsCappedExponentialDelay() {
+        for (int attempt = 1; attempt <= 40; attempt++) {
+            long delay = RetryUtils.backoffMillis(attempt, 20, 500);
+            assertTrue(delay >= 0);
+            assertTrue(delay <= Math.min(500, 20L << Math.min(attempt - 1, 20)));
+        }
+    }
+}
@@ -2,6 +2,12 @@ import axios from "axios";
 import BindingClass from "../util/bindingClass";
 import Authenticator from "./authenticator";
 
+/**
+ * The most pages a single call follows nextToken for, so a large library or a broad search cannot keep the page
+ * fetching indefinitely. Results past this many pages are not shown.
+ */
+const MAX_PAGES = 10;
+
 /**
  * Client to call the BookTrackerClient.
  *
@@ -17,7 +23,7 @@ export default class BookTrackerClient extends BindingClass {
 
         const methodsToBind = ['clientLoaded', 'getIdentity', 'login', 'logout', 'getBooklist',
         'getBooklistBooks', 'createBooklist', 'search', 'removeBookFromBooklist', 'removeBooklist',
-        'getUserBooklists', 'updateBookInBooklist', 'getBookFromBooklist', 'updateBooklistName'];
+        'getUserBooklists', 'updateBookInBooklist', 'getBookFromBooklist', 'updateBooklistName', 'getBooks'];
 
         this.bindClassMethods(methodsToBind, this);
 
@@ -97,8 +103,16 @@ export default class BookTrackerClient extends BindingClass {
      */
     async getBooklistBooks(id, errorCallback) {
         try {
-            const response = await this.axiosClient.get(`booklists/${id}/books`);
-            return response.data.books;
+            const books = [];
+            let nextToken = null;
+            do {
+                const response = await this.axiosClient.get(`booklists/${id}/books`, {
+                    params: nextToken ? { nextToken } : {}
+                });
+                books.push(...response.data.books);
+                nextToken = response.data.nextToken;
+            } while (nextToken);
+            return books;
         } catch (error) {
             this.handleError(error, errorCallback)
         }
@@ -113,12 +127,21 @@ export default class BookTrackerClient extends BindingClass {
     async getUserBooklists(customerId, errorCallback) {
         try {
             const token = await this.getTokenOrThrow("Only authenticated users can view their booklists.");
-            const response = await this.axiosClient.get(`userBooklists`, {
-                headers: {
-                    Authorization: `Bearer ${token}`
-                  }
+            const booklists = [];
+            let nextToken = null;
+            let pages = 0;
+            do {
+                const response = await this.axiosClient.get(`userBooklists`, {
+                    headers: {
+                        Authorization: `Bearer ${token}`
+                    },
+                    params: nextToken ? { nextToken } : {}
                 });
-            return response.data.booklists;
+                booklists.push(...response.data.booklists);
+                nextToken = response.data.nextToken;
+                pages++;
+            } while (nextToken && pages < MAX_PAGES);
+            return booklists;
         } catch (error) {
             this.handleError(error, errorCallback)
         }
@@ -250,12 +273,23 @@ export default class BookTrackerClient extends BindingClass {
      */
     async search(criteria, errorCallback) {
         try {
-            const queryParams = new URLSearchParams({ q: criteria })
-            const queryString = queryParams.toString();
+            const booklists = [];
+            let nextToken = null;
+            let pages = 0;
+            do {
+                const queryParams = new URLSearchParams({ q: criteria })
+                if (nextToken) {
+                    queryParams.append('nextToken', nextToken);
+                }
+                const queryString = queryParams.toString();
 
-            const response = await this.axiosClient.get(`booklists/search?${queryString}`);
+                const response = await this.axiosClient.get(`booklists/search?${queryString}`);
+                booklists.push(...response.data.booklists);
+                nextToken = response.data.nextToken;
+                pages++;
+            } while (nextToken && pages < MAX_PAGES);
 
-            return response.data.booklists;
+            return booklists;
         } catch (error) {
             this.handleError(error, errorCallback)
         }
@@ -279,6 +313,24 @@ export default class BookTrackerClient extends BindingClass {
             this.handleError(error, errorCallback)
         }
 
+    }
+
+    /**
+     * Get several books by asin in one call.
+     * @param asins The asins of the books to retrieve.
+     * @returns The books that exist, in the order requested.
+     */
+    async getBooks(asins, errorCallback) {
+        try {
+            const queryParams = new URLSearchParams({ asins: asins.join(',') })
+            const queryString = queryParams.toString();
+
+            const response = await this.axiosClient.get(`books?${queryString}`);
+
+            return response.data.books;
+        } catch (error) {
+            this.handleError(error, errorCallback)
+        }
     }
          /**
           * removes a booklist.